@@ -0,0 +1,74 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.exceptions.SAFRViewActivationException;
+import com.ibm.safr.we.model.SAFRApplication;
+import com.ibm.safr.we.model.SAFRFactory;
+import com.ibm.safr.we.model.view.ActivationContext;
+import com.ibm.safr.we.model.view.View;
+import com.ibm.safr.we.model.view.WBCompilerDataStore;
+
+/**
+ * Activates every View of a generated environment one after the other, as
+ * Batch Activate Views does on a single thread.
+ * <p>
+ * The editor's activate opens the activation report in the workbench, so the
+ * batch path, which only writes the report, is the one timed. Writing the
+ * report needs the Eclipse plug-ins on the class path.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ActivationBenchmark {
+
+    @Benchmark
+    public void activate(GeneratedEnvironment source) {
+        SAFRFactory factory = SAFRApplication.getSAFRFactory();
+        Integer environmentId = source.getEnvironment().getId();
+        for (Integer id : source.getViewIds()) {
+            View view = factory.getView(id, environmentId);
+            // activation changes the view so it must not stay shared in the cache
+            factory.componentChanged(ComponentType.View, id, environmentId);
+            WBCompilerDataStore.setContext(new ActivationContext());
+            try {
+                view.makeViewInactive();
+                view.batchActivate();
+            } catch (SAFRViewActivationException svae) {
+                throw new IllegalStateException("Generated View " + view.getDescriptor()
+                    + " failed to activate: " + svae.getMessage(), svae);
+            } finally {
+                WBCompilerDataStore.clearContext();
+            }
+        }
+    }
+}
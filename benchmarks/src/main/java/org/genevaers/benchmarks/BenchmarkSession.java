@@ -0,0 +1,89 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import com.ibm.safr.we.model.Environment;
+import com.ibm.safr.we.model.SAFRApplication;
+import com.ibm.safr.we.model.User;
+import com.ibm.safr.we.security.UserSession;
+
+/**
+ * Connects the Workbench model to the benchmark database.
+ * <p>
+ * The connection is described by the properties file named by the
+ * <code>benchmark.connection</code> system property, in the format read by
+ * <code>DAOFactoryHolder.initWithPropertiesFile</code>: TYPE, SERVER, PORT,
+ * DATABASE, SCHEMA, USER, PASS, SAFRUSER, SAFRENV and SAFRGRP. Point it at a
+ * local Postgres loaded with <code>database/postgres</code>; SAFRUSER must be
+ * a system administrator as the benchmarks create and remove environments.
+ */
+public class BenchmarkSession {
+
+    public static final String CONNECTION_PROPERTY = "benchmark.connection";
+
+    private static User user;
+
+    private BenchmarkSession() {
+    }
+
+    /**
+     * Opens the connection once per JVM and starts a session in the
+     * environment named by SAFRENV.
+     */
+    public static synchronized void open() throws IOException {
+        if (user != null) {
+            return;
+        }
+        String path = System.getProperty(CONNECTION_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            throw new IllegalStateException("Set -D" + CONNECTION_PROPERTY
+                + " to the connection properties file of the benchmark database.");
+        }
+        byte[] contents = Files.readAllBytes(Paths.get(path));
+        Properties props = new Properties();
+        props.load(new ByteArrayInputStream(contents));
+        SAFRApplication.initDBConnection(new ByteArrayInputStream(contents));
+
+        User sessionUser = SAFRApplication.getSAFRFactory().getUser(props.getProperty("SAFRUSER"));
+        if (!sessionUser.isSystemAdmin()) {
+            throw new IllegalStateException("User " + sessionUser.getUserid()
+                + " must be a system administrator to run the benchmarks.");
+        }
+        user = sessionUser;
+        useEnvironment(SAFRApplication.getSAFRFactory().getEnvironment(
+            Integer.valueOf(props.getProperty("SAFRENV"))));
+    }
+
+    /**
+     * Makes the environment the current one, as logging in to it would.
+     */
+    public static void useEnvironment(Environment environment) {
+        SAFRApplication.setUserSession(new UserSession(user, environment, null));
+    }
+
+    public static void useEnvironment(Integer environmentId) {
+        useEnvironment(SAFRApplication.getSAFRFactory().getEnvironment(environmentId));
+    }
+}
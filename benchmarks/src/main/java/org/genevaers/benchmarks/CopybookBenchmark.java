@@ -0,0 +1,81 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.genevaers.ccb2lr.Copybook2LR;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses a synthetic copybook into its record layout, as the Cobol Copybook
+ * import does. Needs no database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CopybookBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int fields;
+
+    @Param({"0", "10"})
+    public int occurs;
+
+    private Path copybook;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        copybook = new CopybookGenerator(fields, occurs)
+            .write(Files.createTempFile("bench", ".cpy"));
+    }
+
+    @TearDown(Level.Trial)
+    public void remove() throws IOException {
+        Files.deleteIfExists(copybook);
+    }
+
+    @Benchmark
+    public Copybook2LR processCopybook() throws IOException {
+        Copybook2LR ccb2lr = new Copybook2LR();
+        ccb2lr.processCopybook(copybook);
+        if (ccb2lr.hasErrors()) {
+            throw new IllegalStateException("Generated copybook failed: " + ccb2lr.getErrors());
+        }
+        return ccb2lr;
+    }
+}
@@ -0,0 +1,82 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a synthetic copybook in fixed format: one 01 record made of 05
+ * groups of ten elementary items. Every third group OCCURS a number of times
+ * so the OCCURS expansion is exercised along with the parse.
+ */
+public class CopybookGenerator {
+
+    private static final int FIELDS_PER_GROUP = 10;
+    private static final String[] PICTURES = {
+        "PIC X(10).",
+        "PIC S9(7) COMP-3.",
+        "PIC 9(5).",
+        "PIC S9(4) COMP.",
+        "PIC X(25)."
+    };
+
+    private int fields;
+    private int occurs;
+
+    /**
+     * @param fields
+     *            the number of elementary items before OCCURS expansion
+     * @param occurs
+     *            the OCCURS count of every third group, 0 for none
+     */
+    public CopybookGenerator(int fields, int occurs) {
+        this.fields = fields;
+        this.occurs = occurs;
+    }
+
+    public String generate() {
+        StringBuilder text = new StringBuilder();
+        line(text, "01  BENCH-RECORD.");
+        int group = 0;
+        for (int i = 0; i < fields; i++) {
+            if (i % FIELDS_PER_GROUP == 0) {
+                if (occurs > 0 && group % 3 == 2) {
+                    line(text, "    05  GROUP-" + group + " OCCURS " + occurs + " TIMES.");
+                } else {
+                    line(text, "    05  GROUP-" + group + ".");
+                }
+                group++;
+            }
+            line(text, "        10  FIELD-" + i + "  " + PICTURES[i % PICTURES.length]);
+        }
+        return text.toString();
+    }
+
+    public Path write(Path file) throws IOException {
+        return Files.write(file, generate().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void line(StringBuilder text, String statement) {
+        // sequence area, indicator area, then area A from column 8
+        text.append("       ").append(statement).append('\n');
+    }
+}
@@ -0,0 +1,92 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ibm.safr.we.constants.SortType;
+import com.ibm.safr.we.data.DAOFactory;
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.transfer.LRFieldTransfer;
+
+/**
+ * Times the DAO calls behind opening the metadata lists and editors of a
+ * generated environment, straight against the database named by
+ * <code>benchmark.connection</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DAOBenchmark {
+
+    @Benchmark
+    public void queryAllViews(GeneratedEnvironment source, Blackhole blackhole) {
+        blackhole.consume(dao().getViewDAO().queryAllViews(SortType.SORT_BY_ID,
+            source.getEnvironment().getId(), true));
+    }
+
+    @Benchmark
+    public void getViewGraphs(GeneratedEnvironment source, Blackhole blackhole) {
+        Integer environmentId = source.getEnvironment().getId();
+        for (Integer id : source.getViewIds()) {
+            blackhole.consume(dao().getViewDAO().getViewGraph(id, environmentId));
+        }
+    }
+
+    @Benchmark
+    public void getLogicalRecords(GeneratedEnvironment source, Blackhole blackhole) {
+        Integer environmentId = source.getEnvironment().getId();
+        for (Integer id : source.getLogicalRecordIds()) {
+            blackhole.consume(dao().getLogicalRecordDAO().getLogicalRecord(id, environmentId));
+            blackhole.consume(dao().getLogicalRecordDAO().getAssociatedLogicalFiles(id, environmentId));
+            blackhole.consume(dao().getLRFieldDAO().getLRFields(environmentId, id));
+        }
+    }
+
+    @Benchmark
+    public void persistLRFields(GeneratedEnvironment source, Blackhole blackhole) {
+        Integer environmentId = source.getEnvironment().getId();
+        for (Integer id : source.getLogicalRecordIds()) {
+            List<LRFieldTransfer> fields = dao().getLRFieldDAO().getLRFields(environmentId, id);
+            blackhole.consume(dao().getLRFieldDAO().persistLRField(fields));
+        }
+    }
+
+    @Benchmark
+    public void getDependencyGraph(GeneratedEnvironment source, Blackhole blackhole) {
+        blackhole.consume(dao().getDependencyCheckerDAO().getDependencyGraph(
+            source.getEnvironment().getId()));
+    }
+
+    private static DAOFactory dao() {
+        return DAOFactoryHolder.getDAOFactory();
+    }
+}
@@ -0,0 +1,95 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.model.Environment;
+import com.ibm.safr.we.model.SAFRFactory;
+import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.diff.DiffNode;
+import com.ibm.safr.we.model.diff.DiffNodeComp;
+import com.ibm.safr.we.model.diff.DiffNodeFactory;
+
+/**
+ * Compares each View of a generated environment with its copy imported into a
+ * second environment, as the Compare button of the Diff Utility does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiffBenchmark {
+
+    private Environment copy;
+    private List<SAFREnvironmentalComponent> lhs = new ArrayList<SAFREnvironmentalComponent>();
+    private List<SAFREnvironmentalComponent> rhs = new ArrayList<SAFREnvironmentalComponent>();
+
+    @Setup(Level.Trial)
+    public void prepare(GeneratedEnvironment source) throws IOException {
+        File exported = GeneratedEnvironment.createDirectory("benchxml");
+        try {
+            source.exportViews(exported);
+            copy = EnvironmentGenerator.createEnvironment(GeneratedEnvironment.uniqueName("BENCH_COPY"));
+            GeneratedEnvironment.importViews(exported, copy);
+        } finally {
+            GeneratedEnvironment.deleteDirectory(exported);
+        }
+        BenchmarkSession.useEnvironment(source.getEnvironment());
+        for (Integer id : source.getViewIds()) {
+            lhs.add(SAFRFactory.getComponent(ComponentType.View, id, source.getEnvironment().getId()));
+            rhs.add(SAFRFactory.getComponent(ComponentType.View, id, copy.getId()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() {
+        EnvironmentGenerator.removeEnvironment(copy.getId());
+    }
+
+    @Benchmark
+    public void generateDiffComp(Blackhole blackhole) {
+        for (int i = 0; i < lhs.size(); i++) {
+            DiffNode.initGenerated();
+            DiffNodeComp node = DiffNodeFactory.generateDiffComp(lhs.get(i), rhs.get(i));
+            blackhole.consume(node.generateWholeTree());
+        }
+    }
+}
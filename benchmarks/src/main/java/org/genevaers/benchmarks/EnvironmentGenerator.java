@@ -0,0 +1,186 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ibm.safr.we.constants.CodeCategories;
+import com.ibm.safr.we.constants.Codes;
+import com.ibm.safr.we.constants.EditRights;
+import com.ibm.safr.we.constants.SortType;
+import com.ibm.safr.we.model.ControlRecord;
+import com.ibm.safr.we.model.Environment;
+import com.ibm.safr.we.model.LRField;
+import com.ibm.safr.we.model.LogicalFile;
+import com.ibm.safr.we.model.LogicalRecord;
+import com.ibm.safr.we.model.PhysicalFile;
+import com.ibm.safr.we.model.SAFRApplication;
+import com.ibm.safr.we.model.SAFRFactory;
+import com.ibm.safr.we.model.associations.ComponentAssociation;
+import com.ibm.safr.we.model.associations.FileAssociation;
+import com.ibm.safr.we.model.query.EnvironmentQueryBean;
+import com.ibm.safr.we.model.query.SAFRQuery;
+import com.ibm.safr.we.model.view.View;
+import com.ibm.safr.we.model.view.ViewSource;
+
+/**
+ * Builds a synthetic environment of a given size through the model API, the
+ * same way the editors store components: one Physical File and Logical File,
+ * a number of Logical Records with alternating alphanumeric and zoned decimal
+ * fields, and Views each reading one of the Logical Records and writing all of
+ * its fields as columns.
+ */
+public class EnvironmentGenerator {
+
+    private static final int ALNUM_LENGTH = 10;
+    private static final int ZONED_LENGTH = 7;
+
+    private int logicalRecords;
+    private int fieldsPerRecord;
+    private int views;
+
+    private List<Integer> logicalRecordIds = new ArrayList<Integer>();
+    private List<Integer> viewIds = new ArrayList<Integer>();
+
+    public EnvironmentGenerator(int logicalRecords, int fieldsPerRecord, int views) {
+        this.logicalRecords = logicalRecords;
+        this.fieldsPerRecord = fieldsPerRecord;
+        this.views = views;
+    }
+
+    /**
+     * Creates the environment and its components. The session is left in the
+     * new environment.
+     *
+     * @param name
+     *            the environment name, which must not already exist
+     * @return the new environment
+     */
+    public Environment generate(String name) {
+        SAFRFactory factory = SAFRApplication.getSAFRFactory();
+        logicalRecordIds.clear();
+        viewIds.clear();
+
+        Environment environment = createEnvironment(name);
+
+        ControlRecord controlRecord = factory.getControlRecord(SAFRQuery
+            .queryAllControlRecords(environment.getId(), SortType.SORT_BY_ID).get(0).getId());
+
+        PhysicalFile physicalFile = factory.createPhysicalFile();
+        physicalFile.setName("PF_BENCH");
+        physicalFile.validate();
+        physicalFile.store();
+
+        LogicalFile logicalFile = factory.createLogicalfile();
+        logicalFile.setName("LF_BENCH");
+        logicalFile.addAssociatedPhysicalFile(new FileAssociation(logicalFile,
+            physicalFile.getId(), physicalFile.getName(), EditRights.ReadModifyDelete));
+        logicalFile.validate();
+        logicalFile.store();
+
+        for (int i = 0; i < logicalRecords; i++) {
+            logicalRecordIds.add(createLogicalRecord("LR_BENCH_" + i, logicalFile));
+        }
+
+        for (int i = 0; i < views; i++) {
+            // read back so the LR/LF association carries its stored id
+            LogicalRecord source = factory.getLogicalRecord(
+                logicalRecordIds.get(i % logicalRecordIds.size()));
+            viewIds.add(createView("V_BENCH_" + i, controlRecord, source));
+        }
+        return environment;
+    }
+
+    /**
+     * Creates an empty environment, e.g. as an import target, and makes it
+     * the session environment.
+     */
+    public static Environment createEnvironment(String name) {
+        Environment environment = SAFRApplication.getSAFRFactory().createEnvironment();
+        environment.setName(name);
+        environment.setCrRequired(true);
+        environment.store();
+        BenchmarkSession.useEnvironment(environment);
+        return environment;
+    }
+
+    /**
+     * Clears and removes a generated environment.
+     */
+    public static void removeEnvironment(Integer environmentId) {
+        SAFRFactory factory = SAFRApplication.getSAFRFactory();
+        factory.clearEnvironment(environmentId);
+        factory.removeEnvironment(environmentId);
+    }
+
+    public static EnvironmentQueryBean queryBean(Environment environment) {
+        return new EnvironmentQueryBean(environment.getId(), environment.getName(),
+            true, null, null, null, null);
+    }
+
+    public List<Integer> getLogicalRecordIds() {
+        return logicalRecordIds;
+    }
+
+    public List<Integer> getViewIds() {
+        return viewIds;
+    }
+
+    private Integer createLogicalRecord(String name, LogicalFile logicalFile) {
+        SAFRFactory factory = SAFRApplication.getSAFRFactory();
+        LogicalRecord record = factory.createLogicalRecord();
+        record.setName(name);
+        record.setLRTypeCode(factory.getCodeSet(CodeCategories.LRTYPE).getCode(Codes.LOGICAL_FILE));
+        record.setActive(true);
+        for (int i = 0; i < fieldsPerRecord; i++) {
+            LRField field = record.addField();
+            field.setName("FIELD_" + i);
+            field.setDecimals(0);
+            field.setScaling(0);
+            field.setSigned(false);
+            if (i % 2 == 0) {
+                field.setDataTypeCode(factory.getCodeSet(CodeCategories.DATATYPE).getCode(Codes.ALPHANUMERIC));
+                field.setLengthSimple(ALNUM_LENGTH);
+            } else {
+                field.setDataTypeCode(factory.getCodeSet(CodeCategories.DATATYPE).getCode(Codes.ZONED_DECIMAL));
+                field.setLengthSimple(ZONED_LENGTH);
+            }
+        }
+        record.addAssociatedLogicalFile(new ComponentAssociation(record,
+            logicalFile.getId(), logicalFile.getName(), EditRights.ReadModifyDelete));
+        record.autocalcRedefine();
+        record.validate();
+        record.store();
+        return record.getId();
+    }
+
+    private Integer createView(String name, ControlRecord controlRecord, LogicalRecord source) {
+        View view = SAFRApplication.getSAFRFactory().createView();
+        view.setName(name);
+        view.setControlRecord(controlRecord);
+        ViewSource viewSource = view.addViewSource();
+        viewSource.setLrFileAssociation(source.getLogicalFileAssociations().getActiveItems().get(0));
+        List<LRField> fields = source.getLRFields().getActiveItems();
+        view.addFieldsAsColumns(fields, 0);
+        view.overSourceFieldsAsColumns(fields, 0, viewSource);
+        view.store();
+        return view.getId();
+    }
+}
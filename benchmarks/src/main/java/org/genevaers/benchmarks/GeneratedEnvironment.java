@@ -0,0 +1,166 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.ibm.safr.we.constants.ActivityResult;
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.SortType;
+import com.ibm.safr.we.model.Environment;
+import com.ibm.safr.we.model.query.SAFRQuery;
+import com.ibm.safr.we.model.query.ViewQueryBean;
+import com.ibm.safr.we.model.utilities.ConfirmWarningStrategy;
+import com.ibm.safr.we.model.utilities.DependencyData;
+import com.ibm.safr.we.model.utilities.export.ExportComponent;
+import com.ibm.safr.we.model.utilities.export.ExportUtility;
+import com.ibm.safr.we.model.utilities.importer.ImportFile;
+import com.ibm.safr.we.model.utilities.importer.ImportUtility;
+
+/**
+ * A generated environment shared by the benchmarks of a trial. Its size is
+ * set with the JMH parameters, e.g. <code>-p views=1000</code>. It is removed
+ * again when the trial ends.
+ */
+@State(Scope.Benchmark)
+public class GeneratedEnvironment {
+
+    @Param({"10"})
+    public int logicalRecords;
+
+    @Param({"50"})
+    public int fields;
+
+    @Param({"100"})
+    public int views;
+
+    /** Proceeds on every warning, as answering yes to each prompt would. */
+    private static final ConfirmWarningStrategy ACCEPT_WARNINGS = new ConfirmWarningStrategy() {
+        public boolean confirmWarning(String topic, String message) {
+            return true;
+        }
+
+        public boolean confirmWarning(String topic, String shortMessage, String detailMessage) {
+            return true;
+        }
+
+        public boolean confirmWarning(String topic, String shortMessage, List<DependencyData> dependencyList) {
+            return true;
+        }
+    };
+
+    private EnvironmentGenerator generator;
+    private Environment environment;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        BenchmarkSession.open();
+        generator = new EnvironmentGenerator(logicalRecords, fields, views);
+        environment = generator.generate(uniqueName("BENCH"));
+    }
+
+    @TearDown(Level.Trial)
+    public void remove() {
+        EnvironmentGenerator.removeEnvironment(environment.getId());
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    public List<Integer> getLogicalRecordIds() {
+        return generator.getLogicalRecordIds();
+    }
+
+    public List<Integer> getViewIds() {
+        return generator.getViewIds();
+    }
+
+    /**
+     * Exports every View of the environment to its own file in the directory.
+     */
+    public void exportViews(File directory) {
+        List<ExportComponent> components = new ArrayList<ExportComponent>();
+        for (ViewQueryBean bean : SAFRQuery.queryAllViews(environment.getId(), SortType.SORT_BY_ID)) {
+            components.add(new ExportComponent(bean));
+        }
+        ExportUtility export = new ExportUtility(EnvironmentGenerator.queryBean(environment),
+            directory.getPath(), null, ComponentType.View, true, false, false, false, true);
+        // no file exists beforehand, so no confirmation is asked for
+        export.export(components, (Shell) null);
+        for (ExportComponent component : components) {
+            if (component.getResult() != ActivityResult.PASS) {
+                throw new IllegalStateException("Export of " + component.getComponent().getDescriptor()
+                    + " failed: " + component.getErrors());
+            }
+        }
+    }
+
+    /**
+     * Imports every exported View file in the directory into the target
+     * environment.
+     */
+    public static void importViews(File directory, Environment target) {
+        List<ImportFile> files = new ArrayList<ImportFile>();
+        for (File file : directory.listFiles()) {
+            ImportFile importFile = new ImportFile(file);
+            importFile.setSelected(true);
+            files.add(importFile);
+        }
+        ImportUtility importer = new ImportUtility(EnvironmentGenerator.queryBean(target),
+            ComponentType.View, files);
+        importer.setConfirmWarningStrategy(ACCEPT_WARNINGS);
+        importer.importMetadata();
+        for (ImportFile file : files) {
+            if (file.getResult() == ActivityResult.FAIL || file.getResult() == ActivityResult.SYSTEMERROR) {
+                throw new IllegalStateException("Import of " + file.getName() + " failed: " + file.getErrorMsg());
+            }
+        }
+    }
+
+    public static File createDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix).toFile();
+    }
+
+    public static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    static String uniqueName(String prefix) {
+        return prefix + "_" + System.currentTimeMillis();
+    }
+}
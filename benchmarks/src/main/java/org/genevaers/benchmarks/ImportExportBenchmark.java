@@ -0,0 +1,96 @@
+package org.genevaers.benchmarks;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.safr.we.model.Environment;
+import com.ibm.safr.we.model.SAFRApplication;
+
+/**
+ * Exports the Views of a generated environment and imports the exported XML,
+ * which carries the Views' Logical Records, Logical Files and Physical Files,
+ * into an empty environment.
+ * <p>
+ * Each call moves the whole environment, so single shots are timed and the
+ * target environment is cleared before every import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportExportBenchmark {
+
+    private File exported;
+    private File exportTarget;
+    private Environment importTarget;
+
+    @Setup(Level.Trial)
+    public void prepare(GeneratedEnvironment source) throws IOException {
+        exported = GeneratedEnvironment.createDirectory("benchxml");
+        source.exportViews(exported);
+        importTarget = EnvironmentGenerator.createEnvironment(
+            GeneratedEnvironment.uniqueName("BENCH_TARGET"));
+        BenchmarkSession.useEnvironment(source.getEnvironment());
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() throws IOException {
+        exportTarget = GeneratedEnvironment.createDirectory("benchexport");
+        SAFRApplication.getSAFRFactory().clearEnvironment(importTarget.getId());
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeExport() {
+        GeneratedEnvironment.deleteDirectory(exportTarget);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() {
+        GeneratedEnvironment.deleteDirectory(exported);
+        EnvironmentGenerator.removeEnvironment(importTarget.getId());
+    }
+
+    @Benchmark
+    public void exportViews(GeneratedEnvironment source) {
+        source.exportViews(exportTarget);
+    }
+
+    @Benchmark
+    public void importViews() {
+        GeneratedEnvironment.importViews(exported, importTarget);
+    }
+}
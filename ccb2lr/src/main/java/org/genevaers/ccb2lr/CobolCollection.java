@@ -102,9 +102,37 @@ public class CobolCollection {
 
 	private void resolveChildPositions(int pos, CobolField c) {
 		while(c != null) {
-			pos = c.resolvePosition(pos);
-			c = c.next();
+			if(c.getType() == FieldType.OCCURSGROUP) {
+				//not yet expanded so it takes up all of its occurrences
+				pos = resolveOccursPositions(pos, c);
+				c = nextAfter(c);
+			} else {
+				pos = c.resolvePosition(pos);
+				c = c.next();
+			}
+		}
+	}
+
+	private int resolveOccursPositions(int pos, CobolField c) {
+		int start = c.resolvePosition(pos);
+		int end = start;
+		CobolField child = c.getFirstChild();
+		while(child != null) {
+			end = resolveOccursPositions(end, child);
+			child = child.getNextSibling();
+		}
+		if(c.getType() == FieldType.OCCURSGROUP) {
+			end = start + (end - start) * ((OccursGroup)c).getTimes();
+		}
+		return end;
+	}
+
+	private CobolField nextAfter(CobolField c) {
+		CobolField n = c;
+		while(n != null && n.getNextSibling() == null) {
+			n = n.getParent();
 		}
+		return n != null ? n.getNextSibling() : null;
 	}
 
 	private void resolveRedefinedPostions() {
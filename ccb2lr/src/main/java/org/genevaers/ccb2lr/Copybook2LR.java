@@ -18,25 +18,43 @@ package org.genevaers.ccb2lr;
  */
 
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenFactory;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.NoViableAltException;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.UnbufferedCharStream;
+import org.antlr.v4.runtime.UnbufferedTokenStream;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.genevaers.ccb2lr.grammar.CobolCopybookBaseListener;
 import org.genevaers.ccb2lr.grammar.CobolCopybookLexer;
 import org.genevaers.ccb2lr.grammar.CobolCopybookParser;
 import org.genevaers.ccb2lr.grammar.CobolCopybookParser.GoalContext;
+import org.genevaers.ccb2lr.grammar.CobolCopybookParser.ItemContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -52,9 +70,10 @@ public class Copybook2LR {
     private ObjectNode copyRecord;
 
     public void processCopybook(Path fp) throws IOException {
-        ANTLRInputStream input = new ANTLRInputStream(getReformattedInput(fp));
-
-        CobolCopybookLexer lexer = new CobolCopybookLexer(input);
+        CobolCopybookLexer lexer;
+        try (Reader reader = new CopybookReader(new FileReader(fp.toFile()))) {
+            lexer = new CobolCopybookLexer(CharStreams.fromReader(reader));
+        }
         CommonTokenStream tokens = new CommonTokenStream(lexer);
         CobolCopybookParser parser = new CobolCopybookParser(tokens);
         parser.removeErrorListeners(); // remove ConsoleErrorListener
@@ -74,6 +93,92 @@ public class Copybook2LR {
         }
     }
 
+    /**
+     * Converts a copybook without holding all of it in memory. The lexer
+     * reads the file through a channel, and each item is added to the
+     * collection as soon as it is parsed and then dropped from the parse tree,
+     * so there is no tree for {@link #generateData()} to walk afterwards.
+     * OCCURS groups are left unexpanded, with positions allowing for all
+     * their occurrences, until {@link #addRecordFieldToYamlTree()} makes
+     * the LR fields.
+     */
+    public void streamCopybook(Path fp) throws IOException {
+        errorListener = new ParseErrorListener();
+        ccbListener = new CopybookListener();
+        tree = null;
+        try (Reader reader = new CopybookReader(Channels.newReader(FileChannel.open(fp), Charset.defaultCharset().name()))) {
+            CobolCopybookLexer lexer = new CobolCopybookLexer(new UnbufferedCharStream(reader));
+            // the char stream lets go of the text once it is read
+            lexer.setTokenFactory(new CommonTokenFactory(true));
+            CobolCopybookParser parser = new CobolCopybookParser(new UnbufferedTokenStream<>(lexer));
+            parser.setErrorHandler(new StreamingErrorStrategy());
+            parser.removeErrorListeners(); // remove ConsoleErrorListener
+            parser.addErrorListener(errorListener); // add ours
+            parser.addParseListener(new ItemWalker(ccbListener));
+            parser.goal();
+        }
+        if (noParserErrors()) {
+            if(noGenerationErrors()) {
+                ccbListener.getCollection().resolvePositions();
+            } else {
+                addToErrorListener();
+            }
+        } else {
+            errorListener.addErrorMessage("Please ensure the copybook compiles via IBM Enterprise COBOL for z/OS");
+        }
+    }
+
+    /**
+     * Streams each copybook in a directory to a YAML file of the same name in
+     * the output directory, converting several copybooks at once.
+     * 
+     * @param dir directory of the copybooks, *.cpy or *.CPY
+     * @param outDir directory for the YAML files
+     * @param threads how many copybooks to convert at a time
+     * @return the errors of each copybook which could not be converted
+     */
+    public static Map<Path, List<String>> convertDirectory(Path dir, final Path outDir, int threads) throws IOException, InterruptedException {
+        Map<Path, Future<List<String>>> conversions = new TreeMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (DirectoryStream<Path> copybooks = Files.newDirectoryStream(dir, "*.{cpy,CPY}")) {
+            for(final Path copybook : copybooks) {
+                conversions.put(copybook, executor.submit(new Callable<List<String>>() {
+                    public List<String> call() throws IOException {
+                        return convert(copybook, outDir);
+                    }
+                }));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Map<Path, List<String>> failures = new TreeMap<>();
+        for(Map.Entry<Path, Future<List<String>>> conversion : conversions.entrySet()) {
+            List<String> errors;
+            try {
+                errors = conversion.getValue().get();
+            } catch (ExecutionException e) {
+                errors = new ArrayList<>();
+                errors.add(e.getCause().toString());
+            }
+            if(!errors.isEmpty()) {
+                failures.put(conversion.getKey(), errors);
+            }
+        }
+        return failures;
+    }
+
+    private static List<String> convert(Path copybook, Path outDir) throws IOException {
+        Copybook2LR ccb2lr = new Copybook2LR();
+        ccb2lr.streamCopybook(copybook);
+        if(ccb2lr.hasErrors()) {
+            return ccb2lr.getErrors();
+        }
+        String name = copybook.getFileName().toString();
+        ccb2lr.addRecordFieldToYamlTree();
+        ccb2lr.writeYaml(outDir.resolve(name.substring(0, name.lastIndexOf('.')) + ".yaml").toFile());
+        return new ArrayList<>();
+    }
+
     private void addToErrorListener() {
         for(String err : ccbListener.getErrors()) {
             errorListener.addErrorMessage(err);
@@ -88,28 +193,6 @@ public class Copybook2LR {
         return errorListener.getErrors().isEmpty();
     }
 
-    private StringReader getReformattedInput(Path fp) throws FileNotFoundException, IOException {
-        Reader reader = new FileReader(fp.toFile());
-        StringBuilder data = new StringBuilder();
-        try (BufferedReader bufferedReader = new BufferedReader(reader)) {
-
-            String line = bufferedReader.readLine();
-            while (line != null) {
-                if (line.length() > 7) {
-                    String addMe;
-                    if(line.length() > 72) {
-                        addMe = line.substring(6, 72);
-                    } else {
-                        addMe = line.substring(6);
-                    }
-                    data.append(addMe + "\n");
-                }
-                line = bufferedReader.readLine();
-            }
-        }
-        return new StringReader(data.toString());
-    }
-
 	public void generateData() {
 		ccbListener = new CopybookListener();
         ParseTreeWalker walker = new ParseTreeWalker(); // create standard walker
@@ -136,13 +219,17 @@ public class Copybook2LR {
 
     private void writeYaml(String filename) {
         try {
-            yamlMapper.writeValue(new File(filename), copyRecord);
+            writeYaml(new File(filename));
         } catch (IOException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
         }
     }
 
+    private void writeYaml(File file) throws IOException {
+        yamlMapper.writeValue(file, copyRecord);
+    }
+
     public void addRecordFieldToYamlTree() {
         yamlMapper = new ObjectMapper(new YAMLFactory());
         copyRecord = yamlMapper.createObjectNode();
@@ -196,6 +283,37 @@ public class Copybook2LR {
         return ccbListener.getCollection().getNumberOfFields();
     }
 
+    /**
+     * Hands each item to the copybook listener as the parser finishes it,
+     * then drops the item so the parse tree never grows past one item.
+     */
+    private static class ItemWalker extends CobolCopybookBaseListener {
+        private final CopybookListener listener;
+
+        ItemWalker(CopybookListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void exitItem(ItemContext ctx) {
+            ParseTreeWalker.DEFAULT.walk(listener, ctx);
+            ctx.getParent().removeLastChild();
+        }
+    }
+
+    /**
+     * The default reporting of a failed prediction asks the token stream for
+     * the text back to where the prediction started, which an unbuffered
+     * stream may no longer hold.
+     */
+    private static class StreamingErrorStrategy extends DefaultErrorStrategy {
+        @Override
+        protected void reportNoViableAlternative(Parser recognizer, NoViableAltException e) {
+            String msg = "no viable alternative at input " + getTokenErrorDisplay(e.getOffendingToken());
+            recognizer.notifyErrorListeners(e.getOffendingToken(), msg, e);
+        }
+    }
+
 	public static String getVersion() {
 		ClassLoader loader = Thread.currentThread().getContextClassLoader();
 		Properties properties = new Properties();
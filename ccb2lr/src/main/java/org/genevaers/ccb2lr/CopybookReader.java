@@ -0,0 +1,76 @@
+package org.genevaers.ccb2lr;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a copybook a line at a time, keeping only the columns the COBOL
+ * compiler reads. The sequence number area (columns 1 to 6) and anything
+ * after column 72 are dropped, as are lines with nothing past column 7.
+ */
+public class CopybookReader extends Reader {
+
+    private final BufferedReader lines;
+    private String line = "";
+    private int ndx = 0;
+
+    public CopybookReader(Reader in) {
+        lines = new BufferedReader(in);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if(len == 0) {
+            return 0;
+        }
+        while(ndx >= line.length()) {
+            String l = lines.readLine();
+            if(l == null) {
+                return -1;
+            }
+            line = reformat(l);
+            ndx = 0;
+        }
+        int n = Math.min(len, line.length() - ndx);
+        line.getChars(ndx, ndx + n, cbuf, off);
+        ndx += n;
+        return n;
+    }
+
+    private String reformat(String l) {
+        if(l.length() > 7) {
+            if(l.length() > 72) {
+                return l.substring(6, 72) + "\n";
+            } else {
+                return l.substring(6) + "\n";
+            }
+        } else {
+            return "";
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lines.close();
+    }
+}
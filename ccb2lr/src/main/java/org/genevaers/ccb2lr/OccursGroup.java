@@ -46,6 +46,15 @@ public class OccursGroup extends GroupField {
         return times;
     }
     
+    @Override
+    public int getLength() {
+        if(getType() == FieldType.OCCURSGROUP) {
+            return times * super.getLength();
+        } else {
+            return super.getLength();
+        }
+    }
+
     public void resetOccurs() {
         fieldType = FieldType.GROUP;
     }
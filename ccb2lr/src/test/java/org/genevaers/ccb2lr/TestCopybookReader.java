@@ -365,6 +365,40 @@ public class TestCopybookReader {
 		assertNotNull(fill4);
 	}
 
+	@Test
+	public void testStreamedOccursNotExpanded() throws IOException {
+		Copybook2LR ccb2lr = new Copybook2LR();
+		Path testPath = Paths.get("src/test/resources/groupCustomerArray.cpy");
+		ccb2lr.streamCopybook(testPath);
+		assertFalse(ccb2lr.hasErrors());
+		assertEquals(192, ccb2lr.getRecordField().getLength());
+	}
+
+	@Test
+	public void testStreamedMatchesParsed() throws IOException {
+		String[] copybooks = {"simple.cpy", "groupInGroup.cpy", "groupCustomerArray.cpy",
+				"groupCustomerArrayAtEnd.cpy", "groupInGroupOccurs.cpy", "groupRedefined.cpy"};
+		for(String copybook : copybooks) {
+			Path testPath = Paths.get("src/test/resources", copybook);
+			Copybook2LR parsed = new Copybook2LR();
+			parsed.processCopybook(testPath);
+			parsed.addRecordFieldToYamlTree();
+			Copybook2LR streamed = new Copybook2LR();
+			streamed.streamCopybook(testPath);
+			assertFalse(copybook, streamed.hasErrors());
+			streamed.addRecordFieldToYamlTree();
+			assertEquals(copybook, parsed.getRecord(), streamed.getRecord());
+		}
+	}
+
+	@Test
+	public void testStreamedRubbish() throws IOException {
+		Copybook2LR ccb2lr = new Copybook2LR();
+		Path testPath = Paths.get("src/test/resources/rubbish.cpy");
+		ccb2lr.streamCopybook(testPath);
+		assertTrue(ccb2lr.hasErrors());
+	}
+
 	private void checkFieldPositions(GroupField rf, int[] positions) {
 		CobolField f = rf.getFirstChild();
 		int ndx = 0;
@@ -18,12 +18,15 @@ package org.genevaers.ccb2lr;
  */
 
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -68,4 +71,15 @@ public class TestCopybookWriter {
 		assertTrue(scbf.exists());
 	}
 
+	@Test
+	public void testConvertDirectory() throws IOException, InterruptedException {
+		File out = new File("build/out/bulk");
+		out.mkdirs();
+		Map<Path, List<String>> failures = Copybook2LR.convertDirectory(Paths.get("src/test/resources"), out.toPath(), 4);
+		assertTrue(new File(out, "simple.yaml").exists());
+		assertTrue(new File(out, "groupCustomerArray.yaml").exists());
+		assertTrue(failures.containsKey(Paths.get("src/test/resources/rubbish.cpy")));
+		assertFalse(failures.containsKey(Paths.get("src/test/resources/simple.cpy")));
+	}
+
 }
@@ -19,116 +19,86 @@
 --*   See the License for the specific language governing permissions and     
 --*   limitations under the License.                                          
 --***********************************************************************
+
+-- The result changed from VOID to the progress rows, which CREATE OR
+-- REPLACE cannot do.
+DROP FUNCTION IF EXISTS :schemaV.clearEnvironment(INT);
+
 CREATE OR REPLACE FUNCTION :schemaV.clearEnvironment (
                                 IN  P_ENVIRONID INT)
-RETURNS VOID
+RETURNS TABLE (TABLENAME VARCHAR, ROWSAFFECTED INT)
 AS $$
 
-BEGIN
-
---****************************************************************
---CLEARS VIEWS IN THE ENVIRONMENT
---****************************************************************
-    DELETE FROM SECVIEW WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VIEWCOLUMNSOURCE WHERE ENVIRONID = P_ENVIRONID;
-
-   DELETE FROM VIEWSORTKEY WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VIEWCOLUMN WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VIEWSOURCE WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VIEWHEADERFOOTER WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VIEWLOGICDEPEND WHERE ENVIRONID = P_ENVIRONID;
-
- --   DELETE FROM E_LOGICTBL WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VFVASSOC  WHERE ENVIRONID = P_ENVIRONID; 
-
-    DELETE FROM VIEW WHERE ENVIRONID = P_ENVIRONID;
-
---****************************************************************
---CLEARS LOOKUP PATHS IN THE ENVIRONMENT
---****************************************************************
-    DELETE FROM SECLOOKUP WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LOOKUPSRCKEY WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LOOKUPSTEP WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LOOKUP WHERE ENVIRONID = P_ENVIRONID;
-
---****************************************************************
---CLEARS LOGICAL RECORDS AND THEIR ASSOCIATIONS IN THE ENVIRONMENT
---****************************************************************
-
-    DELETE FROM SECLOGREC WHERE ENVIRONID = P_ENVIRONID;
-    
-    DELETE FROM LRINDEXFLD WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LRINDEX WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LRFIELDATTR WHERE ENVIRONID = P_ENVIRONID;
+DECLARE
+    V_TABLE TEXT[];
 
-    DELETE FROM LRFIELD WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LRLFASSOC WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LOGREC WHERE ENVIRONID = P_ENVIRONID;
-
---****************************************************************
---CLEARS LOGICAL FILES AND THEIR ASSOCIATIONS IN THE ENVIRONMENT
---****************************************************************
-
-    DELETE FROM SECLOGFILE WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM LFPFASSOC WHERE ENVIRONID = P_ENVIRONID
-    AND LFPFASSOCID > 0;
-
-    DELETE FROM LOGFILE WHERE ENVIRONID =P_ENVIRONID
-    AND LOGFILEID > 0;
-
---****************************************************************
---CLEARS PHYSICAL FILES AND THEIR ASSOCIATIONS IN THE ENVIRONMENT
---****************************************************************
-
-    DELETE FROM SECPHYFILE WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM PHYFILE WHERE ENVIRONID = P_ENVIRONID
-    AND PHYFILEID > 0;
-
---****************************************************************
---CLEARS VIEW FOLDERS AND THEIR ASSOCIATIONS IN THE ENVIRONMENT
---****************************************************************
-
-    DELETE FROM SECVIEWFOLDER WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM VIEWFOLDER WHERE ENVIRONID = P_ENVIRONID
-    AND VIEWFOLDERID <> 0;
-
---****************************************************************
---CLEARS USER EXIT ROUTINES IN THE ENVIRONMENT
---****************************************************************
-
-    DELETE FROM SECEXIT WHERE ENVIRONID = P_ENVIRONID;
-
-    DELETE FROM EXIT WHERE ENVIRONID = P_ENVIRONID;
+BEGIN
 
 --****************************************************************
---CLEARS CONTROL RECORDS IN THE ENVIRONMENT
---****************************************************************
-
-    DELETE FROM CONTROLREC WHERE ENVIRONID = P_ENVIRONID;
+--CLEARS THE COMPONENTS OF THE ENVIRONMENT ONE TABLE AT A TIME,
+--CHILDREN BEFORE PARENTS, AND RETURNS THE ROWS DELETED FROM EACH.
+--THE ROW 0 PLACEHOLDERS OF THE FILES AND THE ALL VIEWS FOLDER ARE
+--KEPT. EACH TABLE IS ALSO REPORTED AS A NOTICE AS IT IS CLEARED.
+--****************************************************************
+    FOREACH V_TABLE SLICE 1 IN ARRAY ARRAY[
+        -- views
+        ['SECVIEW', ''],
+        ['VIEWCOLUMNSOURCE', ''],
+        ['VIEWSORTKEY', ''],
+        ['VIEWCOLUMN', ''],
+        ['VIEWSOURCE', ''],
+        ['VIEWHEADERFOOTER', ''],
+        ['VIEWLOGICDEPEND', ''],
+        ['VFVASSOC', ''],
+        ['VIEW', ''],
+        -- lookup paths
+        ['SECLOOKUP', ''],
+        ['LOOKUPSRCKEY', ''],
+        ['LOOKUPSTEP', ''],
+        ['LOOKUP', ''],
+        -- logical records and their associations
+        ['SECLOGREC', ''],
+        ['LRINDEXFLD', ''],
+        ['LRINDEX', ''],
+        ['LRFIELDATTR', ''],
+        ['LRFIELD', ''],
+        ['LRLFASSOC', ''],
+        ['LOGREC', ''],
+        -- logical files and their associations
+        ['SECLOGFILE', ''],
+        ['LFPFASSOC', ' AND LFPFASSOCID > 0'],
+        ['LOGFILE', ' AND LOGFILEID > 0'],
+        -- physical files
+        ['SECPHYFILE', ''],
+        ['PHYFILE', ' AND PHYFILEID > 0'],
+        -- view folders
+        ['SECVIEWFOLDER', ''],
+        ['VIEWFOLDER', ' AND VIEWFOLDERID <> 0'],
+        -- user exit routines
+        ['SECEXIT', ''],
+        ['EXIT', ''],
+        -- control records
+        ['CONTROLREC', '']]
+    LOOP
+        EXECUTE format('DELETE FROM %I WHERE ENVIRONID = $1', lower(V_TABLE[1]))
+            || V_TABLE[2] USING P_ENVIRONID;
+        GET DIAGNOSTICS ROWSAFFECTED = ROW_COUNT;
+        TABLENAME := V_TABLE[1];
+        RAISE NOTICE 'Cleared % rows from %', ROWSAFFECTED, TABLENAME;
+        RETURN NEXT;
+    END LOOP;
 
 --****************************************************************
 --CLEARS MIGRATION AUDIT ROWS IN THE ENVIRONMENT
 --****************************************************************
 
-    DELETE FROM MIGAUDIT WHERE SRCENVIRONID = P_ENVIRONID;
-    DELETE FROM MIGAUDIT WHERE DESTENVIRONID = P_ENVIRONID;
+    DELETE FROM MIGAUDIT WHERE SRCENVIRONID = P_ENVIRONID
+    OR DESTENVIRONID = P_ENVIRONID;
+    GET DIAGNOSTICS ROWSAFFECTED = ROW_COUNT;
+    TABLENAME := 'MIGAUDIT';
+    RAISE NOTICE 'Cleared % rows from %', ROWSAFFECTED, TABLENAME;
+    RETURN NEXT;
 
 END;
 	$$
-	LANGUAGE plpgsql;
\ No newline at end of file
+	LANGUAGE plpgsql;
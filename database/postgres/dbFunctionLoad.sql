@@ -21,6 +21,14 @@
 
 \c :dbname -
 
+\echo Index the foreign keys used by environment clear and delete
+
+\i environmentIndexes.sql
+
+\echo Index the view logic text searched by Find/Replace
+
+\i logicTextSearch.sql
+
 \echo Install the stored functions
 
 \i getLRDependencies.sql
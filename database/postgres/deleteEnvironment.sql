@@ -20,55 +20,43 @@
 --*   limitations under the License.                                          
 --***********************************************************************
 
+-- The result changed from VOID to the progress rows, which CREATE OR
+-- REPLACE cannot do.
+DROP FUNCTION IF EXISTS :schemaV.deleteEnvironment(INT);
+
 CREATE OR REPLACE FUNCTION :schemaV.deleteEnvironment (
                                 IN  P_ENVIRONID INT)
-RETURNS VOID
+RETURNS TABLE (TABLENAME VARCHAR, ROWSAFFECTED INT)
 AS $$
-BEGIN
-
---**************************************************************
---DELETES THE PHYSICAL FILE AND LOGICAL FILE ASSOCIATIONS
--- RELATED TO THE ENVIRONMENT
---**************************************************************
 
-   DELETE FROM LFPFASSOC WHERE ENVIRONID = P_ENVIRONID;
+DECLARE
+    V_TABLE TEXT;
 
---**************************************************************
---DELETES THE LOGICAL FILES RELATED TO THE ENVIRONMENT
---**************************************************************
-
-    DELETE FROM LOGFILE WHERE ENVIRONID = P_ENVIRONID;
-
---**************************************************************
---DELETES THE PHYSICAL FILES AND THEIR ASSOCIATIONS RELATED TO
---THE ENVIRONMENT
---**************************************************************
-
-    DELETE FROM PHYFILE WHERE ENVIRONID = P_ENVIRONID;
-
---**************************************************************
---DELETES THE VIEW FOLDERS RELATED TO THE ENVIRONMENT
---**************************************************************
-
-    DELETE FROM VIEWFOLDER WHERE ENVIRONID = P_ENVIRONID;
-
---**************************************************************
---DELETES THE CONTROL RECORDS RELATED TO THE ENVIRONMENT
---**************************************************************
-
-    DELETE FROM CONTROLREC WHERE ENVIRONID = P_ENVIRONID;
+BEGIN
 
 --**************************************************************
---DELETES THE ASSOCIATIONS OF THE ENVIRONMENT WITH ANY GROUP
+--CLEARS THE COMPONENTS OF THE ENVIRONMENT, CHILDREN BEFORE
+--PARENTS, SO NONE CAN BE LEFT BEHIND
 --**************************************************************
 
-    DELETE FROM SECENVIRON WHERE ENVIRONID = P_ENVIRONID;
+    RETURN QUERY SELECT * FROM clearEnvironment(P_ENVIRONID);
 
 --**************************************************************
---DELETE THE ENVIRONMENT
+--DELETES WHAT A CLEAR KEEPS: THE ROW 0 FILES AND ASSOCIATION,
+--THE ALL VIEWS FOLDER AND THE ASSOCIATIONS OF THE ENVIRONMENT
+--WITH ANY GROUP, THEN THE ENVIRONMENT ITSELF
 --**************************************************************
 
-   DELETE FROM ENVIRON WHERE ENVIRONID = P_ENVIRONID;
+    FOREACH V_TABLE IN ARRAY ARRAY['LFPFASSOC', 'LOGFILE', 'PHYFILE',
+        'VIEWFOLDER', 'SECENVIRON', 'ENVIRON']
+    LOOP
+        EXECUTE format('DELETE FROM %I WHERE ENVIRONID = $1', lower(V_TABLE))
+            USING P_ENVIRONID;
+        GET DIAGNOSTICS ROWSAFFECTED = ROW_COUNT;
+        TABLENAME := V_TABLE;
+        RAISE NOTICE 'Deleted % rows from %', ROWSAFFECTED, TABLENAME;
+        RETURN NEXT;
+    END LOOP;
 
 END;
 	$$
@@ -0,0 +1,161 @@
+--****************************************************************
+--
+--     Copyright Contributors to the GenevaERS Project.
+-- SPDX-License-Identifier: Apache-2.0
+--
+--***********************************************************************
+--*                                                                           
+--*   Licensed under the Apache License, Version 2.0 (the "License");         
+--*   you may not use this file except in compliance with the License.        
+--*   You may obtain a copy of the License at                                 
+--*                                                                           
+--*     http://www.apache.org/licenses/LICENSE-2.0                            
+--*                                                                           
+--*   Unless required by applicable law or agreed to in writing, software     
+--*   distributed under the License is distributed on an "AS IS" BASIS,       
+--*   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express 
+--*   or implied.
+--*   See the License for the specific language governing permissions and     
+--*   limitations under the License.                                          
+--***********************************************************************
+
+-- Indexes on the foreign key columns which have none. Postgres checks each
+-- foreign key of a deleted row by looking for referencing rows, so without
+-- these clearing or deleting an environment reads the whole child table
+-- once for every parent row deleted. They also serve the joins from parent
+-- to child when components are read and when an environment is copied.
+
+CREATE INDEX IF NOT EXISTS idx_lfpfassoc_logfileid ON :schemaV.lfpfassoc
+    USING btree (environid, logfileid);
+
+CREATE INDEX IF NOT EXISTS idx_logrec_lookupexitid ON :schemaV.logrec
+    USING btree (environid, lookupexitid);
+
+CREATE INDEX IF NOT EXISTS idx_lookup_destlrlfassocid ON :schemaV.lookup
+    USING btree (environid, destlrlfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_lookup_srclrid ON :schemaV.lookup
+    USING btree (environid, srclrid);
+
+CREATE INDEX IF NOT EXISTS idx_lookupsrckey_lookupid ON :schemaV.lookupsrckey
+    USING btree (environid, lookupid);
+
+CREATE INDEX IF NOT EXISTS idx_lookupsrckey_lrfieldid ON :schemaV.lookupsrckey
+    USING btree (environid, lrfieldid);
+
+CREATE INDEX IF NOT EXISTS idx_lookupsrckey_lrlfassocid ON :schemaV.lookupsrckey
+    USING btree (environid, lrlfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_lookupstep_lookupid ON :schemaV.lookupstep
+    USING btree (environid, lookupid);
+
+CREATE INDEX IF NOT EXISTS idx_lookupstep_lrlfassocid ON :schemaV.lookupstep
+    USING btree (environid, lrlfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_lookupstep_srclrid ON :schemaV.lookupstep
+    USING btree (environid, srclrid);
+
+CREATE INDEX IF NOT EXISTS idx_lrindex_effdateendfldid ON :schemaV.lrindex
+    USING btree (environid, effdateendfldid);
+
+CREATE INDEX IF NOT EXISTS idx_lrindex_effdatestartfldid ON :schemaV.lrindex
+    USING btree (environid, effdatestartfldid);
+
+CREATE INDEX IF NOT EXISTS idx_lrindex_logrecid ON :schemaV.lrindex
+    USING btree (environid, logrecid);
+
+CREATE INDEX IF NOT EXISTS idx_lrindexfld_lrfieldid ON :schemaV.lrindexfld
+    USING btree (environid, lrfieldid);
+
+CREATE INDEX IF NOT EXISTS idx_lrindexfld_lrindexid ON :schemaV.lrindexfld
+    USING btree (environid, lrindexid);
+
+CREATE INDEX IF NOT EXISTS idx_lrlfassoc_logfileid ON :schemaV.lrlfassoc
+    USING btree (environid, logfileid);
+
+CREATE INDEX IF NOT EXISTS idx_phyfile_readexitid ON :schemaV.phyfile
+    USING btree (environid, readexitid);
+
+CREATE INDEX IF NOT EXISTS idx_secexit_exitid ON :schemaV.secexit
+    USING btree (environid, exitid);
+
+CREATE INDEX IF NOT EXISTS idx_seclogfile_logfileid ON :schemaV.seclogfile
+    USING btree (environid, logfileid);
+
+CREATE INDEX IF NOT EXISTS idx_seclogrec_logrecid ON :schemaV.seclogrec
+    USING btree (environid, logrecid);
+
+CREATE INDEX IF NOT EXISTS idx_seclookup_lookupid ON :schemaV.seclookup
+    USING btree (environid, lookupid);
+
+CREATE INDEX IF NOT EXISTS idx_secphyfile_phyfileid ON :schemaV.secphyfile
+    USING btree (environid, phyfileid);
+
+CREATE INDEX IF NOT EXISTS idx_secview_viewid ON :schemaV.secview
+    USING btree (environid, viewid);
+
+CREATE INDEX IF NOT EXISTS idx_secviewfolder_viewfolderid ON :schemaV.secviewfolder
+    USING btree (environid, viewfolderid);
+
+CREATE INDEX IF NOT EXISTS idx_vfvassoc_viewfolderid ON :schemaV.vfvassoc
+    USING btree (environid, viewfolderid);
+
+CREATE INDEX IF NOT EXISTS idx_vfvassoc_viewid ON :schemaV.vfvassoc
+    USING btree (environid, viewid);
+
+CREATE INDEX IF NOT EXISTS idx_view_controlrecid ON :schemaV.view
+    USING btree (environid, controlrecid);
+
+CREATE INDEX IF NOT EXISTS idx_view_formatexitid ON :schemaV.view
+    USING btree (environid, formatexitid);
+
+CREATE INDEX IF NOT EXISTS idx_view_lfpfassocid ON :schemaV.view
+    USING btree (environid, lfpfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_view_outputlrid ON :schemaV.view
+    USING btree (environid, outputlrid);
+
+CREATE INDEX IF NOT EXISTS idx_view_writeexitid ON :schemaV.view
+    USING btree (environid, writeexitid);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumnsource_effdatelrfieldid ON :schemaV.viewcolumnsource
+    USING btree (environid, effdatelrfieldid);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumnsource_lookupid ON :schemaV.viewcolumnsource
+    USING btree (environid, lookupid);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumnsource_lrfieldid ON :schemaV.viewcolumnsource
+    USING btree (environid, lrfieldid);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumnsource_sorttitlelookupid ON :schemaV.viewcolumnsource
+    USING btree (environid, sorttitlelookupid);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumnsource_viewsourceid ON :schemaV.viewcolumnsource
+    USING btree (environid, viewsourceid);
+
+CREATE INDEX IF NOT EXISTS idx_viewlogicdepend_exitid ON :schemaV.viewlogicdepend
+    USING btree (environid, exitid);
+
+CREATE INDEX IF NOT EXISTS idx_viewlogicdepend_lfpfassocid ON :schemaV.viewlogicdepend
+    USING btree (environid, lfpfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_viewlogicdepend_lookupid ON :schemaV.viewlogicdepend
+    USING btree (environid, lookupid);
+
+CREATE INDEX IF NOT EXISTS idx_viewlogicdepend_lrfieldid ON :schemaV.viewlogicdepend
+    USING btree (environid, lrfieldid);
+
+CREATE INDEX IF NOT EXISTS idx_viewsortkey_viewcolumnid ON :schemaV.viewsortkey
+    USING btree (environid, viewcolumnid);
+
+CREATE INDEX IF NOT EXISTS idx_viewsource_inlrlfassocid ON :schemaV.viewsource
+    USING btree (environid, inlrlfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_viewsource_outlfpfassocid ON :schemaV.viewsource
+    USING btree (environid, outlfpfassocid);
+
+CREATE INDEX IF NOT EXISTS idx_viewsource_viewid ON :schemaV.viewsource
+    USING btree (environid, viewid);
+
+CREATE INDEX IF NOT EXISTS idx_viewsource_writeexitid ON :schemaV.viewsource
+    USING btree (environid, writeexitid);
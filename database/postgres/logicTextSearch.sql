@@ -0,0 +1,44 @@
+--****************************************************************
+--
+--     Copyright Contributors to the GenevaERS Project.
+-- SPDX-License-Identifier: Apache-2.0
+--
+--***********************************************************************
+--*                                                                           
+--*   Licensed under the Apache License, Version 2.0 (the "License");         
+--*   you may not use this file except in compliance with the License.        
+--*   You may obtain a copy of the License at                                 
+--*                                                                           
+--*     http://www.apache.org/licenses/LICENSE-2.0                            
+--*                                                                           
+--*   Unless required by applicable law or agreed to in writing, software     
+--*   distributed under the License is distributed on an "AS IS" BASIS,       
+--*   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express 
+--*   or implied.
+--*   See the License for the specific language governing permissions and     
+--*   limitations under the License.                                          
+--***********************************************************************
+
+-- Trigram indexes on the view logic text columns. The Find/Replace
+-- utility searches these with LIKE, ILIKE and ~ / ~* in a single query,
+-- which the indexes serve without reading every logic text of the
+-- environment. Postgres keeps them current on every insert and update,
+-- whichever path writes the logic text. The extension is per database,
+-- so it goes in public where every schema of the database can share it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+
+CREATE INDEX IF NOT EXISTS idx_view_formatfiltlogic ON :schemaV.view
+    USING gin (formatfiltlogic public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumn_formatcalclogic ON :schemaV.viewcolumn
+    USING gin (formatcalclogic public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_viewsource_extractfiltlogic ON :schemaV.viewsource
+    USING gin (extractfiltlogic public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_viewsource_extractoutputlogic ON :schemaV.viewsource
+    USING gin (extractoutputlogic public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_viewcolumnsource_extractcalclogic ON :schemaV.viewcolumnsource
+    USING gin (extractcalclogic public.gin_trgm_ops);
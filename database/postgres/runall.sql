@@ -29,6 +29,10 @@
 
 \i genevaERSEmpty.sql
 
+\i logicTextSearch.sql
+
+\i environmentIndexes.sql
+
 \dn  
 
 \i populateCode.sql
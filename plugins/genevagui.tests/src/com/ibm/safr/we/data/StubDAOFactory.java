@@ -0,0 +1,80 @@
+package com.ibm.safr.we.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A DAOFactory whose DAOs read nothing and write nothing, for tests of model
+ * code which needs a factory but not a database. Collections returned by the
+ * DAOs are empty, other results are null, false or zero.
+ */
+public class StubDAOFactory {
+
+	private static final InvocationHandler HANDLER = new InvocationHandler() {
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			Class<?> type = method.getReturnType();
+			if (method.getDeclaringClass() == Object.class) {
+				if (method.getName().equals("equals")) {
+					return proxy == args[0];
+				} else if (method.getName().equals("hashCode")) {
+					return System.identityHashCode(proxy);
+				} else {
+					return "Stub " + proxy.getClass().getInterfaces()[0].getSimpleName();
+				}
+			} else if (type == Map.class) {
+				return new HashMap<Object, Object>();
+			} else if (type == List.class) {
+				return new ArrayList<Object>();
+			} else if (type.isInterface()) {
+				return stub(type);
+			} else if (type == boolean.class) {
+				return false;
+			} else if (type == int.class) {
+				return 0;
+			} else {
+				return null;
+			}
+		}
+	};
+
+	private static Object stub(Class<?> type) {
+		return Proxy.newProxyInstance(StubDAOFactory.class.getClassLoader(),
+				new Class<?>[] { type }, HANDLER);
+	}
+
+	/**
+	 * Make a stub the DAOFactory returned by {@link DAOFactoryHolder}.
+	 * 
+	 * @return the factory it replaces, for {@link #restore(DAOFactory)}
+	 */
+	public static DAOFactory install() {
+		DAOFactory previous = DAOFactoryHolder.daoFactory;
+		DAOFactoryHolder.daoFactory = (DAOFactory) stub(DAOFactory.class);
+		return previous;
+	}
+
+	public static void restore(DAOFactory previous) {
+		DAOFactoryHolder.daoFactory = previous;
+	}
+}
@@ -0,0 +1,178 @@
+package com.ibm.safr.we.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class TestDAOUOW {
+
+	/**
+	 * Records the transaction calls made on each thread, as a connection
+	 * bound to the thread would see them.
+	 */
+	private static class RecordingUOW extends DAOUOW {
+		private final Map<String, List<String>> calls = new ConcurrentHashMap<String, List<String>>();
+
+		private void record(String call) {
+			String thread = Thread.currentThread().getName();
+			calls.putIfAbsent(thread, Collections.synchronizedList(new ArrayList<String>()));
+			calls.get(thread).add(call);
+		}
+
+		List<String> getCalls(String thread) {
+			List<String> list = calls.get(thread);
+			return list == null ? Collections.<String>emptyList() : list;
+		}
+
+		protected void doBegin() throws DAOException {
+			record("begin");
+		}
+
+		protected void doEnd() throws DAOException {
+			record("commit");
+		}
+
+		protected void doFail() throws DAOException {
+			record("rollback");
+		}
+	}
+
+	private interface Steps {
+		void run(CyclicBarrier step) throws Exception;
+	}
+
+	/**
+	 * Run two threads side by side, each waiting for the other at every
+	 * step, and rethrow the first failure of either.
+	 */
+	private static void runTogether(final Steps first, final Steps second) throws Throwable {
+		final CyclicBarrier step = new CyclicBarrier(2);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread one = new Thread(new Runnable() {
+			public void run() {
+				try {
+					first.run(step);
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+					step.reset();
+				}
+			}
+		}, "first");
+		Thread two = new Thread(new Runnable() {
+			public void run() {
+				try {
+					second.run(step);
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+					step.reset();
+				}
+			}
+		}, "second");
+		one.start();
+		two.start();
+		one.join(TimeUnit.SECONDS.toMillis(10));
+		two.join(TimeUnit.SECONDS.toMillis(10));
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		assertFalse(one.isAlive() || two.isAlive());
+	}
+
+	private static void await(CyclicBarrier step) throws Exception {
+		step.await(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testConcurrentCommitAndRollback() throws Throwable {
+		final RecordingUOW uow = new RecordingUOW();
+		runTogether(new Steps() {
+			public void run(CyclicBarrier step) throws Exception {
+				uow.begin();
+				await(step);
+				// both units of work are open
+				await(step);
+				uow.end();
+				assertFalse(uow.inProgress());
+				await(step);
+				// the other thread rolls back
+				await(step);
+				assertFalse(uow.inProgress());
+			}
+		}, new Steps() {
+			public void run(CyclicBarrier step) throws Exception {
+				await(step);
+				uow.begin();
+				assertTrue(uow.inProgress());
+				await(step);
+				// the other thread commits
+				await(step);
+				assertTrue(uow.inProgress());
+				uow.fail();
+				assertFalse(uow.inProgress());
+				await(step);
+			}
+		});
+		assertEquals(Arrays.asList("begin", "commit"), uow.getCalls("first"));
+		assertEquals(Arrays.asList("begin", "rollback"), uow.getCalls("second"));
+		assertFalse(uow.inProgress());
+	}
+
+	@Test
+	public void testMultiComponentScopeIsPerThread() throws Throwable {
+		final RecordingUOW uow = new RecordingUOW();
+		runTogether(new Steps() {
+			public void run(CyclicBarrier step) throws Exception {
+				uow.begin();
+				uow.multiComponentScopeOn();
+				await(step);
+				// the other thread runs its own unit of work
+				await(step);
+				// a component stored under the utility's scope
+				uow.begin();
+				uow.end();
+				assertTrue(uow.inProgress());
+				uow.multiComponentScopeOff();
+				uow.end();
+			}
+		}, new Steps() {
+			public void run(CyclicBarrier step) throws Exception {
+				await(step);
+				assertFalse(uow.isMultiComponentScope());
+				assertFalse(uow.inProgress());
+				uow.begin();
+				uow.end();
+				await(step);
+			}
+		});
+		assertEquals(Arrays.asList("begin", "commit"), uow.getCalls("first"));
+		assertEquals(Arrays.asList("begin", "commit"), uow.getCalls("second"));
+	}
+}
@@ -0,0 +1,171 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ibm.safr.we.data.DAOException;
+
+public class TestBatchWriter {
+
+	private static class Row {
+		int lrId;
+		int seqNo;
+		int id;
+
+		Row(int lrId, int seqNo) {
+			this.lrId = lrId;
+			this.seqNo = seqNo;
+		}
+	}
+
+	private static final BatchWriter.Binder<Row> BINDER = new BatchWriter.Binder<Row>() {
+		public int bind(PreparedStatement pst, int i, Row row) throws SQLException {
+			pst.setInt(i++, row.lrId);
+			pst.setInt(i++, row.seqNo);
+			return i;
+		}
+
+		public void readKey(ResultSet keys, Row row) throws SQLException {
+			row.id = keys.getInt(1);
+		}
+
+		public List<Object> getNaturalKey(Row row) {
+			return Arrays.<Object>asList(row.lrId, row.seqNo);
+		}
+	};
+
+	private static final BatchWriter.MultiRowStatement STATEMENT = new BatchWriter.MultiRowStatement() {
+		public String getStatement(int rows) {
+			return new PGSQLGenerator().getBatchInsertStatement("SCHEMA", "T", "ID",
+				Arrays.asList("LRID", "SEQNO"), Arrays.asList("LRID", "SEQNO"), false, rows);
+		}
+	};
+
+	/**
+	 * A connection whose multi-row inserts give each row the id
+	 * 100 * LRID + SEQNO, returning the rows in reverse order.
+	 */
+	private static Connection reversingConnection(final List<String> statements,
+			final boolean dropFirst) {
+		return (Connection) proxy(Connection.class, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if (method.getName().equals("prepareStatement")) {
+					statements.add((String) args[0]);
+					return statement();
+				}
+				return method.getReturnType() == boolean.class ? false : null;
+			}
+
+			private PreparedStatement statement() {
+				final List<Integer> params = new ArrayList<Integer>();
+				return (PreparedStatement) proxy(PreparedStatement.class, new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						if (method.getName().equals("setInt")) {
+							params.add((Integer) args[1]);
+						} else if (method.getName().equals("executeQuery")) {
+							List<Object[]> rows = new ArrayList<Object[]>();
+							for (int i = 0; i < params.size(); i += 2) {
+								rows.add(new Object[] { 100 * params.get(i) + params.get(i + 1),
+									params.get(i), params.get(i + 1) });
+							}
+							Collections.reverse(rows);
+							if (dropFirst) {
+								rows.remove(rows.size() - 1);
+							}
+							return results(rows);
+						}
+						return null;
+					}
+				});
+			}
+		});
+	}
+
+	private static ResultSet results(final List<Object[]> rows) {
+		return (ResultSet) proxy(ResultSet.class, new InvocationHandler() {
+			private int next = -1;
+
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if (method.getName().equals("next")) {
+					return ++next < rows.size();
+				} else if (method.getName().equals("getInt")) {
+					return rows.get(next)[(Integer) args[0] - 1];
+				} else if (method.getName().equals("getObject")) {
+					return rows.get(next)[(Integer) args[0] - 1];
+				}
+				return null;
+			}
+		});
+	}
+
+	private static Object proxy(Class<?> type, InvocationHandler handler) {
+		return Proxy.newProxyInstance(TestBatchWriter.class.getClassLoader(),
+			new Class<?>[] { type }, handler);
+	}
+
+	private static List<Row> rows(int count) {
+		List<Row> rows = new ArrayList<Row>();
+		for (int i = 1; i <= count; i++) {
+			rows.add(new Row(7, i));
+		}
+		return rows;
+	}
+
+	@Test
+	public void testKeysAreMatchedByNaturalKey() throws Exception {
+		List<String> statements = new ArrayList<String>();
+		List<Row> rows = rows(5);
+		new BatchWriter(2).executeInsert(reversingConnection(statements, false),
+			STATEMENT, rows, BINDER, "testing");
+		for (Row row : rows) {
+			assertEquals(700 + row.seqNo, row.id);
+		}
+		// two full batches share a statement, the last row has its own
+		assertEquals(2, statements.size());
+		assertTrue(statements.get(0), statements.get(0).endsWith("RETURNING ID, LRID, SEQNO"));
+	}
+
+	@Test(expected = DAOException.class)
+	public void testMissingKeyFails() throws Exception {
+		new BatchWriter(5).executeInsert(reversingConnection(new ArrayList<String>(), true),
+			STATEMENT, rows(3), BINDER, "testing");
+	}
+
+	@Test
+	public void testDb2InsertReturnsKeysInInputSequence() {
+		String statement = new SQLGenerator().getBatchInsertStatement(null, "T", "ID",
+			Arrays.asList("LRID"), Arrays.asList("LRID", "LASTMODTIMESTAMP"), true, 2);
+		assertEquals("SELECT ID, LRID FROM FINAL TABLE (INSERT INTO T (LRID,LASTMODTIMESTAMP) "
+			+ "VALUES (?,CURRENT TIMESTAMP),(?,CURRENT TIMESTAMP)) ORDER BY INPUT SEQUENCE", statement);
+	}
+}
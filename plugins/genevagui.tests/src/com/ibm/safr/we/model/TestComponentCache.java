@@ -0,0 +1,179 @@
+package com.ibm.safr.we.model;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.SAFRPersistence;
+import com.ibm.safr.we.model.base.SAFRComponent;
+import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+
+public class TestComponentCache {
+
+	private static SAFREnvironmentalComponent component(int environId, int id) {
+		SAFREnvironmentalComponent comp = new SAFREnvironmentalComponent(environId) {
+			public void store() {
+			}
+
+			public SAFRComponent saveAs(String newName) {
+				return null;
+			}
+		};
+		comp.setId(id);
+		comp.setPersistence(SAFRPersistence.OLD);
+		return comp;
+	}
+
+	private static void put(ComponentCache cache, SAFREnvironmentalComponent comp) {
+		cache.put(ComponentType.LogicalRecord, comp.getEnvironmentId(), comp.getId(), comp);
+	}
+
+	private static SAFREnvironmentalComponent get(ComponentCache cache, int environId, int id) {
+		return cache.get(ComponentType.LogicalRecord, environId, id);
+	}
+
+	@Test
+	public void testGetCounts() {
+		ComponentCache cache = new ComponentCache(10);
+		SAFREnvironmentalComponent comp = component(1, 5);
+		put(cache, comp);
+		assertSame(comp, get(cache, 1, 5));
+		assertNull(get(cache, 1, 6));
+		assertNull(get(cache, 2, 5));
+		assertNull(cache.get(ComponentType.LogicalFile, 1, 5));
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		ComponentCache cache = new ComponentCache(2);
+		SAFREnvironmentalComponent first = component(1, 1);
+		SAFREnvironmentalComponent second = component(1, 2);
+		put(cache, first);
+		put(cache, second);
+		// reading the first makes the second the least recently used
+		assertSame(first, get(cache, 1, 1));
+		put(cache, component(1, 3));
+		assertEquals(2, cache.size());
+		assertSame(first, get(cache, 1, 1));
+		assertNull(get(cache, 1, 2));
+		assertTrue(get(cache, 1, 3) != null);
+	}
+
+	@Test
+	public void testShrinkMaxSize() {
+		ComponentCache cache = new ComponentCache(3);
+		put(cache, component(1, 1));
+		put(cache, component(1, 2));
+		put(cache, component(1, 3));
+		cache.setMaxSize(1);
+		assertEquals(1, cache.size());
+		assertTrue(get(cache, 1, 3) != null);
+	}
+
+	@Test
+	public void testZeroSizeTurnsCacheOff() {
+		ComponentCache cache = new ComponentCache(0);
+		put(cache, component(1, 1));
+		assertEquals(0, cache.size());
+		assertNull(get(cache, 1, 1));
+	}
+
+	@Test
+	public void testRemoveEnvironment() {
+		ComponentCache cache = new ComponentCache(10);
+		put(cache, component(1, 1));
+		put(cache, component(1, 2));
+		SAFREnvironmentalComponent other = component(2, 1);
+		put(cache, other);
+		cache.removeEnvironment(1);
+		assertEquals(1, cache.size());
+		assertNull(get(cache, 1, 1));
+		assertNull(get(cache, 1, 2));
+		assertSame(other, get(cache, 2, 1));
+	}
+
+	@Test
+	public void testRemoveSingle() {
+		ComponentCache cache = new ComponentCache(10);
+		put(cache, component(1, 1));
+		SAFREnvironmentalComponent kept = component(1, 2);
+		put(cache, kept);
+		cache.remove(ComponentType.LogicalRecord, 1, 1);
+		assertNull(get(cache, 1, 1));
+		assertSame(kept, get(cache, 1, 2));
+	}
+
+	@Test
+	public void testModifiedComponentDropped() {
+		ComponentCache cache = new ComponentCache(10);
+		SAFREnvironmentalComponent comp = component(1, 1);
+		put(cache, comp);
+		comp.markModified();
+		assertEquals(SAFRPersistence.MODIFIED, comp.getPersistence());
+		assertNull(get(cache, 1, 1));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testDeletedComponentDropped() {
+		ComponentCache cache = new ComponentCache(10);
+		SAFREnvironmentalComponent comp = component(1, 1);
+		put(cache, comp);
+		comp.markDeleted();
+		assertNull(get(cache, 1, 1));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testMigratedComponentDropped() {
+		ComponentCache cache = new ComponentCache(10);
+		SAFREnvironmentalComponent comp = component(1, 1);
+		put(cache, comp);
+		// persistence stays OLD but the component now describes environment 2
+		comp.migrateToEnvironment(2, SAFRPersistence.OLD);
+		assertNull(get(cache, 1, 1));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testSharedBetweenThreads() throws InterruptedException {
+		final ComponentCache cache = new ComponentCache(10);
+		final SAFREnvironmentalComponent comp = component(1, 1);
+		put(cache, comp);
+
+		final AtomicReference<SAFREnvironmentalComponent> seen = new AtomicReference<SAFREnvironmentalComponent>();
+		Thread other = new Thread(new Runnable() {
+			public void run() {
+				seen.set(get(cache, 1, 1));
+			}
+		});
+		other.start();
+		other.join();
+		assertSame(comp, seen.get());
+		assertEquals(1, cache.getHits());
+	}
+}
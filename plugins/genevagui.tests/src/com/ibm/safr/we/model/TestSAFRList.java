@@ -0,0 +1,144 @@
+package com.ibm.safr.we.model;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.ibm.safr.we.constants.SAFRPersistence;
+import com.ibm.safr.we.model.base.SAFRComponent;
+import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+
+public class TestSAFRList {
+
+	private static SAFREnvironmentalComponent component(int id, SAFRPersistence persistence) {
+		SAFREnvironmentalComponent comp = new SAFREnvironmentalComponent(1) {
+			public void store() {
+			}
+
+			public SAFRComponent saveAs(String newName) {
+				return null;
+			}
+		};
+		comp.setId(id);
+		comp.setPersistence(persistence);
+		return comp;
+	}
+
+	private static SAFRList<SAFREnvironmentalComponent> list(int count) {
+		SAFRList<SAFREnvironmentalComponent> list = new SAFRList<SAFREnvironmentalComponent>();
+		for (int id = 1; id <= count; id++) {
+			list.add(component(id, SAFRPersistence.OLD));
+		}
+		return list;
+	}
+
+	@Test
+	public void testFindById() {
+		SAFRList<SAFREnvironmentalComponent> list = list(5);
+		for (int id = 1; id <= 5; id++) {
+			assertEquals(Integer.valueOf(id), list.findById(id).getId());
+		}
+		assertNull(list.findById(6));
+		assertNull(list.findById(0));
+		assertNull(list.findById(-1));
+	}
+
+	@Test
+	public void testFindAfterAdd() {
+		SAFRList<SAFREnvironmentalComponent> list = list(3);
+		assertNull(list.findById(4));
+		SAFREnvironmentalComponent added = component(4, SAFRPersistence.OLD);
+		list.add(added);
+		assertSame(added, list.findById(4));
+	}
+
+	@Test
+	public void testFindAfterSet() {
+		SAFRList<SAFREnvironmentalComponent> list = list(3);
+		assertEquals(Integer.valueOf(2), list.findById(2).getId());
+		SAFREnvironmentalComponent replacement = component(7, SAFRPersistence.OLD);
+		list.set(1, replacement);
+		assertNull(list.findById(2));
+		assertSame(replacement, list.findById(7));
+	}
+
+	@Test
+	public void testDeletedItemsNotFound() {
+		SAFRList<SAFREnvironmentalComponent> list = list(3);
+		SAFREnvironmentalComponent item = list.findById(2);
+		assertTrue(list.remove(item));
+		// a persistent item stays in the list marked deleted
+		assertEquals(3, list.size());
+		assertEquals(2, list.getActiveItems().size());
+		assertNull(list.findById(2));
+
+		// marked deleted outside the list
+		list.findById(3).markDeleted();
+		assertNull(list.findById(3));
+		assertEquals(1, list.getActiveItems().size());
+	}
+
+	@Test
+	public void testNewItemRemovedFromList() {
+		SAFRList<SAFREnvironmentalComponent> list = list(2);
+		SAFREnvironmentalComponent item = component(0, SAFRPersistence.NEW);
+		list.add(item);
+		assertEquals(3, list.getActiveItems().size());
+		assertTrue(list.remove(item));
+		assertEquals(2, list.size());
+		assertFalse(list.getActiveItems().contains(item));
+	}
+
+	@Test
+	public void testFindAfterIdAssigned() {
+		SAFRList<SAFREnvironmentalComponent> list = list(2);
+		SAFREnvironmentalComponent item = component(0, SAFRPersistence.NEW);
+		list.add(item);
+		assertNull(list.findById(3));
+		// a new component is given its id when it is stored
+		item.setId(3);
+		assertSame(item, list.findById(3));
+	}
+
+	@Test
+	public void testFindAfterIdChanged() {
+		SAFRList<SAFREnvironmentalComponent> list = list(2);
+		SAFREnvironmentalComponent item = list.findById(2);
+		item.setId(8);
+		assertNull(list.findById(2));
+		assertSame(item, list.findById(8));
+	}
+
+	@Test
+	public void testActiveItemsShared() {
+		SAFRList<SAFREnvironmentalComponent> list = list(3);
+		assertSame(list.getActiveItems(), list.getActiveItems());
+		list.add(component(4, SAFRPersistence.OLD));
+		assertEquals(4, list.getActiveItems().size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testActiveItemsUnmodifiable() {
+		list(1).getActiveItems().clear();
+	}
+}
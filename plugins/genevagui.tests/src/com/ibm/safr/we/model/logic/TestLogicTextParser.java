@@ -0,0 +1,68 @@
+package com.ibm.safr.we.model.logic;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.ibm.safr.we.constants.LogicTextType;
+
+public class TestLogicTextParser {
+
+	private static final String TEXT = 
+	    "IF {FIELD1} = 1 ' first\n" +
+	    "THEN WRITE(SOURCE=VIEW, DEST=FILE={LF.PF})\n" +
+	    "ENDIF\n";
+
+	private static String parse(String text) {
+		LogicTextParser parser = LogicTextParser.generateParser(LogicTextType.Extract_Record_Output);
+		parser.parse(text);
+		return parser.dumpTokenMap();
+	}
+
+	private static String significant(String text) {
+		LogicTextParser parser = LogicTextParser.generateParser(LogicTextType.Extract_Record_Output);
+		parser.parse(text);
+		return parser.getSignificantTokens();
+	}
+
+	@Test
+	public void testEditedLinesOnlyGiveSameTokens() {
+		LogicTextParser parser = LogicTextParser.generateParser(LogicTextType.Extract_Record_Output);
+		parser.parse(TEXT);
+		String edited = TEXT.replace("= 1", "= 12");
+		parser.parse(edited);
+		assertEquals(parse(edited), parser.dumpTokenMap());
+		parser.parse(TEXT);
+		assertEquals(parse(TEXT), parser.dumpTokenMap());
+	}
+
+	@Test
+	public void testCommentsAndLineEndsAreNotSignificant() {
+		assertEquals(significant(TEXT), significant(TEXT.replace("' first", "' second")));
+		assertEquals(significant(TEXT), significant(TEXT.replace("ENDIF", "ENDIF   ")));
+	}
+
+	@Test
+	public void testMovedTokensAreSignificant() {
+		assertFalse(significant(TEXT).equals(significant(TEXT.replace("= 1", "=  1"))));
+		assertFalse(significant(TEXT).equals(significant(TEXT.replace("ENDIF", "\nENDIF"))));
+		assertFalse(significant(TEXT).equals(significant(TEXT.replace("FIELD1", "FIELD2"))));
+	}
+}
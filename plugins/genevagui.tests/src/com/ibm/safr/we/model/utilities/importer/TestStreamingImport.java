@@ -0,0 +1,261 @@
+package com.ibm.safr.we.model.utilities.importer;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Node;
+
+import com.ibm.safr.we.constants.ActivityResult;
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.data.DAOFactory;
+import com.ibm.safr.we.data.StubDAOFactory;
+import com.ibm.safr.we.data.transfer.LRFieldTransfer;
+import com.ibm.safr.we.data.transfer.LRIndexTransfer;
+import com.ibm.safr.we.data.transfer.SAFRTransfer;
+import com.ibm.safr.we.exceptions.SAFRException;
+import com.ibm.safr.we.exceptions.SAFRValidationException;
+import com.ibm.safr.we.model.query.EnvironmentQueryBean;
+
+public class TestStreamingImport {
+
+	// the index is exported ahead of the fields it refers to, so a streaming
+	// import must hold it back until the fields have been read
+	private static final String LR_XML =
+		"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+		"<LogicalRecord-7>\n" +
+		"  <LR-Index>\n" +
+		"    <Record>\n" +
+		"      <LRINDEXID>3</LRINDEXID><LOGRECID>7</LOGRECID>\n" +
+		"      <EFFDATESTARTFLDID>11</EFFDATESTARTFLDID><EFFDATEENDFLDID>0</EFFDATEENDFLDID>\n" +
+		"      <CREATEDTIMESTAMP>2023-01-02 03:04:05</CREATEDTIMESTAMP><CREATEDUSERID>ADMIN</CREATEDUSERID>\n" +
+		"      <LASTMODTIMESTAMP>2023-01-02 03:04:05</LASTMODTIMESTAMP><LASTMODUSERID>ADMIN</LASTMODUSERID>\n" +
+		"    </Record>\n" +
+		"  </LR-Index>\n" +
+		"  <LRField>\n" +
+		field(11, "START_DATE", 1) +
+		field(12, "AMOUNT", 2) +
+		"  </LRField>\n" +
+		"</LogicalRecord-7>\n";
+
+	private static String field(int id, String name, int ordinal) {
+		return "    <Record>\n" +
+			"      <LRFIELDID>" + id + "</LRFIELDID><LOGRECID>7</LOGRECID>\n" +
+			"      <NAME>" + name + "</NAME><DBMSCOLNAME>" + name + "</DBMSCOLNAME>\n" +
+			"      <FIXEDSTARTPOS>" + ordinal + "</FIXEDSTARTPOS><ORDINALPOS>" + ordinal + "</ORDINALPOS>\n" +
+			"      <ORDINALOFFSET>" + ordinal + "</ORDINALOFFSET><REDEFINE>0</REDEFINE>\n" +
+			"      <COMMENTS>the &lt;" + name + "&gt; field</COMMENTS>\n" +
+			"      <CREATEDTIMESTAMP>2023-01-02 03:04:05</CREATEDTIMESTAMP><CREATEDUSERID>ADMIN</CREATEDUSERID>\n" +
+			"      <LASTMODTIMESTAMP>2023-01-02 03:04:05</LASTMODTIMESTAMP><LASTMODUSERID>ADMIN</LASTMODUSERID>\n" +
+			"    </Record>\n";
+	}
+
+	/**
+	 * Parses the LR fields and indexes of each file, keeping what it parsed
+	 * instead of storing it.
+	 */
+	private static class FieldImporter extends ComponentImporter {
+
+		List<Map<Class<? extends SAFRTransfer>, Map<Integer, SAFRTransfer>>> parsed =
+			new ArrayList<Map<Class<? extends SAFRTransfer>, Map<Integer, SAFRTransfer>>>();
+		Map<String, Integer> ends = new HashMap<String, Integer>();
+		List<Thread> parserThreads = new ArrayList<Thread>();
+
+		FieldImporter(ImportUtility importUtility) {
+			super(importUtility);
+		}
+
+		@Override
+		protected void doImport() throws SAFRException, XPathExpressionException {
+			clearMaps();
+			new CountingParser(new LRFieldRecordParser(this)).parseRecords();
+			new CountingParser(new LRIndexRecordParser(this)).parseRecords();
+			for (Thread thread : Thread.getAllStackTraces().keySet()) {
+				if (thread.getName().startsWith("Import parser")) {
+					parserThreads.add(thread);
+				}
+			}
+			streamRecords();
+			parsed.add(new HashMap<Class<? extends SAFRTransfer>, Map<Integer, SAFRTransfer>>(records));
+		}
+
+		/** Counts the calls to endStreamedRecords of the parser it wraps. */
+		private class CountingParser extends RecordParser {
+			private RecordParser parser;
+
+			CountingParser(RecordParser parser) {
+				super(FieldImporter.this);
+				this.parser = parser;
+			}
+
+			@Override
+			public void parseRecords() throws XPathExpressionException,
+					SAFRValidationException {
+				if (isStreaming()) {
+					super.parseRecords();
+				} else {
+					parser.parseRecords();
+				}
+			}
+
+			@Override
+			void endStreamedRecords(Map<Integer, SAFRTransfer> map) {
+				String table = getTableName();
+				ends.put(table, ends.containsKey(table) ? ends.get(table) + 1 : 1);
+				parser.endStreamedRecords(map);
+			}
+
+			@Override
+			protected String getRecordExpression() {
+				return parser.getRecordExpression();
+			}
+
+			@Override
+			protected String getPrerequisiteTable() {
+				return parser.getPrerequisiteTable();
+			}
+
+			@Override
+			protected SAFRTransfer parseRecord(Node record)
+					throws SAFRValidationException,
+					XPathExpressionException {
+				return parser.parseRecord(record);
+			}
+
+			@Override
+			public void checkReferentialIntegrity() {
+			}
+		}
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private DAOFactory previous;
+
+	@Before
+	public void setUp() {
+		previous = StubDAOFactory.install();
+	}
+
+	@After
+	public void tearDown() {
+		StubDAOFactory.restore(previous);
+	}
+
+	private ImportFile file(String name, String xml) throws IOException {
+		File file = folder.newFile(name);
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+		return new ImportFile(file);
+	}
+
+	private FieldImporter importFiles(boolean streaming, ImportFile... files) {
+		EnvironmentQueryBean env = new EnvironmentQueryBean(1, "Test", true, null, null, null, null);
+		ImportUtility utility = new ImportUtility(env, ComponentType.LogicalRecord, Arrays.asList(files));
+		utility.setStreaming(streaming);
+		FieldImporter importer = new FieldImporter(utility);
+		utility.importFiles(importer);
+		return importer;
+	}
+
+	@Test
+	public void testStreamedImportMatchesDOMImport() throws IOException {
+		ImportFile first = file("LogicalRecord-7.xml", LR_XML);
+		ImportFile second = file("LogicalRecord-8.xml", LR_XML.replace("LogicalRecord-7", "LogicalRecord-8"));
+		FieldImporter streamed = importFiles(true, first, second);
+		assertEquals(ActivityResult.PASS, first.getResult());
+		assertEquals(ActivityResult.PASS, second.getResult());
+		FieldImporter dom = importFiles(false, first, second);
+		assertEquals(ActivityResult.PASS, first.getResult());
+		assertEquals(ActivityResult.PASS, second.getResult());
+
+		assertEquals(2, streamed.parsed.size());
+		for (int i = 0; i < 2; i++) {
+			Map<Integer, SAFRTransfer> fields = streamed.parsed.get(i).get(LRFieldTransfer.class);
+			Map<Integer, SAFRTransfer> domFields = dom.parsed.get(i).get(LRFieldTransfer.class);
+			assertEquals(domFields.keySet(), fields.keySet());
+			for (Integer id : domFields.keySet()) {
+				LRFieldTransfer field = (LRFieldTransfer) fields.get(id);
+				LRFieldTransfer domField = (LRFieldTransfer) domFields.get(id);
+				assertEquals(domField.getName(), field.getName());
+				assertEquals(domField.getComments(), field.getComments());
+				assertEquals(domField.getOrdinalPos(), field.getOrdinalPos());
+				assertEquals(domField.getModifyTime(), field.getModifyTime());
+				assertEquals(domField.isEffStartDate(), field.isEffStartDate());
+			}
+			assertEquals("the <START_DATE> field", ((LRFieldTransfer) fields.get(11)).getComments());
+			// set by the held back index record
+			assertTrue(((LRFieldTransfer) fields.get(11)).isEffStartDate());
+			assertFalse(((LRFieldTransfer) fields.get(12)).isEffStartDate());
+			assertEquals(dom.parsed.get(i).get(LRIndexTransfer.class).keySet(),
+				streamed.parsed.get(i).get(LRIndexTransfer.class).keySet());
+		}
+	}
+
+	@Test
+	public void testEachTableIsEndedOnce() throws IOException {
+		FieldImporter importer = importFiles(true, file("LogicalRecord-7.xml", LR_XML));
+		assertEquals(Integer.valueOf(1), importer.ends.get("LRField"));
+		assertEquals(Integer.valueOf(1), importer.ends.get("LR-Index"));
+	}
+
+	@Test
+	public void testMalformedFileFailsAndImportContinues() throws IOException {
+		ImportFile bad = file("LogicalRecord-6.xml", LR_XML.replace("LogicalRecord-7", "LogicalRecord-6")
+			.replace("</LRField>", "</LRFields>"));
+		ImportFile good = file("LogicalRecord-7.xml", LR_XML);
+		FieldImporter importer = importFiles(true, bad, good);
+
+		assertEquals(ActivityResult.FAIL, bad.getResult());
+		assertNotNull(bad.getErrorMsg());
+		assertTrue(bad.getErrorMsg(), bad.getErrorMsg().length() > 0);
+		assertEquals(ActivityResult.PASS, good.getResult());
+		assertEquals(1, importer.parsed.size());
+		assertEquals(2, importer.parsed.get(0).get(LRFieldTransfer.class).size());
+	}
+
+	@Test
+	public void testParserThreadsAreDaemons() throws Exception {
+		FieldImporter importer = importFiles(true, file("LogicalRecord-7.xml", LR_XML));
+		assertFalse(importer.parserThreads.isEmpty());
+		for (Thread thread : importer.parserThreads) {
+			assertTrue(thread.getName(), thread.isDaemon());
+			thread.join(5000);
+			assertFalse(thread.getName() + " still running", thread.isAlive());
+		}
+	}
+}
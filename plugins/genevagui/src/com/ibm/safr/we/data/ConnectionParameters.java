@@ -28,6 +28,10 @@ public class ConnectionParameters {
 	private String _server;
 	private String _userName;
 	private String _passWord;
+	private int _poolSize = 4;
+	private long _poolBorrowTimeout = 30000l;
+	private long _poolIdleTimeout = 300000l;
+	private int _batchSize = 500;
 
 	public ConnectionParameters() {
 		super();
@@ -96,4 +100,51 @@ public class ConnectionParameters {
 	public void setServer(String server) {
 		this._server = server;
 	}
+
+	/**
+	 * @return the maximum number of pooled connections available to
+	 *         background work, in addition to the primary connection.
+	 */
+	public int getPoolSize() {
+		return _poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		this._poolSize = poolSize;
+	}
+
+	/**
+	 * @return how long in milliseconds to wait for a free pooled connection.
+	 */
+	public long getPoolBorrowTimeout() {
+		return _poolBorrowTimeout;
+	}
+
+	public void setPoolBorrowTimeout(long poolBorrowTimeout) {
+		this._poolBorrowTimeout = poolBorrowTimeout;
+	}
+
+	/**
+	 * @return how long in milliseconds a pooled connection may stay idle
+	 *         before it is closed.
+	 */
+	public long getPoolIdleTimeout() {
+		return _poolIdleTimeout;
+	}
+
+	public void setPoolIdleTimeout(long poolIdleTimeout) {
+		this._poolIdleTimeout = poolIdleTimeout;
+	}
+
+	/**
+	 * @return the number of rows written per round trip when a DAO saves
+	 *         many rows at once.
+	 */
+	public int getBatchSize() {
+		return _batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this._batchSize = batchSize;
+	}
 }
@@ -118,6 +118,26 @@ public interface DAOFactory {
 
 	Connection getConnection() throws DAOException;
 
+	/**
+	 * Bind a connection from the connection pool to the calling thread. DAOs
+	 * obtained on this thread afterwards use that connection, so long running
+	 * background work does not block the primary connection used by the
+	 * editors. Always pair with {@link #releasePooledConnection()} in a
+	 * finally block.
+	 * 
+	 * @return the pooled connection bound to the calling thread.
+	 * @throws DAOException
+	 *             if no pooled connection becomes available within the
+	 *             borrow timeout.
+	 */
+	Connection attachPooledConnection() throws DAOException;
+
+	/**
+	 * Return the pooled connection bound to the calling thread, if any, to
+	 * the connection pool.
+	 */
+	void releasePooledConnection();
+
 	DAOUOW getDAOUOW();
 
 	UserSessionParameters getSAFRLogin();
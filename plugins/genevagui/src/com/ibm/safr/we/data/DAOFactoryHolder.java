@@ -28,6 +28,7 @@ import java.util.prefs.Preferences;
 import com.ibm.safr.we.SAFRUtilities;
 import com.ibm.safr.we.constants.UserPreferencesNodes;
 import com.ibm.safr.we.internal.data.DB2DAOFactory;
+import com.ibm.safr.we.internal.data.MeteredDAOFactory;
 import com.ibm.safr.we.internal.data.PGDAOFactory;
 import com.ibm.safr.we.preferences.SAFRPreferences;
 
@@ -125,6 +126,18 @@ public class DAOFactoryHolder {
 			params.setSchema((String) prop.get("SCHEMA"));
 			params.setUserName((String) prop.get("USER"));
 			params.setPassWord((String) prop.get("PASS"));
+			if (prop.getProperty("POOLSIZE") != null) {
+				params.setPoolSize(Integer.parseInt(prop.getProperty("POOLSIZE")));
+			}
+			if (prop.getProperty("POOLTIMEOUT") != null) {
+				params.setPoolBorrowTimeout(Long.parseLong(prop.getProperty("POOLTIMEOUT")));
+			}
+			if (prop.getProperty("POOLIDLE") != null) {
+				params.setPoolIdleTimeout(Long.parseLong(prop.getProperty("POOLIDLE")));
+			}
+			if (prop.getProperty("BATCHSIZE") != null) {
+				params.setBatchSize(Integer.parseInt(prop.getProperty("BATCHSIZE")));
+			}
 
             String url = "jdbc:"
                 + ((String)prop.get("TYPE")).toLowerCase() + "://"
@@ -233,18 +246,18 @@ public class DAOFactoryHolder {
     static void genDAOFactory(ConnectionParameters params) throws DAOException {
 		if (daoFactory != null) {
 			if (params.getType() == DBType.Db2) {
-				((DB2DAOFactory) daoFactory).reconnect();			
+				daoFactory.reconnect();
 			} else if (params.getType() == DBType.PostgresQL) {
-				((PGDAOFactory) daoFactory).reconnect();
+				daoFactory.reconnect();
 			} else {
 				logger.severe("Invalid Database type" + params.getType().toString());
 				throw new DAOException("Invalid Database type");
 			}
 		} else {
 			if (params.getType() == DBType.Db2) {
-				daoFactory = new DB2DAOFactory(params);
+				daoFactory = MeteredDAOFactory.wrap(new DB2DAOFactory(params));
 			}else if (params.getType() == DBType.PostgresQL) {
-				daoFactory = new PGDAOFactory(params);
+				daoFactory = MeteredDAOFactory.wrap(new PGDAOFactory(params));
 			} else {
 				logger.severe("Invalid Database type" + params.getType().toString());
 				throw new DAOException("Invalid Database type");
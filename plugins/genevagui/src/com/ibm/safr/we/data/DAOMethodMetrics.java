@@ -0,0 +1,158 @@
+package com.ibm.safr.we.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters for one DAO method, for example
+ * <code>ViewDAO.queryAllViews</code>. Latencies are kept in a histogram of
+ * fixed buckets so percentiles are approximate, to the upper bound of the
+ * bucket they fall in.
+ */
+public class DAOMethodMetrics {
+
+	/**
+	 * Upper bounds of the latency buckets in milliseconds. Calls slower than
+	 * the last bound go in one further bucket.
+	 */
+	public static final long[] BUCKET_BOUNDS_MS = { 1, 2, 5, 10, 20, 50, 100,
+			200, 500, 1000, 2000, 5000 };
+
+	private final String name;
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLong rows = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final AtomicLongArray buckets = new AtomicLongArray(
+			BUCKET_BOUNDS_MS.length + 1);
+
+	DAOMethodMetrics(String name) {
+		this.name = name;
+	}
+
+	void record(long nanos, long rowCount, boolean failed) {
+		count.incrementAndGet();
+		totalNanos.addAndGet(nanos);
+		long max = maxNanos.get();
+		while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+			max = maxNanos.get();
+		}
+		rows.addAndGet(rowCount);
+		if (failed) {
+			errors.incrementAndGet();
+		}
+		buckets.incrementAndGet(bucketOf(nanos));
+	}
+
+	void retried() {
+		retries.incrementAndGet();
+	}
+
+	private static int bucketOf(long nanos) {
+		long millis = nanos / 1000000L;
+		for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+			if (millis < BUCKET_BOUNDS_MS[i]) {
+				return i;
+			}
+		}
+		return BUCKET_BOUNDS_MS.length;
+	}
+
+	/**
+	 * @return the DAO interface and method name, such as
+	 *         <code>ViewDAO.queryAllViews</code>
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getRows() {
+		return rows.get();
+	}
+
+	/**
+	 * @return the number of times the connection was found closed and
+	 *         reopened during a call of this method
+	 */
+	public long getRetries() {
+		return retries.get();
+	}
+
+	/**
+	 * @return the number of calls which ended with an exception
+	 */
+	public long getErrors() {
+		return errors.get();
+	}
+
+	public double getMeanMillis() {
+		long calls = count.get();
+		return calls == 0 ? 0 : totalNanos.get() / (calls * 1000000.0);
+	}
+
+	public double getMaxMillis() {
+		return maxNanos.get() / 1000000.0;
+	}
+
+	public double getTotalMillis() {
+		return totalNanos.get() / 1000000.0;
+	}
+
+	/**
+	 * @param percentile
+	 *            between 0 and 100
+	 * @return the upper bound in milliseconds of the bucket holding the
+	 *         percentile, or the maximum latency if that is the last bucket
+	 */
+	public double getPercentileMillis(double percentile) {
+		long calls = count.get();
+		if (calls == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(calls * percentile / 100.0);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(BUCKET_BOUNDS_MS[i], getMaxMillis());
+			}
+		}
+		return getMaxMillis();
+	}
+
+	/**
+	 * @return the number of calls in each bucket of
+	 *         {@link #BUCKET_BOUNDS_MS}, with one more for the slower calls
+	 */
+	public long[] getHistogram() {
+		long[] result = new long[buckets.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = buckets.get(i);
+		}
+		return result;
+	}
+}
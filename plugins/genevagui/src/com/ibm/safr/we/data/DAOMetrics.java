@@ -0,0 +1,179 @@
+package com.ibm.safr.we.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import com.ibm.safr.we.exceptions.SAFRException;
+
+/**
+ * Call counts, latencies and row counts of the DAO methods since start up or
+ * the last {@link #reset()}. Filled in by the factory wrapper which
+ * {@link DAOFactoryHolder} puts around every DAO factory, so every
+ * <code>getXxxDAO()</code> call is covered whatever the database type.
+ * <p>
+ * A reconnect made by the retry loop of a DAO method is counted against that
+ * method as a retry, as well as in the overall reconnect count.
+ */
+public class DAOMetrics {
+
+	private static final ConcurrentMap<String, DAOMethodMetrics> methods = new ConcurrentHashMap<String, DAOMethodMetrics>();
+	private static final AtomicLong reconnects = new AtomicLong();
+	private static volatile Date since = new Date();
+
+	private DAOMetrics() {
+	}
+
+	private static DAOMethodMetrics getMethod(String name) {
+		DAOMethodMetrics metrics = methods.get(name);
+		if (metrics == null) {
+			DAOMethodMetrics created = new DAOMethodMetrics(name);
+			metrics = methods.putIfAbsent(name, created);
+			if (metrics == null) {
+				metrics = created;
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Record one call of a DAO method.
+	 * 
+	 * @param name
+	 *            the DAO interface and method name, such as
+	 *            <code>ViewDAO.queryAllViews</code>
+	 * @param nanos
+	 *            elapsed time of the call
+	 * @param rows
+	 *            number of rows returned
+	 * @param failed
+	 *            true if the call threw an exception
+	 */
+	public static void record(String name, long nanos, long rows, boolean failed) {
+		getMethod(name).record(nanos, rows, failed);
+	}
+
+	/**
+	 * Record a reconnect, made during a call of the named DAO method or
+	 * outside any DAO method if name is null.
+	 */
+	public static void reconnected(String name) {
+		reconnects.incrementAndGet();
+		if (name != null) {
+			getMethod(name).retried();
+		}
+	}
+
+	public static long getReconnects() {
+		return reconnects.get();
+	}
+
+	/**
+	 * @return the time of start up or the last reset
+	 */
+	public static Date getSince() {
+		return since;
+	}
+
+	/**
+	 * @return the metrics of each method called, slowest total time first
+	 */
+	public static List<DAOMethodMetrics> getSnapshot() {
+		List<DAOMethodMetrics> result = new ArrayList<DAOMethodMetrics>(methods.values());
+		Collections.sort(result, new Comparator<DAOMethodMetrics>() {
+
+			public int compare(DAOMethodMetrics o1, DAOMethodMetrics o2) {
+				return Double.compare(o2.getTotalMillis(), o1.getTotalMillis());
+			}
+		});
+		return result;
+	}
+
+	public static void reset() {
+		methods.clear();
+		reconnects.set(0);
+		since = new Date();
+	}
+
+	/**
+	 * Write the current metrics to a CSV file, one row per method followed
+	 * by the latency histogram.
+	 */
+	public static void writeSnapshot(File file) {
+		List<String> headers = new ArrayList<String>();
+		headers.add("Method");
+		headers.add("Calls");
+		headers.add("Total ms");
+		headers.add("Mean ms");
+		headers.add("P50 ms");
+		headers.add("P95 ms");
+		headers.add("Max ms");
+		headers.add("Rows");
+		headers.add("Retries");
+		headers.add("Errors");
+		for (long bound : DAOMethodMetrics.BUCKET_BOUNDS_MS) {
+			headers.add("< " + bound + " ms");
+		}
+		headers.add(">= "
+				+ DAOMethodMetrics.BUCKET_BOUNDS_MS[DAOMethodMetrics.BUCKET_BOUNDS_MS.length - 1]
+				+ " ms");
+
+		try (CSVPrinter printer = new CSVPrinter(new FileWriter(file),
+				CSVFormat.EXCEL.builder().setCommentMarker('#').build())) {
+			printer.printComment("DAO metrics since " + since + ", reconnects " + reconnects.get());
+			printer.printRecord(headers);
+			for (DAOMethodMetrics metrics : getSnapshot()) {
+				List<Object> row = new ArrayList<Object>();
+				row.add(metrics.getName());
+				row.add(metrics.getCount());
+				row.add(format(metrics.getTotalMillis()));
+				row.add(format(metrics.getMeanMillis()));
+				row.add(format(metrics.getPercentileMillis(50)));
+				row.add(format(metrics.getPercentileMillis(95)));
+				row.add(format(metrics.getMaxMillis()));
+				row.add(metrics.getRows());
+				row.add(metrics.getRetries());
+				row.add(metrics.getErrors());
+				for (long calls : metrics.getHistogram()) {
+					row.add(calls);
+				}
+				printer.printRecord(row);
+			}
+		} catch (IOException e) {
+			throw new SAFRException("Could not write DAO metrics file " + file.getPath());
+		}
+	}
+
+	public static String format(double millis) {
+		return String.format("%.3f", millis);
+	}
+}
@@ -31,11 +31,23 @@ package com.ibm.safr.we.data;
  * <p>
  * Concrete subclasses will provide an implementation of these 3 behaviours
  * (begin, end, fail) which is specific to the underlying technology.
+ * <p>
+ * Each thread works on its own connection, the primary one or one bound from
+ * the pool, so the state of a unit of work is held per thread. Units of work
+ * on different threads do not see or end each other.
  */
 public abstract class DAOUOW {
 
-	private boolean inProgress = false;
-	private boolean multiComponentScope = false;
+	private static class State {
+		private boolean inProgress = false;
+		private boolean multiComponentScope = false;
+	}
+
+	private final ThreadLocal<State> state = new ThreadLocal<State>() {
+		protected State initialValue() {
+			return new State();
+		}
+	};
 
 	/**
 	 * Begin a logical unit of work. For example, if using a database, this
@@ -47,12 +59,13 @@ public abstract class DAOUOW {
 	 * @see isImporting
 	 */
 	final public void begin() throws DAOException {
-		if (multiComponentScope) {
+		State uow = state.get();
+		if (uow.multiComponentScope) {
 			// UOW is not under control of single component so ignore this request
 			return;
 		}
 		doBegin();
-		this.inProgress = true;
+		uow.inProgress = true;
 	}
 
 	abstract protected void doBegin() throws DAOException;
@@ -67,11 +80,12 @@ public abstract class DAOUOW {
 	 * @throws DAOException
 	 */
 	final public void end() throws DAOException {
-		if (multiComponentScope) {
+		State uow = state.get();
+		if (uow.multiComponentScope) {
 			// UOW is not under the control of a single component so ignore this request
 			return;
 		}
-		this.inProgress = false;
+		uow.inProgress = false;
 		doEnd();
 	}
 
@@ -86,21 +100,22 @@ public abstract class DAOUOW {
 	 * @throws DAOException
 	 */
 	final public void fail() throws DAOException {
-		this.inProgress = false;
+		state.get().inProgress = false;
 		doFail();
 	}
 
 	abstract protected void doFail() throws DAOException;
 
 	/**
-	 * Indicates whether a unit of work is in-progress. A UOW is in-progress if
-	 * the application has called 'begin' but not yet called 'end' or 'fail'.
+	 * Indicates whether a unit of work is in-progress on the calling thread. A
+	 * UOW is in-progress if the thread has called 'begin' but not yet called
+	 * 'end' or 'fail'.
 	 * <p>
 	 * 
 	 * @return boolean true if UOW is in-progress, otherwise false
 	 */
 	public boolean inProgress() {
-		return inProgress;
+		return state.get().inProgress;
 	}
 
 	/**
@@ -110,7 +125,7 @@ public abstract class DAOUOW {
 	 * invoke any end() or fail() behaviour.
 	 */
 	public void stopProgress() {
-		this.inProgress = false;
+		state.get().inProgress = false;
 	}
 
 	/**
@@ -127,7 +142,7 @@ public abstract class DAOUOW {
 	 * @return true if the scope of the UOW includes multiple components.
 	 */
 	public boolean isMultiComponentScope() {
-		return multiComponentScope;
+		return state.get().multiComponentScope;
 	}
 	
 	/**
@@ -136,7 +151,7 @@ public abstract class DAOUOW {
 	 * method immediately after calling the begin() method.
 	 */
 	public void multiComponentScopeOn() {
-		this.multiComponentScope = true;
+		state.get().multiComponentScope = true;
 	}
 
 	/**
@@ -145,7 +160,7 @@ public abstract class DAOUOW {
 	 * end() or fail() methods to terminate the UOW.
 	 */
 	public void multiComponentScopeOff() {
-		this.multiComponentScope = false;
+		state.get().multiComponentScope = false;
 	}
 	
 }
@@ -18,12 +18,14 @@ package com.ibm.safr.we.data.dao;
  */
 
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.DependencyUsageType;
 import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.transfer.DependencyGraphTransfer;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 
 /**
@@ -51,4 +53,46 @@ public interface DependencyCheckerDAO {
 			ComponentType compType, Integer componentId, Integer environmentId, boolean directDepsOnly)
 			throws DAOException;
 
+	/**
+	 * Read every dependency between the components of an environment, with
+	 * the names of the components involved.
+	 * 
+	 * @param environmentId
+	 *            : The Id of the environment.
+	 * @return the dependencies and the database time they were read at.
+	 * @throws DAOException
+	 */
+	public DependencyGraphTransfer getDependencyGraph(Integer environmentId)
+			throws DAOException;
+
+	/**
+	 * Read the dependencies held in the definition of one component, e.g.
+	 * the sources and columns of a View or the fields of a Logical Record.
+	 * 
+	 * @param environmentId
+	 *            : The Id of the environment.
+	 * @param compType
+	 *            : The type of the component.
+	 * @param componentId
+	 *            : The Id of the component.
+	 * @return the dependencies and names, empty if the component does not
+	 *         exist.
+	 * @throws DAOException
+	 */
+	public DependencyGraphTransfer getDependencyGraph(Integer environmentId,
+			ComponentType compType, Integer componentId) throws DAOException;
+
+	/**
+	 * Get the components of an environment stored after the given time.
+	 * 
+	 * @param environmentId
+	 *            : The Id of the environment.
+	 * @param since
+	 *            : A database time returned by an earlier call.
+	 * @return the changed components and the current database time.
+	 * @throws DAOException
+	 */
+	public DependencyGraphTransfer getDependencyChanges(Integer environmentId,
+			Date since) throws DAOException;
+
 }
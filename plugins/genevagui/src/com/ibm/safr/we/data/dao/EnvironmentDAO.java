@@ -18,7 +18,9 @@ package com.ibm.safr.we.data.dao;
  */
 
 
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.SortType;
@@ -238,4 +240,38 @@ public interface EnvironmentDAO {
      */
     List<EnvironmentQueryBean> queryBAVEnvironments(SortType sortType) throws DAOException;
     
+    /**
+     * Fingerprint every component of a type in an Environment from its
+     * database rows, without reading the components themselves. Components
+     * with the same hash in two Environments have the same content.
+     * 
+     * @param type
+     *            : the type of the components
+     * @param environmentId
+     *            : the ID of the Environment
+     * @param auditFields
+     *            : true to include the created and modified details and the
+     *            comments in the hash
+     * @return the content hash of each component keyed by component id, in id
+     *         order
+     * @throws DAOException
+     */
+    Map<Integer, String> getComponentHashes(ComponentType type,
+            Integer environmentId, boolean auditFields) throws DAOException;
+    
+    /**
+     * Read when each component of a type in an Environment was last modified,
+     * without reading the components themselves.
+     * 
+     * @param type
+     *            : LogicalRecord, LookupPath, LogicalFile, PhysicalFile or
+     *            UserExitRoutine
+     * @param environmentId
+     *            : the ID of the Environment
+     * @return the last modified time of each component keyed by component id
+     * @throws DAOException
+     */
+    Map<Integer, Date> getModifyTimes(ComponentType type, Integer environmentId)
+            throws DAOException;
+    
 }
@@ -34,6 +34,25 @@ import com.ibm.safr.we.data.transfer.XMLTableDataTransfer;
  */
 public interface ExportDAO {
 
+	/**
+	 * Receives the rows of an export one at a time so that they can be
+	 * written out as they are read rather than held in memory. The rows of
+	 * each table come between a start and an end of its element type, and
+	 * a table without rows is not passed at all.
+	 */
+	public interface RecordHandler {
+
+		void startElement(ExportElementType type);
+
+		/**
+		 * @param record
+		 *            the column names and values of one row
+		 */
+		void record(List<XMLTableDataTransfer> record);
+
+		void endElement(ExportElementType type);
+	}
+
 	/**
 	 * This method is to get all the dependencies of a metadata component in
 	 * terms of other metadata components. 
@@ -64,13 +83,12 @@ public interface ExportDAO {
 	 * @param physicalFileIds
 	 *            : A List of the Ids of the Physical File(s) whose data is to
 	 *            be retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getPhysicalFileData(
-			Integer environmentId, List<Integer> physicalFileIds)
+	void getPhysicalFileData(Integer environmentId, List<Integer> physicalFileIds,
+			RecordHandler handler)
 			throws DAOException;
 
 	/**
@@ -83,13 +101,12 @@ public interface ExportDAO {
 	 * @param logicalFileIds
 	 *            : A List of the Ids of the Logical File(s) whose data is to be
 	 *            retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLogicalFileData(
-			Integer environmentId, List<Integer> logicalFileIds)
+	void getLogicalFileData(Integer environmentId, List<Integer> logicalFileIds,
+			RecordHandler handler)
 			throws DAOException;
 
 	/**
@@ -102,13 +119,12 @@ public interface ExportDAO {
 	 * @param userExitIds
 	 *            : A List of the Ids of the User Exit Routine(s) whose data is
 	 *            to be retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getUserExitRoutineData(
-			Integer environmentId, List<Integer> userExitIds)
+	void getUserExitRoutineData(Integer environmentId, List<Integer> userExitIds,
+			RecordHandler handler)
 			throws DAOException;
 
 	/**
@@ -121,13 +137,12 @@ public interface ExportDAO {
 	 * @param logicalRecordIds
 	 *            : A List of the Ids of the Logical Records whose data is to be
 	 *            retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLogicalRecordData(
-			Integer environmentId, List<Integer> logicalRecordIds)
+	void getLogicalRecordData(Integer environmentId, List<Integer> logicalRecordIds,
+			RecordHandler handler)
 			throws DAOException;
 
 	/**
@@ -139,13 +154,12 @@ public interface ExportDAO {
 	 * @param lookupPathIds
 	 *            : A List of the Ids of the Lookup Path(s) whose data is to be
 	 *            retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLookupPathData(
-			Integer environmentId, List<Integer> lookupPathIds)
+	void getLookupPathData(Integer environmentId, List<Integer> lookupPathIds,
+			RecordHandler handler)
 			throws DAOException;
 
 	/**
@@ -157,13 +171,12 @@ public interface ExportDAO {
 	 * @param viewIds
 	 *            : A List of the Ids of the View(s) whose data is to be
 	 *            retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getViewData(
-			Integer environmentId, List<Integer> viewIds) throws DAOException;
+	void getViewData(Integer environmentId, List<Integer> viewIds,
+			RecordHandler handler) throws DAOException;
 
     /**
      * This method is to retrieve all the data from View Folder and related tables
@@ -174,13 +187,12 @@ public interface ExportDAO {
      * @param viewFolderIds
      *            : A List of the Ids of the ViewFolder(s) whose data is to be
      *            retrieved.
-     * @return A Map which has ExportElementType as key. Value is another Map
-     *         with record number as key and value is list of
-     *         XMLTableDataTrasfer objects.
+     * @param handler
+     *            : Receives the rows of each table in turn.
      * @throws DAOException
      */
-    Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getViewFolderData(
-            Integer environmentId, List<Integer> viewFolderIds) throws DAOException;
+    void getViewFolderData(Integer environmentId, List<Integer> viewFolderIds,
+            RecordHandler handler) throws DAOException;
 	
 	/**
 	 * This method is to retrieve all the data from CONTROLREC for Control
@@ -191,13 +203,32 @@ public interface ExportDAO {
 	 * @param controlRecordIds
 	 *            : A List of the Ids of the Control Record(s) whose data is to
 	 *            be retrieved.
-	 * @return A Map which has ExportElementType as key. Value is another Map
-	 *         with record number as key and value is list of
-	 *         XMLTableDataTrasfer objects.
+	 * @param handler
+	 *            : Receives the rows of each table in turn.
 	 * @throws DAOException
 	 */
-	Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getControlRecordData(
-			Integer environmentId, List<Integer> controlRecordIds)
+	void getControlRecordData(Integer environmentId, List<Integer> controlRecordIds,
+			RecordHandler handler)
 			throws DAOException;
 
+	/**
+	 * Begin a read of export data on the calling thread's connection. The
+	 * get...Data methods fetch their rows in batches rather than all at once,
+	 * which the database drivers only do inside a transaction. So if the
+	 * connection is in auto-commit mode a transaction is begun, which must be
+	 * ended with {@link #endExportRead()}.
+	 * 
+	 * @return true if a transaction was begun
+	 * @throws DAOException
+	 */
+	boolean beginExportRead() throws DAOException;
+
+	/**
+	 * End the transaction begun by {@link #beginExportRead()} and return the
+	 * calling thread's connection to auto-commit mode.
+	 * 
+	 * @throws DAOException
+	 */
+	void endExportRead() throws DAOException;
+
 }
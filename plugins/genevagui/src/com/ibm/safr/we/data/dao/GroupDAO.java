@@ -23,6 +23,7 @@ import java.util.List;
 import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.SortType;
 import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.transfer.ComponentRightsTransfer;
 import com.ibm.safr.we.data.transfer.GroupComponentAssociationTransfer;
 import com.ibm.safr.we.data.transfer.GroupEnvironmentAssociationTransfer;
 import com.ibm.safr.we.data.transfer.GroupTransfer;
@@ -248,6 +249,21 @@ public interface GroupDAO {
 			ComponentType compType, Integer environmentId, Integer groupId)
 			throws DAOException;
 
+	/**
+	 * Retrieves the edit rights of a Group on every component in an
+	 * Environment with one query over the SEC tables, so the rights of a
+	 * user session can be looked up without a query per component.
+	 * 
+	 * @param environmentId
+	 *            : The Id of the environment.
+	 * @param groupId
+	 *            : The Id of the group.
+	 * @return the rights codes by component type and id.
+	 * @throws DAOException
+	 */
+	ComponentRightsTransfer getComponentRights(Integer environmentId,
+			Integer groupId) throws DAOException;
+
 	/**
 	 * This method is to retrieve all the possible components which can be
 	 * associated with this Group.
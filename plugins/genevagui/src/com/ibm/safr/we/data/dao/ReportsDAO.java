@@ -46,6 +46,13 @@ public interface ReportsDAO {
 	
 	public List<ViewMappingsCSVReportQueryBean> getViewColumnCSVMappings(List<Integer> ids, Integer environmentId) throws DAOException;
 	
+	// the data of many views in one query each, ordered by view id
+	public List<ViewPropertiesReportQueryBean> getViewProperties(List<Integer> ids, Integer environmentId) throws DAOException;
+	public List<ViewSourcesReportQueryBean> getViewSources(List<Integer> ids, Integer environmentId) throws DAOException;
+	public List<ViewSortKeyReportQueryBean> getViewSortKeys(List<Integer> ids, Integer environmentId) throws DAOException;
+	public List<ViewMappingsReportQueryBean> getViewColumnMappings(List<Integer> ids, Integer environmentId) throws DAOException;
+	public List<ViewColumnPICQueryBean> getViewColumnPICData(List<Integer> ids, Integer environmentId) throws DAOException;
+	
 	public List<LogicalRecordReportQueryBean> getLogicalRecords(Integer id, Integer environmentId) throws DAOException;
 
 	public List<EnvironmentSecurityReportBean> getEnvironmentSecurityDetails(List<Integer> ids) throws DAOException;
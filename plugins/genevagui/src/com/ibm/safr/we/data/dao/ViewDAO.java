@@ -32,6 +32,7 @@ import com.ibm.safr.we.data.DAOException;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 import com.ibm.safr.we.data.transfer.FindTransfer;
 import com.ibm.safr.we.data.transfer.ViewFolderViewAssociationTransfer;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
 import com.ibm.safr.we.data.transfer.ViewTransfer;
 import com.ibm.safr.we.exceptions.SAFRNotFoundException;
 import com.ibm.safr.we.model.query.EnvironmentalQueryBean;
@@ -58,6 +59,35 @@ public interface ViewDAO {
 	 */
 	ViewTransfer getView(Integer id, Integer environmentId) throws DAOException;
 
+	/**
+	 * This method is used to retrieve a View together with its sources,
+	 * columns, column sources, sort keys, header/footer items and logic
+	 * dependencies in a single database call.
+	 * 
+	 * @param id
+	 *            : This is the ID of the View which is to be retrieved.
+	 * @param environmentId
+	 *            : The Id of the Environment to which the View belongs.
+	 * @return the View graph, or null if no View is found.
+	 * @throws DAOException
+	 */
+	ViewGraphTransfer getViewGraph(Integer id, Integer environmentId) throws DAOException;
+
+	/**
+	 * This method is used to retrieve several Views together with their
+	 * sources, columns, column sources, sort keys, header/footer items and
+	 * logic dependencies in a single database call.
+	 * 
+	 * @param ids
+	 *            : The IDs of the Views which are to be retrieved.
+	 * @param environmentId
+	 *            : The Id of the Environment to which the Views belong.
+	 * @return the View graphs keyed by View id, in View id order. Views
+	 *         which are not found are left out.
+	 * @throws DAOException
+	 */
+	Map<Integer, ViewGraphTransfer> getViewGraphs(List<Integer> ids, Integer environmentId) throws DAOException;
+
 	/**
 	 * 
 	 * @return
@@ -250,15 +280,25 @@ public interface ViewDAO {
 	 *            : date according to which serach is to be refined.
 	 * @param searchPeriod
 	 *            : value of the enum {@link SearchPeriod}.
-	 * @return {@link List} of all {@link FindTransfer} objects obtained after
-	 *         searching database.
+	 * @param searchText
+	 *            : text the logic text must contain, or null to return all
+	 *            logic text of the views searched.
+	 * @param matchCase
+	 *            : true if the search text is case sensitive.
+	 * @param usePatternMatching
+	 *            : true if the search text is a regular expression.
+	 * @return {@link List} of the {@link FindTransfer} objects of the logic
+	 *         text which may contain the search text. The database narrows
+	 *         the logic text as far as its own matching allows, so the
+	 *         caller must still confirm each match.
 	 * @throws DAOException
 	 */
 	public List<FindTransfer> searchViewsToReplaceLogicText(
 			Integer environmentId, SearchViewsIn searchViewsIn,
 			List<Integer> componentsToSearchViewList,
 			SearchCriteria searchCriteria, Date dateToSearch,
-			SearchPeriod searchPeriod) throws DAOException;
+			SearchPeriod searchPeriod, String searchText, 
+			boolean matchCase, boolean usePatternMatching) throws DAOException;
 
     /**
      * Replace the logic text
@@ -0,0 +1,77 @@
+package com.ibm.safr.we.data.transfer;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2008.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.ibm.safr.we.constants.ComponentType;
+
+/**
+ * The rights codes a Group has been given on the components of one
+ * Environment, as stored in the SEC tables. For each component type the ids
+ * are held in ascending order with the rights code of each alongside. A code
+ * of 0 means the rights of the Group's role apply.
+ */
+public class ComponentRightsTransfer {
+
+	private Map<ComponentType, int[]> ids = new EnumMap<ComponentType, int[]>(ComponentType.class);
+	private Map<ComponentType, int[]> rights = new EnumMap<ComponentType, int[]>(ComponentType.class);
+	private Map<ComponentType, Integer> sizes = new EnumMap<ComponentType, Integer>(ComponentType.class);
+
+	/**
+	 * Adds the rights on one component. Components of a type must be added
+	 * in ascending id order.
+	 */
+	public void addRights(ComponentType type, int id, int rightsCode) {
+		int[] typeIds = ids.get(type);
+		int[] typeRights = rights.get(type);
+		int size = sizes.containsKey(type) ? sizes.get(type) : 0;
+		if (typeIds == null) {
+			typeIds = new int[16];
+			typeRights = new int[16];
+		} else if (size == typeIds.length) {
+			typeIds = Arrays.copyOf(typeIds, size * 2);
+			typeRights = Arrays.copyOf(typeRights, size * 2);
+		}
+		typeIds[size] = id;
+		typeRights[size] = rightsCode;
+		ids.put(type, typeIds);
+		rights.put(type, typeRights);
+		sizes.put(type, size + 1);
+	}
+
+	/**
+	 * @return the ids of the components of a type which have rights, in
+	 *         ascending order
+	 */
+	public int[] getComponentIds(ComponentType type) {
+		return sizes.containsKey(type) ? Arrays.copyOf(ids.get(type), sizes.get(type)) : new int[0];
+	}
+
+	/**
+	 * @return the rights codes in the same order as
+	 *         {@link #getComponentIds(ComponentType)}
+	 */
+	public int[] getRightsCodes(ComponentType type) {
+		return sizes.containsKey(type) ? Arrays.copyOf(rights.get(type), sizes.get(type)) : new int[0];
+	}
+
+}
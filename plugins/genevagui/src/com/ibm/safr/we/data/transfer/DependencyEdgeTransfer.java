@@ -0,0 +1,111 @@
+package com.ibm.safr.we.data.transfer;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.DependencyUsageType;
+
+/**
+ * One dependency between two metadata components: the user component refers
+ * to the used component in the way given by the usage type, e.g. a View uses
+ * a Lookup Path in its Logic Text.
+ * <p>
+ * The owner is the component whose stored definition holds the reference, so
+ * the edge is reloaded when the owner is stored. It is the user except for
+ * the fields of a Logical Record, which are owned by the Logical Record.
+ */
+public class DependencyEdgeTransfer {
+
+	private ComponentType ownerType;
+	private Integer ownerId;
+	private ComponentType userType;
+	private Integer userId;
+	private ComponentType usedType;
+	private Integer usedId;
+	private DependencyUsageType usage;
+	private Integer associationId;
+
+	public ComponentType getOwnerType() {
+		return ownerType;
+	}
+
+	public void setOwnerType(ComponentType ownerType) {
+		this.ownerType = ownerType;
+	}
+
+	public Integer getOwnerId() {
+		return ownerId;
+	}
+
+	public void setOwnerId(Integer ownerId) {
+		this.ownerId = ownerId;
+	}
+
+	public ComponentType getUserType() {
+		return userType;
+	}
+
+	public void setUserType(ComponentType userType) {
+		this.userType = userType;
+	}
+
+	public Integer getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Integer userId) {
+		this.userId = userId;
+	}
+
+	public ComponentType getUsedType() {
+		return usedType;
+	}
+
+	public void setUsedType(ComponentType usedType) {
+		this.usedType = usedType;
+	}
+
+	public Integer getUsedId() {
+		return usedId;
+	}
+
+	public void setUsedId(Integer usedId) {
+		this.usedId = usedId;
+	}
+
+	public DependencyUsageType getUsage() {
+		return usage;
+	}
+
+	public void setUsage(DependencyUsageType usage) {
+		this.usage = usage;
+	}
+
+	/**
+	 * @return the id of the LR/LF association through which the used
+	 *         component is referred to, or 0 if there is none.
+	 */
+	public Integer getAssociationId() {
+		return associationId;
+	}
+
+	public void setAssociationId(Integer associationId) {
+		this.associationId = associationId;
+	}
+}
@@ -0,0 +1,118 @@
+package com.ibm.safr.we.data.transfer;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.ibm.safr.we.constants.ComponentType;
+
+/**
+ * This class is used to transfer the dependencies of an environment, or of
+ * some of its components, from the DAO layer to the Model layer. It holds the
+ * dependency edges, the names of the components they connect and the
+ * components stored since a given time.
+ */
+public class DependencyGraphTransfer {
+
+	/**
+	 * A component read with the graph. The owner is the component whose
+	 * refresh reloads it, as for {@link DependencyEdgeTransfer}.
+	 */
+	public static class Node {
+		private ComponentType type;
+		private Integer id;
+		private String name;
+		private Integer ownerId;
+		private Date modifyTime;
+
+		public Node(ComponentType type, Integer id) {
+			this.type = type;
+			this.id = id;
+		}
+
+		public ComponentType getType() {
+			return type;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Integer getOwnerId() {
+			return ownerId;
+		}
+
+		public void setOwnerId(Integer ownerId) {
+			this.ownerId = ownerId;
+		}
+
+		public Date getModifyTime() {
+			return modifyTime;
+		}
+
+		public void setModifyTime(Date modifyTime) {
+			this.modifyTime = modifyTime;
+		}
+	}
+
+	private List<DependencyEdgeTransfer> edges = new ArrayList<DependencyEdgeTransfer>();
+	private List<Node> components = new ArrayList<Node>();
+	private List<Node> changes = new ArrayList<Node>();
+	private Date timestamp;
+
+	public List<DependencyEdgeTransfer> getEdges() {
+		return edges;
+	}
+
+	/**
+	 * @return the components read with their names.
+	 */
+	public List<Node> getComponents() {
+		return components;
+	}
+
+	/**
+	 * @return the components stored after the time asked for, with their
+	 *         modify time.
+	 */
+	public List<Node> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * @return the database time at which the transfer was read.
+	 */
+	public Date getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(Date timestamp) {
+		this.timestamp = timestamp;
+	}
+}
@@ -0,0 +1,71 @@
+package com.ibm.safr.we.data.transfer;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is used to transfer a whole View from the DAO layer to the Model
+ * layer: the View itself and its sources, columns, column sources, sort keys,
+ * header/footer items and logic dependencies. The lists are in the same order
+ * as the DAO methods which read each of them separately return them.
+ */
+public class ViewGraphTransfer {
+
+	private ViewTransfer view;
+	private List<ViewSourceTransfer> viewSources = new ArrayList<ViewSourceTransfer>();
+	private List<ViewColumnTransfer> viewColumns = new ArrayList<ViewColumnTransfer>();
+	private List<ViewColumnSourceTransfer> viewColumnSources = new ArrayList<ViewColumnSourceTransfer>();
+	private List<ViewSortKeyTransfer> viewSortKeys = new ArrayList<ViewSortKeyTransfer>();
+	private List<HeaderFooterItemTransfer> headerFooterItems = new ArrayList<HeaderFooterItemTransfer>();
+	private List<ViewLogicDependencyTransfer> viewLogicDependencies = new ArrayList<ViewLogicDependencyTransfer>();
+
+	public ViewGraphTransfer(ViewTransfer view) {
+		this.view = view;
+	}
+
+	public ViewTransfer getView() {
+		return view;
+	}
+
+	public List<ViewSourceTransfer> getViewSources() {
+		return viewSources;
+	}
+
+	public List<ViewColumnTransfer> getViewColumns() {
+		return viewColumns;
+	}
+
+	public List<ViewColumnSourceTransfer> getViewColumnSources() {
+		return viewColumnSources;
+	}
+
+	public List<ViewSortKeyTransfer> getViewSortKeys() {
+		return viewSortKeys;
+	}
+
+	public List<HeaderFooterItemTransfer> getHeaderFooterItems() {
+		return headerFooterItems;
+	}
+
+	public List<ViewLogicDependencyTransfer> getViewLogicDependencies() {
+		return viewLogicDependencies;
+	}
+}
@@ -0,0 +1,156 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.List;
+
+/**
+ * Generates the statements used by {@link BatchWriter}. The text is the same
+ * for PostgreSQL and Db2 apart from how the current timestamp is written and
+ * how an insert returns its generated keys, which the subclasses supply.
+ */
+public abstract class BatchSQLGenerator {
+
+    /**
+     * @return the SQL special register for the current timestamp.
+     */
+    protected abstract String getCurrentTimestamp();
+
+    /**
+     * Make an <code>Insert</code> statement return the given columns of each
+     * row inserted.
+     * 
+     * @param insert
+     *            : The <code>Insert</code> statement.
+     * @param returned
+     *            : The comma separated columns to be returned.
+     * @return the statement returning the columns.
+     */
+    protected abstract String getReturningInsert(String insert, String returned);
+
+    /**
+     * This function generates an <code>Insert</code> statement for several
+     * rows which returns the generated id of each row followed by its key
+     * columns. The database need not return the rows in the order they are
+     * given, so the key columns identify the row each id belongs to.
+     * 
+     * @param schema
+     *            : The schema to be used.
+     * @param table
+     *            : The table to be used.
+     * @param id
+     *            : The generated id column.
+     * @param keyNames
+     *            : The columns which identify a row among the rows inserted.
+     * @param names
+     *            : The list of columns in the table for which value is to be
+     *            inserted.
+     * @param rows
+     *            : The number of rows inserted.
+     * @return A string equivalent to the SQL <code>Insert</code> statement with
+     *         place holders in place of values to be set later.
+     */
+    public String getBatchInsertStatement(String schema, String table, String id,
+            List<String> keyNames, List<String> names, boolean currentTimestampOnly,
+            int rows) {
+        String nameStr = "";
+        String valueStr = "";
+        for (String name : names) {
+            nameStr += name + ",";
+            if (currentTimestampOnly && 
+                (name.equals("CREATEDTIMESTAMP") || 
+                 name.equals("LASTMODTIMESTAMP") || 
+                 name.equals("LASTACTTIMESTAMP"))) {
+                valueStr += getCurrentTimestamp() + ",";
+            } else {
+                valueStr += "?,";
+            }
+        }
+        nameStr = nameStr.substring(0, nameStr.length() - 1);
+        valueStr = "(" + valueStr.substring(0, valueStr.length() - 1) + ")";
+
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                values.append(",");
+            }
+            values.append(valueStr);
+        }
+
+        String statement;
+        if (schema == null) {
+            statement = "INSERT INTO " + table + " (";
+        } else {
+            statement = "INSERT INTO " + schema + "." + table + " (";
+        }
+        statement += nameStr + ") VALUES " + values;
+
+        String returned = id;
+        for (String keyName : keyNames) {
+            returned += ", " + keyName;
+        }
+        return getReturningInsert(statement, returned);
+    }
+
+    /**
+     * This function generates an <code>Update</code> statement which can be
+     * used in a JDBC batch, so it returns no result.
+     * 
+     * @param schema
+     *            : The schema to be used.
+     * @param table
+     *            : The table to be used.
+     * @param names
+     *            : The list of columns in the table which are to be set after
+     *            update.
+     * @param idnames
+     *            : The list of columns which are to be checked in
+     *            <code>Where</code> clause of the SQL.
+     * @return A string equivalent to the SQL <code>Update</code> statement with
+     *         place holders in place of values to be set later.
+     */
+    public String getBatchUpdateStatement(String schema, String table,
+            List<String> names, List<String> idNames,
+            boolean currentTimestampOnly) {
+        String setStr = "";
+        for (String name : names) {
+            if (currentTimestampOnly && 
+                (name.equals("LASTMODTIMESTAMP") || 
+                 name.equals("LASTACTTIMESTAMP")) ) {
+                setStr += name + "=" + getCurrentTimestamp() + ",";
+            } else {
+                setStr += name + "=?,";
+            }
+        }
+        setStr = setStr.substring(0, setStr.length() - 1);
+
+        String statement;
+        if (schema == null) {
+            statement = "Update " + table + " Set ";
+        } else {
+            statement = "Update " + schema + "." + table + " Set ";
+        }
+        statement += setStr + " Where ";
+        for (String idName : idNames) {
+            statement += idName + "=? AND ";
+        }
+        statement = statement.substring(0, statement.length() - 4);
+        return statement;
+    }
+}
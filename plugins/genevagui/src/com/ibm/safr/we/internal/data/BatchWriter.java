@@ -0,0 +1,282 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.safr.we.data.ConnectionParameters;
+import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DataUtilities;
+import com.ibm.safr.we.exceptions.SAFRNotFoundException;
+
+/**
+ * Writes many rows in a few round trips rather than one per row. Used by both
+ * the PostgreSQL and the Db2 DAOs.
+ * <p>
+ * Rows without a generated key are written with JDBC batches of one prepared
+ * statement. Rows whose generated key is needed are written with one
+ * multi-row insert per batch which returns each key with the natural key of
+ * its row, as the database need not return the rows in the order given. The
+ * caller supplies a {@link Binder} which sets the parameters for a row and
+ * reads back its key. A failing row is reported with its position and description.
+ * A lost connection is reported by rethrowing the SQLException so the DAO can
+ * reconnect and retry as usual.
+ */
+public class BatchWriter {
+
+	/**
+	 * Binds one row of a batch.
+	 */
+	public static abstract class Binder<T> {
+
+		/**
+		 * Set the statement parameters for the row starting at parameter
+		 * index i.
+		 * 
+		 * @return the index of the next parameter
+		 */
+		public abstract int bind(PreparedStatement pst, int i, T row)
+				throws SQLException;
+
+		/**
+		 * Called with the result set of a multi-row insert positioned on the
+		 * row's generated key.
+		 */
+		public void readKey(ResultSet keys, T row) throws SQLException {
+		}
+
+		/**
+		 * Returns the values of the natural key columns of the row, in the
+		 * order a multi-row insert returns them after the generated key. They
+		 * must identify the row among the rows of a batch.
+		 */
+		public List<Object> getNaturalKey(T row) {
+			throw new UnsupportedOperationException("No natural key for " + describe(row));
+		}
+
+		/**
+		 * @return a short description of the row used in error messages.
+		 */
+		public String describe(T row) {
+			return String.valueOf(row);
+		}
+	}
+
+	/**
+	 * Supplies the text of a multi-row statement.
+	 */
+	public static abstract class MultiRowStatement {
+		public abstract String getStatement(int rows);
+	}
+
+	private int batchSize;
+
+	public BatchWriter(ConnectionParameters params) {
+		this(params.getBatchSize());
+	}
+
+	public BatchWriter(int batchSize) {
+		this.batchSize = batchSize < 1 ? 1 : batchSize;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Execute the statement once for each row, using JDBC batches.
+	 *
+	 * @param con
+	 *            the connection the statement was prepared on
+	 * @param pst
+	 *            the prepared statement, left open for the caller to close
+	 * @param rows
+	 *            the rows to write
+	 * @param binder
+	 *            sets the parameters of each row
+	 * @param checkCounts
+	 *            true if every row must change a database row, as for an
+	 *            update of an existing component
+	 * @param action
+	 *            what is being done, for error messages, e.g.
+	 *            "creating LR index fields"
+	 * @throws SQLException
+	 *             if the connection was lost, so the caller may reconnect and
+	 *             retry
+	 * @throws DAOException
+	 *             naming the failing row for any other database error
+	 * @throws SAFRNotFoundException
+	 *             if checkCounts is set and a row was not found
+	 */
+	public <T> void execute(Connection con, PreparedStatement pst,
+			List<T> rows, Binder<T> binder, boolean checkCounts, String action)
+			throws SQLException, DAOException {
+		for (int start = 0; start < rows.size(); start += batchSize) {
+			List<T> batch = rows.subList(start,
+					Math.min(start + batchSize, rows.size()));
+			for (T row : batch) {
+				binder.bind(pst, 1, row);
+				pst.addBatch();
+			}
+			int[] counts;
+			try {
+				counts = pst.executeBatch();
+			} catch (BatchUpdateException e) {
+				pst.clearBatch();
+				if (con.isClosed()) {
+					throw e;
+				}
+				int failed = getFailedRow(e.getUpdateCounts(), batch.size());
+				SQLException cause = e.getNextException() != null ? e.getNextException() : e;
+				throw DataUtilities.createDAOException("Database error occurred while "
+						+ action + ". Row " + (start + failed + 1) + " of " + rows.size()
+						+ " (" + binder.describe(batch.get(failed)) + ") failed: "
+						+ cause.getMessage(), cause);
+			}
+			if (checkCounts) {
+				for (int i = 0; i < counts.length; i++) {
+					if (counts[i] == 0) {
+						throw new SAFRNotFoundException("No Rows updated for "
+								+ binder.describe(batch.get(i)) + ".");
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Insert the rows using one multi-row statement per batch and pass the
+	 * generated key of each row to {@link Binder#readKey(ResultSet, Object)}.
+	 * The statement must return the generated key of each inserted row followed
+	 * by the columns of {@link Binder#getNaturalKey(Object)}, which are used to
+	 * find the row the key belongs to.
+	 *
+	 * @param con
+	 *            the connection to use
+	 * @param statement
+	 *            supplies the insert statement for a number of rows
+	 * @param rows
+	 *            the rows to insert
+	 * @param binder
+	 *            sets the parameters of each row and reads its key
+	 * @param action
+	 *            what is being done, for error messages
+	 * @throws SQLException
+	 *             if the connection was lost, so the caller may reconnect and
+	 *             retry
+	 * @throws DAOException
+	 *             naming the failing rows for any other database error
+	 */
+	public <T> void executeInsert(Connection con, MultiRowStatement statement,
+			List<T> rows, Binder<T> binder, String action)
+			throws SQLException, DAOException {
+		PreparedStatement full = null;
+		try {
+			for (int start = 0; start < rows.size(); start += batchSize) {
+				List<T> batch = rows.subList(start,
+						Math.min(start + batchSize, rows.size()));
+				PreparedStatement pst;
+				if (batch.size() == batchSize) {
+					if (full == null) {
+						full = con.prepareStatement(statement.getStatement(batchSize));
+					}
+					pst = full;
+				} else {
+					pst = con.prepareStatement(statement.getStatement(batch.size()));
+				}
+				try {
+					int i = 1;
+					for (T row : batch) {
+						i = binder.bind(pst, i, row);
+					}
+					Map<List<Object>, T> unread = new HashMap<List<Object>, T>();
+					for (T row : batch) {
+						unread.put(binder.getNaturalKey(row), row);
+					}
+					int keyColumns = binder.getNaturalKey(batch.get(0)).size();
+					ResultSet keys = pst.executeQuery();
+					try {
+						while (keys.next()) {
+							List<Object> key = new ArrayList<Object>(keyColumns);
+							for (int col = 2; col <= keyColumns + 1; col++) {
+								key.add(keys.getObject(col));
+							}
+							T row = unread.remove(key);
+							if (row != null) {
+								binder.readKey(keys, row);
+							}
+						}
+					} finally {
+						keys.close();
+					}
+					if (!unread.isEmpty()) {
+						throw new DAOException("Database error occurred while "
+								+ action + ". No generated key returned for "
+								+ binder.describe(unread.values().iterator().next()) + ".");
+					}
+				} catch (SQLException e) {
+					if (con.isClosed()) {
+						throw e;
+					}
+					// one statement, so the database cannot say which row failed
+					throw DataUtilities.createDAOException("Database error occurred while "
+							+ action + ". One of rows " + (start + 1) + " to "
+							+ (start + batch.size()) + " of " + rows.size() + " ("
+							+ binder.describe(batch.get(0)) + " to "
+							+ binder.describe(batch.get(batch.size() - 1))
+							+ ") failed: " + e.getMessage(), e);
+				} finally {
+					if (pst != full) {
+						pst.close();
+					}
+				}
+			}
+		} finally {
+			if (full != null) {
+				full.close();
+			}
+		}
+	}
+
+	/**
+	 * Find the position in the batch of the row which failed. Drivers either
+	 * stop at the first failure, returning the counts of the rows before it,
+	 * or carry on and mark the failed rows.
+	 */
+	private int getFailedRow(int[] counts, int batchRows) {
+		if (counts == null) {
+			return 0;
+		}
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == Statement.EXECUTE_FAILED) {
+				return i;
+			}
+		}
+		return Math.min(counts.length, batchRows - 1);
+	}
+}
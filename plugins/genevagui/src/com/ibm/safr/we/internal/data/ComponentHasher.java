@@ -0,0 +1,203 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.ibm.safr.we.constants.ComponentType;
+
+/**
+ * Fingerprints the components of an environment from their database rows,
+ * without building the models. Used by both the PostgreSQL and the Db2 DAOs.
+ * <p>
+ * Each component type is read with one statement per table which holds part
+ * of it. Each statement selects the owning component id followed by the
+ * table's columns for one environment, ordered by owner and row. The columns
+ * of every row are digested into the hash of the owner. The environment id is
+ * always left out, and the audit columns and comments are left out unless
+ * asked for. Two components with the same hash have the same content. Two
+ * components with different hashes may still compare the same, e.g. if their
+ * child rows have different ids.
+ */
+public class ComponentHasher {
+
+	private static final Set<String> ENVIRONMENT_COLUMNS = new HashSet<String>(
+			Arrays.asList("ENVIRONID"));
+
+	private static final Set<String> AUDIT_COLUMNS = new HashSet<String>(
+			Arrays.asList("COMMENTS", "CREATEDTIMESTAMP", "CREATEDUSERID",
+					"LASTMODTIMESTAMP", "LASTMODUSERID", "LASTACTTIMESTAMP",
+					"LASTACTUSERID"));
+
+	private static final byte NULL_VALUE = 1;
+	private static final byte SEPARATOR = 0;
+
+	/**
+	 * Returns the statements which read the rows of a component type. Each
+	 * has a single parameter, the environment id.
+	 *
+	 * @param type
+	 *            the component type
+	 * @param schema
+	 *            the schema holding the tables
+	 * @return the statements, empty for a type which is not fingerprinted
+	 */
+	public static String[] getStatements(ComponentType type, String schema) {
+		switch (type) {
+		case ControlRecord:
+			return new String[] { owned(schema, "CONTROLREC", "CONTROLRECID", "A.CONTROLRECID") };
+		case UserExitRoutine:
+			return new String[] { owned(schema, "EXIT", "EXITID", "A.EXITID") };
+		case PhysicalFile:
+			return new String[] { owned(schema, "PHYFILE", "PHYFILEID", "A.PHYFILEID") };
+		case LogicalFile:
+			return new String[] {
+					owned(schema, "LOGFILE", "LOGFILEID", "A.LOGFILEID"),
+					owned(schema, "LFPFASSOC", "LOGFILEID", "A.PARTSEQNBR, A.LFPFASSOCID") };
+		case LogicalRecord:
+			return new String[] {
+					owned(schema, "LOGREC", "LOGRECID", "A.LOGRECID"),
+					owned(schema, "LRFIELD", "LOGRECID", "A.LRFIELDID"),
+					joined(schema, "LRFIELDATTR", "LRFIELD", "LRFIELDID", "LOGRECID", "A.LRFIELDID"),
+					owned(schema, "LRINDEX", "LOGRECID", "A.LRINDEXID"),
+					joined(schema, "LRINDEXFLD", "LRINDEX", "LRINDEXID", "LOGRECID", "A.LRINDEXFLDID"),
+					owned(schema, "LRLFASSOC", "LOGRECID", "A.LRLFASSOCID") };
+		case LookupPath:
+			return new String[] {
+					owned(schema, "LOOKUP", "LOOKUPID", "A.LOOKUPID"),
+					owned(schema, "LOOKUPSTEP", "LOOKUPID", "A.LOOKUPSTEPID"),
+					joined(schema, "LOOKUPSRCKEY", "LOOKUPSTEP", "LOOKUPSTEPID", "LOOKUPID", "A.LOOKUPSTEPID, A.KEYSEQNBR") };
+		case View:
+			return new String[] {
+					owned(schema, "VIEW", "VIEWID", "A.VIEWID"),
+					owned(schema, "VIEWSOURCE", "VIEWID", "A.VIEWSOURCEID"),
+					owned(schema, "VIEWCOLUMN", "VIEWID", "A.VIEWCOLUMNID"),
+					joined(schema, "VIEWCOLUMNSOURCE", "VIEWCOLUMN", "VIEWCOLUMNID", "VIEWID", "A.VIEWCOLUMNSOURCEID"),
+					owned(schema, "VIEWSORTKEY", "VIEWID", "A.VIEWSORTKEYID"),
+					owned(schema, "VIEWHEADERFOOTER", "VIEWID", "A.HEADERFOOTERID"),
+					owned(schema, "VIEWLOGICDEPEND", "VIEWID", "A.LOGICTYPECD, A.PARENTID, A.DEPENDID") };
+		case ViewFolder:
+			return new String[] {
+					owned(schema, "VIEWFOLDER", "VIEWFOLDERID", "A.VIEWFOLDERID"),
+					owned(schema, "VFVASSOC", "VIEWFOLDERID", "A.VIEWID") };
+		default:
+			return new String[0];
+		}
+	}
+
+	private static String owned(String schema, String table, String owner,
+			String order) {
+		return "SELECT A." + owner + ", A.* FROM " + schema + "." + table + " A "
+				+ "WHERE A.ENVIRONID = ? AND A." + owner + " > 0 "
+				+ "ORDER BY A." + owner + ", " + order;
+	}
+
+	private static String joined(String schema, String table, String parent,
+			String parentId, String owner, String order) {
+		return "SELECT B." + owner + ", A.* FROM " + schema + "." + table + " A, "
+				+ schema + "." + parent + " B "
+				+ "WHERE A.ENVIRONID = ? AND B.ENVIRONID = A.ENVIRONID "
+				+ "AND B." + parentId + " = A." + parentId + " AND B." + owner + " > 0 "
+				+ "ORDER BY B." + owner + ", " + order;
+	}
+
+	private boolean auditFields;
+	private byte part = 0;
+	private Map<Integer, MessageDigest> digests = new TreeMap<Integer, MessageDigest>();
+
+	/**
+	 * @param auditFields
+	 *            true to include the audit columns and comments in the hashes
+	 */
+	public ComponentHasher(boolean auditFields) {
+		this.auditFields = auditFields;
+	}
+
+	/**
+	 * Digest the rows of one statement returned by
+	 * {@link #getStatements(ComponentType, String)}, in the order given there.
+	 *
+	 * @param rs
+	 *            the result of the statement, read to the end but not closed
+	 * @throws SQLException
+	 */
+	public void add(ResultSet rs) throws SQLException {
+		part++;
+		ResultSetMetaData meta = rs.getMetaData();
+		int count = meta.getColumnCount();
+		boolean[] hashed = new boolean[count + 1];
+		for (int i = 2; i <= count; i++) {
+			String column = meta.getColumnName(i).toUpperCase();
+			hashed[i] = !ENVIRONMENT_COLUMNS.contains(column)
+					&& (auditFields || !AUDIT_COLUMNS.contains(column));
+		}
+		while (rs.next()) {
+			Integer owner = rs.getInt(1);
+			MessageDigest digest = digests.get(owner);
+			if (digest == null) {
+				digest = newDigest();
+				digests.put(owner, digest);
+			}
+			digest.update(part);
+			for (int i = 2; i <= count; i++) {
+				if (hashed[i]) {
+					String value = rs.getString(i);
+					if (value == null) {
+						digest.update(NULL_VALUE);
+					} else {
+						digest.update(value.trim().getBytes(StandardCharsets.UTF_8));
+					}
+					digest.update(SEPARATOR);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the hash of each component read, keyed by component id in id
+	 *         order
+	 */
+	public Map<Integer, String> getHashes() {
+		Map<Integer, String> hashes = new TreeMap<Integer, String>();
+		for (Map.Entry<Integer, MessageDigest> entry : digests.entrySet()) {
+			hashes.put(entry.getKey(), new BigInteger(1, entry.getValue().digest()).toString(16));
+		}
+		return hashes;
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -2,13 +2,13 @@ package com.ibm.safr.we.internal.data;
 
 /*
  * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
- * 
+ *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -36,16 +36,28 @@ import com.ibm.safr.we.data.DataUtilities;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.utilities.SAFRLogger;
 
-import java.net.URL;
-import java.net.URLClassLoader;
-
+/**
+ * Supplies JDBC connections to the DAO factories. The editors share a single
+ * primary connection. Background work may bind a connection from a bounded
+ * pool to its thread using {@link #attachPooledConnection()}; while bound, all
+ * DAOs created on that thread use the pooled connection instead of the
+ * primary one.
+ */
 public class ConnectionFactory {
 
 	static transient Logger logger = Logger
 			.getLogger("com.ibm.safr.we.internal.data.ConnectionFactory");
 
+	// seconds allowed for a pooled connection health check
+	private static final int VALIDATION_TIMEOUT = 5;
+
 	private ConnectionParameters _params;
 	private Connection _con = null;
+	private ConnectionPool _pool = null;
+	private ThreadLocal<Connection> _threadCon = new ThreadLocal<Connection>();
+	// the pool which lent the thread's connection, which may have been
+	// closed and replaced by a disconnect since
+	private ThreadLocal<ConnectionPool> _threadPool = new ThreadLocal<ConnectionPool>();
 
 	public ConnectionFactory(ConnectionParameters params) throws DAOException {
 		_params = params;
@@ -53,29 +65,41 @@ public class ConnectionFactory {
 	}
 
 	Connection getConnection() throws DAOException {
-		try {
+		Connection pooled = _threadCon.get();
+		if (pooled != null) {
+			return pooled;
+		}
+		synchronized (this) {
 			if (_con == null) {
-				if (_params.getType() == DBType.PostgresQL) {
-					String url = "jdbc:postgresql://" 
-							+ _params.getServer() +":" + _params.getPort() + "/" + _params.getDatabase()
-							+ "&ssl=false"
-							+ "&currentSchema=" + _params.getSchema();
-					return _con = DriverManager.getConnection(_params.getUrl(), _params.getUserName(), _params.getPassWord());
-				} else if(_params.getType() == DBType.Db2) {
+				if (_params.getType() == DBType.Db2) {
 					String s = "Workbench Database Connection Opened" + SAFRUtilities.LINEBREAK
-							+ "URL    " +_params.getUrl() + SAFRUtilities.LINEBREAK 
+							+ "URL    " +_params.getUrl() + SAFRUtilities.LINEBREAK
 							+ "Schema " + _params.getSchema() + SAFRUtilities.LINEBREAK
 							+ "Userid " + _params.getUserName();
-						SAFRLogger.logAllSeparator(logger,Level.INFO, s);
-						_con = DriverManager.getConnection(_params.getUrl(), _params
-								.getUserName(), _params.getPassWord());
-						SAFRApplication.setDatabaseSchema(_params.getSchema());
-				} else {
-					throw new DAOException("Unknown Database type "
-							+ _params.getType());
+					SAFRLogger.logAllSeparator(logger,Level.INFO, s);
+				}
+				_con = openConnection();
+				if (_params.getType() == DBType.Db2) {
+					SAFRApplication.setDatabaseSchema(_params.getSchema());
 				}
 			}
 			return _con;
+		}
+	}
+
+	/**
+	 * Open a new physical connection using the connection parameters.
+	 */
+	Connection openConnection() throws DAOException {
+		try {
+			if (_params.getType() == DBType.PostgresQL
+					|| _params.getType() == DBType.Db2) {
+				return DriverManager.getConnection(_params.getUrl(),
+						_params.getUserName(), _params.getPassWord());
+			} else {
+				throw new DAOException("Unknown Database type "
+						+ _params.getType());
+			}
 		} catch (SQLException e) {
 			// SQLState 28000 is ISO standard authorization error
 			if (e.getSQLState() != null && e.getSQLState().equals("28000")) {
@@ -83,11 +107,62 @@ public class ConnectionFactory {
 			} else {
 				throw DataUtilities.createDAOException(e.getMessage(), e);
 			}
+		} catch (DAOException e) {
+			throw e;
 		} catch (Exception e) {
 			throw DataUtilities.createDAOException("Cannot connect to database.", e);
 		}
 	}
 
+	/**
+	 * Bind a pooled connection to the calling thread. Until
+	 * {@link #releasePooledConnection()} is called, DAOs created on this
+	 * thread use the pooled connection. Calls do not nest; if a connection is
+	 * already bound it is returned unchanged.
+	 *
+	 * @return the connection bound to the thread.
+	 * @throws DAOException
+	 *             if no pooled connection becomes available in time.
+	 */
+	Connection attachPooledConnection() throws DAOException {
+		Connection con = _threadCon.get();
+		if (con == null) {
+			ConnectionPool pool = getPool();
+			con = pool.borrow();
+			_threadCon.set(con);
+			_threadPool.set(pool);
+		}
+		return con;
+	}
+
+	/**
+	 * Return the connection bound to the calling thread to the pool which
+	 * lent it. If that pool has been closed by a disconnect the connection is
+	 * closed. Any unit of work the thread left open is rolled back by the
+	 * pool and forgotten, so the thread's next connection starts clean.
+	 */
+	void releasePooledConnection() {
+		Connection con = _threadCon.get();
+		if (con != null) {
+			ConnectionPool pool = _threadPool.get();
+			_threadCon.remove();
+			_threadPool.remove();
+			DAOUOW uow = DAOFactoryHolder.getDAOFactory().getDAOUOW();
+			uow.stopProgress();
+			uow.multiComponentScopeOff();
+			pool.release(con);
+		}
+	}
+
+	private synchronized ConnectionPool getPool() {
+		if (_pool == null) {
+			_pool = new ConnectionPool(this, _params.getPoolSize(),
+					_params.getPoolBorrowTimeout(), _params.getPoolIdleTimeout(),
+					VALIDATION_TIMEOUT);
+		}
+		return _pool;
+	}
+
 	void loadDriver() throws DAOException {
 		try {
 			if (_params.getType() == DBType.Db2) {
@@ -111,8 +186,13 @@ public class ConnectionFactory {
 	}
 
 	Connection reconnect() throws DAOException {
+		if (_threadCon.get() != null) {
+			return reconnectPooled();
+		}
 		DAOUOW uow = DAOFactoryHolder.getDAOFactory().getDAOUOW();
-		_con = null;
+		synchronized (this) {
+			_con = null;
+		}
 
 		int count = 0;
 		// try to reconnect three times.
@@ -154,10 +234,43 @@ public class ConnectionFactory {
 			}
 		}
 
-		return _con;
+		return getConnection();
+	}
+
+	/**
+	 * Replace the broken pooled connection bound to the calling thread. The
+	 * primary connection and the units of work of other threads are not
+	 * affected.
+	 */
+	private Connection reconnectPooled() throws DAOException {
+		Connection broken = _threadCon.get();
+		ConnectionPool pool = _threadPool.get();
+		_threadCon.remove();
+		_threadPool.remove();
+		boolean inTransaction = false;
+		try {
+			inTransaction = !broken.isClosed() && !broken.getAutoCommit();
+		} catch (SQLException e) {
+			// a closed connection may refuse to report its state
+		}
+		pool.discard(broken);
+		Connection con = attachPooledConnection();
+		DAOUOW uow = DAOFactoryHolder.getDAOFactory().getDAOUOW();
+		if (inTransaction || uow.inProgress()) {
+			uow.stopProgress();
+			throw new DAOUOWInterruptedException(
+					"Database transaction interrupted by a reconnect.");
+		}
+		return con;
 	}
 
 	void disconnect() throws DAOException {
+		synchronized (this) {
+			if (_pool != null) {
+				_pool.close();
+				_pool = null;
+			}
+		}
 		if (_con != null) {
 			try {
                 SAFRLogger.logAllSeparator(logger,Level.INFO,"Previous Workbench Database Connection Closed");
@@ -0,0 +1,222 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DAOUOWInterruptedException;
+
+/**
+ * A bounded pool of JDBC connections used by background work (batch
+ * activation, export, dependency checking etc.) so that it does not share the
+ * primary connection used by the editors.
+ * <p>
+ * Connections are validated before they are handed out, connections left idle
+ * longer than the idle timeout are closed, and a borrow waits at most the
+ * borrow timeout for a free slot.
+ */
+class ConnectionPool {
+
+	static transient Logger logger = Logger
+			.getLogger("com.ibm.safr.we.internal.data.ConnectionPool");
+
+	private static class IdleConnection {
+		private Connection con;
+		private long releasedAt;
+
+		IdleConnection(Connection con) {
+			this.con = con;
+			this.releasedAt = System.currentTimeMillis();
+		}
+	}
+
+	private ConnectionFactory factory;
+	private int maxSize;
+	private long borrowTimeout;
+	private long idleTimeout;
+	private int validationTimeout;
+
+	private Semaphore permits;
+	private Deque<IdleConnection> idle = new ArrayDeque<IdleConnection>();
+	private boolean closed = false;
+
+	ConnectionPool(ConnectionFactory factory, int maxSize, long borrowTimeout,
+			long idleTimeout, int validationTimeout) {
+		this.factory = factory;
+		this.maxSize = maxSize;
+		this.borrowTimeout = borrowTimeout;
+		this.idleTimeout = idleTimeout;
+		this.validationTimeout = validationTimeout;
+		this.permits = new Semaphore(maxSize, true);
+	}
+
+	/**
+	 * Borrow a healthy connection from the pool, opening a new one if no idle
+	 * connection is available.
+	 *
+	 * @return a connection which must be given back using
+	 *         {@link #release(Connection)} or {@link #discard(Connection)}.
+	 * @throws DAOException
+	 *             if no connection becomes free within the borrow timeout or
+	 *             a new connection cannot be opened.
+	 */
+	Connection borrow() throws DAOException {
+		try {
+			if (!permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+				throw new DAOException("Timed out after " + borrowTimeout
+						+ " ms waiting for a pooled database connection. All "
+						+ maxSize + " connections are in use.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DAOUOWInterruptedException(
+					"Interrupted while waiting for a pooled database connection.");
+		}
+		try {
+			evictIdle();
+			Connection con;
+			while ((con = pollIdle()) != null) {
+				if (isHealthy(con)) {
+					return con;
+				}
+				close(con);
+			}
+			return factory.openConnection();
+		} catch (DAOException e) {
+			permits.release();
+			throw e;
+		} catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Give a borrowed connection back to the pool for reuse.
+	 */
+	void release(Connection con) {
+		if (con == null) {
+			return;
+		}
+		boolean keep = false;
+		try {
+			if (!con.isClosed()) {
+				if (!con.getAutoCommit()) {
+					// never hand an open transaction to the next borrower
+					con.rollback();
+					con.setAutoCommit(true);
+				}
+				keep = true;
+			}
+		} catch (SQLException e) {
+			logger.log(Level.FINE, "Pooled connection unusable on release", e);
+		}
+		synchronized (this) {
+			if (keep && !closed) {
+				idle.push(new IdleConnection(con));
+				con = null;
+			}
+		}
+		if (con != null) {
+			close(con);
+		}
+		permits.release();
+		evictIdle();
+	}
+
+	/**
+	 * Give back a borrowed connection which is known to be broken. It is
+	 * closed rather than reused.
+	 */
+	void discard(Connection con) {
+		close(con);
+		permits.release();
+	}
+
+	/**
+	 * Close every idle connection which has been idle longer than the idle
+	 * timeout.
+	 */
+	void evictIdle() {
+		long now = System.currentTimeMillis();
+		Deque<Connection> expired = new ArrayDeque<Connection>();
+		synchronized (this) {
+			Iterator<IdleConnection> it = idle.descendingIterator();
+			while (it.hasNext()) {
+				IdleConnection entry = it.next();
+				if (now - entry.releasedAt > idleTimeout) {
+					expired.add(entry.con);
+					it.remove();
+				}
+			}
+		}
+		for (Connection con : expired) {
+			close(con);
+		}
+	}
+
+	/**
+	 * Close all idle connections and stop pooling. Connections still on loan
+	 * are closed when they are released.
+	 */
+	void close() {
+		Deque<IdleConnection> toClose;
+		synchronized (this) {
+			closed = true;
+			toClose = idle;
+			idle = new ArrayDeque<IdleConnection>();
+		}
+		for (IdleConnection entry : toClose) {
+			close(entry.con);
+		}
+	}
+
+	private synchronized Connection pollIdle() {
+		IdleConnection entry = idle.poll();
+		return entry == null ? null : entry.con;
+	}
+
+	private boolean isHealthy(Connection con) {
+		try {
+			return !con.isClosed() && con.isValid(validationTimeout);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void close(Connection con) {
+		if (con == null) {
+			return;
+		}
+		try {
+			con.close();
+		} catch (SQLException e) {
+			logger.log(Level.FINE, "Error closing pooled connection", e);
+		}
+	}
+}
@@ -175,6 +175,14 @@ public class DB2DAOFactory implements DAOFactory {
 		return _conFact.getConnection();
 	}
 
+	public Connection attachPooledConnection() throws DAOException {
+		return _conFact.attachPooledConnection();
+	}
+
+	public void releasePooledConnection() {
+		_conFact.releasePooledConnection();
+	}
+
 	public UserSessionParameters getSAFRLogin() {
 		return _safrLogin;
 	}
@@ -0,0 +1,447 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.DependencyUsageType;
+import com.ibm.safr.we.data.DataUtilities;
+import com.ibm.safr.we.data.transfer.DependencyEdgeTransfer;
+import com.ibm.safr.we.data.transfer.DependencyGraphTransfer;
+
+/**
+ * Reads the dependencies between the metadata components of an environment
+ * in a few round trips. Used by both the PostgreSQL and the Db2 dependency
+ * checker DAOs.
+ * <p>
+ * Each kind of reference, e.g. a View Column Source using a Lookup Path, is
+ * one branch of a single UNION ALL statement. The branch number selected in
+ * the first column tells which kind of edge a row is. The same statement,
+ * restricted to one owner component, reloads the dependencies of a
+ * component which has been stored.
+ * <p>
+ * A lost connection is reported by rethrowing the SQLException so the DAO can
+ * reconnect and retry as usual.
+ */
+public class DependencyGraphReader {
+
+	private static final String SCHEMA = ":schema.";
+
+	/**
+	 * One kind of dependency. The select list is the user id, the used id and
+	 * the LR/LF association id. The table of the owner has the alias A.
+	 */
+	private static class EdgeQuery {
+		ComponentType ownerType;
+		String ownerColumn;
+		ComponentType userType;
+		ComponentType usedType;
+		DependencyUsageType usage;
+		String select;
+		String from;
+		String where;
+
+		EdgeQuery(ComponentType ownerType, String ownerColumn,
+				ComponentType userType, ComponentType usedType,
+				DependencyUsageType usage, String select, String from,
+				String where) {
+			this.ownerType = ownerType;
+			this.ownerColumn = ownerColumn;
+			this.userType = userType;
+			this.usedType = usedType;
+			this.usage = usage;
+			this.select = select;
+			this.from = from;
+			this.where = where;
+		}
+	}
+
+	/**
+	 * A table of components, giving its id, name and owner columns.
+	 */
+	private static class TableQuery {
+		ComponentType type;
+		String table;
+		String idColumn;
+		String ownerColumn;
+		ComponentType ownerType;
+
+		TableQuery(ComponentType type, String table, String idColumn,
+				ComponentType ownerType, String ownerColumn) {
+			this.type = type;
+			this.table = table;
+			this.idColumn = idColumn;
+			this.ownerType = ownerType;
+			this.ownerColumn = ownerColumn;
+		}
+	}
+
+	private static final ComponentType VW = ComponentType.View;
+	private static final ComponentType LP = ComponentType.LookupPath;
+	private static final ComponentType LR = ComponentType.LogicalRecord;
+	private static final ComponentType FLD = ComponentType.LogicalRecordField;
+	private static final ComponentType LF = ComponentType.LogicalFile;
+	private static final ComponentType PF = ComponentType.PhysicalFile;
+	private static final ComponentType EXIT = ComponentType.UserExitRoutine;
+
+	private static final String VS_LRLF = SCHEMA + "VIEWSOURCE A, " + SCHEMA + "LRLFASSOC B";
+	private static final String VS_LRLF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LRLFASSOCID = A.INLRLFASSOCID";
+	private static final String VW_LFPF = SCHEMA + "VIEW A, " + SCHEMA + "LFPFASSOC B";
+	private static final String VW_LFPF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LFPFASSOCID = A.LFPFASSOCID";
+	private static final String VS_LFPF = SCHEMA + "VIEWSOURCE A, " + SCHEMA + "LFPFASSOC B";
+	private static final String VS_LFPF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LFPFASSOCID = A.OUTLFPFASSOCID";
+	private static final String VLD_LFPF = SCHEMA + "VIEWLOGICDEPEND A, " + SCHEMA + "LFPFASSOC B";
+	private static final String VLD_LFPF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LFPFASSOCID = A.LFPFASSOCID";
+	private static final String LS_LRLF = SCHEMA + "LOOKUPSTEP A, " + SCHEMA + "LRLFASSOC B";
+	private static final String LS_LRLF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LRLFASSOCID = A.LRLFASSOCID";
+	private static final String LK_LRLF = SCHEMA + "LOOKUP A, " + SCHEMA + "LRLFASSOC B";
+	private static final String LK_LRLF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LRLFASSOCID = A.DESTLRLFASSOCID";
+	private static final String SK_LRLF = SCHEMA + "LOOKUPSRCKEY A, " + SCHEMA + "LRLFASSOC B";
+	private static final String SK_LRLF_JOIN = "B.ENVIRONID = A.ENVIRONID AND B.LRLFASSOCID = A.LRLFASSOCID";
+
+	private static final EdgeQuery[] EDGES = {
+		// View sources
+		new EdgeQuery(VW, "A.VIEWID", VW, LR, DependencyUsageType.SOURCE,
+				"A.VIEWID, B.LOGRECID, A.INLRLFASSOCID", VS_LRLF, VS_LRLF_JOIN),
+		new EdgeQuery(VW, "A.VIEWID", VW, LF, DependencyUsageType.SOURCE,
+				"A.VIEWID, B.LOGFILEID, A.INLRLFASSOCID", VS_LRLF, VS_LRLF_JOIN),
+		// View outputs
+		new EdgeQuery(VW, "A.VIEWID", VW, LR, DependencyUsageType.OUTPUT,
+				"A.VIEWID, A.OUTPUTLRID, 0", SCHEMA + "VIEW A", "A.OUTPUTLRID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, LF, DependencyUsageType.OUTPUT,
+				"A.VIEWID, B.LOGFILEID, 0", VW_LFPF, VW_LFPF_JOIN),
+		new EdgeQuery(VW, "A.VIEWID", VW, PF, DependencyUsageType.OUTPUT,
+				"A.VIEWID, B.PHYFILEID, 0", VW_LFPF, VW_LFPF_JOIN),
+		new EdgeQuery(VW, "A.VIEWID", VW, LF, DependencyUsageType.OUTPUT,
+				"A.VIEWID, B.LOGFILEID, 0", VS_LFPF, VS_LFPF_JOIN),
+		new EdgeQuery(VW, "A.VIEWID", VW, PF, DependencyUsageType.OUTPUT,
+				"A.VIEWID, B.PHYFILEID, 0", VS_LFPF, VS_LFPF_JOIN),
+		// View logic text
+		new EdgeQuery(VW, "A.VIEWID", VW, LF, DependencyUsageType.LOGIC_TEXT,
+				"A.VIEWID, B.LOGFILEID, 0", VLD_LFPF, VLD_LFPF_JOIN),
+		new EdgeQuery(VW, "A.VIEWID", VW, PF, DependencyUsageType.LOGIC_TEXT,
+				"A.VIEWID, B.PHYFILEID, 0", VLD_LFPF, VLD_LFPF_JOIN),
+		new EdgeQuery(VW, "A.VIEWID", VW, LP, DependencyUsageType.LOGIC_TEXT,
+				"A.VIEWID, A.LOOKUPID, 0", SCHEMA + "VIEWLOGICDEPEND A", "A.LOOKUPID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, FLD, DependencyUsageType.LOGIC_TEXT,
+				"A.VIEWID, A.LRFIELDID, 0", SCHEMA + "VIEWLOGICDEPEND A", "A.LRFIELDID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, EXIT, DependencyUsageType.LOGIC_TEXT,
+				"A.VIEWID, A.EXITID, 0", SCHEMA + "VIEWLOGICDEPEND A", "A.EXITID > 0"),
+		// View column sources
+		new EdgeQuery(VW, "A.VIEWID", VW, LP, DependencyUsageType.SOURCE,
+				"A.VIEWID, A.LOOKUPID, 0", SCHEMA + "VIEWCOLUMNSOURCE A", "A.LOOKUPID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, FLD, DependencyUsageType.SOURCE,
+				"A.VIEWID, A.LRFIELDID, 0", SCHEMA + "VIEWCOLUMNSOURCE A", "A.LRFIELDID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, LP, DependencyUsageType.SORT_KEY_TITLE,
+				"A.VIEWID, A.SORTTITLELOOKUPID, 0", SCHEMA + "VIEWCOLUMNSOURCE A", "A.SORTTITLELOOKUPID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, FLD, DependencyUsageType.SORT_KEY_TITLE,
+				"A.VIEWID, A.SORTTITLELRFIELDID, 0", SCHEMA + "VIEWCOLUMNSOURCE A", "A.SORTTITLELRFIELDID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, FLD, DependencyUsageType.EFFECTIVE_DATE,
+				"A.VIEWID, A.EFFDATELRFIELDID, 0", SCHEMA + "VIEWCOLUMNSOURCE A", "A.EFFDATELRFIELDID > 0"),
+		// View exits, control record and folders
+		new EdgeQuery(VW, "A.VIEWID", VW, EXIT, DependencyUsageType.FORMAT,
+				"A.VIEWID, A.FORMATEXITID, 0", SCHEMA + "VIEW A", "A.FORMATEXITID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, EXIT, DependencyUsageType.WRITE,
+				"A.VIEWID, A.WRITEEXITID, 0", SCHEMA + "VIEW A", "A.WRITEEXITID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, EXIT, DependencyUsageType.WRITE,
+				"A.VIEWID, A.WRITEEXITID, 0", SCHEMA + "VIEWSOURCE A", "A.WRITEEXITID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, ComponentType.ControlRecord, DependencyUsageType.NONE,
+				"A.VIEWID, A.CONTROLRECID, 0", SCHEMA + "VIEW A", "A.CONTROLRECID > 0"),
+		new EdgeQuery(VW, "A.VIEWID", VW, ComponentType.ViewFolder, DependencyUsageType.NONE,
+				"A.VIEWID, A.VIEWFOLDERID, 0", SCHEMA + "VFVASSOC A", "A.VIEWFOLDERID > 0"),
+		// Lookup Paths
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LR, DependencyUsageType.SOURCE,
+				"A.LOOKUPID, A.SRCLRID, 0", SCHEMA + "LOOKUP A", "A.SRCLRID > 0"),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LR, DependencyUsageType.SOURCE,
+				"A.LOOKUPID, A.SRCLRID, 0", SCHEMA + "LOOKUPSTEP A", "A.SRCLRID > 0"),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LR, DependencyUsageType.TARGET,
+				"A.LOOKUPID, B.LOGRECID, A.LRLFASSOCID", LS_LRLF, LS_LRLF_JOIN),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LF, DependencyUsageType.TARGET,
+				"A.LOOKUPID, B.LOGFILEID, A.LRLFASSOCID", LS_LRLF, LS_LRLF_JOIN),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LR, DependencyUsageType.TARGET,
+				"A.LOOKUPID, B.LOGRECID, A.DESTLRLFASSOCID", LK_LRLF, LK_LRLF_JOIN),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LF, DependencyUsageType.TARGET,
+				"A.LOOKUPID, B.LOGFILEID, A.DESTLRLFASSOCID", LK_LRLF, LK_LRLF_JOIN),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, FLD, DependencyUsageType.SOURCE,
+				"A.LOOKUPID, A.LRFIELDID, 0", SCHEMA + "LOOKUPSRCKEY A", "A.LRFIELDID > 0"),
+		new EdgeQuery(LP, "A.LOOKUPID", LP, LR, DependencyUsageType.SOURCE,
+				"A.LOOKUPID, B.LOGRECID, A.LRLFASSOCID", SK_LRLF, SK_LRLF_JOIN),
+		// Logical Records and their fields
+		new EdgeQuery(LR, "A.LOGRECID", LR, LF, DependencyUsageType.NONE,
+				"A.LOGRECID, A.LOGFILEID, A.LRLFASSOCID", SCHEMA + "LRLFASSOC A", "A.LOGFILEID > 0"),
+		new EdgeQuery(LR, "A.LOGRECID", LR, EXIT, DependencyUsageType.LOOKUP,
+				"A.LOGRECID, A.LOOKUPEXITID, 0", SCHEMA + "LOGREC A", "A.LOOKUPEXITID > 0"),
+		new EdgeQuery(LR, "A.LOGRECID", FLD, LR, DependencyUsageType.NONE,
+				"A.LRFIELDID, A.LOGRECID, 0", SCHEMA + "LRFIELD A", null),
+		// Logical and Physical Files
+		new EdgeQuery(LF, "A.LOGFILEID", LF, PF, DependencyUsageType.NONE,
+				"A.LOGFILEID, A.PHYFILEID, 0", SCHEMA + "LFPFASSOC A", "A.PHYFILEID > 0"),
+		new EdgeQuery(PF, "A.PHYFILEID", PF, EXIT, DependencyUsageType.READ,
+				"A.PHYFILEID, A.READEXITID, 0", SCHEMA + "PHYFILE A", "A.READEXITID > 0")
+	};
+
+	private static final TableQuery[] NAMES = {
+		new TableQuery(VW, "VIEW", "VIEWID", VW, "VIEWID"),
+		new TableQuery(ComponentType.ViewFolder, "VIEWFOLDER", "VIEWFOLDERID", ComponentType.ViewFolder, "VIEWFOLDERID"),
+		new TableQuery(LP, "LOOKUP", "LOOKUPID", LP, "LOOKUPID"),
+		new TableQuery(LR, "LOGREC", "LOGRECID", LR, "LOGRECID"),
+		new TableQuery(FLD, "LRFIELD", "LRFIELDID", LR, "LOGRECID"),
+		new TableQuery(LF, "LOGFILE", "LOGFILEID", LF, "LOGFILEID"),
+		new TableQuery(PF, "PHYFILE", "PHYFILEID", PF, "PHYFILEID"),
+		new TableQuery(EXIT, "EXIT", "EXITID", EXIT, "EXITID"),
+		new TableQuery(ComponentType.ControlRecord, "CONTROLREC", "CONTROLRECID", ComponentType.ControlRecord, "CONTROLRECID")
+	};
+
+	/** Tables whose modify time marks a change to the dependencies of their owner. */
+	private static final TableQuery[] CHANGES = {
+		new TableQuery(VW, "VIEW", "VIEWID", VW, "VIEWID"),
+		new TableQuery(VW, "VFVASSOC", "VIEWID", VW, "VIEWID"),
+		new TableQuery(ComponentType.ViewFolder, "VIEWFOLDER", "VIEWFOLDERID", ComponentType.ViewFolder, "VIEWFOLDERID"),
+		new TableQuery(LP, "LOOKUP", "LOOKUPID", LP, "LOOKUPID"),
+		new TableQuery(LP, "LOOKUPSTEP", "LOOKUPID", LP, "LOOKUPID"),
+		new TableQuery(LP, "LOOKUPSRCKEY", "LOOKUPID", LP, "LOOKUPID"),
+		new TableQuery(LR, "LOGREC", "LOGRECID", LR, "LOGRECID"),
+		new TableQuery(LR, "LRFIELD", "LOGRECID", LR, "LOGRECID"),
+		new TableQuery(LR, "LRLFASSOC", "LOGRECID", LR, "LOGRECID"),
+		new TableQuery(LF, "LOGFILE", "LOGFILEID", LF, "LOGFILEID"),
+		new TableQuery(LF, "LFPFASSOC", "LOGFILEID", LF, "LOGFILEID"),
+		new TableQuery(PF, "PHYFILE", "PHYFILEID", PF, "PHYFILEID"),
+		new TableQuery(EXIT, "EXIT", "EXITID", EXIT, "EXITID"),
+		new TableQuery(ComponentType.ControlRecord, "CONTROLREC", "CONTROLRECID", ComponentType.ControlRecord, "CONTROLRECID")
+	};
+
+	private String schema;
+
+	public DependencyGraphReader(String schema) {
+		this.schema = schema;
+	}
+
+	/**
+	 * Read every dependency of the environment and the names of the
+	 * components involved.
+	 */
+	public DependencyGraphTransfer readGraph(Connection con,
+			Integer environmentId) throws SQLException {
+		DependencyGraphTransfer graph = new DependencyGraphTransfer();
+		// read the time first so nothing stored while reading is missed
+		graph.setTimestamp(readTimestamp(con, environmentId));
+		readEdges(con, environmentId, null, null, graph);
+		readNames(con, environmentId, null, null, graph);
+		return graph;
+	}
+
+	/**
+	 * Read the dependencies owned by one component and the names of the
+	 * component and the components it owns, e.g. the fields of a Logical
+	 * Record.
+	 */
+	public DependencyGraphTransfer readComponent(Connection con,
+			Integer environmentId, ComponentType ownerType, Integer ownerId)
+			throws SQLException {
+		DependencyGraphTransfer graph = new DependencyGraphTransfer();
+		readEdges(con, environmentId, ownerType, ownerId, graph);
+		readNames(con, environmentId, ownerType, ownerId, graph);
+		return graph;
+	}
+
+	/**
+	 * Read the owners of the rows stored after the given time, and the
+	 * current database time to use for the next call.
+	 */
+	public DependencyGraphTransfer readChanges(Connection con,
+			Integer environmentId, Date since) throws SQLException {
+		DependencyGraphTransfer graph = new DependencyGraphTransfer();
+		StringBuffer sql = new StringBuffer();
+		sql.append("SELECT -1, ENVIRONID, CAST(CURRENT_TIMESTAMP AS TIMESTAMP) FROM "
+				+ SCHEMA + "ENVIRON WHERE ENVIRONID = ?");
+		for (int i = 0; i < CHANGES.length; i++) {
+			sql.append(" UNION ALL SELECT " + i + ", " + CHANGES[i].ownerColumn
+					+ ", LASTMODTIMESTAMP FROM " + SCHEMA + CHANGES[i].table
+					+ " WHERE ENVIRONID = ? AND LASTMODTIMESTAMP > ?");
+		}
+		PreparedStatement pst = con.prepareStatement(resolve(sql));
+		try {
+			Timestamp ts = new Timestamp(since.getTime());
+			int p = 1;
+			pst.setInt(p++, environmentId);
+			for (int i = 0; i < CHANGES.length; i++) {
+				pst.setInt(p++, environmentId);
+				pst.setTimestamp(p++, ts);
+			}
+			ResultSet rs = pst.executeQuery();
+			try {
+				while (rs.next()) {
+					int q = rs.getInt(1);
+					if (q < 0) {
+						graph.setTimestamp(rs.getTimestamp(3));
+					} else {
+						DependencyGraphTransfer.Node node = new DependencyGraphTransfer.Node(
+								CHANGES[q].ownerType, rs.getInt(2));
+						node.setModifyTime(rs.getTimestamp(3));
+						graph.getChanges().add(node);
+					}
+				}
+			} finally {
+				rs.close();
+			}
+		} finally {
+			pst.close();
+		}
+		return graph;
+	}
+
+	private Date readTimestamp(Connection con, Integer environmentId)
+			throws SQLException {
+		PreparedStatement pst = con.prepareStatement(resolve(new StringBuffer(
+				"SELECT CAST(CURRENT_TIMESTAMP AS TIMESTAMP) FROM " + SCHEMA
+						+ "ENVIRON WHERE ENVIRONID = ?")));
+		try {
+			pst.setInt(1, environmentId);
+			ResultSet rs = pst.executeQuery();
+			try {
+				return rs.next() ? rs.getTimestamp(1) : new Date(0);
+			} finally {
+				rs.close();
+			}
+		} finally {
+			pst.close();
+		}
+	}
+
+	private void readEdges(Connection con, Integer environmentId,
+			ComponentType ownerType, Integer ownerId,
+			DependencyGraphTransfer graph) throws SQLException {
+		StringBuffer sql = new StringBuffer();
+		List<EdgeQuery> queries = new ArrayList<EdgeQuery>();
+		for (int i = 0; i < EDGES.length; i++) {
+			EdgeQuery edge = EDGES[i];
+			if (ownerType != null && edge.ownerType != ownerType) {
+				continue;
+			}
+			if (sql.length() > 0) {
+				sql.append(" UNION ALL ");
+			}
+			sql.append("SELECT DISTINCT " + i + ", " + edge.select + ", "
+					+ edge.ownerColumn + " FROM " + edge.from
+					+ " WHERE A.ENVIRONID = ?");
+			if (edge.where != null) {
+				sql.append(" AND " + edge.where);
+			}
+			if (ownerType != null) {
+				sql.append(" AND " + edge.ownerColumn + " = ?");
+			}
+			queries.add(edge);
+		}
+		if (queries.isEmpty()) {
+			return;
+		}
+		PreparedStatement pst = con.prepareStatement(resolve(sql));
+		try {
+			int p = 1;
+			for (int i = 0; i < queries.size(); i++) {
+				pst.setInt(p++, environmentId);
+				if (ownerType != null) {
+					pst.setInt(p++, ownerId);
+				}
+			}
+			ResultSet rs = pst.executeQuery();
+			try {
+				while (rs.next()) {
+					EdgeQuery edge = EDGES[rs.getInt(1)];
+					DependencyEdgeTransfer trans = new DependencyEdgeTransfer();
+					trans.setUserType(edge.userType);
+					trans.setUserId(rs.getInt(2));
+					trans.setUsedType(edge.usedType);
+					trans.setUsedId(rs.getInt(3));
+					trans.setAssociationId(rs.getInt(4));
+					trans.setOwnerType(edge.ownerType);
+					trans.setOwnerId(rs.getInt(5));
+					trans.setUsage(edge.usage);
+					graph.getEdges().add(trans);
+				}
+			} finally {
+				rs.close();
+			}
+		} finally {
+			pst.close();
+		}
+	}
+
+	private void readNames(Connection con, Integer environmentId,
+			ComponentType ownerType, Integer ownerId,
+			DependencyGraphTransfer graph) throws SQLException {
+		StringBuffer sql = new StringBuffer();
+		int branches = 0;
+		for (int i = 0; i < NAMES.length; i++) {
+			TableQuery table = NAMES[i];
+			if (ownerType != null && table.ownerType != ownerType) {
+				continue;
+			}
+			if (sql.length() > 0) {
+				sql.append(" UNION ALL ");
+			}
+			sql.append("SELECT " + i + ", " + table.idColumn + ", NAME, "
+					+ table.ownerColumn + " FROM " + SCHEMA + table.table
+					+ " WHERE ENVIRONID = ?");
+			if (ownerType != null) {
+				sql.append(" AND " + table.ownerColumn + " = ?");
+			}
+			branches++;
+		}
+		if (branches == 0) {
+			return;
+		}
+		PreparedStatement pst = con.prepareStatement(resolve(sql));
+		try {
+			int p = 1;
+			for (int i = 0; i < branches; i++) {
+				pst.setInt(p++, environmentId);
+				if (ownerType != null) {
+					pst.setInt(p++, ownerId);
+				}
+			}
+			ResultSet rs = pst.executeQuery();
+			try {
+				while (rs.next()) {
+					DependencyGraphTransfer.Node node = new DependencyGraphTransfer.Node(
+							NAMES[rs.getInt(1)].type, rs.getInt(2));
+					node.setName(DataUtilities.trimString(rs.getString(3)));
+					node.setOwnerId(rs.getInt(4));
+					graph.getComponents().add(node);
+				}
+			} finally {
+				rs.close();
+			}
+		} finally {
+			pst.close();
+		}
+	}
+
+	private String resolve(StringBuffer sql) {
+		return sql.toString().replace(SCHEMA, schema + ".");
+	}
+}
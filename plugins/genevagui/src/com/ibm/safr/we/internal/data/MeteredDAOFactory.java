@@ -0,0 +1,141 @@
+package com.ibm.safr.we.internal.data;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+
+import com.ibm.safr.we.data.DAOFactory;
+import com.ibm.safr.we.data.DAOMetrics;
+
+/**
+ * Wraps a {@link DAOFactory} so that every call of a DAO it hands out is
+ * timed and recorded in {@link DAOMetrics}. Each <code>getXxxDAO()</code>
+ * result is wrapped in a proxy of its DAO interface; other factory methods
+ * pass straight through, except that a <code>reconnect()</code> is counted
+ * against the DAO method in progress on the thread, which is how the
+ * <code>con.isClosed()</code> retry loops of the DAOs reach it.
+ */
+public class MeteredDAOFactory implements InvocationHandler {
+
+	private static final String DAO_PACKAGE = "com.ibm.safr.we.data.dao";
+
+	/** DAO methods in progress on this thread, innermost first. */
+	private static final ThreadLocal<Deque<String>> inProgress = new ThreadLocal<Deque<String>>() {
+		@Override
+		protected Deque<String> initialValue() {
+			return new ArrayDeque<String>();
+		}
+	};
+
+	private final DAOFactory target;
+
+	private MeteredDAOFactory(DAOFactory target) {
+		this.target = target;
+	}
+
+	public static DAOFactory wrap(DAOFactory factory) {
+		return (DAOFactory) Proxy.newProxyInstance(
+				DAOFactory.class.getClassLoader(),
+				new Class<?>[] { DAOFactory.class },
+				new MeteredDAOFactory(factory));
+	}
+
+	public Object invoke(Object proxy, Method method, Object[] args)
+			throws Throwable {
+		if (method.getName().equals("reconnect")) {
+			DAOMetrics.reconnected(inProgress.get().peek());
+		}
+		Object result = call(target, method, args);
+		Class<?> type = method.getReturnType();
+		if (result != null && type.isInterface() && type.getPackage() != null
+				&& type.getPackage().getName().equals(DAO_PACKAGE)) {
+			return Proxy.newProxyInstance(type.getClassLoader(),
+					new Class<?>[] { type }, new MeteredDAO(type.getSimpleName(), result));
+		}
+		return result;
+	}
+
+	private static Object call(Object target, Method method, Object[] args)
+			throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Times the calls of one DAO.
+	 */
+	private static class MeteredDAO implements InvocationHandler {
+
+		private final String daoName;
+		private final Object target;
+
+		MeteredDAO(String daoName, Object target) {
+			this.daoName = daoName;
+			this.target = target;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			if (method.getDeclaringClass() == Object.class) {
+				return call(target, method, args);
+			}
+			String name = daoName + "." + method.getName();
+			Deque<String> stack = inProgress.get();
+			stack.push(name);
+			boolean failed = true;
+			long rows = 0;
+			long start = System.nanoTime();
+			try {
+				Object result = call(target, method, args);
+				rows = rowsOf(result);
+				failed = false;
+				return result;
+			} finally {
+				long elapsed = System.nanoTime() - start;
+				stack.pop();
+				DAOMetrics.record(name, elapsed, rows, failed);
+			}
+		}
+
+		private static long rowsOf(Object result) {
+			if (result == null) {
+				return 0;
+			} else if (result instanceof Collection) {
+				return ((Collection<?>) result).size();
+			} else if (result instanceof Map) {
+				return ((Map<?, ?>) result).size();
+			} else if (result.getClass().isArray()) {
+				return Array.getLength(result);
+			} else {
+				return 1;
+			}
+		}
+	}
+}
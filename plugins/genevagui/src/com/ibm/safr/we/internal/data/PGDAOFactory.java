@@ -170,6 +170,14 @@ public class PGDAOFactory implements DAOFactory {
 		return _conFact.getConnection();
 	}
 
+	public Connection attachPooledConnection() throws DAOException {
+		return _conFact.attachPooledConnection();
+	}
+
+	public void releasePooledConnection() {
+		_conFact.releasePooledConnection();
+	}
+
 	public UserSessionParameters getSAFRLogin() {
 		return _safrLogin;
 	}
@@ -28,7 +28,7 @@ import java.util.List;
  * procedures in database.
  * 
  */
-public class PGSQLGenerator {
+public class PGSQLGenerator extends BatchSQLGenerator {
 
     /**
      * This function generates an <code>Insert</code> statement
@@ -143,6 +143,16 @@ public class PGSQLGenerator {
         return statement;
     }
 	
+    @Override
+    protected String getCurrentTimestamp() {
+        return "CURRENT_TIMESTAMP";
+    }
+
+    @Override
+    protected String getReturningInsert(String insert, String returned) {
+        return insert + " RETURNING " + returned;
+    }
+
 	/**
 	 * This function generates an <code>Update</code> statement
 	 * 
@@ -570,6 +580,28 @@ public class PGSQLGenerator {
 		return statement;
 	}
 
+	/**
+	 * Generates a select of all the columns of the rows returned by a function
+	 * which returns a table, with place holders for its parameters.
+	 */
+	public String getSelectAllFromFunction(String schema, String function,
+			int numParam) {
+		String statement;
+		if (schema == null) {
+			statement = "select * from " + function;
+		} else {
+			statement = "select * from " + schema + "." + function;
+		}
+
+		statement += "(";
+		for (int i = 1; i < numParam; i++) {
+			statement += "?, ";
+		}
+		statement += "? )";
+
+		return statement;
+	}
+
     /**
      * This function generates a callable statement for stored procedure
      * 
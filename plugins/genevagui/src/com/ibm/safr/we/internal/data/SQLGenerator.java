@@ -28,7 +28,7 @@ import java.util.List;
  * procedures in database.
  * 
  */
-public class SQLGenerator {
+public class SQLGenerator extends BatchSQLGenerator {
 
     /**
      * This function generates an <code>Insert</code> statement
@@ -143,6 +143,16 @@ public class SQLGenerator {
         return statement;
     }
 	
+    @Override
+    protected String getCurrentTimestamp() {
+        return "CURRENT TIMESTAMP";
+    }
+
+    @Override
+    protected String getReturningInsert(String insert, String returned) {
+        return "SELECT " + returned + " FROM FINAL TABLE (" + insert + ") ORDER BY INPUT SEQUENCE";
+    }
+
 	/**
 	 * This function generates an <code>Update</code> statement
 	 * 
@@ -24,6 +24,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -39,7 +40,9 @@ import com.ibm.safr.we.data.DAOUOWInterruptedException;
 import com.ibm.safr.we.data.DataUtilities;
 import com.ibm.safr.we.data.UserSessionParameters;
 import com.ibm.safr.we.data.dao.DependencyCheckerDAO;
+import com.ibm.safr.we.data.transfer.DependencyGraphTransfer;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
+import com.ibm.safr.we.internal.data.DependencyGraphReader;
 import com.ibm.safr.we.internal.data.SQLGenerator;
 
 /**
@@ -291,5 +294,49 @@ public class DB2DependencyCheckerDAO implements DependencyCheckerDAO {
             } // end transaction try
         } // end transaction while loop              
     }
-	
+
+	public DependencyGraphTransfer getDependencyGraph(Integer environmentId)
+			throws DAOException {
+		return readDependencyGraph(environmentId, null, null, null);
+	}
+
+	public DependencyGraphTransfer getDependencyGraph(Integer environmentId,
+			ComponentType compType, Integer componentId) throws DAOException {
+		return readDependencyGraph(environmentId, compType, componentId, null);
+	}
+
+	public DependencyGraphTransfer getDependencyChanges(Integer environmentId,
+			Date since) throws DAOException {
+		return readDependencyGraph(environmentId, null, null, since);
+	}
+
+	private DependencyGraphTransfer readDependencyGraph(Integer environmentId,
+			ComponentType compType, Integer componentId, Date since)
+			throws DAOException {
+		DependencyGraphReader reader = new DependencyGraphReader(params.getSchema());
+		try {
+			while (true) {
+				try {
+					if (since != null) {
+						return reader.readChanges(con, environmentId, since);
+					} else if (compType != null) {
+						return reader.readComponent(con, environmentId, compType, componentId);
+					} else {
+						return reader.readGraph(con, environmentId);
+					}
+				} catch (SQLException se) {
+					if (con.isClosed()) {
+						// lost database connection, so reconnect and retry
+						con = DAOFactoryHolder.getDAOFactory().reconnect();
+					} else {
+						throw se;
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+					"Database error occurred while retrieving the dependencies of the environment.", e);
+		}
+	}
+
 }
@@ -26,8 +26,11 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 
@@ -44,6 +47,7 @@ import com.ibm.safr.we.data.dao.EnvironmentDAO;
 import com.ibm.safr.we.data.transfer.EnvironmentTransfer;
 import com.ibm.safr.we.data.transfer.GroupEnvironmentAssociationTransfer;
 import com.ibm.safr.we.exceptions.SAFRNotFoundException;
+import com.ibm.safr.we.internal.data.ComponentHasher;
 import com.ibm.safr.we.internal.data.SQLGenerator;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.query.EnvComponentQueryBean;
@@ -1256,4 +1260,101 @@ public class DB2EnvironmentDAO implements EnvironmentDAO {
 					"Database error occurred while querying Components in Environments.",e);
 		}
 	}
+
+	public Map<Integer, String> getComponentHashes(ComponentType type,
+			Integer environmentId, boolean auditFields) throws DAOException {
+		try {
+			ComponentHasher hasher = new ComponentHasher(auditFields);
+			for (String selectString : ComponentHasher.getStatements(type, params.getSchema())) {
+				PreparedStatement pst = null;
+				ResultSet rs = null;
+				while (true) {
+					try {
+						pst = con.prepareStatement(selectString);
+						pst.setInt(1, environmentId);
+						rs = pst.executeQuery();
+						break;
+					} catch (SQLException se) {
+						if (con.isClosed()) {
+							// lost database connection, so reconnect and retry
+							con = DAOFactoryHolder.getDAOFactory().reconnect();
+						} else {
+							throw se;
+						}
+					}
+				}
+				hasher.add(rs);
+				pst.close();
+				rs.close();
+			}
+			return hasher.getHashes();
+
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+					"Database error occurred while fingerprinting the " + type.getLabel() + "s of an Environment.",e);
+		}
+	}
+
+	public Map<Integer, Date> getModifyTimes(ComponentType type,
+			Integer environmentId) throws DAOException {
+		String table;
+		String idColumn;
+		switch (type) {
+		case LogicalRecord:
+			table = "LOGREC";
+			idColumn = "LOGRECID";
+			break;
+		case LookupPath:
+			table = "LOOKUP";
+			idColumn = "LOOKUPID";
+			break;
+		case LogicalFile:
+			table = "LOGFILE";
+			idColumn = "LOGFILEID";
+			break;
+		case PhysicalFile:
+			table = "PHYFILE";
+			idColumn = "PHYFILEID";
+			break;
+		case UserExitRoutine:
+			table = "EXIT";
+			idColumn = "EXITID";
+			break;
+		default:
+			throw new IllegalArgumentException("Modify times are not read for " + type.getLabel() + "s.");
+		}
+		Map<Integer, Date> result = new HashMap<Integer, Date>();
+		try {
+			String selectString = "SELECT " + idColumn + ", LASTMODTIMESTAMP FROM "
+					+ params.getSchema() + "." + table + " WHERE ENVIRONID = ? AND "
+					+ idColumn + " > 0";
+			PreparedStatement pst = null;
+			ResultSet rs = null;
+			while (true) {
+				try {
+					pst = con.prepareStatement(selectString);
+					pst.setInt(1, environmentId);
+					rs = pst.executeQuery();
+					break;
+				} catch (SQLException se) {
+					if (con.isClosed()) {
+						// lost database connection, so reconnect and retry
+						con = DAOFactoryHolder.getDAOFactory().reconnect();
+					} else {
+						throw se;
+					}
+				}
+			}
+			while (rs.next()) {
+				result.put(rs.getInt(1), rs.getTimestamp(2));
+			}
+			pst.close();
+			rs.close();
+			return result;
+
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+					"Database error occurred while reading the modify times of the " + type.getLabel() + "s of an Environment.",e);
+		}
+	}
 }
@@ -45,6 +45,7 @@ import com.ibm.safr.we.data.DAOUOWInterruptedException;
 import com.ibm.safr.we.data.DataUtilities;
 import com.ibm.safr.we.data.UserSessionParameters;
 import com.ibm.safr.we.data.dao.ExportDAO;
+import com.ibm.safr.we.data.dao.ExportDAO.RecordHandler;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 import com.ibm.safr.we.data.transfer.XMLTableDataTransfer;
 import com.ibm.safr.we.internal.data.SQLGenerator;
@@ -55,6 +56,9 @@ public class DB2ExportDAO implements ExportDAO {
 	static transient Logger logger = Logger
 			.getLogger("com.ibm.safr.we.internal.data.dao.DB2ExportDAO");
 	
+	// rows fetched from the database at a time while exporting
+	private static final int EXPORT_FETCH_SIZE = 500;
+
 	private Connection con;
 	private ConnectionParameters params;
 	private UserSessionParameters safrLogin;
@@ -263,13 +267,12 @@ public class DB2ExportDAO implements ExportDAO {
         rs.close();
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getPhysicalFileData(
-        Integer environmentId, List<Integer> physicalFileIds)
+    public void getPhysicalFileData(Integer environmentId,
+        List<Integer> physicalFileIds, RecordHandler handler)
         throws DAOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> physicalFileDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
     
         if (physicalFileIds == null || physicalFileIds.isEmpty()) {
-            return physicalFileDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(physicalFileIds.size());
@@ -286,7 +289,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < physicalFileIds.size(); i++ ) {
                         pst.setInt(ndx++, physicalFileIds.get(i));
@@ -304,19 +307,8 @@ public class DB2ExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-        
-            int recordNbr;                
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;            
-            
-            if (physicalFileDataMap.containsKey(ExportElementType.PHYSICAL_FILE)) {
-                recordNbr = physicalFileDataMap.get(ExportElementType.PHYSICAL_FILE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                physicalFileDataMap.get(ExportElementType.PHYSICAL_FILE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                physicalFileDataMap.put(ExportElementType.PHYSICAL_FILE,innerMap);
-            }
+
+            writeRecords(rs, ExportElementType.PHYSICAL_FILE, handler);
             rs.close();
             pst.close();
         }
@@ -324,16 +316,14 @@ public class DB2ExportDAO implements ExportDAO {
             throw DataUtilities.createDAOException(
                  "Database error occurred while retrieving the data for Physical File(s).",e);
         }        
-        return physicalFileDataMap;        
     }
 	
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLogicalFileData(
-        Integer environmentId, List<Integer> logicalFileIds)
+    public void getLogicalFileData(Integer environmentId,
+        List<Integer> logicalFileIds, RecordHandler handler)
         throws DAOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> logicalFileDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
     
         if (logicalFileIds == null || logicalFileIds.isEmpty()) {
-            return logicalFileDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(logicalFileIds.size());
@@ -350,7 +340,7 @@ public class DB2ExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst1 = con.prepareStatement(selectString);
+                    pst1 = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < logicalFileIds.size(); i++ ) {
                         pst1.setInt(ndx++, logicalFileIds.get(i));
@@ -367,19 +357,8 @@ public class DB2ExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-            
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            
-            if (logicalFileDataMap.containsKey(ExportElementType.LOGICAL_FILE)) {
-                recordNbr = logicalFileDataMap.get(ExportElementType.LOGICAL_FILE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.get(ExportElementType.LOGICAL_FILE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.put(ExportElementType.LOGICAL_FILE, innerMap);
-            }
+
+            writeRecords(rs, ExportElementType.LOGICAL_FILE, handler);
             pst1.close();
             rs.close();                
             rs = null;
@@ -392,7 +371,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst2 = con.prepareStatement(selectString2);
+                    pst2 = prepareExportStatement(selectString2);
                     int ndx = 1;
                     pst2.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < logicalFileIds.size(); i++ ) {
@@ -410,32 +389,22 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (logicalFileDataMap.containsKey(ExportElementType.LFPFASSOC)) {
-                recordNbr = logicalFileDataMap.get(ExportElementType.LFPFASSOC).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.get(ExportElementType.LFPFASSOC).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.put(ExportElementType.LFPFASSOC, innerMap);
-            }
+            writeRecords(rs, ExportElementType.LFPFASSOC, handler);
             rs.close();                
             pst2.close();
         } catch (SQLException e) {
             throw DataUtilities.createDAOException(
                 "Database error occurred while retrieving the data for Logical File(s) and their Physical File associations.",e);
         }        
-        return logicalFileDataMap;
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getUserExitRoutineData(
-        Integer environmentId, List<Integer> userExitIds)
+    public void getUserExitRoutineData(Integer environmentId,
+        List<Integer> userExitIds, RecordHandler handler)
         throws DAOException {
 
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> userExitDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
     
         if (userExitIds == null || userExitIds.isEmpty()) {
-            return userExitDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(userExitIds.size());
@@ -452,7 +421,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < userExitIds.size(); i++ ) {
                         pst.setInt(ndx++, userExitIds.get(i));
@@ -471,17 +440,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            int recordNbr;            
-            if (userExitDataMap.containsKey(ExportElementType.EXIT)) {
-                recordNbr = userExitDataMap.get(ExportElementType.EXIT).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                userExitDataMap.get(ExportElementType.EXIT).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                userExitDataMap.put(ExportElementType.EXIT, innerMap);
-            }
+            writeRecords(rs, ExportElementType.EXIT, handler);
                             
             rs.close();                
             pst.close();
@@ -491,15 +450,13 @@ public class DB2ExportDAO implements ExportDAO {
                  "Database error occurred while retrieving the data for User Exit Routine(s).",e);
         }
         
-        return userExitDataMap;        
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLogicalRecordData(
-        Integer environmentId, List<Integer> logicalRecordIds)
+    public void getLogicalRecordData(Integer environmentId,
+        List<Integer> logicalRecordIds, RecordHandler handler)
         throws DAOException {
-            Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> logicalRecordDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
             if (logicalRecordIds == null || logicalRecordIds.isEmpty()) {
-                return logicalRecordDataMap;
+                return;
             }
             
             String placeHolders = generator.getPlaceholders(logicalRecordIds.size());
@@ -520,7 +477,7 @@ public class DB2ExportDAO implements ExportDAO {
 
                 while (true) {
                     try {
-                        pst1 = con.prepareStatement(selectString);
+                        pst1 = prepareExportStatement(selectString);
                         int ndx = 1;
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
                             pst1.setInt(ndx++, logicalRecordIds.get(i));
@@ -537,19 +494,8 @@ public class DB2ExportDAO implements ExportDAO {
                         }
                     } // end reconnect try
                 }
-                
-                int recordNbr;
-                Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-                
-                if (logicalRecordDataMap.containsKey(ExportElementType.LOGICAL_RECORD)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LOGICAL_RECORD).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LOGICAL_RECORD).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LOGICAL_RECORD, innerMap);
-                }
+
+                writeRecords(rs, ExportElementType.LOGICAL_RECORD, handler);
                 rs.close();  
                 rs = null;
                 pst1.close();                
@@ -562,7 +508,7 @@ public class DB2ExportDAO implements ExportDAO {
                 
                 while (true) {
                     try {
-                        pst2 = con.prepareStatement(selectString2);
+                        pst2 = prepareExportStatement(selectString2);
                         int ndx = 1;
                         pst2.setInt(ndx++, environmentId);
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
@@ -580,15 +526,7 @@ public class DB2ExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LRFIELD)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LRFIELD).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LRFIELD).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LRFIELD,innerMap);
-                }
+                writeRecords(rs, ExportElementType.LRFIELD, handler);
                 rs.close();
                 rs = null;
                 pst2.close();
@@ -604,7 +542,7 @@ public class DB2ExportDAO implements ExportDAO {
                 
                 while (true) {
                     try {
-                        pst3 = con.prepareStatement(selectString3);
+                        pst3 = prepareExportStatement(selectString3);
                         int ndx = 1;
                         pst3.setInt(ndx++, environmentId);
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
@@ -622,15 +560,7 @@ public class DB2ExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LRFIELD_ATTRIBUTE)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LRFIELD_ATTRIBUTE).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LRFIELD_ATTRIBUTE).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LRFIELD_ATTRIBUTE,innerMap);
-                }
+                writeRecords(rs, ExportElementType.LRFIELD_ATTRIBUTE, handler);
                 rs.close();
                 rs = null;
                 pst3.close();
@@ -643,7 +573,7 @@ public class DB2ExportDAO implements ExportDAO {
 
                 while (true) {
                     try {
-                        pst4 = con.prepareStatement(selectString4);
+                        pst4 = prepareExportStatement(selectString4);
                         int ndx = 1;
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
                             pst4.setInt(ndx++, logicalRecordIds.get(i));
@@ -661,15 +591,7 @@ public class DB2ExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LR_INDEX)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LR_INDEX).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LR_INDEX).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LR_INDEX, innerMap);
-                }
+                writeRecords(rs, ExportElementType.LR_INDEX, handler);
                 rs.close();                
                 rs = null;
                 pst4.close();
@@ -685,7 +607,7 @@ public class DB2ExportDAO implements ExportDAO {
                 
                 while (true) {
                     try {
-                        pst5 = con.prepareStatement(selectString5);
+                        pst5 = prepareExportStatement(selectString5);
                         int ndx = 1;
                         pst5.setInt(ndx++, environmentId);
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
@@ -703,15 +625,7 @@ public class DB2ExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LR_INDEX_FIELD)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LR_INDEX_FIELD).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LR_INDEX_FIELD).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LR_INDEX_FIELD,innerMap);
-                }
+                writeRecords(rs, ExportElementType.LR_INDEX_FIELD, handler);
                 rs.close();
                 rs = null;
                 pst5.close();
@@ -724,7 +638,7 @@ public class DB2ExportDAO implements ExportDAO {
                                 
                 while (true) {
                     try {
-                        pst6 = con.prepareStatement(selectString6);
+                        pst6 = prepareExportStatement(selectString6);
                         int ndx = 1;
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
                             pst6.setInt(ndx++, logicalRecordIds.get(i));
@@ -742,15 +656,7 @@ public class DB2ExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LRLFASSOC)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LRLFASSOC).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LRLFASSOC).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LRLFASSOC,innerMap);
-                }                    
+                writeRecords(rs, ExportElementType.LRLFASSOC, handler);
                 rs.close();                
                 pst6.close();                
             }
@@ -758,16 +664,14 @@ public class DB2ExportDAO implements ExportDAO {
                 throw DataUtilities.createDAOException(
                      "Database error occurred while retrieving the data for Logical Record(s).",e);
             }             
-            return logicalRecordDataMap;
     }
     
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLookupPathData(
-        Integer environmentId, List<Integer> lookupPathIds)
+    public void getLookupPathData(Integer environmentId,
+        List<Integer> lookupPathIds, RecordHandler handler)
         throws DAOException {
         
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> lookupPathDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
         if (lookupPathIds == null || lookupPathIds.isEmpty()) {
-            return lookupPathDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(lookupPathIds.size());
@@ -785,7 +689,7 @@ public class DB2ExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst1 = con.prepareStatement(selectString);
+                    pst1 = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < lookupPathIds.size(); i++ ) {
                         pst1.setInt(ndx++, lookupPathIds.get(i));
@@ -802,19 +706,8 @@ public class DB2ExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-            
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            
-            if (lookupPathDataMap.containsKey(ExportElementType.LOOKUP)) {
-                recordNbr = lookupPathDataMap.get(ExportElementType.LOOKUP).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.get(ExportElementType.LOOKUP).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.put(ExportElementType.LOOKUP,innerMap);
-            }
+
+            writeRecords(rs, ExportElementType.LOOKUP, handler);
             rs.close();                
             rs = null;
             pst1.close();
@@ -827,7 +720,7 @@ public class DB2ExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst2 = con.prepareStatement(selectString2);
+                    pst2 = prepareExportStatement(selectString2);
                     int ndx = 1;
                     pst2.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < lookupPathIds.size(); i++ ) {
@@ -845,15 +738,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (lookupPathDataMap.containsKey(ExportElementType.LOOKUP_SRCKEY)) {
-                recordNbr = lookupPathDataMap.get(ExportElementType.LOOKUP_SRCKEY).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.get(ExportElementType.LOOKUP_SRCKEY).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.put(ExportElementType.LOOKUP_SRCKEY, innerMap);
-            }
+            writeRecords(rs, ExportElementType.LOOKUP_SRCKEY, handler);
             rs.close();                
             rs = null;
             pst2.close();            
@@ -866,7 +751,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst3 = con.prepareStatement(selectString3);
+                    pst3 = prepareExportStatement(selectString3);
                     int ndx = 1;
                     pst3.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < lookupPathIds.size(); i++ ) {
@@ -883,15 +768,7 @@ public class DB2ExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-            if (lookupPathDataMap.containsKey(ExportElementType.LOOKUP_STEP)) {
-                recordNbr = lookupPathDataMap.get(ExportElementType.LOOKUP_STEP).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.get(ExportElementType.LOOKUP_STEP).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.put(ExportElementType.LOOKUP_STEP, innerMap);
-            }                
+            writeRecords(rs, ExportElementType.LOOKUP_STEP, handler);
             rs.close();            
             pst3.close();
         }
@@ -900,14 +777,12 @@ public class DB2ExportDAO implements ExportDAO {
                 "Database error occurred while retrieving the data for Lookup Path(s).",e);
         }
         
-        return lookupPathDataMap;        
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getViewData(
-        Integer environmentId, List<Integer> viewIds) throws DAOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> viewDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
+    public void getViewData(Integer environmentId,
+        List<Integer> viewIds, RecordHandler handler) throws DAOException {
         if (viewIds == null || viewIds.isEmpty()) {
-            return viewDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(viewIds.size());
@@ -928,7 +803,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst1 = con.prepareStatement(selectString);
+                    pst1 = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst1.setInt(ndx++, viewIds.get(i));
@@ -946,18 +821,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            if (viewDataMap.containsKey(ExportElementType.VIEW)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW).putAll(innerMap);
-
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW, innerMap);
-            }            
+            writeRecords(rs, ExportElementType.VIEW, handler);
             rs.close();  
             rs = null;
             pst1.close();                
@@ -970,7 +834,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst2 = con.prepareStatement(selectString2);
+                    pst2 = prepareExportStatement(selectString2);
                     int ndx = 1;
                     pst2.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
@@ -988,15 +852,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_COLUMN)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_COLUMN).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_COLUMN).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_COLUMN,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_COLUMN, handler);
             rs.close();
             rs = null;
             pst2.close();
@@ -1009,7 +865,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst3 = con.prepareStatement(selectString3);
+                    pst3 = prepareExportStatement(selectString3);
                     int ndx = 1;
                     pst3.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
@@ -1027,15 +883,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_SOURCE)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_SOURCE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_SOURCE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_SOURCE,innerMap);        
-            }
+            writeRecords(rs, ExportElementType.VIEW_SOURCE, handler);
             rs.close();
             rs = null;
             pst3.close();
@@ -1048,7 +896,7 @@ public class DB2ExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst4 = con.prepareStatement(selectString4);
+                    pst4 = prepareExportStatement(selectString4);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst4.setInt(ndx++, viewIds.get(i));
@@ -1066,15 +914,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_COLUMN_SOURCE)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_COLUMN_SOURCE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_COLUMN_SOURCE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_COLUMN_SOURCE,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_COLUMN_SOURCE, handler);
             rs.close();                
             rs = null;
             pst4.close();
@@ -1087,7 +927,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst5 = con.prepareStatement(selectString5);
+                    pst5 = prepareExportStatement(selectString5);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst5.setInt(ndx++, viewIds.get(i));
@@ -1105,15 +945,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_SORT_KEY)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_SORT_KEY).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_SORT_KEY).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_SORT_KEY,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_SORT_KEY, handler);
             rs.close();
             rs = null;
             pst5.close();
@@ -1131,7 +963,7 @@ public class DB2ExportDAO implements ExportDAO {
                             
             while (true) {
                 try {
-                    pst6 = con.prepareStatement(selectString6);
+                    pst6 = prepareExportStatement(selectString6);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst6.setInt(ndx++, viewIds.get(i));
@@ -1149,15 +981,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_HEADER_FOOTER)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_HEADER_FOOTER).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_HEADER_FOOTER).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_HEADER_FOOTER,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_HEADER_FOOTER, handler);
             rs.close();                
             pst6.close();                            
         }
@@ -1166,17 +990,14 @@ public class DB2ExportDAO implements ExportDAO {
                 "Database error occurred while retrieving the data for View(s).",e);
         }
         
-        return viewDataMap;
     }
     
     @Override
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getViewFolderData(
-        Integer environmentId, List<Integer> viewFolderIds) throws DAOException {
+    public void getViewFolderData(Integer environmentId,
+        List<Integer> viewFolderIds, RecordHandler handler) throws DAOException {
         
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> vfDataMap = 
-            new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
         if (viewFolderIds == null || viewFolderIds.isEmpty()) {
-            return vfDataMap;
+            return;
         }
         
         try {
@@ -1194,7 +1015,7 @@ public class DB2ExportDAO implements ExportDAO {
     
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < viewFolderIds.size(); i++ ) {
                         pst.setInt(ndx++, viewFolderIds.get(i));
@@ -1212,18 +1033,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            if (vfDataMap.containsKey(ExportElementType.VIEWFOLDER)) {
-                recordNbr = vfDataMap.get(ExportElementType.VIEWFOLDER).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.get(ExportElementType.VIEWFOLDER).putAll(innerMap);
-    
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.put(ExportElementType.VIEWFOLDER, innerMap);
-            }            
+            writeRecords(rs, ExportElementType.VIEWFOLDER, handler);
             rs.close();  
             rs = null;
             pst.close();                
@@ -1239,7 +1049,7 @@ public class DB2ExportDAO implements ExportDAO {
     
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < viewFolderIds.size(); i++ ) {
                         pst.setInt(ndx++, viewFolderIds.get(i));
@@ -1257,17 +1067,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            innerMap = null;
-            if (vfDataMap.containsKey(ExportElementType.VFVASSOC)) {
-                recordNbr = vfDataMap.get(ExportElementType.VFVASSOC).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.get(ExportElementType.VFVASSOC).putAll(innerMap);
-    
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.put(ExportElementType.VFVASSOC, innerMap);
-            }            
+            writeRecords(rs, ExportElementType.VFVASSOC, handler);
             rs.close();  
             rs = null;
             pst.close();                
@@ -1278,16 +1078,14 @@ public class DB2ExportDAO implements ExportDAO {
                 "Database error occurred while retrieving the data for View Folder(s).",e);
         }
         
-        return vfDataMap;
     }
     
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getControlRecordData(
-        Integer environmentId, List<Integer> controlRecordIds)
+    public void getControlRecordData(Integer environmentId,
+        List<Integer> controlRecordIds, RecordHandler handler)
         throws DAOException {
         
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> controlRecordDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
         if (controlRecordIds == null || controlRecordIds.isEmpty()) {
-            return controlRecordDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(controlRecordIds.size());
@@ -1304,7 +1102,7 @@ public class DB2ExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < controlRecordIds.size(); i++ ) {
                         pst.setInt(ndx++, controlRecordIds.get(i));
@@ -1323,19 +1121,7 @@ public class DB2ExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            int recordNbr;                
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;            
-            if (controlRecordDataMap.containsKey(ExportElementType.CONTROL_RECORD)) {
-                recordNbr = controlRecordDataMap.get(
-                    ExportElementType.CONTROL_RECORD).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                controlRecordDataMap.get(ExportElementType.CONTROL_RECORD).putAll(innerMap);
-
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                controlRecordDataMap.put(ExportElementType.CONTROL_RECORD,innerMap);    
-            }                
+            writeRecords(rs, ExportElementType.CONTROL_RECORD, handler);
             rs.close();                
             pst.close();
         }
@@ -1343,13 +1129,16 @@ public class DB2ExportDAO implements ExportDAO {
             throw DataUtilities.createDAOException(
                 "Database error occurred while retrieving the data for Control Record(s).",e);
         }   
-        return controlRecordDataMap;        
     }
 	
 
-	private Map<Integer, List<XMLTableDataTransfer>> getInnerMap(ResultSet rs,
-			int recordNbr) throws DAOException {
-		Map<Integer, List<XMLTableDataTransfer>> innerMap = new LinkedHashMap<Integer, List<XMLTableDataTransfer>>();
+	/**
+	 * Pass each row of the result set to the handler as one record, inside a
+	 * start and end of the element type if there are any rows.
+	 */
+	private void writeRecords(ResultSet rs, ExportElementType type,
+			RecordHandler handler) throws DAOException {
+		boolean started = false;
 		try {
 			while (rs.next()) {
 				int columnCount = rs.getMetaData().getColumnCount();
@@ -1390,13 +1179,55 @@ public class DB2ExportDAO implements ExportDAO {
                         record.add(tableDataTrans);                        
                     }
 				}
-				innerMap.put(recordNbr, record);
-				recordNbr++;
+				if (!started) {
+					handler.startElement(type);
+					started = true;
+				}
+				handler.record(record);
+			}
+			if (started) {
+				handler.endElement(type);
 			}
 		} catch (SQLException e) {
 			throw DataUtilities.createDAOException("Database error occurred while retrieving data for a metadata component.",e);
 		}
-		return innerMap;
+	}
+
+	/**
+	 * Prepare a query whose rows are passed to an export handler, fetching
+	 * {@value #EXPORT_FETCH_SIZE} rows at a time.
+	 */
+	private PreparedStatement prepareExportStatement(String selectString)
+			throws SQLException {
+		PreparedStatement pst = con.prepareStatement(selectString);
+		pst.setFetchSize(EXPORT_FETCH_SIZE);
+		return pst;
+	}
+
+	public boolean beginExportRead() throws DAOException {
+		try {
+			if (con.getAutoCommit()) {
+				con.setAutoCommit(false);
+				return true;
+			}
+			return false;
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+				"Database error occurred while beginning to read the export data.",e);
+		}
+	}
+
+	public void endExportRead() throws DAOException {
+		try {
+			// a reconnect during the read leaves a connection in auto-commit mode
+			if (!con.getAutoCommit()) {
+				con.commit();
+				con.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+				"Database error occurred while ending the read of the export data.",e);
+		}
 	}
 
 	/**
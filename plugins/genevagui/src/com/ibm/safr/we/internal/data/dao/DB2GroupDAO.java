@@ -37,6 +37,7 @@ import com.ibm.safr.we.data.DAOFactoryHolder;
 import com.ibm.safr.we.data.DataUtilities;
 import com.ibm.safr.we.data.UserSessionParameters;
 import com.ibm.safr.we.data.dao.GroupDAO;
+import com.ibm.safr.we.data.transfer.ComponentRightsTransfer;
 import com.ibm.safr.we.data.transfer.GroupComponentAssociationTransfer;
 import com.ibm.safr.we.data.transfer.GroupEnvironmentAssociationTransfer;
 import com.ibm.safr.we.data.transfer.GroupTransfer;
@@ -66,6 +67,9 @@ public class DB2GroupDAO implements GroupDAO {
 			.getLogger("com.ibm.safr.we.internal.data.dao.DB2GroupDAO");
 
 	private static final String TABLE_NAME = "GROUP";
+	private static final ComponentType[] RIGHTS_TYPES = { ComponentType.PhysicalFile,
+		ComponentType.LogicalFile, ComponentType.LogicalRecord, ComponentType.UserExitRoutine,
+		ComponentType.LookupPath, ComponentType.View, ComponentType.ViewFolder };
 	private static final String COL_ID = "GROUPID";
 	private static final String COL_DESC = "NAME";
 	private static final String COL_COMMENT = "COMMENTS";
@@ -1225,6 +1229,52 @@ public class DB2GroupDAO implements GroupDAO {
     
     }
 
+    public ComponentRightsTransfer getComponentRights(Integer environmentId, Integer groupId) throws DAOException {
+        ComponentRightsTransfer result = new ComponentRightsTransfer();
+        // the type column is the position of the component type in RIGHTS_TYPES
+        String schema = params.getSchema();
+        String selectString = "SELECT 0, PHYFILEID, RIGHTS FROM " + schema + ".SECPHYFILE WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "UNION ALL SELECT 1, LOGFILEID, RIGHTS FROM " + schema + ".SECLOGFILE WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "UNION ALL SELECT 2, LOGRECID, RIGHTS FROM " + schema + ".SECLOGREC WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "UNION ALL SELECT 3, EXITID, RIGHTS FROM " + schema + ".SECEXIT WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "UNION ALL SELECT 4, LOOKUPID, RIGHTS FROM " + schema + ".SECLOOKUP WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "UNION ALL SELECT 5, VIEWID, RIGHTS FROM " + schema + ".SECVIEW WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "UNION ALL SELECT 6, VIEWFOLDERID, RIGHTS FROM " + schema + ".SECVIEWFOLDER WHERE ENVIRONID = ? AND GROUPID = ? "
+            + "ORDER BY 1, 2";
+        try {
+            PreparedStatement pst = null;
+            ResultSet rs = null;
+            while (true) {
+                try {
+                    pst = con.prepareStatement(selectString);
+                    int ndx = 1;
+                    for (int i = 0; i < RIGHTS_TYPES.length; i++) {
+                        pst.setInt(ndx++, environmentId);
+                        pst.setInt(ndx++, groupId);
+                    }
+                    rs = pst.executeQuery();
+                    break;
+                } catch (SQLException se) {
+                    if (con.isClosed()) {
+                        // lost database connection, so reconnect and retry
+                        con = DAOFactoryHolder.getDAOFactory().reconnect();
+                    } else {
+                        throw se;
+                    }
+                }
+            }
+            while (rs.next()) {
+                result.addRights(RIGHTS_TYPES[rs.getInt(1)], rs.getInt(2), rs.getInt(3));
+            }
+            pst.close();
+            rs.close();
+        } catch (SQLException e) {
+            throw DataUtilities.createDAOException(
+                "Database error occurred while retrieving the edit rights of Group [" + groupId + "] in Environment [" + environmentId + "].",e);
+        }
+        return result;
+    }
+
 	public List<EnvironmentalQueryBean> queryPossibleComponentAssociations(
 			ComponentType compType, Integer environmentId,
 			List<Integer> associatedCompIds) throws DAOException {
@@ -49,6 +49,7 @@ import com.ibm.safr.we.data.transfer.LRIndexFieldTransfer;
 import com.ibm.safr.we.data.transfer.LRIndexTransfer;
 import com.ibm.safr.we.data.transfer.LogicalRecordTransfer;
 import com.ibm.safr.we.exceptions.SAFRNotFoundException;
+import com.ibm.safr.we.internal.data.BatchWriter;
 import com.ibm.safr.we.internal.data.SQLGenerator;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.query.LRIndexQueryBean;
@@ -97,6 +98,7 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 	private ConnectionParameters params;
 	private UserSessionParameters safrLogin;
 	private SQLGenerator generator = new SQLGenerator();
+	private BatchWriter batchWriter;
 	
 	/**
 	 * Constructor for this class.
@@ -115,6 +117,7 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 		this.con = con;
 		this.params = params;
 		this.safrLogin = safrLogin;
+		this.batchWriter = new BatchWriter(params);
 	}
 
 	public LogicalRecordTransfer getLogicalRecord(Integer id,
@@ -1437,55 +1440,83 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 	private void createLRIndexFields(
 			List<LRIndexFieldTransfer> lrIndexFieldTransfers)
 			throws DAOException {
+		if (lrIndexFieldTransfers.isEmpty()) {
+			return;
+		}
 		try {
 		    SAFRApplication.getTimingMap().startTiming("DB2LogicalRecordDAO.createLRIndexFields");
 		    
 			String[] columnNames = { COL_ENVID, COL_INDEXID,
 					COL_SEQNO, COL_LRFLDID, COL_CREATETIME, COL_CREATEBY,
 					COL_MODIFYTIME, COL_MODIFYBY };
-			List<String> names = new ArrayList<String>(Arrays.asList(columnNames));
-            if (!lrIndexFieldTransfers.isEmpty() && 
-                lrIndexFieldTransfers.get(0).isForImportOrMigration()) {
+			final List<String> names = new ArrayList<String>(Arrays.asList(columnNames));
+			// data is either all imported or migrated or none of it is
+			final boolean isImportOrMigrate = lrIndexFieldTransfers.get(0).isForImportOrMigration();
+            if (isImportOrMigrate) {
                 names.add(1, COL_INDEXFLDID);
             }
-			PreparedStatement pst = null;
-            ResultSet rs = null;
+            BatchWriter.Binder<LRIndexFieldTransfer> binder = new BatchWriter.Binder<LRIndexFieldTransfer>() {
+                public int bind(PreparedStatement pst, int i,
+                    LRIndexFieldTransfer lrIndexFieldTransfer) throws SQLException {
+                    pst.setInt(i++, lrIndexFieldTransfer.getEnvironmentId());
+                    if (isImportOrMigrate) {
+                        pst.setInt(i++, lrIndexFieldTransfer.getAssociationId()); // xlrindexfldid
+                    }
+                    pst.setInt(i++, lrIndexFieldTransfer.getAssociatingComponentId()); // lrindexid
+                    pst.setInt(i++, lrIndexFieldTransfer.getFldSeqNbr());
+                    pst.setInt(i++, lrIndexFieldTransfer.getAssociatedComponentId()); // xlrfldid
+                    if (isImportOrMigrate) {
+                        pst.setTimestamp(i++, DataUtilities.getTimeStamp(lrIndexFieldTransfer.getCreateTime()));
+                    }
+                    pst.setString(i++, isImportOrMigrate ? 
+                        lrIndexFieldTransfer.getCreateBy() : safrLogin.getUserId());
+                    if (isImportOrMigrate) {
+                        pst.setTimestamp(i++, DataUtilities.getTimeStamp(
+                            lrIndexFieldTransfer.getModifyTime()));
+                    }
+                    pst.setString(i++, isImportOrMigrate ? 
+                        lrIndexFieldTransfer.getModifyBy() : safrLogin.getUserId());
+                    return i;
+                }
+
+                public void readKey(ResultSet keys,
+                    LRIndexFieldTransfer lrIndexFieldTransfer) throws SQLException {
+                    lrIndexFieldTransfer.setAssociationId(keys.getInt(1));
+                }
+
+                public List<Object> getNaturalKey(LRIndexFieldTransfer lrIndexFieldTransfer) {
+                    return Arrays.<Object>asList(lrIndexFieldTransfer.getAssociatingComponentId(),
+                        lrIndexFieldTransfer.getFldSeqNbr());
+                }
+
+                public String describe(LRIndexFieldTransfer lrIndexFieldTransfer) {
+                    return "LR index " + lrIndexFieldTransfer.getAssociatingComponentId()
+                        + " sequence " + lrIndexFieldTransfer.getFldSeqNbr()
+                        + " LR field " + lrIndexFieldTransfer.getAssociatedComponentId();
+                }
+            };
+            
 			while (true) {
 				try {
-
-					for (LRIndexFieldTransfer lrIndexFieldTransfer : lrIndexFieldTransfers) {
-						if (pst == null) {
-							String statement = generator.getInsertStatement(
-									params.getSchema(), TABLE_LRINDEXFLD, COL_INDEXFLDID, 
-									names, !lrIndexFieldTransfer.isForImportOrMigration());
-							pst = con.prepareStatement(statement);
-						}
-						int i = 1;
-						pst.setInt(i++, lrIndexFieldTransfer.getEnvironmentId());
-						if (lrIndexFieldTransfer.isForImportOrMigration()) {
-						    pst.setInt(i++, lrIndexFieldTransfer.getAssociationId()); // xlrindexfldid
-						}
-						pst.setInt(i++, lrIndexFieldTransfer.getAssociatingComponentId()); // lrindexid
-						pst.setInt(i++, lrIndexFieldTransfer.getFldSeqNbr());
-						pst.setInt(i++, lrIndexFieldTransfer.getAssociatedComponentId()); // xlrfldid
-						if (lrIndexFieldTransfer.isForImportOrMigration()) {
-							pst.setTimestamp(i++, DataUtilities.getTimeStamp(lrIndexFieldTransfer.getCreateTime()));
-						}
-						pst.setString(i++, lrIndexFieldTransfer.isForImportOrMigration() ? 
-						    lrIndexFieldTransfer.getCreateBy() : safrLogin.getUserId());
-						if (lrIndexFieldTransfer.isForImportOrMigration()) {
-							pst.setTimestamp(i++, DataUtilities.getTimeStamp(
-							    lrIndexFieldTransfer.getModifyTime()));
+					if (isImportOrMigrate) {
+						// ids are given, so there are no keys to read back
+						PreparedStatement pst = con.prepareStatement(generator
+							.getInsertStatementNoIdentifier(params.getSchema(),
+								TABLE_LRINDEXFLD, names, false));
+						try {
+							batchWriter.execute(con, pst, lrIndexFieldTransfers, binder, 
+								false, "creating LR index fields");
+						} finally {
+							pst.close();
 						}
-						pst.setString(i++, lrIndexFieldTransfer
-							.isForImportOrMigration() ? lrIndexFieldTransfer
-							.getModifyBy() : safrLogin.getUserId());
-
-						rs = pst.executeQuery();
-			            rs.next();
-			            int id = rs.getInt(1);          
-			            rs.close();		
-			            lrIndexFieldTransfer.setAssociationId(id);
+					} else {
+						batchWriter.executeInsert(con, new BatchWriter.MultiRowStatement() {
+							public String getStatement(int rows) {
+								return generator.getBatchInsertStatement(params.getSchema(), 
+									TABLE_LRINDEXFLD, COL_INDEXFLDID, 
+									Arrays.asList(COL_INDEXID, COL_SEQNO), names, true, rows);
+							}
+						}, lrIndexFieldTransfers, binder, "creating LR index fields");
 					}
 					break;
 				} catch (SQLException se) {
@@ -1497,7 +1528,6 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 					}
 				}
 			}
-			pst.close();
 
 		} catch (SQLException e) {
 			throw DataUtilities.createDAOException(
@@ -1617,7 +1647,7 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 			throws DAOException {
 		
 		// data is either all imported or migrated or none of it is
-		boolean isImportOrMigrate = associatedLFUpdates.get(0).isForImport()
+		final boolean isImportOrMigrate = associatedLFUpdates.get(0).isForImport()
 				|| associatedLFUpdates.get(0).isForMigration() ? true : false;
 		boolean useCurrentTS = !isImportOrMigrate;
 
@@ -1639,48 +1669,44 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 			idNames.add("LRLFASSOCID");
 			idNames.add(COL_ENVID);
 
-			PreparedStatement pst = null;
+			String statement = generator.getBatchUpdateStatement(
+					params.getSchema(), "LRLFASSOC", names, idNames, useCurrentTS);
+			BatchWriter.Binder<ComponentAssociationTransfer> binder = new LFAssociationBinder() {
+				public int bind(PreparedStatement pst, int i,
+						ComponentAssociationTransfer associatedLFtoUpdate) throws SQLException {
+					pst.setInt(i++, associatedLFtoUpdate
+							.getAssociatedComponentId());
+					pst.setInt(i++, associatedLFtoUpdate
+							.getAssociatingComponentId());
+					if (isImportOrMigrate) {
+						// created and lastmod details set from source component
+						pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoUpdate.getCreateTime()));
+						pst.setString(i++, associatedLFtoUpdate.getCreateBy());
+						pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoUpdate.getModifyTime()));
+						pst.setString(i++, associatedLFtoUpdate.getModifyBy());
+					} else {
+						// created details are untouched
+						// lastmodtimestamp is CURRENT_TIMESTAMP
+						// lastmoduserid is logged in user
+						pst.setString(i++, safrLogin.getUserId());
+					}
+					pst.setInt(i++, associatedLFtoUpdate.getAssociationId());
+					pst.setInt(i++, associatedLFtoUpdate.getEnvironmentId());
+					return i;
+				}
+			};
+			
 			while (true) {
 				try {
-					for (ComponentAssociationTransfer associatedLFtoUpdate : associatedLFUpdates) {
-						if (pst == null) {
-							String statement = generator.getUpdateStatement(
-									params.getSchema(), "LRLFASSOC", names,
-									idNames, useCurrentTS);
-							pst = con.prepareStatement(statement);
-						}
-
-						int i = 1;
-						pst.setInt(i++, associatedLFtoUpdate
-								.getAssociatedComponentId());
-						pst.setInt(i++, associatedLFtoUpdate
-								.getAssociatingComponentId());
-						if (isImportOrMigrate) {
-							// created and lastmod details set from source component
-							pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoUpdate.getCreateTime()));
-							pst.setString(i++, associatedLFtoUpdate.getCreateBy());
-							pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoUpdate.getModifyTime()));
-							pst.setString(i++, associatedLFtoUpdate.getModifyBy());
-						} else {
-							// created details are untouched
-							// lastmodtimestamp is CURRENT_TIMESTAMP
-							// lastmoduserid is logged in user
-							pst.setString(i++, safrLogin.getUserId());
-						}
-						pst.setInt(i++, associatedLFtoUpdate.getAssociationId());
-						pst.setInt(i++, associatedLFtoUpdate.getEnvironmentId());
-                        if (useCurrentTS) {
-                            ResultSet rs = pst.executeQuery();
-                            rs.next();
-                            associatedLFtoUpdate.setModifyTime(rs.getDate(1));                      
-                            associatedLFtoUpdate.setModifyBy(safrLogin.getUserId());                      
-                            rs.close();                 
-                        } else {
-                            int count  = pst.executeUpdate();   
-                            if (count == 0) {
-                                throw new SAFRNotFoundException("No Rows updated.");
-                            }                       
-                        }
+					PreparedStatement pst = con.prepareStatement(statement);
+					try {
+						batchWriter.execute(con, pst, associatedLFUpdates, binder, true,
+							"updating associations of Logical Record with Logical Files");
+					} finally {
+						pst.close();
+					}
+					if (useCurrentTS) {
+						readAssociatedLFModifyTimes(associatedLFUpdates);
 					}
 					break;
 				} catch (SQLException se) {
@@ -1693,7 +1719,6 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 				}
 
 			}
-			pst.close();
 
 		} catch (SQLException e) {
 			throw DataUtilities.createDAOException("Database error occurred while updating associations of Logical Record with Logical Files.",e);
@@ -1701,57 +1726,103 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 		return associatedLFUpdates;
 	}
 
+	/**
+	 * Read back the modified timestamps set by the database for updated LR-LF
+	 * associations.
+	 */
+	private void readAssociatedLFModifyTimes(
+			List<ComponentAssociationTransfer> associatedLFUpdates) throws SQLException {
+		Map<Integer, ComponentAssociationTransfer> byId = new HashMap<Integer, ComponentAssociationTransfer>();
+		for (ComponentAssociationTransfer trans : associatedLFUpdates) {
+			byId.put(trans.getAssociationId(), trans);
+		}
+		String selectString = "Select LRLFASSOCID, " + COL_MODIFYTIME + " From "
+				+ params.getSchema() + ".LRLFASSOC Where ENVIRONID = ? AND LRLFASSOCID IN ("
+				+ generator.getPlaceholders(byId.size()) + ")";
+		PreparedStatement pst = con.prepareStatement(selectString);
+		int ndx = 1;
+		pst.setInt(ndx++, associatedLFUpdates.get(0).getEnvironmentId());
+		for (Integer id : byId.keySet()) {
+			pst.setInt(ndx++, id);
+		}
+		ResultSet rs = pst.executeQuery();
+		while (rs.next()) {
+			ComponentAssociationTransfer trans = byId.get(rs.getInt(1));
+			trans.setModifyTime(rs.getDate(2));
+			trans.setModifyBy(safrLogin.getUserId());
+		}
+		rs.close();
+		pst.close();
+	}
+
 	private List<ComponentAssociationTransfer> createAssociatedLFs(
 			List<ComponentAssociationTransfer> associatedLFCreates,
-			Integer logicalRecordId) throws DAOException {
+			final Integer logicalRecordId) throws DAOException {
 		
 		// data is either all imported or migrated or none of it is
-		boolean isImportOrMigrate = associatedLFCreates.get(0).isForImport()
+		final boolean isImportOrMigrate = associatedLFCreates.get(0).isForImport()
 				|| associatedLFCreates.get(0).isForMigration() ? true : false;
-		boolean useCurrentTS = !isImportOrMigrate;
 
 		try {
 			String[] columnNames = { COL_ENVID, "LOGRECID", "LOGFILEID",
 					COL_CREATETIME, COL_CREATEBY, COL_MODIFYTIME, COL_MODIFYBY };
-			List<String> names = new ArrayList<String>(Arrays.asList(columnNames));
+			final List<String> names = new ArrayList<String>(Arrays.asList(columnNames));
             if (isImportOrMigrate) {
                 names.add(1, "LRLFASSOCID");
             }
-			PreparedStatement pst = null;
-            ResultSet rs = null;
-			while (true) {
-				try {
-
-					for (ComponentAssociationTransfer associatedLFtoCreate : associatedLFCreates) {
+			BatchWriter.Binder<ComponentAssociationTransfer> binder = new LFAssociationBinder() {
+				public int bind(PreparedStatement pst, int i,
+						ComponentAssociationTransfer associatedLFtoCreate) throws SQLException {
+					pst.setInt(i++, associatedLFtoCreate.getEnvironmentId());
+		            if (isImportOrMigrate) {
+		                pst.setInt(i++, associatedLFtoCreate.getAssociationId());
+		            }
+					pst.setInt(i++, logicalRecordId);
+                    pst.setInt(i++, associatedLFtoCreate.getAssociatedComponentId());
+					if (isImportOrMigrate) {
+						pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoCreate.getCreateTime()));
+					}
+					pst.setString(i++,isImportOrMigrate ? associatedLFtoCreate.getCreateBy() : safrLogin.getUserId());
+					if (isImportOrMigrate) {
+						pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoCreate.getModifyTime()));
+					}
+					pst.setString(i++,isImportOrMigrate ? associatedLFtoCreate.getModifyBy() : safrLogin.getUserId());
+					return i;
+				}
 
-						if (pst == null) {
-							String statement = generator.getInsertStatement(
-									params.getSchema(), "LRLFASSOC", "LRLFASSOCID",  names,
-									useCurrentTS);
-							pst = con.prepareStatement(statement);
-						}
+				public void readKey(ResultSet keys,
+						ComponentAssociationTransfer associatedLFtoCreate) throws SQLException {
+		            associatedLFtoCreate.setAssociationId(keys.getInt(1));
+				}
 
-						int i = 1;
-						pst.setInt(i++, associatedLFtoCreate.getEnvironmentId());
-			            if (isImportOrMigrate) {
-			                pst.setInt(i++, associatedLFtoCreate.getAssociationId());
-			            }
-						pst.setInt(i++, logicalRecordId);
-                        pst.setInt(i++, associatedLFtoCreate.getAssociatedComponentId());
-						if (isImportOrMigrate) {
-							pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoCreate.getCreateTime()));
-						}
-						pst.setString(i++,isImportOrMigrate ? associatedLFtoCreate.getCreateBy() : safrLogin.getUserId());
-						if (isImportOrMigrate) {
-							pst.setTimestamp(i++, DataUtilities.getTimeStamp(associatedLFtoCreate.getModifyTime()));
+				public List<Object> getNaturalKey(ComponentAssociationTransfer associatedLFtoCreate) {
+					return Arrays.<Object>asList(logicalRecordId,
+						associatedLFtoCreate.getAssociatedComponentId());
+				}
+			};
+			
+			while (true) {
+				try {
+					if (isImportOrMigrate) {
+						// ids are given, so there are no keys to read back
+						PreparedStatement pst = con.prepareStatement(generator
+							.getInsertStatementNoIdentifier(params.getSchema(),
+								"LRLFASSOC", names, false));
+						try {
+							batchWriter.execute(con, pst, associatedLFCreates, binder, false,
+								"creating associations of Logical Record with Logical Files");
+						} finally {
+							pst.close();
 						}
-						pst.setString(i++,isImportOrMigrate ? associatedLFtoCreate.getModifyBy() : safrLogin.getUserId());
-						rs = pst.executeQuery();
-			            rs.next();
-			            int id = rs.getInt(1);          
-			            rs.close();
-			            associatedLFtoCreate.setAssociationId(id);
-						associatedLFtoCreate.setPersistent(true);
+					} else {
+						batchWriter.executeInsert(con, new BatchWriter.MultiRowStatement() {
+							public String getStatement(int rows) {
+								return generator.getBatchInsertStatement(params.getSchema(),
+									"LRLFASSOC", "LRLFASSOCID", 
+									Arrays.asList("LOGRECID", "LOGFILEID"), names, true, rows);
+							}
+						}, associatedLFCreates, binder,
+						"creating associations of Logical Record with Logical Files");
 					}
 					break;
 				} catch (SQLException se) {
@@ -1763,7 +1834,9 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 					}
 				}
 			}
-			pst.close();
+			for (ComponentAssociationTransfer associatedLFtoCreate : associatedLFCreates) {
+				associatedLFtoCreate.setPersistent(true);
+			}
 
 		} catch (SQLException e) {
 			throw DataUtilities.createDAOException("Database error occurred while creating associations of Logical Record with Logical Files.",e);
@@ -1771,6 +1844,17 @@ public class DB2LogicalRecordDAO implements LogicalRecordDAO {
 		return associatedLFCreates;
 	}
 
+	/**
+	 * Describes an LR-LF association in batch error messages.
+	 */
+	private static abstract class LFAssociationBinder extends
+			BatchWriter.Binder<ComponentAssociationTransfer> {
+		public String describe(ComponentAssociationTransfer trans) {
+			return "association " + trans.getAssociationId() + " of Logical File "
+					+ trans.getAssociatedComponentId();
+		}
+	}
+
 	public void deleteAssociatedLF(Integer environmentId, List<Integer>  inList)
 			throws DAOException {
 		try {
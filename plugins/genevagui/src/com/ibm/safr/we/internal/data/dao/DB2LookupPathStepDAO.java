@@ -611,7 +611,7 @@ public class DB2LookupPathStepDAO implements LookupPathStepDAO {
             if(sourceField.getSourceXLRFileId() == null) 
             	sourceField.setSourceXLRFileId(0);
             csourceFields.add(sourceField);
-            if (countCreate % 500 == 0) {
+            if (countCreate % params.getBatchSize() == 0) {
                 createLookupPathStepSourceFields(csourceFields);
                 csourceFields.clear();
             }            
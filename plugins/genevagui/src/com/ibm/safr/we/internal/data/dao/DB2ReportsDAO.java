@@ -23,6 +23,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Logger;
@@ -66,7 +67,14 @@ public class DB2ReportsDAO implements ReportsDAO {
 	
 	@Override
 	public ViewPropertiesReportQueryBean getViewProperties(Integer viewId, Integer environmentId) throws DAOException {
-		ViewPropertiesReportQueryBean result = null;
+		List<ViewPropertiesReportQueryBean> result = getViewProperties(Collections.singletonList(viewId), environmentId);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	@Override
+	public List<ViewPropertiesReportQueryBean> getViewProperties(List<Integer> viewIds, Integer environmentId) throws DAOException {
+		List<ViewPropertiesReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
 	        try {
 	            String selectString = "SELECT V.VIEWID,"
 	            		+ "V.NAME,"
@@ -105,7 +113,8 @@ public class DB2ReportsDAO implements ReportsDAO {
 	            		+ "ON L.ENVIRONID=I.ENVIRONID AND L.LOGFILEID=I.LOGFILEID "
 	            		+ "LEFT JOIN " + params.getSchema() + ".PHYFILE P "
 	            		+ "ON P.ENVIRONID=L.ENVIRONID AND P.PHYFILEID=I.PHYFILEID "
-	            		+ "WHERE V.ENVIRONID=? AND VIEWID=?;" ;
+	            		+ "WHERE V.ENVIRONID=? AND V.VIEWID IN ( " + placeholders + " ) "
+	            		+ "ORDER BY V.VIEWID;" ;
 
 	    
 	            PreparedStatement pst = null;
@@ -114,7 +123,10 @@ public class DB2ReportsDAO implements ReportsDAO {
 	                try {
 	                    pst = con.prepareStatement(selectString);
 	                	pst.setInt(1,  environmentId);
-	                	pst.setInt(2,  viewId);
+	                	int ndx = 2;
+	                	for (Integer viewId : viewIds) {
+	                		pst.setInt(ndx++, viewId);
+	                	}
 	                    rs = pst.executeQuery();
 	                    break;
 	                } catch (SQLException se) {
@@ -127,7 +139,7 @@ public class DB2ReportsDAO implements ReportsDAO {
 	                }
 	            }
 	            while (rs.next()) {
-	                result = new ViewPropertiesReportQueryBean(
+	                result.add(new ViewPropertiesReportQueryBean(
 	                    DataUtilities.trimString(rs.getString("VIEWID")), 
 	                    DataUtilities.trimString(rs.getString("NAME")), 
 	                    DataUtilities.trimString(rs.getString("VIEWTYPECD")), 
@@ -153,7 +165,7 @@ public class DB2ReportsDAO implements ReportsDAO {
 	                    DataUtilities.trimString(rs.getString("LASTACTTIMESTAMP")), 
 	                    DataUtilities.trimString(rs.getString("LASTACTUSERID")), 
 	                    DataUtilities.trimString(rs.getString("LFNAME")), 
-	                    DataUtilities.trimString(rs.getString("PFNAME")) );
+	                    DataUtilities.trimString(rs.getString("PFNAME")) ));
 	            }
 	            pst.close();
 	            rs.close();
@@ -164,8 +176,14 @@ public class DB2ReportsDAO implements ReportsDAO {
 	        return result;
 	}
 	@Override
-	public List<ViewSourcesReportQueryBean>getViewSources(Integer viewId, Integer environmentId) throws DAOException {
+	public List<ViewSourcesReportQueryBean> getViewSources(Integer viewId, Integer environmentId) throws DAOException {
+		return getViewSources(Collections.singletonList(viewId), environmentId);
+	}
+
+	@Override
+	public List<ViewSourcesReportQueryBean> getViewSources(List<Integer> viewIds, Integer environmentId) throws DAOException {
 		List<ViewSourcesReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT 	S.VIEWID,"
             		+ "		S.SRCSEQNBR,"
@@ -201,8 +219,8 @@ public class DB2ReportsDAO implements ReportsDAO {
             		+ "ON P.ENVIRONID=S.ENVIRONID AND P.PHYFILEID=O.PHYFILEID "
             		+ "LEFT JOIN " + params.getSchema() + ".EXIT E "
             		+ "ON E.ENVIRONID=S.ENVIRONID AND E.EXITID=S.WRITEEXITID "
-            		+ "WHERE V.ENVIRONID=? AND V.VIEWID=? "
-            		+ "ORDER BY SRCSEQNBR;";
+            		+ "WHERE V.ENVIRONID=? AND V.VIEWID IN ( " + placeholders + " ) "
+            		+ "ORDER BY S.VIEWID, SRCSEQNBR;";
     
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -210,7 +228,10 @@ public class DB2ReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -253,7 +274,13 @@ public class DB2ReportsDAO implements ReportsDAO {
 	}
 	@Override
 	public List<ViewSortKeyReportQueryBean> getViewSortKeys(Integer viewId, Integer environmentId) throws DAOException {
+		return getViewSortKeys(Collections.singletonList(viewId), environmentId);
+	}
+
+	@Override
+	public List<ViewSortKeyReportQueryBean> getViewSortKeys(List<Integer> viewIds, Integer environmentId) throws DAOException {
 		List<ViewSortKeyReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT C.VIEWID,"
             		+ "C.VIEWCOLUMNID,"
@@ -290,8 +317,8 @@ public class DB2ReportsDAO implements ReportsDAO {
             		+ "ON K.ENVIRONID=C.ENVIRONID AND K.VIEWCOLUMNID=C.VIEWCOLUMNID "
             		+ "JOIN " + params.getSchema() + ".VIEWCOLUMN N "
             		+ "ON K.ENVIRONID=N.ENVIRONID AND K.VIEWCOLUMNID=N.VIEWCOLUMNID "
-            		+ "WHERE C.ENVIRONID=? AND C.VIEWID=? "
-            		+ "ORDER BY S.SRCSEQNBR ;";
+            		+ "WHERE C.ENVIRONID=? AND C.VIEWID IN ( " + placeholders + " ) "
+            		+ "ORDER BY C.VIEWID, S.SRCSEQNBR ;";
     
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -299,7 +326,10 @@ public class DB2ReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -350,6 +380,19 @@ public class DB2ReportsDAO implements ReportsDAO {
 	@Override
 	public List<ViewMappingsReportQueryBean> getViewColumnMappings(Integer viewId, Integer environmentId, String sourceNum) throws DAOException {
 		List<ViewMappingsReportQueryBean> result = new ArrayList<>();
+		int source = Integer.parseInt(sourceNum.trim());
+		for (ViewMappingsReportQueryBean mapping : getViewColumnMappings(Collections.singletonList(viewId), environmentId)) {
+			if (Integer.parseInt(mapping.getSrcseqnbr().trim()) == source) {
+				result.add(mapping);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<ViewMappingsReportQueryBean> getViewColumnMappings(List<Integer> viewIds, Integer environmentId) throws DAOException {
+		List<ViewMappingsReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT C.VIEWID,"
             		+ "N.VIEWCOLUMNID,"
@@ -382,8 +425,8 @@ public class DB2ReportsDAO implements ReportsDAO {
             		+ "ON F.ENVIRONID=N.ENVIRONID AND F.LRFIELDID=C.LRFIELDID "
             		+ "LEFT JOIN " + params.getSchema() + ".LOOKUP L "
             		+ "ON L.ENVIRONID=C.ENVIRONID AND L.LOOKUPID=C.LOOKUPID "
-            		+ "WHERE C.ENVIRONID=? AND C.VIEWID=?  and s.srcseqnbr=? "
-            		+ "ORDER BY S.SRCSEQNBR, N.COLUMNNUMBER ;";
+            		+ "WHERE C.ENVIRONID=? AND C.VIEWID IN ( " + placeholders + " ) "
+            		+ "ORDER BY C.VIEWID, S.SRCSEQNBR, N.COLUMNNUMBER ;";
     
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -391,8 +434,10 @@ public class DB2ReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
-                	pst.setString(3, sourceNum);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -725,7 +770,13 @@ public class DB2ReportsDAO implements ReportsDAO {
 
 	@Override
 	public List<ViewColumnPICQueryBean> getViewColumnPICData(Integer viewId, Integer environmentId) throws DAOException {
+		return getViewColumnPICData(Collections.singletonList(viewId), environmentId);
+	}
+
+	@Override
+	public List<ViewColumnPICQueryBean> getViewColumnPICData(List<Integer> viewIds, Integer environmentId) throws DAOException {
 		List<ViewColumnPICQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT C.ENVIRONID, "
             		+ "	C.VIEWID, "
@@ -741,8 +792,8 @@ public class DB2ReportsDAO implements ReportsDAO {
             		+ "	FROM " + params.getSchema() + ".VIEWCOLUMN C "
             		+ "	JOIN " + params.getSchema() + ".VIEW V "
             		+ "	ON V.ENVIRONID=C.ENVIRONID AND V.VIEWID=C.VIEWID "
-            		+ " WHERE C.ENVIRONID=? AND C.VIEWID=? "
-            		+ "	ORDER BY C.COLUMNNUMBER;";
+            		+ " WHERE C.ENVIRONID=? AND C.VIEWID IN ( " + placeholders + " ) "
+            		+ "	ORDER BY C.VIEWID, C.COLUMNNUMBER;";
             
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -750,7 +801,10 @@ public class DB2ReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -82,7 +82,7 @@ public class DB2ViewColumnDAO implements ViewColumnDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewColumnTransfer generateTransfer(ResultSet rs)
+	ViewColumnTransfer generateTransfer(ResultSet rs)
 			throws SQLException {
 		ViewColumnTransfer vcTransfer = new ViewColumnTransfer();
 		vcTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
@@ -192,13 +192,13 @@ public class DB2ViewColumnDAO implements ViewColumnDAO {
         int countUpdate = 0;
         boolean fUpProc = false;
         for (ViewColumnTransfer viewCol : viewColTransferList) {
-            if (countCreate % 500 == 0 && fCreProc) {
+            if (countCreate % params.getBatchSize() == 0 && fCreProc) {
                 viewColCreate = createViewColumns(viewColCreate);
                 ret.addAll(viewColCreate);               
                 viewColCreate.clear();
                 fCreProc = false;
             }
-            if (countUpdate % 500 == 0 && fUpProc) {
+            if (countUpdate % params.getBatchSize() == 0 && fUpProc) {
                 viewColUpdate = updateViewColumns(viewColUpdate);
                 ret.addAll(viewColUpdate);               
                 viewColUpdate.clear();
@@ -24,13 +24,16 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -53,7 +56,14 @@ import com.ibm.safr.we.data.UserSessionParameters;
 import com.ibm.safr.we.data.dao.ViewDAO;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 import com.ibm.safr.we.data.transfer.FindTransfer;
+import com.ibm.safr.we.data.transfer.HeaderFooterItemTransfer;
+import com.ibm.safr.we.data.transfer.ViewColumnSourceTransfer;
+import com.ibm.safr.we.data.transfer.ViewColumnTransfer;
 import com.ibm.safr.we.data.transfer.ViewFolderViewAssociationTransfer;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
+import com.ibm.safr.we.data.transfer.ViewLogicDependencyTransfer;
+import com.ibm.safr.we.data.transfer.ViewSortKeyTransfer;
+import com.ibm.safr.we.data.transfer.ViewSourceTransfer;
 import com.ibm.safr.we.data.transfer.ViewTransfer;
 import com.ibm.safr.we.exceptions.SAFRNotFoundException;
 import com.ibm.safr.we.internal.data.SQLGenerator;
@@ -234,6 +244,135 @@ public class DB2ViewDAO implements ViewDAO {
 		return result;
 	}
 
+	public ViewGraphTransfer getViewGraph(Integer id, Integer environmentId)
+			throws DAOException {
+		ViewGraphTransfer result = getViewGraphs(Collections.singletonList(id),
+				environmentId).get(id);
+		if (result == null) {
+			logger.info("No such View in Env " + environmentId + " with ID : " + id);
+		}
+		return result;
+	}
+
+	public Map<Integer, ViewGraphTransfer> getViewGraphs(List<Integer> ids,
+			Integer environmentId) throws DAOException {
+		Map<Integer, ViewGraphTransfer> result = new LinkedHashMap<Integer, ViewGraphTransfer>();
+		if (ids.isEmpty()) {
+			return result;
+		}
+		try {
+			// the procedure returns one result set per table
+			String statement = generator.getStoredProcedure(params.getSchema(),
+					"GETVIEWGRAPH", 2);
+			CallableStatement proc = null;
+			while (true) {
+				try {
+					proc = con.prepareCall(statement);
+					proc.setInt(1, environmentId);
+					proc.setString("DOC", generateViewIdsXml(ids));
+					proc.execute();
+					break;
+				} catch (SQLException se) {
+					if (con.isClosed()) {
+						// lost database connection, so reconnect and retry
+						con = DAOFactoryHolder.getDAOFactory().reconnect();
+					} else {
+						throw se;
+					}
+				}
+			}
+			ResultSet rs = proc.getResultSet();
+			while (rs.next()) {
+				ViewTransfer view = generateTransfer(rs);
+				result.put(view.getId(), new ViewGraphTransfer(view));
+			}
+			rs.close();
+
+			DB2ViewSourceDAO vsDAO = new DB2ViewSourceDAO(con, params, safrLogin);
+			rs = nextResultSet(proc);
+			while (rs.next()) {
+				ViewSourceTransfer trans = vsDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewSources().add(trans);
+				}
+			}
+			rs.close();
+
+			DB2ViewColumnDAO vcDAO = new DB2ViewColumnDAO(con, params, safrLogin);
+			rs = nextResultSet(proc);
+			while (rs.next()) {
+				ViewColumnTransfer trans = vcDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewColumns().add(trans);
+				}
+			}
+			rs.close();
+
+			DB2ViewColumnSourceDAO vcsDAO = new DB2ViewColumnSourceDAO(con, params, safrLogin);
+			rs = nextResultSet(proc);
+			while (rs.next()) {
+				ViewColumnSourceTransfer trans = vcsDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewColumnSources().add(trans);
+				}
+			}
+			rs.close();
+
+			DB2ViewSortKeyDAO vskDAO = new DB2ViewSortKeyDAO(con, params, safrLogin);
+			rs = nextResultSet(proc);
+			while (rs.next()) {
+				ViewSortKeyTransfer trans = vskDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewSortKeys().add(trans);
+				}
+			}
+			rs.close();
+
+			DB2HeaderFooterDAO hfDAO = new DB2HeaderFooterDAO(con, params, safrLogin);
+			rs = nextResultSet(proc);
+			while (rs.next()) {
+				HeaderFooterItemTransfer trans = hfDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getHeaderFooterItems().add(trans);
+				}
+			}
+			rs.close();
+
+			DB2ViewLogicDependencyDAO vldDAO = new DB2ViewLogicDependencyDAO(con, params, safrLogin);
+			rs = nextResultSet(proc);
+			while (rs.next()) {
+				ViewLogicDependencyTransfer trans = vldDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewLogicDependencies().add(trans);
+				}
+			}
+			rs.close();
+			proc.close();
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException("Database error occurred while retrieving the Views with ids " + ids, e);
+		}
+		return result;
+	}
+
+	private ResultSet nextResultSet(Statement st) throws SQLException {
+		if (!st.getMoreResults()) {
+			throw new SQLException("Expected another result set from GETVIEWGRAPH.");
+		}
+		return st.getResultSet();
+	}
+
+	private String generateViewIdsXml(List<Integer> ids) {
+		StringBuffer xml = new StringBuffer();
+		xml.append("<Root>\n");
+		for (Integer id : ids) {
+			xml.append(" <Record>\n");
+			xml.append("  <VIEWID>" + id + "</VIEWID>\n");
+			xml.append(" </Record>\n");
+		}
+		xml.append("</Root>");
+		return xml.toString();
+	}
+
 	public List<ViewTransfer> queryAllLogicBlocks() {
 
 	    List<ViewTransfer> views = new ArrayList<ViewTransfer>();
@@ -1403,14 +1542,38 @@ public class DB2ViewDAO implements ViewDAO {
         Integer environmentId, SearchViewsIn searchViewsIn,
         List<Integer> componentsToSearchViewList,
         SearchCriteria searchCriteria, Date dateToSearch,
-        SearchPeriod searchPeriod) throws DAOException {
+        SearchPeriod searchPeriod, String searchText, 
+        boolean matchCase, boolean usePatternMatching) throws DAOException {
         
         List<ViewInfo> views = findViews(environmentId, searchViewsIn, componentsToSearchViewList, 
                 searchCriteria, dateToSearch, searchPeriod);
         
         List<FindTransfer> list = new ArrayList<FindTransfer>();
+        if (views.isEmpty()) {
+            return list;
+        }
+        Map<Integer, ViewInfo> viewMap = new HashMap<Integer, ViewInfo>();
         for (ViewInfo viewInfo : views) {
-            list.addAll(getViewFindTransfer(environmentId,viewInfo));
+            viewMap.put(viewInfo.id, viewInfo);
+        }
+        // restrict the logic text query to the views found unless it is all of them
+        List<Integer> viewIds = null;
+        if (searchViewsIn != SearchViewsIn.SearchAllViews || searchCriteria != SearchCriteria.None) {
+            viewIds = new ArrayList<Integer>(viewMap.keySet());
+        }
+        
+        // Db2 can only narrow a case sensitive literal search, the caller
+        // matches everything else
+        String condition = null;
+        String searchParam = null;
+        if (searchText != null && matchCase && !usePatternMatching) {
+            condition = "LOCATE(?, %s) > 0";
+            searchParam = searchText;
+        }
+        try {
+            queryLogicText(environmentId, viewMap, viewIds, condition, searchParam, list);
+        } catch (SQLException e) {
+            throw DataUtilities.createDAOException("Database error getting view find transfers.",e);
         }
         return list;
     }
@@ -1535,82 +1698,57 @@ public class DB2ViewDAO implements ViewDAO {
         return views;
     }
 
-    public List<FindTransfer> getViewFindTransfer(Integer envId, ViewInfo vi) {
-        
-        List<FindTransfer> total;
-        try {
-            total = new ArrayList<FindTransfer>();
-            total.addAll(getFormatFilterViewLogic(envId, vi));
-            total.addAll(getFormatColumnViewLogic(envId, vi));
-            total.addAll(getExtractFilterandOutputViewLogic(envId, vi));
-            total.addAll(getExtractColumnViewLogic(envId, vi));
-        } catch (SQLException e) {
-            throw DataUtilities.createDAOException("Database error getting view find transfers.",e);
-        }
-        return total;
-    }
-
-    private List<FindTransfer> getFormatFilterViewLogic(Integer envId, ViewInfo vi) 
+    private void queryLogicText(Integer envId, Map<Integer, ViewInfo> viewMap,
+        List<Integer> viewIds, String condition, String searchParam, List<FindTransfer> list) 
         throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String formatFiltStmt = "SELECT FORMATFILTLOGIC FROM  "
-            + params.getSchema() + ".VIEW "
-            + "WHERE ENVIRONID = ? " 
-            + "AND VIEWID = ? ";
-        ResultSet rs = null;
-        PreparedStatement pformatFiltStmt;
-        while (true) {
-            try {
-                pformatFiltStmt = con.prepareStatement(formatFiltStmt);
-                pformatFiltStmt.setInt(1, envId);
-                pformatFiltStmt.setInt(2, vi.id);                
-                rs = pformatFiltStmt.executeQuery();
-                break;
-            } catch (SQLException se) {
-                if (con.isClosed()) {
-                    // lost database connection, so reconnect and retry
-                    con = DAOFactoryHolder.getDAOFactory().reconnect();
-                } else {
-                    throw se;
-                }
-            }
-        }
-        while (rs.next()) {
-            FindTransfer trans = new FindTransfer();
-            trans.setViewId(vi.id);
-            trans.setViewName(vi.name);
-            trans.setRights(vi.rights);
-            trans.setLogicTextType(LogicTextType.Format_Record_Filter);
-            trans.setCellId(vi.id);
-            trans.setReferenceId(0);
-            Clob clob = rs.getClob("FORMATFILTLOGIC");
-            if (clob != null) {                
-                trans.setLogicText(clob.getSubString(1, (int) clob.length()));
-                if (!trans.getLogicText().isEmpty()) {
-                    list.add(trans);
-                }
-            }    
+        String schema = params.getSchema();
+        String viewIn = "";
+        String columnViewIn = "";
+        if (viewIds != null) {
+            viewIn = "AND VIEWID IN (" + integerListToString(viewIds) + ") ";
+            columnViewIn = "AND B.VIEWID IN (" + integerListToString(viewIds) + ") ";
         }
-        rs.close();
-        pformatFiltStmt.close();
-        return list;
-    }
-
-    private List<FindTransfer> getFormatColumnViewLogic(Integer envId, ViewInfo vi) 
-        throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String formatColStmt = "SELECT VIEWCOLUMNID, FORMATCALCLOGIC FROM "
-            + params.getSchema() + ".VIEWCOLUMN "
-            + "WHERE ENVIRONID = ? " 
-            + "AND VIEWID = ?";
+        String logicStmt = "SELECT VIEWID, 'FRF', VIEWID, 0, FORMATFILTLOGIC FROM "
+            + schema + ".VIEW "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("FORMATFILTLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT VIEWID, 'FCC', VIEWCOLUMNID, 0, FORMATCALCLOGIC FROM "
+            + schema + ".VIEWCOLUMN "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("FORMATCALCLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT VIEWID, 'ERF', VIEWSOURCEID, 0, EXTRACTFILTLOGIC FROM "
+            + schema + ".VIEWSOURCE "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("EXTRACTFILTLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT VIEWID, 'ERL', VIEWSOURCEID, 0, EXTRACTOUTPUTLOGIC FROM "
+            + schema + ".VIEWSOURCE "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("EXTRACTOUTPUTLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT B.VIEWID, 'ECC', C.VIEWCOLUMNSOURCEID, B.COLUMNNUMBER, C.EXTRACTCALCLOGIC FROM "
+            + schema + ".VIEWCOLUMN B, "
+            + schema + ".VIEWCOLUMNSOURCE C "
+            + "WHERE B.ENVIRONID = C.ENVIRONID " 
+            + "AND B.VIEWCOLUMNID = C.VIEWCOLUMNID " 
+            + "AND B.ENVIRONID = ? " + columnViewIn
+            + logicCondition("C.EXTRACTCALCLOGIC", condition)
+            + "ORDER BY 1, 2, 3";
         ResultSet rs = null;
-        PreparedStatement pformatColStmt;
+        PreparedStatement pst;
         while (true) {
             try {
-                pformatColStmt = con.prepareStatement(formatColStmt);
-                pformatColStmt.setInt(1, envId);
-                pformatColStmt.setInt(2, vi.id);                
-                rs = pformatColStmt.executeQuery();
+                pst = con.prepareStatement(logicStmt);
+                int ndx = 1;
+                for (int i = 0; i < 5; i++) {
+                    pst.setInt(ndx++, envId);
+                    if (condition != null) {
+                        pst.setString(ndx++, searchParam);
+                    }
+                }
+                rs = pst.executeQuery();
                 break;
             } catch (SQLException se) {
                 if (con.isClosed()) {
@@ -1622,136 +1760,33 @@ public class DB2ViewDAO implements ViewDAO {
             }
         }
         while (rs.next()) {
+            // views outside the search criteria when searching all views
+            ViewInfo vi = viewMap.get(rs.getInt(1));
+            Clob clob = rs.getClob(5);
+            String l = clob == null ? null : clob.getSubString(1, (int) clob.length());
+            if (vi == null || l == null || l.isEmpty()) {
+                continue;
+            }
             FindTransfer trans = new FindTransfer();
             trans.setViewId(vi.id);
             trans.setViewName(vi.name);            
             trans.setRights(vi.rights);
-            trans.setLogicTextType(LogicTextType.Format_Column_Calculation);
-            trans.setReferenceId(0);
-            trans.setCellId(rs.getInt("VIEWCOLUMNID"));
-            Clob clob = rs.getClob("FORMATCALCLOGIC");
-            if (clob != null) {
-                trans.setLogicText(clob.getSubString(1, (int) clob.length()));
-                if (!trans.getLogicText().isEmpty()) {
-                    list.add(trans);
-                }
-            }   
-        }
-        rs.close();
-        pformatColStmt.close();
-        return list;
-    }
-
-    private List<FindTransfer> getExtractFilterandOutputViewLogic(Integer envId, ViewInfo vi) 
-        throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String extractFiltStmt = "SELECT VIEWSOURCEID, EXTRACTFILTLOGIC, EXTRACTOUTPUTLOGIC FROM  "
-            + params.getSchema() + ".VIEWSOURCE B "
-            + "WHERE ENVIRONID = ? " 
-            + "AND VIEWID = ?";
-        ResultSet rs = null;
-        PreparedStatement pextractFiltStmt;
-        while (true) {
-            try {
-                pextractFiltStmt = con.prepareStatement(extractFiltStmt);
-                pextractFiltStmt.setInt(1, envId);
-                pextractFiltStmt.setInt(2, vi.id);                
-                rs = pextractFiltStmt.executeQuery();
-                break;
-            } catch (SQLException se) {
-                if (con.isClosed()) {
-                    // lost database connection, so reconnect and retry
-                    con = DAOFactoryHolder.getDAOFactory().reconnect();
-                } else {
-                    throw se;
-                }
-            }
-        }
-        while (rs.next()) {
-            int viewSourceId = rs.getInt("VIEWSOURCEID");
-            Clob clob = rs.getClob("EXTRACTFILTLOGIC");
-            if (clob != null) {
-                String logicText = clob.getSubString(1, (int) clob.length());
-                if (!logicText.isEmpty()) {
-                    FindTransfer trans = new FindTransfer();
-                    trans.setViewId(vi.id);
-                    trans.setViewName(vi.name);            
-                    trans.setRights(vi.rights);
-                    trans.setLogicTextType(LogicTextType.Extract_Record_Filter);
-                    trans.setLogicText(logicText);
-                    trans.setReferenceId(0);
-                    trans.setCellId(viewSourceId);
-                    list.add(trans);
-                }
-            }       
-            clob = rs.getClob("EXTRACTOUTPUTLOGIC");
-            if (clob != null) {
-                String logicText = clob.getSubString(1, (int) clob.length());
-                if (!logicText.isEmpty()) {
-                    FindTransfer trans = new FindTransfer();
-                    trans.setViewId(vi.id);
-                    trans.setViewName(vi.name);            
-                    trans.setRights(vi.rights);
-                    trans.setLogicTextType(LogicTextType.Extract_Record_Output);
-                    trans.setLogicText(logicText);
-                    trans.setReferenceId(0);
-                    trans.setCellId(viewSourceId);
-                    list.add(trans);
-                }
-            }       
+            trans.setLogicTextType(LogicTextType.getEnum(rs.getString(2)));
+            trans.setCellId(rs.getInt(3));
+            trans.setReferenceId(rs.getInt(4));
+            trans.setLogicText(l);
+            list.add(trans);
         }
         rs.close();
-        pextractFiltStmt.close();
-        return list;
+        pst.close();
     }
 
-    private List<FindTransfer> getExtractColumnViewLogic(Integer envId, ViewInfo vi) 
-        throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String extractColStmt = "SELECT B.COLUMNNUMBER,C.VIEWCOLUMNSOURCEID,C.EXTRACTCALCLOGIC FROM  "
-            + params.getSchema() + ".VIEWCOLUMN B, "
-            + params.getSchema() + ".VIEWCOLUMNSOURCE C "
-            + "WHERE B.ENVIRONID = C.ENVIRONID " 
-            + "AND B.VIEWCOLUMNID = C.VIEWCOLUMNID " 
-            + "AND B.ENVIRONID = ? " 
-            + "AND B.VIEWID = ?";
-        ResultSet rs = null;
-        PreparedStatement pextractColStmt;
-        while (true) {
-            try {
-                pextractColStmt = con.prepareStatement(extractColStmt);
-                pextractColStmt.setInt(1, envId);
-                pextractColStmt.setInt(2, vi.id);                
-                rs = pextractColStmt.executeQuery();
-                break;
-            } catch (SQLException se) {
-                if (con.isClosed()) {
-                    // lost database connection, so reconnect and retry
-                    con = DAOFactoryHolder.getDAOFactory().reconnect();
-                } else {
-                    throw se;
-                }
-            }
-        }
-        while (rs.next()) {
-            FindTransfer trans = new FindTransfer();
-            trans.setViewId(vi.id);
-            trans.setViewName(vi.name);            
-            trans.setRights(vi.rights);
-            trans.setLogicTextType(LogicTextType.Extract_Column_Assignment);
-            trans.setReferenceId(rs.getInt("COLUMNNUMBER"));
-            trans.setCellId(rs.getInt("VIEWCOLUMNSOURCEID"));
-            Clob clob = rs.getClob("EXTRACTCALCLOGIC");
-            if (clob != null) {
-                trans.setLogicText(clob.getSubString(1, (int) clob.length()));
-                if (!trans.getLogicText().isEmpty()) {
-                    list.add(trans);
-                }
-            }       
+    private String logicCondition(String column, String condition) {
+        if (condition == null) {
+            return "AND " + column + " IS NOT NULL ";
+        } else {
+            return "AND " + String.format(condition, column) + " ";
         }
-        rs.close();
-        pextractColStmt.close();
-        return list;
     }
 
     public void replaceLogicText(Integer environmentId,
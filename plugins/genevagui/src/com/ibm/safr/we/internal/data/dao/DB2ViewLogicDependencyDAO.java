@@ -86,7 +86,7 @@ public class DB2ViewLogicDependencyDAO implements ViewLogicDependencyDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewLogicDependencyTransfer generateTransfer(ResultSet rs)
+	ViewLogicDependencyTransfer generateTransfer(ResultSet rs)
 	throws SQLException {
 		ViewLogicDependencyTransfer vldTransfer = new ViewLogicDependencyTransfer();
 		vldTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
@@ -92,7 +92,7 @@ public class DB2ViewSortKeyDAO implements ViewSortKeyDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewSortKeyTransfer generateTransfer(ResultSet rs)
+	ViewSortKeyTransfer generateTransfer(ResultSet rs)
 			throws SQLException {
 		ViewSortKeyTransfer vskTransfer = new ViewSortKeyTransfer();
 		vskTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
@@ -90,7 +90,7 @@ public class DB2ViewSourceDAO implements ViewSourceDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewSourceTransfer generateTransfer(ResultSet rs)
+	ViewSourceTransfer generateTransfer(ResultSet rs)
 			throws SQLException {
 		ViewSourceTransfer vsTransfer = new ViewSourceTransfer();
 		vsTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
@@ -45,6 +45,7 @@ import com.ibm.safr.we.data.DAOUOWInterruptedException;
 import com.ibm.safr.we.data.DataUtilities;
 import com.ibm.safr.we.data.UserSessionParameters;
 import com.ibm.safr.we.data.dao.ExportDAO;
+import com.ibm.safr.we.data.dao.ExportDAO.RecordHandler;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 import com.ibm.safr.we.data.transfer.XMLTableDataTransfer;
 import com.ibm.safr.we.internal.data.PGSQLGenerator;
@@ -55,6 +56,9 @@ public class PGExportDAO implements ExportDAO {
 	static transient Logger logger = Logger
 			.getLogger("com.ibm.safr.we.internal.data.dao.PGExportDAO");
 	
+	// rows fetched from the database at a time while exporting
+	private static final int EXPORT_FETCH_SIZE = 500;
+
 	private Connection con;
 	private ConnectionParameters params;
 	private UserSessionParameters safrLogin;
@@ -334,13 +338,12 @@ public class PGExportDAO implements ExportDAO {
             rs.close();
         }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getPhysicalFileData(
-        Integer environmentId, List<Integer> physicalFileIds)
+    public void getPhysicalFileData(Integer environmentId,
+        List<Integer> physicalFileIds, RecordHandler handler)
         throws DAOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> physicalFileDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
     
         if (physicalFileIds == null || physicalFileIds.isEmpty()) {
-            return physicalFileDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(physicalFileIds.size());
@@ -357,7 +360,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < physicalFileIds.size(); i++ ) {
                         pst.setInt(ndx++, physicalFileIds.get(i));
@@ -375,19 +378,8 @@ public class PGExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-        
-            int recordNbr;                
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;            
-            
-            if (physicalFileDataMap.containsKey(ExportElementType.PHYSICAL_FILE)) {
-                recordNbr = physicalFileDataMap.get(ExportElementType.PHYSICAL_FILE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                physicalFileDataMap.get(ExportElementType.PHYSICAL_FILE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                physicalFileDataMap.put(ExportElementType.PHYSICAL_FILE,innerMap);
-            }
+
+            writeRecords(rs, ExportElementType.PHYSICAL_FILE, handler);
             rs.close();
             pst.close();
         }
@@ -395,16 +387,14 @@ public class PGExportDAO implements ExportDAO {
             throw DataUtilities.createDAOException(
                  "Database error occurred while retrieving the data for Physical File(s).",e);
         }        
-        return physicalFileDataMap;        
     }
 	
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLogicalFileData(
-        Integer environmentId, List<Integer> logicalFileIds)
+    public void getLogicalFileData(Integer environmentId,
+        List<Integer> logicalFileIds, RecordHandler handler)
         throws DAOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> logicalFileDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
     
         if (logicalFileIds == null || logicalFileIds.isEmpty()) {
-            return logicalFileDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(logicalFileIds.size());
@@ -421,7 +411,7 @@ public class PGExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst1 = con.prepareStatement(selectString);
+                    pst1 = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < logicalFileIds.size(); i++ ) {
                         pst1.setInt(ndx++, logicalFileIds.get(i));
@@ -438,19 +428,8 @@ public class PGExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-            
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            
-            if (logicalFileDataMap.containsKey(ExportElementType.LOGICAL_FILE)) {
-                recordNbr = logicalFileDataMap.get(ExportElementType.LOGICAL_FILE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.get(ExportElementType.LOGICAL_FILE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.put(ExportElementType.LOGICAL_FILE, innerMap);
-            }
+
+            writeRecords(rs, ExportElementType.LOGICAL_FILE, handler);
             pst1.close();
             rs.close();                
             rs = null;
@@ -463,7 +442,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst2 = con.prepareStatement(selectString2);
+                    pst2 = prepareExportStatement(selectString2);
                     int ndx = 1;
                     pst2.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < logicalFileIds.size(); i++ ) {
@@ -481,32 +460,22 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (logicalFileDataMap.containsKey(ExportElementType.LFPFASSOC)) {
-                recordNbr = logicalFileDataMap.get(ExportElementType.LFPFASSOC).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.get(ExportElementType.LFPFASSOC).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                logicalFileDataMap.put(ExportElementType.LFPFASSOC, innerMap);
-            }
+            writeRecords(rs, ExportElementType.LFPFASSOC, handler);
             rs.close();                
             pst2.close();
         } catch (SQLException e) {
             throw DataUtilities.createDAOException(
                 "Database error occurred while retrieving the data for Logical File(s) and their Physical File associations.",e);
         }        
-        return logicalFileDataMap;
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getUserExitRoutineData(
-        Integer environmentId, List<Integer> userExitIds)
+    public void getUserExitRoutineData(Integer environmentId,
+        List<Integer> userExitIds, RecordHandler handler)
         throws DAOException {
 
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> userExitDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
     
         if (userExitIds == null || userExitIds.isEmpty()) {
-            return userExitDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(userExitIds.size());
@@ -523,7 +492,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < userExitIds.size(); i++ ) {
                         pst.setInt(ndx++, userExitIds.get(i));
@@ -542,17 +511,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            int recordNbr;            
-            if (userExitDataMap.containsKey(ExportElementType.EXIT)) {
-                recordNbr = userExitDataMap.get(ExportElementType.EXIT).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                userExitDataMap.get(ExportElementType.EXIT).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                userExitDataMap.put(ExportElementType.EXIT, innerMap);
-            }
+            writeRecords(rs, ExportElementType.EXIT, handler);
                             
             rs.close();                
             pst.close();
@@ -562,15 +521,13 @@ public class PGExportDAO implements ExportDAO {
                  "Database error occurred while retrieving the data for User Exit Routine(s).",e);
         }
         
-        return userExitDataMap;        
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLogicalRecordData(
-        Integer environmentId, List<Integer> logicalRecordIds)
+    public void getLogicalRecordData(Integer environmentId,
+        List<Integer> logicalRecordIds, RecordHandler handler)
         throws DAOException {
-            Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> logicalRecordDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
             if (logicalRecordIds == null || logicalRecordIds.isEmpty()) {
-                return logicalRecordDataMap;
+                return;
             }
             
             String placeHolders = generator.getPlaceholders(logicalRecordIds.size());
@@ -591,7 +548,7 @@ public class PGExportDAO implements ExportDAO {
 
                 while (true) {
                     try {
-                        pst1 = con.prepareStatement(selectString);
+                        pst1 = prepareExportStatement(selectString);
                         int ndx = 1;
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
                             pst1.setInt(ndx++, logicalRecordIds.get(i));
@@ -608,19 +565,8 @@ public class PGExportDAO implements ExportDAO {
                         }
                     } // end reconnect try
                 }
-                
-                int recordNbr;
-                Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-                
-                if (logicalRecordDataMap.containsKey(ExportElementType.LOGICAL_RECORD)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LOGICAL_RECORD).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LOGICAL_RECORD).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LOGICAL_RECORD, innerMap);
-                }
+
+                writeRecords(rs, ExportElementType.LOGICAL_RECORD, handler);
                 rs.close();  
                 rs = null;
                 pst1.close();                
@@ -633,7 +579,7 @@ public class PGExportDAO implements ExportDAO {
                 
                 while (true) {
                     try {
-                        pst2 = con.prepareStatement(selectString2);
+                        pst2 = prepareExportStatement(selectString2);
                         int ndx = 1;
                         pst2.setInt(ndx++, environmentId);
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
@@ -651,15 +597,7 @@ public class PGExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LRFIELD)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LRFIELD).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LRFIELD).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LRFIELD,innerMap);
-                }
+                writeRecords(rs, ExportElementType.LRFIELD, handler);
                 rs.close();
                 rs = null;
                 pst2.close();
@@ -675,7 +613,7 @@ public class PGExportDAO implements ExportDAO {
                 
                 while (true) {
                     try {
-                        pst3 = con.prepareStatement(selectString3);
+                        pst3 = prepareExportStatement(selectString3);
                         int ndx = 1;
                         pst3.setInt(ndx++, environmentId);
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
@@ -693,15 +631,7 @@ public class PGExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LRFIELD_ATTRIBUTE)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LRFIELD_ATTRIBUTE).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LRFIELD_ATTRIBUTE).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LRFIELD_ATTRIBUTE,innerMap);
-                }
+                writeRecords(rs, ExportElementType.LRFIELD_ATTRIBUTE, handler);
                 rs.close();
                 rs = null;
                 pst3.close();
@@ -714,7 +644,7 @@ public class PGExportDAO implements ExportDAO {
 
                 while (true) {
                     try {
-                        pst4 = con.prepareStatement(selectString4);
+                        pst4 = prepareExportStatement(selectString4);
                         int ndx = 1;
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
                             pst4.setInt(ndx++, logicalRecordIds.get(i));
@@ -732,15 +662,7 @@ public class PGExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LR_INDEX)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LR_INDEX).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LR_INDEX).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LR_INDEX, innerMap);
-                }
+                writeRecords(rs, ExportElementType.LR_INDEX, handler);
                 rs.close();                
                 rs = null;
                 pst4.close();
@@ -756,7 +678,7 @@ public class PGExportDAO implements ExportDAO {
                 
                 while (true) {
                     try {
-                        pst5 = con.prepareStatement(selectString5);
+                        pst5 = prepareExportStatement(selectString5);
                         int ndx = 1;
                         pst5.setInt(ndx++, environmentId);
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
@@ -774,15 +696,7 @@ public class PGExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LR_INDEX_FIELD)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LR_INDEX_FIELD).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LR_INDEX_FIELD).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LR_INDEX_FIELD,innerMap);
-                }
+                writeRecords(rs, ExportElementType.LR_INDEX_FIELD, handler);
                 rs.close();
                 rs = null;
                 pst5.close();
@@ -795,7 +709,7 @@ public class PGExportDAO implements ExportDAO {
                                 
                 while (true) {
                     try {
-                        pst6 = con.prepareStatement(selectString6);
+                        pst6 = prepareExportStatement(selectString6);
                         int ndx = 1;
                 		for( int i = 0 ; i < logicalRecordIds.size(); i++ ) {
                             pst6.setInt(ndx++, logicalRecordIds.get(i));
@@ -813,15 +727,7 @@ public class PGExportDAO implements ExportDAO {
                     } // end reconnect try
                 }
                 
-                if (logicalRecordDataMap.containsKey(ExportElementType.LRLFASSOC)) {
-                    recordNbr = logicalRecordDataMap.get(ExportElementType.LRLFASSOC).values().size() + 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.get(ExportElementType.LRLFASSOC).putAll(innerMap);
-                } else {
-                    recordNbr = 1;
-                    innerMap = getInnerMap(rs, recordNbr);
-                    logicalRecordDataMap.put(ExportElementType.LRLFASSOC,innerMap);
-                }                    
+                writeRecords(rs, ExportElementType.LRLFASSOC, handler);
                 rs.close();                
                 pst6.close();                
             }
@@ -829,16 +735,14 @@ public class PGExportDAO implements ExportDAO {
                 throw DataUtilities.createDAOException(
                      "Database error occurred while retrieving the data for Logical Record(s).",e);
             }             
-            return logicalRecordDataMap;
     }
     
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getLookupPathData(
-        Integer environmentId, List<Integer> lookupPathIds)
+    public void getLookupPathData(Integer environmentId,
+        List<Integer> lookupPathIds, RecordHandler handler)
         throws DAOException {
         
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> lookupPathDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
         if (lookupPathIds == null || lookupPathIds.isEmpty()) {
-            return lookupPathDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(lookupPathIds.size());
@@ -856,7 +760,7 @@ public class PGExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst1 = con.prepareStatement(selectString);
+                    pst1 = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < lookupPathIds.size(); i++ ) {
                         pst1.setInt(ndx++, lookupPathIds.get(i));
@@ -873,19 +777,8 @@ public class PGExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-            
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            
-            if (lookupPathDataMap.containsKey(ExportElementType.LOOKUP)) {
-                recordNbr = lookupPathDataMap.get(ExportElementType.LOOKUP).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.get(ExportElementType.LOOKUP).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.put(ExportElementType.LOOKUP,innerMap);
-            }
+
+            writeRecords(rs, ExportElementType.LOOKUP, handler);
             rs.close();                
             rs = null;
             pst1.close();
@@ -898,7 +791,7 @@ public class PGExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst2 = con.prepareStatement(selectString2);
+                    pst2 = prepareExportStatement(selectString2);
                     int ndx = 1;
                     pst2.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < lookupPathIds.size(); i++ ) {
@@ -916,15 +809,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (lookupPathDataMap.containsKey(ExportElementType.LOOKUP_SRCKEY)) {
-                recordNbr = lookupPathDataMap.get(ExportElementType.LOOKUP_SRCKEY).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.get(ExportElementType.LOOKUP_SRCKEY).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.put(ExportElementType.LOOKUP_SRCKEY, innerMap);
-            }
+            writeRecords(rs, ExportElementType.LOOKUP_SRCKEY, handler);
             rs.close();                
             rs = null;
             pst2.close();            
@@ -937,7 +822,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst3 = con.prepareStatement(selectString3);
+                    pst3 = prepareExportStatement(selectString3);
                     int ndx = 1;
                     pst3.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < lookupPathIds.size(); i++ ) {
@@ -954,15 +839,7 @@ public class PGExportDAO implements ExportDAO {
                     }
                 } // end reconnect try
             }
-            if (lookupPathDataMap.containsKey(ExportElementType.LOOKUP_STEP)) {
-                recordNbr = lookupPathDataMap.get(ExportElementType.LOOKUP_STEP).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.get(ExportElementType.LOOKUP_STEP).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                lookupPathDataMap.put(ExportElementType.LOOKUP_STEP, innerMap);
-            }                
+            writeRecords(rs, ExportElementType.LOOKUP_STEP, handler);
             rs.close();            
             pst3.close();
         }
@@ -971,14 +848,12 @@ public class PGExportDAO implements ExportDAO {
                 "Database error occurred while retrieving the data for Lookup Path(s).",e);
         }
         
-        return lookupPathDataMap;        
     }
 
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getViewData(
-        Integer environmentId, List<Integer> viewIds) throws DAOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> viewDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
+    public void getViewData(Integer environmentId,
+        List<Integer> viewIds, RecordHandler handler) throws DAOException {
         if (viewIds == null || viewIds.isEmpty()) {
-            return viewDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(viewIds.size());
@@ -999,7 +874,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst1 = con.prepareStatement(selectString);
+                    pst1 = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst1.setInt(ndx++, viewIds.get(i));
@@ -1017,18 +892,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            if (viewDataMap.containsKey(ExportElementType.VIEW)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW).putAll(innerMap);
-
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW, innerMap);
-            }            
+            writeRecords(rs, ExportElementType.VIEW, handler);
             rs.close();  
             rs = null;
             pst1.close();                
@@ -1041,7 +905,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst2 = con.prepareStatement(selectString2);
+                    pst2 = prepareExportStatement(selectString2);
                     int ndx = 1;
                     pst2.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
@@ -1059,15 +923,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_COLUMN)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_COLUMN).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_COLUMN).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_COLUMN,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_COLUMN, handler);
             rs.close();
             rs = null;
             pst2.close();
@@ -1080,7 +936,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst3 = con.prepareStatement(selectString3);
+                    pst3 = prepareExportStatement(selectString3);
                     int ndx = 1;
                     pst3.setInt(ndx++, environmentId);
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
@@ -1098,15 +954,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_SOURCE)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_SOURCE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_SOURCE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_SOURCE,innerMap);        
-            }
+            writeRecords(rs, ExportElementType.VIEW_SOURCE, handler);
             rs.close();
             rs = null;
             pst3.close();
@@ -1119,7 +967,7 @@ public class PGExportDAO implements ExportDAO {
 
             while (true) {
                 try {
-                    pst4 = con.prepareStatement(selectString4);
+                    pst4 = prepareExportStatement(selectString4);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst4.setInt(ndx++, viewIds.get(i));
@@ -1137,15 +985,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_COLUMN_SOURCE)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_COLUMN_SOURCE).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_COLUMN_SOURCE).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_COLUMN_SOURCE,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_COLUMN_SOURCE, handler);
             rs.close();                
             rs = null;
             pst4.close();
@@ -1158,7 +998,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst5 = con.prepareStatement(selectString5);
+                    pst5 = prepareExportStatement(selectString5);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst5.setInt(ndx++, viewIds.get(i));
@@ -1176,15 +1016,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_SORT_KEY)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_SORT_KEY).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_SORT_KEY).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_SORT_KEY,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_SORT_KEY, handler);
             rs.close();
             rs = null;
             pst5.close();
@@ -1202,7 +1034,7 @@ public class PGExportDAO implements ExportDAO {
                             
             while (true) {
                 try {
-                    pst6 = con.prepareStatement(selectString6);
+                    pst6 = prepareExportStatement(selectString6);
                     int ndx = 1;
             		for( int i = 0 ; i < viewIds.size(); i++ ) {
                         pst6.setInt(ndx++, viewIds.get(i));
@@ -1220,15 +1052,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            if (viewDataMap.containsKey(ExportElementType.VIEW_HEADER_FOOTER)) {
-                recordNbr = viewDataMap.get(ExportElementType.VIEW_HEADER_FOOTER).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.get(ExportElementType.VIEW_HEADER_FOOTER).putAll(innerMap);
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                viewDataMap.put(ExportElementType.VIEW_HEADER_FOOTER,innerMap);
-            }
+            writeRecords(rs, ExportElementType.VIEW_HEADER_FOOTER, handler);
             rs.close();                
             pst6.close();                            
         }
@@ -1237,17 +1061,14 @@ public class PGExportDAO implements ExportDAO {
                 "Database error occurred while retrieving the data for View(s).",e);
         }
         
-        return viewDataMap;
     }
     
     @Override
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getViewFolderData(
-        Integer environmentId, List<Integer> viewFolderIds) throws DAOException {
+    public void getViewFolderData(Integer environmentId,
+        List<Integer> viewFolderIds, RecordHandler handler) throws DAOException {
         
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> vfDataMap = 
-            new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
         if (viewFolderIds == null || viewFolderIds.isEmpty()) {
-            return vfDataMap;
+            return;
         }
         
         try {
@@ -1265,7 +1086,7 @@ public class PGExportDAO implements ExportDAO {
     
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < viewFolderIds.size(); i++ ) {
                         pst.setInt(ndx++, viewFolderIds.get(i));
@@ -1283,18 +1104,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            int recordNbr;
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;
-            if (vfDataMap.containsKey(ExportElementType.VIEWFOLDER)) {
-                recordNbr = vfDataMap.get(ExportElementType.VIEWFOLDER).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.get(ExportElementType.VIEWFOLDER).putAll(innerMap);
-    
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.put(ExportElementType.VIEWFOLDER, innerMap);
-            }            
+            writeRecords(rs, ExportElementType.VIEWFOLDER, handler);
             rs.close();  
             rs = null;
             pst.close();                
@@ -1307,7 +1117,7 @@ public class PGExportDAO implements ExportDAO {
     
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < viewFolderIds.size(); i++ ) {
                         pst.setInt(ndx++, viewFolderIds.get(i));
@@ -1325,17 +1135,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            innerMap = null;
-            if (vfDataMap.containsKey(ExportElementType.VFVASSOC)) {
-                recordNbr = vfDataMap.get(ExportElementType.VFVASSOC).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.get(ExportElementType.VFVASSOC).putAll(innerMap);
-    
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                vfDataMap.put(ExportElementType.VFVASSOC, innerMap);
-            }            
+            writeRecords(rs, ExportElementType.VFVASSOC, handler);
             rs.close();  
             rs = null;
             pst.close();                
@@ -1346,16 +1146,14 @@ public class PGExportDAO implements ExportDAO {
                 "Database error occurred while retrieving the data for View Folder(s).",e);
         }
         
-        return vfDataMap;
     }
     
-    public Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> getControlRecordData(
-        Integer environmentId, List<Integer> controlRecordIds)
+    public void getControlRecordData(Integer environmentId,
+        List<Integer> controlRecordIds, RecordHandler handler)
         throws DAOException {
         
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> controlRecordDataMap = new LinkedHashMap<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>>();
         if (controlRecordIds == null || controlRecordIds.isEmpty()) {
-            return controlRecordDataMap;
+            return;
         }
         
         String placeHolders = generator.getPlaceholders(controlRecordIds.size());
@@ -1372,7 +1170,7 @@ public class PGExportDAO implements ExportDAO {
             
             while (true) {
                 try {
-                    pst = con.prepareStatement(selectString);
+                    pst = prepareExportStatement(selectString);
                     int ndx = 1;
             		for( int i = 0 ; i < controlRecordIds.size(); i++ ) {
                         pst.setInt(ndx++, controlRecordIds.get(i));
@@ -1391,19 +1189,7 @@ public class PGExportDAO implements ExportDAO {
                 } // end reconnect try
             }
             
-            int recordNbr;                
-            Map<Integer, List<XMLTableDataTransfer>> innerMap = null;            
-            if (controlRecordDataMap.containsKey(ExportElementType.CONTROL_RECORD)) {
-                recordNbr = controlRecordDataMap.get(
-                    ExportElementType.CONTROL_RECORD).values().size() + 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                controlRecordDataMap.get(ExportElementType.CONTROL_RECORD).putAll(innerMap);
-
-            } else {
-                recordNbr = 1;
-                innerMap = getInnerMap(rs, recordNbr);
-                controlRecordDataMap.put(ExportElementType.CONTROL_RECORD,innerMap);    
-            }                
+            writeRecords(rs, ExportElementType.CONTROL_RECORD, handler);
             rs.close();                
             pst.close();
         }
@@ -1411,13 +1197,16 @@ public class PGExportDAO implements ExportDAO {
             throw DataUtilities.createDAOException(
                 "Database error occurred while retrieving the data for Control Record(s).",e);
         }   
-        return controlRecordDataMap;        
     }
 	
 
-	private Map<Integer, List<XMLTableDataTransfer>> getInnerMap(ResultSet rs,
-			int recordNbr) throws DAOException {
-		Map<Integer, List<XMLTableDataTransfer>> innerMap = new LinkedHashMap<Integer, List<XMLTableDataTransfer>>();
+	/**
+	 * Pass each row of the result set to the handler as one record, inside a
+	 * start and end of the element type if there are any rows.
+	 */
+	private void writeRecords(ResultSet rs, ExportElementType type,
+			RecordHandler handler) throws DAOException {
+		boolean started = false;
 		try {
 			while (rs.next()) {
 				int columnCount = rs.getMetaData().getColumnCount();
@@ -1463,13 +1252,55 @@ public class PGExportDAO implements ExportDAO {
                         record.add(tableDataTrans);                        
                     }
 				}
-				innerMap.put(recordNbr, record);
-				recordNbr++;
+				if (!started) {
+					handler.startElement(type);
+					started = true;
+				}
+				handler.record(record);
+			}
+			if (started) {
+				handler.endElement(type);
 			}
 		} catch (SQLException e) {
 			throw DataUtilities.createDAOException("Database error occurred while retrieving data for a metadata component.",e);
 		}
-		return innerMap;
+	}
+
+	/**
+	 * Prepare a query whose rows are passed to an export handler, fetching
+	 * {@value #EXPORT_FETCH_SIZE} rows at a time.
+	 */
+	private PreparedStatement prepareExportStatement(String selectString)
+			throws SQLException {
+		PreparedStatement pst = con.prepareStatement(selectString);
+		pst.setFetchSize(EXPORT_FETCH_SIZE);
+		return pst;
+	}
+
+	public boolean beginExportRead() throws DAOException {
+		try {
+			if (con.getAutoCommit()) {
+				con.setAutoCommit(false);
+				return true;
+			}
+			return false;
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+				"Database error occurred while beginning to read the export data.",e);
+		}
+	}
+
+	public void endExportRead() throws DAOException {
+		try {
+			// a reconnect during the read leaves a connection in auto-commit mode
+			if (!con.getAutoCommit()) {
+				con.commit();
+				con.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException(
+				"Database error occurred while ending the read of the export data.",e);
+		}
 	}
 
 	/**
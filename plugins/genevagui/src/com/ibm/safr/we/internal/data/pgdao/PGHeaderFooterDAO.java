@@ -91,7 +91,7 @@ public class PGHeaderFooterDAO implements HeaderFooterDAO {
 	 *         to the result set.
 	 * @throws SQLException
 	 */
-	private HeaderFooterItemTransfer generateTransfer(ResultSet rs)
+	HeaderFooterItemTransfer generateTransfer(ResultSet rs)
 			throws SQLException {
 		HeaderFooterItemTransfer headerFooter = new HeaderFooterItemTransfer();
 		headerFooter.setEnvironmentId(rs.getInt(COL_ENVID));
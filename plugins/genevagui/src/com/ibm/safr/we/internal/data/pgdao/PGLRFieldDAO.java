@@ -544,13 +544,13 @@ public class PGLRFieldDAO implements LRFieldDAO {
         int countUpdate = 0;
         boolean fUpProc = false;
         for (LRFieldTransfer lrField : lrFieldTransfer) {
-            if (countCreate % 500 == 0 && fCreProc) {
+            if (countCreate % params.getBatchSize() == 0 && fCreProc) {
                 lrFieldCreate = createLRFields(lrFieldCreate);
                 ret.addAll(lrFieldCreate);               
                 lrFieldCreate.clear();
                 fCreProc = false;
             }
-            if (countUpdate % 500 == 0 && fUpProc) {
+            if (countUpdate % params.getBatchSize() == 0 && fUpProc) {
                 lrFieldUpdate = updateLRField(lrFieldUpdate);
                 ret.addAll(lrFieldUpdate);               
                 lrFieldUpdate.clear();
@@ -605,7 +605,7 @@ public class PGLookupPathStepDAO implements LookupPathStepDAO {
         for (LookupPathSourceFieldTransfer sourceField : sourceFieldsTrans) {
             countCreate++;
             csourceFields.add(sourceField);
-            if (countCreate % 500 == 0) {
+            if (countCreate % params.getBatchSize() == 0) {
                 createLookupPathStepSourceFields(csourceFields);
                 csourceFields.clear();
             }            
@@ -23,6 +23,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Logger;
@@ -67,7 +68,14 @@ public class PGReportsDAO implements ReportsDAO {
 	
 	@Override
 	public ViewPropertiesReportQueryBean getViewProperties(Integer viewId, Integer environmentId) throws DAOException {
-		ViewPropertiesReportQueryBean result = null;
+		List<ViewPropertiesReportQueryBean> result = getViewProperties(Collections.singletonList(viewId), environmentId);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	@Override
+	public List<ViewPropertiesReportQueryBean> getViewProperties(List<Integer> viewIds, Integer environmentId) throws DAOException {
+		List<ViewPropertiesReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
 	        try {
 	            String selectString = "SELECT V.VIEWID,"
 	            		+ "V.NAME,"
@@ -106,7 +114,8 @@ public class PGReportsDAO implements ReportsDAO {
 	            		+ "ON L.ENVIRONID=I.ENVIRONID AND L.LOGFILEID=I.LOGFILEID "
 	            		+ "LEFT JOIN " + params.getSchema() + ".PHYFILE P "
 	            		+ "ON P.ENVIRONID=L.ENVIRONID AND P.PHYFILEID=I.PHYFILEID "
-	            		+ "WHERE V.ENVIRONID=? AND VIEWID=?;" ;
+	            		+ "WHERE V.ENVIRONID=? AND V.VIEWID IN ( " + placeholders + " ) "
+	            		+ "ORDER BY V.VIEWID;" ;
 
 	    
 	            PreparedStatement pst = null;
@@ -115,7 +124,10 @@ public class PGReportsDAO implements ReportsDAO {
 	                try {
 	                    pst = con.prepareStatement(selectString);
 	                	pst.setInt(1,  environmentId);
-	                	pst.setInt(2,  viewId);
+	                	int ndx = 2;
+	                	for (Integer viewId : viewIds) {
+	                		pst.setInt(ndx++, viewId);
+	                	}
 	                    rs = pst.executeQuery();
 	                    break;
 	                } catch (SQLException se) {
@@ -128,7 +140,7 @@ public class PGReportsDAO implements ReportsDAO {
 	                }
 	            }
 	            while (rs.next()) {
-	                result = new ViewPropertiesReportQueryBean(
+	                result.add(new ViewPropertiesReportQueryBean(
 	                    DataUtilities.trimString(rs.getString("VIEWID")), 
 	                    DataUtilities.trimString(rs.getString("NAME")), 
 	                    DataUtilities.trimString(rs.getString("VIEWTYPECD")), 
@@ -154,7 +166,7 @@ public class PGReportsDAO implements ReportsDAO {
 	                    DataUtilities.trimString(rs.getString("LASTACTTIMESTAMP")), 
 	                    DataUtilities.trimString(rs.getString("LASTACTUSERID")), 
 	                    DataUtilities.trimString(rs.getString("LFNAME")), 
-	                    DataUtilities.trimString(rs.getString("PFNAME")) );
+	                    DataUtilities.trimString(rs.getString("PFNAME")) ));
 	            }
 	            pst.close();
 	            rs.close();
@@ -165,8 +177,14 @@ public class PGReportsDAO implements ReportsDAO {
 	        return result;
 	}
 	@Override
-	public List<ViewSourcesReportQueryBean>getViewSources(Integer viewId, Integer environmentId) throws DAOException {
+	public List<ViewSourcesReportQueryBean> getViewSources(Integer viewId, Integer environmentId) throws DAOException {
+		return getViewSources(Collections.singletonList(viewId), environmentId);
+	}
+
+	@Override
+	public List<ViewSourcesReportQueryBean> getViewSources(List<Integer> viewIds, Integer environmentId) throws DAOException {
 		List<ViewSourcesReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT 	S.VIEWID,"
             		+ "		S.SRCSEQNBR,"
@@ -202,8 +220,8 @@ public class PGReportsDAO implements ReportsDAO {
             		+ "ON P.ENVIRONID=S.ENVIRONID AND P.PHYFILEID=O.PHYFILEID "
             		+ "LEFT JOIN " + params.getSchema() + ".EXIT E "
             		+ "ON E.ENVIRONID=S.ENVIRONID AND E.EXITID=S.WRITEEXITID "
-            		+ "WHERE V.ENVIRONID=? AND V.VIEWID=? "
-            		+ "ORDER BY SRCSEQNBR;";
+            		+ "WHERE V.ENVIRONID=? AND V.VIEWID IN ( " + placeholders + " ) "
+            		+ "ORDER BY S.VIEWID, SRCSEQNBR;";
     
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -211,7 +229,10 @@ public class PGReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -254,7 +275,13 @@ public class PGReportsDAO implements ReportsDAO {
 	}
 	@Override
 	public List<ViewSortKeyReportQueryBean> getViewSortKeys(Integer viewId, Integer environmentId) throws DAOException {
+		return getViewSortKeys(Collections.singletonList(viewId), environmentId);
+	}
+
+	@Override
+	public List<ViewSortKeyReportQueryBean> getViewSortKeys(List<Integer> viewIds, Integer environmentId) throws DAOException {
 		List<ViewSortKeyReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT C.VIEWID,"
             		+ "C.VIEWCOLUMNID,"
@@ -291,8 +318,8 @@ public class PGReportsDAO implements ReportsDAO {
             		+ "ON K.ENVIRONID=C.ENVIRONID AND K.VIEWCOLUMNID=C.VIEWCOLUMNID "
             		+ "JOIN " + params.getSchema() + ".VIEWCOLUMN N "
             		+ "ON K.ENVIRONID=N.ENVIRONID AND K.VIEWCOLUMNID=N.VIEWCOLUMNID "
-            		+ "WHERE C.ENVIRONID=? AND C.VIEWID=? "
-            		+ "ORDER BY S.SRCSEQNBR ;";
+            		+ "WHERE C.ENVIRONID=? AND C.VIEWID IN ( " + placeholders + " ) "
+            		+ "ORDER BY C.VIEWID, S.SRCSEQNBR ;";
     
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -300,7 +327,10 @@ public class PGReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -351,6 +381,19 @@ public class PGReportsDAO implements ReportsDAO {
 	@Override
 	public List<ViewMappingsReportQueryBean> getViewColumnMappings(Integer viewId, Integer environmentId, String sourceNum) throws DAOException {
 		List<ViewMappingsReportQueryBean> result = new ArrayList<>();
+		int source = Integer.parseInt(sourceNum.trim());
+		for (ViewMappingsReportQueryBean mapping : getViewColumnMappings(Collections.singletonList(viewId), environmentId)) {
+			if (Integer.parseInt(mapping.getSrcseqnbr().trim()) == source) {
+				result.add(mapping);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<ViewMappingsReportQueryBean> getViewColumnMappings(List<Integer> viewIds, Integer environmentId) throws DAOException {
+		List<ViewMappingsReportQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT C.VIEWID,"
             		+ "N.VIEWCOLUMNID,"
@@ -383,8 +426,8 @@ public class PGReportsDAO implements ReportsDAO {
             		+ "ON F.ENVIRONID=N.ENVIRONID AND F.LRFIELDID=C.LRFIELDID "
             		+ "LEFT JOIN " + params.getSchema() + ".LOOKUP L "
             		+ "ON L.ENVIRONID=C.ENVIRONID AND L.LOOKUPID=C.LOOKUPID "
-            		+ "WHERE C.ENVIRONID=? AND C.VIEWID=?  and s.srcseqnbr=? "
-            		+ "ORDER BY S.SRCSEQNBR, N.COLUMNNUMBER ;";
+            		+ "WHERE C.ENVIRONID=? AND C.VIEWID IN ( " + placeholders + " ) "
+            		+ "ORDER BY C.VIEWID, S.SRCSEQNBR, N.COLUMNNUMBER ;";
     
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -392,8 +435,10 @@ public class PGReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
-                	pst.setInt(3, Integer.valueOf(sourceNum));
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -587,7 +632,13 @@ public class PGReportsDAO implements ReportsDAO {
 
 	@Override
 	public List<ViewColumnPICQueryBean> getViewColumnPICData(Integer viewId, Integer environmentId) throws DAOException {
+		return getViewColumnPICData(Collections.singletonList(viewId), environmentId);
+	}
+
+	@Override
+	public List<ViewColumnPICQueryBean> getViewColumnPICData(List<Integer> viewIds, Integer environmentId) throws DAOException {
 		List<ViewColumnPICQueryBean> result = new ArrayList<>();
+		String placeholders = generator.getPlaceholders(viewIds.size());
         try {
             String selectString = "SELECT C.ENVIRONID, "
             		+ "	C.VIEWID, "
@@ -603,8 +654,8 @@ public class PGReportsDAO implements ReportsDAO {
             		+ "	FROM " + params.getSchema() + ".VIEWCOLUMN C "
             		+ "	JOIN " + params.getSchema() + ".VIEW V "
             		+ "	ON V.ENVIRONID=C.ENVIRONID AND V.VIEWID=C.VIEWID "
-            		+ " WHERE C.ENVIRONID=? AND C.VIEWID=? "
-            		+ "	ORDER BY C.COLUMNNUMBER;";
+            		+ " WHERE C.ENVIRONID=? AND C.VIEWID IN ( " + placeholders + " ) "
+            		+ "	ORDER BY C.VIEWID, C.COLUMNNUMBER;";
             
             PreparedStatement pst = null;
             ResultSet rs = null;
@@ -612,7 +663,10 @@ public class PGReportsDAO implements ReportsDAO {
                 try {
                     pst = con.prepareStatement(selectString);
                 	pst.setInt(1,  environmentId);
-                	pst.setInt(2,  viewId);
+                	int ndx = 2;
+                	for (Integer viewId : viewIds) {
+                		pst.setInt(ndx++, viewId);
+                	}
                     rs = pst.executeQuery();
                     break;
                 } catch (SQLException se) {
@@ -80,7 +80,7 @@ public class PGViewColumnSourceDAO implements ViewColumnSourceDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewColumnSourceTransfer generateTransfer(ResultSet rs)
+	ViewColumnSourceTransfer generateTransfer(ResultSet rs)
 			throws SQLException {
 		ViewColumnSourceTransfer vcsTransfer = new ViewColumnSourceTransfer();
 		vcsTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
@@ -238,13 +238,13 @@ public class PGViewColumnSourceDAO implements ViewColumnSourceDAO {
         int countUpdate = 0;
         boolean fUpProc = false;
 		for (ViewColumnSourceTransfer viewColTrans : viewColSrcTransferList) {
-		    if (countCreate % 500 == 0 && fCreProc) {
+		    if (countCreate % params.getBatchSize() == 0 && fCreProc) {
 	            viewColSrcCreate = createViewColumnSources(viewColSrcCreate);
 	            ret.addAll(viewColSrcCreate);		        
 		        viewColSrcCreate.clear();
 		        fCreProc = false;
 		    }
-            if (countUpdate % 500 == 0 && fUpProc) {
+            if (countUpdate % params.getBatchSize() == 0 && fUpProc) {
                 viewColSrcUpdate = updateViewColumnSources(viewColSrcUpdate);
                 ret.addAll(viewColSrcUpdate);               
                 viewColSrcUpdate.clear();
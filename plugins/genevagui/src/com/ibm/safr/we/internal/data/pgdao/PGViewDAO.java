@@ -18,21 +18,27 @@ package com.ibm.safr.we.internal.data.pgdao;
  */
 
 
+import java.sql.Array;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 import com.ibm.safr.we.constants.CodeCategories;
 import com.ibm.safr.we.constants.Codes;
@@ -52,7 +58,14 @@ import com.ibm.safr.we.data.UserSessionParameters;
 import com.ibm.safr.we.data.dao.ViewDAO;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 import com.ibm.safr.we.data.transfer.FindTransfer;
+import com.ibm.safr.we.data.transfer.HeaderFooterItemTransfer;
+import com.ibm.safr.we.data.transfer.ViewColumnSourceTransfer;
+import com.ibm.safr.we.data.transfer.ViewColumnTransfer;
 import com.ibm.safr.we.data.transfer.ViewFolderViewAssociationTransfer;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
+import com.ibm.safr.we.data.transfer.ViewLogicDependencyTransfer;
+import com.ibm.safr.we.data.transfer.ViewSortKeyTransfer;
+import com.ibm.safr.we.data.transfer.ViewSourceTransfer;
 import com.ibm.safr.we.data.transfer.ViewTransfer;
 import com.ibm.safr.we.exceptions.SAFRNotFoundException;
 import com.ibm.safr.we.internal.data.PGSQLGenerator;
@@ -274,6 +287,186 @@ public class PGViewDAO implements ViewDAO {
 		return result;
 	}
 
+	public ViewGraphTransfer getViewGraph(Integer id, Integer environmentId)
+			throws DAOException {
+		ViewGraphTransfer result = getViewGraphs(Collections.singletonList(id),
+				environmentId).get(id);
+		if (result == null) {
+			logger.info("No such View in Env " + environmentId + " with ID : " + id);
+		}
+		return result;
+	}
+
+	public Map<Integer, ViewGraphTransfer> getViewGraphs(List<Integer> ids,
+			Integer environmentId) throws DAOException {
+		Map<Integer, ViewGraphTransfer> result = new LinkedHashMap<Integer, ViewGraphTransfer>();
+		if (ids.isEmpty()) {
+			return result;
+		}
+		try {
+			// one statement per table, all sent to the server together
+			String schema = params.getSchema();
+			String where = " WHERE A.ENVIRONID = ? AND A.VIEWID = ANY(?) ";
+			String selectString = "Select A.ENVIRONID, A.VIEWID, A.NAME, "
+					+ "A.VIEWSTATUSCD, A.EFFDATE, A.VIEWTYPECD, A.EXTRACTFILEPARTNBR, "
+					+ "A.OUTPUTMEDIACD, A.OUTPUTLRID, A.LFPFASSOCID, A.PAGESIZE, "
+					+ "A.LINESIZE, A.ZEROSUPPRESSIND, A.EXTRACTMAXRECCNT, "
+					+ "A.EXTRACTSUMMARYIND, A.EXTRACTSUMMARYBUF, A.OUTPUTMAXRECCNT, "
+					+ "A.CONTROLRECID, A.WRITEEXITID, A.WRITEEXITSTARTUP, A.FORMATEXITID, "
+					+ "A.FORMATEXITSTARTUP, A.FILEFLDDELIMCD, A.FILESTRDELIMCD, "
+					+ "A.COMMENTS, A.FORMATFILTLOGIC, "
+					+ "A.CREATEDTIMESTAMP, A.CREATEDUSERID, A.LASTMODTIMESTAMP, A.LASTMODUSERID,"
+					+ "A.COMPILER,A.LASTACTTIMESTAMP, A.LASTACTUSERID From "
+					+ schema + ".VIEW A"
+					+ where + "ORDER BY A.VIEWID;"
+					+ "Select A.ENVIRONID, A.VIEWSOURCEID, A.VIEWID, A.SRCSEQNBR, "
+					+ "A.INLRLFASSOCID, A.EXTRACTFILTLOGIC, A.OUTLFPFASSOCID, A.WRITEEXITID, "
+					+ "A.WRITEEXITPARM, A.EXTRACTOUTPUTIND, A.EXTRACTOUTPUTLOGIC, "
+					+ "A.CREATEDTIMESTAMP, A.CREATEDUSERID, A.LASTMODTIMESTAMP, A.LASTMODUSERID From "
+					+ schema + ".VIEWSOURCE A"
+					+ where + "ORDER BY A.VIEWID, A.SRCSEQNBR;"
+					+ "Select A.ENVIRONID, A.VIEWCOLUMNID, A.VIEWID, A.COLUMNNUMBER, "
+					+ "A.FLDFMTCD, A.SIGNEDIND, A.STARTPOSITION, A.MAXLEN, A.ORDINALPOSITION, "
+					+ "A.DECIMALCNT, A.ROUNDING, A.FLDCONTENTCD, A.JUSTIFYCD, A.DEFAULTVAL, "
+					+ "A.VISIBLE, A.SUBTOTALTYPECD, A.SPACESBEFORECOLUMN, A.EXTRACTAREACD, A.EXTRAREAPOSITION, "
+					+ "A.SUBTLABEL, A.RPTMASK, A.HDRJUSTIFYCD, A.HDRLINE1, A.HDRLINE2, A.HDRLINE3, A.FORMATCALCLOGIC, "
+					+ "A.CREATEDTIMESTAMP, A.LASTMODTIMESTAMP, A.CREATEDUSERID, A.LASTMODUSERID From "
+					+ schema + ".VIEWCOLUMN A"
+					+ where + "ORDER BY A.VIEWID, A.COLUMNNUMBER;"
+					+ "Select A.ENVIRONID, A.VIEWCOLUMNSOURCEID, A.VIEWCOLUMNID, A.VIEWSOURCEID, "
+					+ "A.VIEWID, A.SOURCETYPEID, A.CONSTVAL, A.LOOKUPID, A.LRFIELDID, "
+					+ "A.EFFDATEVALUE, A.EFFDATETYPE, A.EFFDATELRFIELDID, "
+					+ "A.SORTTITLELOOKUPID, A.SORTTITLELRFIELDID, A.EXTRACTCALCLOGIC, "
+					+ "A.CREATEDTIMESTAMP, A.CREATEDUSERID, A.LASTMODTIMESTAMP, A.LASTMODUSERID From "
+					+ schema + ".VIEWCOLUMNSOURCE A INNER JOIN "
+					+ schema + ".VIEWSOURCE B ON A.ENVIRONID = B.ENVIRONID AND A.VIEWSOURCEID = B.VIEWSOURCEID INNER JOIN "
+					+ schema + ".VIEWCOLUMN C ON A.ENVIRONID = C.ENVIRONID AND A.VIEWCOLUMNID = C.VIEWCOLUMNID"
+					+ where + "ORDER BY A.VIEWID, B.SRCSEQNBR, C.COLUMNNUMBER;"
+					+ "Select A.ENVIRONID, A.VIEWSORTKEYID, A.VIEWID, A.VIEWCOLUMNID, "
+					+ "A.KEYSEQNBR, A.SORTSEQCD, A.SORTBRKIND, A.PAGEBRKIND, "
+					+ "A.SORTKEYDISPLAYCD, A.SORTKEYLABEL, A.SKFLDFMTCD, "
+					+ "A.SKSIGNED, A.SKSTARTPOS, A.SKFLDLEN, A.SKDECIMALCNT, "
+					+ "A.SKFLDCONTENTCD, A.SORTTITLELRFIELDID, A.SORTTITLELENGTH, "
+					+ "A.CREATEDTIMESTAMP, A.LASTMODTIMESTAMP, "
+					+ "A.CREATEDUSERID, A.LASTMODUSERID From "
+					+ schema + ".VIEWSORTKEY A INNER JOIN "
+					+ schema + ".VIEWCOLUMN B ON A.ENVIRONID = B.ENVIRONID AND "
+					+ "A.VIEWID = B.VIEWID AND A.VIEWCOLUMNID = B.VIEWCOLUMNID"
+					+ where + "ORDER BY A.VIEWID, A.KEYSEQNBR;"
+					+ "Select A.ENVIRONID, A.HEADERFOOTERID, A.VIEWID, "
+					+ "A.STDFUNCCD, A.JUSTIFYCD, A.ROWNUMBER, A.COLNUMBER, "
+					+ "A.LENGTH, A.ITEMTEXT, A.HEADERFOOTERIND, "
+					+ "A.CREATEDTIMESTAMP, A.LASTMODTIMESTAMP, A.CREATEDUSERID, A.LASTMODUSERID From "
+					+ schema + ".VIEWHEADERFOOTER A"
+					+ where + "ORDER BY A.VIEWID, A.HEADERFOOTERIND, A.ROWNUMBER, A.COLNUMBER;"
+					+ "Select A.ENVIRONID, A.VIEWID, A.LOGICTYPECD, "
+					+ "A.PARENTID, A.DEPENDID, A.LOOKUPID, A.LRFIELDID, "
+					+ "A.EXITID, A.LFPFASSOCID, A.CREATEDTIMESTAMP, A.CREATEDUSERID, "
+					+ "A.LASTMODTIMESTAMP, A.LASTMODUSERID From "
+					+ schema + ".VIEWLOGICDEPEND A"
+					+ where + "ORDER BY A.VIEWID, A.LOGICTYPECD";
+
+			PreparedStatement pst = null;
+			while (true) {
+				try {
+					pst = con.prepareStatement(selectString);
+					Array viewIds = con.createArrayOf("integer", ids.toArray());
+					int i = 1;
+					for (int table = 0; table < 7; table++) {
+						pst.setInt(i++, environmentId);
+						pst.setArray(i++, viewIds);
+					}
+					pst.execute();
+					break;
+				} catch (SQLException se) {
+					if (con.isClosed()) {
+						// lost database connection, so reconnect and retry
+						con = DAOFactoryHolder.getDAOFactory().reconnect();
+					} else {
+						throw se;
+					}
+				}
+			}
+			ResultSet rs = pst.getResultSet();
+			while (rs.next()) {
+				ViewTransfer view = generateTransfer(rs);
+				result.put(view.getId(), new ViewGraphTransfer(view));
+			}
+			rs.close();
+
+			PGViewSourceDAO vsDAO = new PGViewSourceDAO(con, params, safrLogin);
+			rs = nextResultSet(pst);
+			while (rs.next()) {
+				ViewSourceTransfer trans = vsDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewSources().add(trans);
+				}
+			}
+			rs.close();
+
+			PGViewColumnDAO vcDAO = new PGViewColumnDAO(con, params, safrLogin);
+			rs = nextResultSet(pst);
+			while (rs.next()) {
+				ViewColumnTransfer trans = vcDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewColumns().add(trans);
+				}
+			}
+			rs.close();
+
+			PGViewColumnSourceDAO vcsDAO = new PGViewColumnSourceDAO(con, params, safrLogin);
+			rs = nextResultSet(pst);
+			while (rs.next()) {
+				ViewColumnSourceTransfer trans = vcsDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewColumnSources().add(trans);
+				}
+			}
+			rs.close();
+
+			PGViewSortKeyDAO vskDAO = new PGViewSortKeyDAO(con, params, safrLogin);
+			rs = nextResultSet(pst);
+			while (rs.next()) {
+				ViewSortKeyTransfer trans = vskDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewSortKeys().add(trans);
+				}
+			}
+			rs.close();
+
+			PGHeaderFooterDAO hfDAO = new PGHeaderFooterDAO(con, params, safrLogin);
+			rs = nextResultSet(pst);
+			while (rs.next()) {
+				HeaderFooterItemTransfer trans = hfDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getHeaderFooterItems().add(trans);
+				}
+			}
+			rs.close();
+
+			PGViewLogicDependencyDAO vldDAO = new PGViewLogicDependencyDAO(con, params, safrLogin);
+			rs = nextResultSet(pst);
+			while (rs.next()) {
+				ViewLogicDependencyTransfer trans = vldDAO.generateTransfer(rs);
+				if (result.containsKey(trans.getViewId())) {
+					result.get(trans.getViewId()).getViewLogicDependencies().add(trans);
+				}
+			}
+			rs.close();
+			pst.close();
+		} catch (SQLException e) {
+			throw DataUtilities.createDAOException("Database error occurred while retrieving the Views with ids " + ids, e);
+		}
+		return result;
+	}
+
+	private ResultSet nextResultSet(Statement st) throws SQLException {
+		if (!st.getMoreResults()) {
+			throw new SQLException("Expected another result set from the View graph query.");
+		}
+		return st.getResultSet();
+	}
+
 	public List<ViewTransfer> queryAllLogicBlocks() {
 
 	    List<ViewTransfer> views = new ArrayList<ViewTransfer>();
@@ -1431,19 +1624,81 @@ public class PGViewDAO implements ViewDAO {
         public String name;
         public EditRights rights;
     };
+
+    // SQLSTATE of a regular expression Postgres cannot compile
+    private static final String INVALID_REGEX = "2201B";
+
+    // Java pattern syntax that Postgres reads differently or not at all.
+    // Filtering on such a pattern in the database could lose matches.
+    private static final Pattern JAVA_ONLY_REGEX = Pattern.compile(
+        "\\\\[bBAzZGQEpPhHRXkK0]|\\(\\?[^:=!]|&&|[*+?}]\\+|\\$");
 	
     public List<FindTransfer> searchViewsToReplaceLogicText(
         Integer environmentId, SearchViewsIn searchViewsIn,
         List<Integer> componentsToSearchViewList,
         SearchCriteria searchCriteria, Date dateToSearch,
-        SearchPeriod searchPeriod) throws DAOException {
+        SearchPeriod searchPeriod, String searchText, 
+        boolean matchCase, boolean usePatternMatching) throws DAOException {
         
         List<ViewInfo> views = findViews(environmentId, searchViewsIn, componentsToSearchViewList, 
                 searchCriteria, dateToSearch, searchPeriod);
         
         List<FindTransfer> list = new ArrayList<FindTransfer>();
+        if (views.isEmpty()) {
+            return list;
+        }
+        Map<Integer, ViewInfo> viewMap = new HashMap<Integer, ViewInfo>();
         for (ViewInfo viewInfo : views) {
-            list.addAll(getViewFindTransfer(environmentId,viewInfo));
+            viewMap.put(viewInfo.id, viewInfo);
+        }
+        // restrict the logic text query to the views found unless it is all of them
+        List<Integer> viewIds = null;
+        if (searchViewsIn != SearchViewsIn.SearchAllViews || searchCriteria != SearchCriteria.None) {
+            viewIds = new ArrayList<Integer>(viewMap.keySet());
+        }
+        
+        // narrow the logic text in the database, the trigram indexes serve
+        // both LIKE and regular expression matches 
+        String condition = null;
+        String searchParam = null;
+        if (searchText != null) {
+            if (usePatternMatching) {
+                if (!JAVA_ONLY_REGEX.matcher(searchText).find()) {
+                    condition = matchCase ? " ~ ?" : " ~* ?";
+                    searchParam = searchText;
+                }
+            } else {
+                condition = (matchCase ? " LIKE ?" : " ILIKE ?") + " ESCAPE '\\'";
+                searchParam = "%" + searchText.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            }
+        }
+        try {
+            // inside a unit of work the failed query aborts the transaction,
+            // so roll back to before it to search again
+            Connection queryCon = con;
+            Savepoint savepoint = null;
+            if (condition != null && usePatternMatching && !queryCon.getAutoCommit()) {
+                savepoint = queryCon.setSavepoint();
+            }
+            try {
+                queryLogicText(environmentId, viewMap, viewIds, condition, searchParam, list);
+                if (savepoint != null && con == queryCon) {
+                    queryCon.releaseSavepoint(savepoint);
+                }
+            } catch (SQLException se) {
+                if (condition == null || !INVALID_REGEX.equals(se.getSQLState())) {
+                    throw se;
+                }
+                if (savepoint != null) {
+                    queryCon.rollback(savepoint);
+                }
+                // a pattern Postgres cannot read is matched by the caller alone
+                logger.info("Searching all logic text, the database cannot match pattern " + searchText);
+                list.clear();
+                queryLogicText(environmentId, viewMap, viewIds, null, null, list);
+            }
+        } catch (SQLException e) {
+            throw DataUtilities.createDAOException("Database error getting view find transfers.",e);
         }
         return list;
     }
@@ -1568,82 +1823,60 @@ public class PGViewDAO implements ViewDAO {
         return views;
     }
 
-    public List<FindTransfer> getViewFindTransfer(Integer envId, ViewInfo vi) {
-        
-        List<FindTransfer> total;
-        try {
-            total = new ArrayList<FindTransfer>();
-            total.addAll(getFormatFilterViewLogic(envId, vi));
-            total.addAll(getFormatColumnViewLogic(envId, vi));
-            total.addAll(getExtractFilterandOutputViewLogic(envId, vi));
-            total.addAll(getExtractColumnViewLogic(envId, vi));
-        } catch (SQLException e) {
-            throw DataUtilities.createDAOException("Database error getting view find transfers.",e);
-        }
-        return total;
-    }
-
-    private List<FindTransfer> getFormatFilterViewLogic(Integer envId, ViewInfo vi) 
+    private void queryLogicText(Integer envId, Map<Integer, ViewInfo> viewMap,
+        List<Integer> viewIds, String condition, String searchParam, List<FindTransfer> list) 
         throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String formatFiltStmt = "SELECT FORMATFILTLOGIC FROM  "
-            + params.getSchema() + ".VIEW "
-            + "WHERE ENVIRONID = ? " 
-            + "AND VIEWID = ? ";
-        ResultSet rs = null;
-        PreparedStatement pformatFiltStmt;
-        while (true) {
-            try {
-                pformatFiltStmt = con.prepareStatement(formatFiltStmt);
-                pformatFiltStmt.setInt(1, envId);
-                pformatFiltStmt.setInt(2, vi.id);                
-                rs = pformatFiltStmt.executeQuery();
-                break;
-            } catch (SQLException se) {
-                if (con.isClosed()) {
-                    // lost database connection, so reconnect and retry
-                    con = DAOFactoryHolder.getDAOFactory().reconnect();
-                } else {
-                    throw se;
-                }
-            }
+        String schema = params.getSchema();
+        String viewIn = "";
+        String columnViewIn = "";
+        if (viewIds != null) {
+            viewIn = "AND VIEWID IN (" + integerListToString(viewIds) + ") ";
+            columnViewIn = "AND B.VIEWID IN (" + integerListToString(viewIds) + ") ";
         }
-        while (rs.next()) {
-            FindTransfer trans = new FindTransfer();
-            trans.setViewId(vi.id);
-            trans.setViewName(vi.name);
-            trans.setRights(vi.rights);
-            trans.setLogicTextType(LogicTextType.Format_Record_Filter);
-            trans.setCellId(vi.id);
-            trans.setReferenceId(0);
-            String l = rs.getString("FORMATFILTLOGIC");
-            if (l != null) {
-                trans.setLogicText(l); 
-                if (!l.isEmpty()) {
-                    list.add(trans);
-                }
-            }
-        }
-        rs.close();
-        pformatFiltStmt.close();
-        return list;
-    }
-
-    private List<FindTransfer> getFormatColumnViewLogic(Integer envId, ViewInfo vi) 
-        throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String formatColStmt = "SELECT VIEWCOLUMNID, FORMATCALCLOGIC FROM "
-            + params.getSchema() + ".VIEWCOLUMN "
-            + "WHERE ENVIRONID = ? " 
-            + "AND VIEWID = ?";
+        String logicStmt = "SELECT VIEWID, 'FRF' AS LOGICTYPE, VIEWID AS CELLID, 0 AS REFID, FORMATFILTLOGIC AS LOGIC, "
+            + "1 AS TYPESEQ, 0 AS CELLSEQ FROM "
+            + schema + ".VIEW "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("FORMATFILTLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT VIEWID, 'FCC', VIEWCOLUMNID, 0, FORMATCALCLOGIC, 2, 0 FROM "
+            + schema + ".VIEWCOLUMN "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("FORMATCALCLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT VIEWID, 'ERF', VIEWSOURCEID, 0, EXTRACTFILTLOGIC, 3, 1 FROM "
+            + schema + ".VIEWSOURCE "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("EXTRACTFILTLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT VIEWID, 'ERL', VIEWSOURCEID, 0, EXTRACTOUTPUTLOGIC, 3, 2 FROM "
+            + schema + ".VIEWSOURCE "
+            + "WHERE ENVIRONID = ? " + viewIn
+            + logicCondition("EXTRACTOUTPUTLOGIC", condition)
+            + "UNION ALL "
+            + "SELECT B.VIEWID, 'ECC', C.VIEWCOLUMNSOURCEID, B.COLUMNNUMBER, C.EXTRACTCALCLOGIC, 4, 0 FROM "
+            + schema + ".VIEWCOLUMN B, "
+            + schema + ".VIEWCOLUMNSOURCE C "
+            + "WHERE B.ENVIRONID = C.ENVIRONID " 
+            + "AND B.VIEWCOLUMNID = C.VIEWCOLUMNID " 
+            + "AND B.ENVIRONID = ? " + columnViewIn
+            + logicCondition("C.EXTRACTCALCLOGIC", condition)
+            // per view the format filter, format columns, then each source's
+            // extract filter and output, then the extract columns
+            + "ORDER BY VIEWID, TYPESEQ, CELLID, CELLSEQ";
         ResultSet rs = null;
-        PreparedStatement pformatColStmt;
+        PreparedStatement pst;
         while (true) {
             try {
-                pformatColStmt = con.prepareStatement(formatColStmt);
-                pformatColStmt.setInt(1, envId);
-                pformatColStmt.setInt(2, vi.id);                
-                rs = pformatColStmt.executeQuery();
+                pst = con.prepareStatement(logicStmt);
+                int ndx = 1;
+                for (int i = 0; i < 5; i++) {
+                    pst.setInt(ndx++, envId);
+                    if (condition != null) {
+                        pst.setString(ndx++, searchParam);
+                    }
+                }
+                rs = pst.executeQuery();
                 break;
             } catch (SQLException se) {
                 if (con.isClosed()) {
@@ -1655,134 +1888,32 @@ public class PGViewDAO implements ViewDAO {
             }
         }
         while (rs.next()) {
+            // views outside the search criteria when searching all views
+            ViewInfo vi = viewMap.get(rs.getInt(1));
+            String l = rs.getString(5);
+            if (vi == null || l == null || l.isEmpty()) {
+                continue;
+            }
             FindTransfer trans = new FindTransfer();
             trans.setViewId(vi.id);
             trans.setViewName(vi.name);            
             trans.setRights(vi.rights);
-            trans.setLogicTextType(LogicTextType.Format_Column_Calculation);
-            trans.setReferenceId(0);
-            trans.setCellId(rs.getInt("VIEWCOLUMNID"));
-            String l = rs.getString("FORMATCALCLOGIC");
-            if (l != null) {
-                trans.setLogicText(l);  
-                if (!l.isEmpty()) {
-                    list.add(trans);
-                }
-            }
-        }
-        rs.close();
-        pformatColStmt.close();
-        return list;
-    }
-
-    private List<FindTransfer> getExtractFilterandOutputViewLogic(Integer envId, ViewInfo vi) 
-        throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String extractFiltStmt = "SELECT VIEWSOURCEID, EXTRACTFILTLOGIC, EXTRACTOUTPUTLOGIC FROM  "
-            + params.getSchema() + ".VIEWSOURCE B "
-            + "WHERE ENVIRONID = ? " 
-            + "AND VIEWID = ?";
-        ResultSet rs = null;
-        PreparedStatement pextractFiltStmt;
-        while (true) {
-            try {
-                pextractFiltStmt = con.prepareStatement(extractFiltStmt);
-                pextractFiltStmt.setInt(1, envId);
-                pextractFiltStmt.setInt(2, vi.id);                
-                rs = pextractFiltStmt.executeQuery();
-                break;
-            } catch (SQLException se) {
-                if (con.isClosed()) {
-                    // lost database connection, so reconnect and retry
-                    con = DAOFactoryHolder.getDAOFactory().reconnect();
-                } else {
-                    throw se;
-                }
-            }
-        }
-        while (rs.next()) {
-            int viewSourceId = rs.getInt("VIEWSOURCEID");
-            String l = rs.getString("EXTRACTFILTLOGIC");
-            if (l != null) {
-                if (!l.isEmpty()) {
-                    FindTransfer trans = new FindTransfer();
-                    trans.setViewId(vi.id);
-                    trans.setViewName(vi.name);            
-                    trans.setRights(vi.rights);
-                    trans.setLogicTextType(LogicTextType.Extract_Record_Filter);
-                    trans.setLogicText(l);
-                    trans.setReferenceId(0);
-                    trans.setCellId(viewSourceId);
-                    list.add(trans);   
-                }
-            }
-            l = rs.getString("EXTRACTOUTPUTLOGIC");
-            if (l != null) {
-                if (!l.isEmpty()) {
-                    FindTransfer trans = new FindTransfer();
-                    trans.setViewId(vi.id);
-                    trans.setViewName(vi.name);            
-                    trans.setRights(vi.rights);
-                    trans.setLogicTextType(LogicTextType.Extract_Record_Output);
-                    trans.setLogicText(l);
-                    trans.setReferenceId(0);
-                    trans.setCellId(viewSourceId);
-                    list.add(trans);
-                }
-            }       
+            trans.setLogicTextType(LogicTextType.getEnum(rs.getString(2)));
+            trans.setCellId(rs.getInt(3));
+            trans.setReferenceId(rs.getInt(4));
+            trans.setLogicText(l);
+            list.add(trans);
         }
         rs.close();
-        pextractFiltStmt.close();
-        return list;
+        pst.close();
     }
 
-    private List<FindTransfer> getExtractColumnViewLogic(Integer envId, ViewInfo vi) 
-        throws DAOException, SQLException {
-        List<FindTransfer> list = new ArrayList<FindTransfer>();
-        String extractColStmt = "SELECT B.COLUMNNUMBER,C.VIEWCOLUMNSOURCEID,C.EXTRACTCALCLOGIC FROM  "
-            + params.getSchema() + ".VIEWCOLUMN B, "
-            + params.getSchema() + ".VIEWCOLUMNSOURCE C "
-            + "WHERE B.ENVIRONID = C.ENVIRONID " 
-            + "AND B.VIEWCOLUMNID = C.VIEWCOLUMNID " 
-            + "AND B.ENVIRONID = ? " 
-            + "AND B.VIEWID = ?";
-        ResultSet rs = null;
-        PreparedStatement pextractColStmt;
-        while (true) {
-            try {
-                pextractColStmt = con.prepareStatement(extractColStmt);
-                pextractColStmt.setInt(1, envId);
-                pextractColStmt.setInt(2, vi.id);                
-                rs = pextractColStmt.executeQuery();
-                break;
-            } catch (SQLException se) {
-                if (con.isClosed()) {
-                    // lost database connection, so reconnect and retry
-                    con = DAOFactoryHolder.getDAOFactory().reconnect();
-                } else {
-                    throw se;
-                }
-            }
-        }
-        while (rs.next()) {
-            FindTransfer trans = new FindTransfer();
-            trans.setViewId(vi.id);
-            trans.setViewName(vi.name);            
-            trans.setRights(vi.rights);
-            trans.setLogicTextType(LogicTextType.Extract_Column_Assignment);
-            trans.setReferenceId(rs.getInt("COLUMNNUMBER"));
-            trans.setCellId(rs.getInt("VIEWCOLUMNSOURCEID"));
-            String l = rs.getString("EXTRACTCALCLOGIC");
-            if (l != null) {
-                trans.setLogicText(l); 
-                if (!l.isEmpty()) {
-                    list.add(trans);
-                }
-            }
+    private String logicCondition(String column, String condition) {
+        if (condition == null) {
+            return "AND " + column + " IS NOT NULL ";
+        } else {
+            return "AND " + column + condition + " ";
         }
-        rs.close();
-        pextractColStmt.close();
-        return list;
     }
 
     public void replaceLogicText(Integer environmentId,
@@ -87,7 +87,7 @@ public class PGViewLogicDependencyDAO implements ViewLogicDependencyDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewLogicDependencyTransfer generateTransfer(ResultSet rs)
+	ViewLogicDependencyTransfer generateTransfer(ResultSet rs)
 	throws SQLException {
 		ViewLogicDependencyTransfer vldTransfer = new ViewLogicDependencyTransfer();
 		vldTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
@@ -92,7 +92,7 @@ public class PGViewSortKeyDAO implements ViewSortKeyDAO {
 		this.safrLogin = safrLogin;
 	}
 
-	private ViewSortKeyTransfer generateTransfer(ResultSet rs)
+	ViewSortKeyTransfer generateTransfer(ResultSet rs)
 			throws SQLException {
 		ViewSortKeyTransfer vskTransfer = new ViewSortKeyTransfer();
 		vskTransfer.setEnvironmentId(rs.getInt(COL_ENVID));
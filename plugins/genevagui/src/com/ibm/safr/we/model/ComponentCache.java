@@ -0,0 +1,192 @@
+package com.ibm.safr.we.model;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.safr.we.SAFRUtilities;
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.SAFRPersistence;
+import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+
+/**
+ * A bounded cache of loaded components keyed by type, environment and id.
+ * When full the least recently used component is dropped.
+ * <p>
+ * A cached component is shared by every caller which reads it, so it must
+ * not be changed. A component which has been changed since it was loaded, or
+ * moved to another environment, is not handed out again; it is dropped and
+ * the caller loads a fresh copy.
+ */
+public class ComponentCache {
+
+    static transient Logger logger = Logger
+    .getLogger("com.ibm.safr.we.model.ComponentCache");
+
+    public static final int DEFAULT_SIZE = 500;
+
+    private static class Key {
+        private ComponentType type;
+        private int environId;
+        private int id;
+
+        Key(ComponentType type, int environId, int id) {
+            this.type = type;
+            this.environId = environId;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return (type.hashCode() * 31 + environId) * 31 + id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return type == other.type && environId == other.environId
+                    && id == other.id;
+        }
+    }
+
+    private int maxSize;
+    private LinkedHashMap<Key, SAFREnvironmentalComponent> map;
+    private long hits = 0;
+    private long misses = 0;
+
+    public ComponentCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public ComponentCache(int maxSize) {
+        setMaxSize(maxSize);
+        // access order so the eldest entry is the least recently used
+        map = new LinkedHashMap<Key, SAFREnvironmentalComponent>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Key, SAFREnvironmentalComponent> eldest) {
+                return size() > ComponentCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached component or null if it is not cached, has been
+     *         changed or moved to another environment since it was loaded.
+     */
+    public synchronized SAFREnvironmentalComponent get(ComponentType type,
+            Integer environId, Integer id) {
+        Key key = new Key(type, environId, id);
+        SAFREnvironmentalComponent comp = map.get(key);
+        if (comp != null && (comp.getPersistence() != SAFRPersistence.OLD
+                || !environId.equals(comp.getEnvironmentId()))) {
+            map.remove(key);
+            comp = null;
+        }
+        if (comp == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return comp;
+    }
+
+    public synchronized void put(ComponentType type, Integer environId,
+            Integer id, SAFREnvironmentalComponent comp) {
+        if (maxSize > 0) {
+            map.put(new Key(type, environId, id), comp);
+        }
+    }
+
+    /**
+     * Drop a single component.
+     */
+    public synchronized void remove(ComponentType type, Integer environId,
+            Integer id) {
+        map.remove(new Key(type, environId, id));
+    }
+
+    /**
+     * Drop every component of the environment.
+     */
+    public synchronized void removeEnvironment(Integer environId) {
+        Iterator<Key> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().environId == environId) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the number of components kept. Zero turns the cache off.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize < 0 ? 0 : maxSize;
+        if (map != null) {
+            Iterator<Key> it = map.keySet().iterator();
+            while (map.size() > this.maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized void restartCount() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public synchronized void report() {
+        String report = "Component cache" + SAFRUtilities.LINEBREAK
+                + "Hits: " + hits + SAFRUtilities.LINEBREAK
+                + "Misses: " + misses + SAFRUtilities.LINEBREAK
+                + "Cached: " + map.size() + " of " + maxSize;
+        logger.log(Level.INFO, report);
+    }
+}
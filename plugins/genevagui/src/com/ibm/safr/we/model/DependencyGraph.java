@@ -0,0 +1,530 @@
+package com.ibm.safr.we.model;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.DependencyUsageType;
+import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.transfer.DependencyEdgeTransfer;
+import com.ibm.safr.we.data.transfer.DependencyGraphTransfer;
+import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
+
+/**
+ * The dependencies between the components of one environment, held in
+ * memory so that dependency and delete-impact checks need no database
+ * access.
+ * <p>
+ * The graph is read in one go the first time it is used. A component is
+ * identified by a long combining its type and id. Each edge is held in the
+ * list of the component which uses and the list of the component which is
+ * used. When a component is stored its edges are read again the next time
+ * the graph is used. Components stored by other users are found from their
+ * modify times, checked at most every {@link #CHECK_INTERVAL} milliseconds
+ * unless the caller asks for a check now, as it should before a delete.
+ * <p>
+ * A component deleted by another user keeps its edges until the components
+ * it used are stored, so the graph may report a user which no longer exists.
+ * Callers which need the details of the users, e.g. for a delete message,
+ * should ask the DAOs once the graph has shown there are some.
+ */
+public class DependencyGraph {
+
+    static transient Logger logger = Logger
+    .getLogger("com.ibm.safr.we.model.DependencyGraph");
+
+    public static final long CHECK_INTERVAL = 5000L;
+
+    // a row's modify time is the start of the transaction which stored it so
+    // look back this far in case it committed after the last check
+    static final long OVERLAP = 60000L;
+
+    // more changes than this and the whole graph is read again
+    static final int MAX_REFRESH = 100;
+
+    private static class Edge {
+        private long user;
+        private long used;
+        private long owner;
+        private DependencyUsageType usage;
+        private int associationId;
+    }
+
+    private Integer environId;
+    private boolean loaded = false;
+    private Map<Long, String> names = new HashMap<Long, String>();
+    private Map<Long, List<Edge>> uses = new HashMap<Long, List<Edge>>();
+    private Map<Long, List<Edge>> usedBy = new HashMap<Long, List<Edge>>();
+    private Map<Long, List<Edge>> owned = new HashMap<Long, List<Edge>>();
+    private Map<Long, Set<Long>> ownedNames = new HashMap<Long, Set<Long>>();
+    private Map<Integer, List<Edge>> associationUsers = new HashMap<Integer, List<Edge>>();
+    private Set<Long> pending = new LinkedHashSet<Long>();
+    private Map<Long, Date> seen = new HashMap<Long, Date>();
+    private Date checked;
+    private long checkedAt;
+
+    public DependencyGraph(Integer environId) {
+        this.environId = environId;
+    }
+
+    public Integer getEnvironmentId() {
+        return environId;
+    }
+
+    public static long key(ComponentType type, int id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static ComponentType typeOf(long key) {
+        return ComponentType.values()[(int) (key >>> 32)];
+    }
+
+    private static int idOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Note that a component has been stored or deleted. Its dependencies
+     * are read again the next time the graph is refreshed.
+     */
+    public synchronized void componentChanged(ComponentType type, Integer id) {
+        if (loaded && id != null) {
+            pending.add(key(type, id));
+        }
+    }
+
+    /**
+     * Bring the graph up to date, reading it if this is the first use.
+     *
+     * @throws DAOException
+     */
+    public void refresh() throws DAOException {
+        refresh(false);
+    }
+
+    /**
+     * Bring the graph up to date, reading it if this is the first use.
+     *
+     * @param checkNow
+     *            true to look for the changes of other users now, e.g.
+     *            before a delete, rather than only once
+     *            {@link #CHECK_INTERVAL} has passed since the last look
+     * @throws DAOException
+     */
+    public synchronized void refresh(boolean checkNow) throws DAOException {
+        if (!loaded) {
+            load();
+            return;
+        }
+        for (long key : pending) {
+            refreshComponent(key);
+        }
+        pending.clear();
+        if (checkNow || System.currentTimeMillis() - checkedAt >= CHECK_INTERVAL) {
+            checkChanges();
+        }
+    }
+
+    private void load() throws DAOException {
+        long start = System.currentTimeMillis();
+        DependencyGraphTransfer trans = DAOFactoryHolder.getDAOFactory()
+                .getDependencyCheckerDAO().getDependencyGraph(environId);
+        names.clear();
+        uses.clear();
+        usedBy.clear();
+        owned.clear();
+        ownedNames.clear();
+        associationUsers.clear();
+        pending.clear();
+        seen.clear();
+        add(trans);
+        checked = trans.getTimestamp();
+        checkedAt = System.currentTimeMillis();
+        loaded = true;
+        logger.log(Level.FINE, "Read dependency graph of environment "
+                + environId + ": " + trans.getEdges().size() + " edges, "
+                + names.size() + " components in "
+                + (checkedAt - start) + " ms");
+    }
+
+    private void checkChanges() throws DAOException {
+        Date since = new Date(checked.getTime() - OVERLAP);
+        DependencyGraphTransfer trans = DAOFactoryHolder.getDAOFactory()
+                .getDependencyCheckerDAO().getDependencyChanges(environId, since);
+        // a component may have several changed rows, e.g. LR fields
+        Map<Long, Date> latest = new LinkedHashMap<Long, Date>();
+        for (DependencyGraphTransfer.Node node : trans.getChanges()) {
+            long key = key(node.getType(), node.getId());
+            Date modified = node.getModifyTime();
+            Date other = latest.get(key);
+            if (other == null || other.before(modified)) {
+                latest.put(key, modified);
+            }
+        }
+        Set<Long> changed = new LinkedHashSet<Long>();
+        for (Map.Entry<Long, Date> entry : latest.entrySet()) {
+            if (!entry.getValue().equals(seen.get(entry.getKey()))) {
+                seen.put(entry.getKey(), entry.getValue());
+                changed.add(entry.getKey());
+            }
+        }
+        if (changed.size() > MAX_REFRESH) {
+            load();
+            seen.putAll(latest);
+            return;
+        }
+        for (long key : changed) {
+            refreshComponent(key);
+        }
+        Iterator<Date> it = seen.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().before(since)) {
+                it.remove();
+            }
+        }
+        if (trans.getTimestamp() != null) {
+            checked = trans.getTimestamp();
+        }
+        checkedAt = System.currentTimeMillis();
+    }
+
+    private void refreshComponent(long key) throws DAOException {
+        List<Edge> edges = owned.remove(key);
+        if (edges != null) {
+            for (Edge edge : edges) {
+                unlink(uses, edge.user, edge);
+                unlink(usedBy, edge.used, edge);
+                if (edge.associationId > 0) {
+                    unlink(associationUsers, edge.associationId, edge);
+                }
+            }
+        }
+        Set<Long> nodes = ownedNames.remove(key);
+        if (nodes != null) {
+            for (long node : nodes) {
+                names.remove(node);
+            }
+        }
+        add(DAOFactoryHolder.getDAOFactory().getDependencyCheckerDAO()
+                .getDependencyGraph(environId, typeOf(key), idOf(key)));
+    }
+
+    private void add(DependencyGraphTransfer trans) {
+        for (DependencyGraphTransfer.Node node : trans.getComponents()) {
+            long key = key(node.getType(), node.getId());
+            names.put(key, node.getName());
+            long owner = node.getType() == ComponentType.LogicalRecordField ?
+                key(ComponentType.LogicalRecord, node.getOwnerId()) : key;
+            link(ownedNames, owner, key);
+        }
+        for (DependencyEdgeTransfer edgeTrans : trans.getEdges()) {
+            Edge edge = new Edge();
+            edge.user = key(edgeTrans.getUserType(), edgeTrans.getUserId());
+            edge.used = key(edgeTrans.getUsedType(), edgeTrans.getUsedId());
+            edge.owner = key(edgeTrans.getOwnerType(), edgeTrans.getOwnerId());
+            edge.usage = edgeTrans.getUsage();
+            edge.associationId = edgeTrans.getAssociationId() == null ? 0 : edgeTrans.getAssociationId();
+            link(uses, edge.user, edge);
+            link(usedBy, edge.used, edge);
+            link(owned, edge.owner, edge);
+            if (edge.associationId > 0) {
+                link(associationUsers, edge.associationId, edge);
+            }
+        }
+    }
+
+    private static <K, V> void link(Map<K, List<V>> map, K key, V value) {
+        List<V> list = map.get(key);
+        if (list == null) {
+            list = new ArrayList<V>(4);
+            map.put(key, list);
+        }
+        list.add(value);
+    }
+
+    private static void link(Map<Long, Set<Long>> map, long key, long value) {
+        Set<Long> set = map.get(key);
+        if (set == null) {
+            set = new HashSet<Long>();
+            map.put(key, set);
+        }
+        set.add(value);
+    }
+
+    private static <K> void unlink(Map<K, List<Edge>> map, K key, Edge edge) {
+        List<Edge> list = map.get(key);
+        if (list != null) {
+            list.remove(edge);
+            if (list.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private List<Edge> getUses(long key) {
+        List<Edge> edges = uses.get(key);
+        return edges == null ? Collections.<Edge>emptyList() : edges;
+    }
+
+    private List<Edge> getUsedBy(long key) {
+        List<Edge> edges = usedBy.get(key);
+        return edges == null ? Collections.<Edge>emptyList() : edges;
+    }
+
+    /**
+     * @return true if any of the components is used by another component,
+     *         not counting the fields of a Logical Record.
+     */
+    public synchronized boolean isUsed(ComponentType type, Collection<Integer> ids) {
+        return isUsed(type, ids, null);
+    }
+
+    /**
+     * @param userType
+     *            the type of user to look for, or null for any
+     * @return true if any of the components is used by a component of the
+     *         user type, not counting the fields of a Logical Record.
+     */
+    public synchronized boolean isUsed(ComponentType type,
+            Collection<Integer> ids, ComponentType userType) {
+        for (Integer id : ids) {
+            for (Edge edge : getUsedBy(key(type, id))) {
+                ComponentType edgeUser = typeOf(edge.user);
+                if (edgeUser == ComponentType.LogicalRecordField && edge.owner == edge.used) {
+                    continue;
+                }
+                if (userType == null || edgeUser == userType) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if any of the LR/LF associations is used by a Lookup Path
+     *         or a View.
+     */
+    public synchronized boolean isAssociationUsed(Collection<Integer> associationIds) {
+        for (Integer id : associationIds) {
+            if (associationUsers.containsKey(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the components related to a component, in the form returned by
+     * {@link com.ibm.safr.we.data.dao.DependencyCheckerDAO#getDependentComponents(ComponentType, Integer, Integer, boolean)}
+     * and grouped by type and usage.
+     * <p>
+     * A View shows the components it uses and a View Folder those of its
+     * Views. Any other component shows the components which use it and those
+     * it uses. If indirect dependencies are asked for, the components reached
+     * through those are added with a usage of none.
+     */
+    public synchronized Map<ComponentType, Map<DependencyUsageType, List<DependentComponentTransfer>>> getDependentComponents(
+            ComponentType type, Integer id, boolean directDepsOnly) {
+        long root = key(type, id);
+        Map<ComponentType, Map<DependencyUsageType, Set<Long>>> found =
+            new HashMap<ComponentType, Map<DependencyUsageType, Set<Long>>>();
+        Set<Long> placed = new HashSet<Long>();
+        placed.add(root);
+
+        if (type == ComponentType.ViewFolder) {
+            List<Long> views = new ArrayList<Long>();
+            for (Edge edge : getUsedBy(root)) {
+                views.add(edge.user);
+                put(found, placed, edge.user, DependencyUsageType.NONE);
+            }
+            for (long view : views) {
+                addUses(view, directDepsOnly, found, placed);
+            }
+            found.remove(ComponentType.ViewFolder);
+        } else if (type == ComponentType.View) {
+            addUses(root, directDepsOnly, found, placed);
+        } else {
+            addUsers(root, directDepsOnly, found, placed);
+            addUses(root, directDepsOnly, found, placed);
+        }
+        return toTransfers(found);
+    }
+
+    /**
+     * Get every component a View needs, directly or through the components
+     * it uses, e.g. the Logical Files of its source Logical Records and their
+     * Physical Files. Fields, Views and View Folders are not returned.
+     */
+    public synchronized Map<ComponentType, List<DependentComponentTransfer>> getUsedComponents(
+            ComponentType type, Integer id) {
+        long root = key(type, id);
+        Map<ComponentType, Map<DependencyUsageType, Set<Long>>> found =
+            new HashMap<ComponentType, Map<DependencyUsageType, Set<Long>>>();
+        Set<Long> placed = new HashSet<Long>();
+        placed.add(root);
+        addUses(root, false, found, placed);
+        found.remove(ComponentType.LogicalRecordField);
+        found.remove(ComponentType.View);
+        found.remove(ComponentType.ViewFolder);
+
+        Map<ComponentType, List<DependentComponentTransfer>> result =
+            new LinkedHashMap<ComponentType, List<DependentComponentTransfer>>();
+        for (Map.Entry<ComponentType, Map<DependencyUsageType, List<DependentComponentTransfer>>> entry :
+            toTransfers(found).entrySet()) {
+            List<DependentComponentTransfer> list = new ArrayList<DependentComponentTransfer>();
+            for (List<DependentComponentTransfer> usageList : entry.getValue().values()) {
+                list.addAll(usageList);
+            }
+            result.put(entry.getKey(), list);
+        }
+        return result;
+    }
+
+    private void addUses(long root, boolean directDepsOnly,
+            Map<ComponentType, Map<DependencyUsageType, Set<Long>>> found, Set<Long> placed) {
+        LinkedList<Long> queue = new LinkedList<Long>();
+        for (Edge edge : getUses(root)) {
+            put(found, placed, edge.used, edge.usage);
+            queue.add(edge.used);
+        }
+        if (directDepsOnly) {
+            return;
+        }
+        Set<Long> visited = new HashSet<Long>(queue);
+        while (!queue.isEmpty()) {
+            long node = queue.removeFirst();
+            ComponentType nodeType = typeOf(node);
+            if (nodeType == ComponentType.View || nodeType == ComponentType.ViewFolder) {
+                continue;
+            }
+            for (Edge edge : getUses(node)) {
+                if (visited.add(edge.used)) {
+                    put(found, placed, edge.used, DependencyUsageType.NONE);
+                    queue.add(edge.used);
+                }
+            }
+        }
+    }
+
+    private void addUsers(long root, boolean directDepsOnly,
+            Map<ComponentType, Map<DependencyUsageType, Set<Long>>> found, Set<Long> placed) {
+        LinkedList<Long> queue = new LinkedList<Long>();
+        for (Edge edge : getUsedBy(root)) {
+            if (edge.owner == root && typeOf(edge.user) == ComponentType.LogicalRecordField) {
+                // the fields of a Logical Record, their users are indirect
+                queue.add(edge.user);
+                continue;
+            }
+            put(found, placed, edge.user, edge.usage);
+            queue.add(edge.user);
+        }
+        if (directDepsOnly) {
+            return;
+        }
+        Set<Long> visited = new HashSet<Long>(queue);
+        while (!queue.isEmpty()) {
+            long node = queue.removeFirst();
+            for (Edge edge : getUsedBy(node)) {
+                if (typeOf(edge.user) == ComponentType.LogicalRecordField) {
+                    continue;
+                }
+                if (visited.add(edge.user)) {
+                    put(found, placed, edge.user, DependencyUsageType.NONE);
+                    queue.add(edge.user);
+                }
+            }
+        }
+    }
+
+    private void put(Map<ComponentType, Map<DependencyUsageType, Set<Long>>> found,
+            Set<Long> placed, long node, DependencyUsageType usage) {
+        if (placed.contains(node) && usage == DependencyUsageType.NONE) {
+            return;
+        }
+        placed.add(node);
+        ComponentType type = typeOf(node);
+        Map<DependencyUsageType, Set<Long>> usages = found.get(type);
+        if (usages == null) {
+            usages = new HashMap<DependencyUsageType, Set<Long>>();
+            found.put(type, usages);
+        }
+        Set<Long> nodes = usages.get(usage);
+        if (nodes == null) {
+            nodes = new HashSet<Long>();
+            usages.put(usage, nodes);
+        }
+        nodes.add(node);
+    }
+
+    // ordered by type and usage label and then id, as the stored procedures
+    private Map<ComponentType, Map<DependencyUsageType, List<DependentComponentTransfer>>> toTransfers(
+            Map<ComponentType, Map<DependencyUsageType, Set<Long>>> found) {
+        Map<ComponentType, Map<DependencyUsageType, List<DependentComponentTransfer>>> result =
+            new LinkedHashMap<ComponentType, Map<DependencyUsageType, List<DependentComponentTransfer>>>();
+        Map<String, ComponentType> types = new TreeMap<String, ComponentType>(String.CASE_INSENSITIVE_ORDER);
+        for (ComponentType type : found.keySet()) {
+            types.put(type.getLabel(), type);
+        }
+        for (ComponentType type : types.values()) {
+            Map<String, DependencyUsageType> usageTypes = new TreeMap<String, DependencyUsageType>(String.CASE_INSENSITIVE_ORDER);
+            for (DependencyUsageType usage : found.get(type).keySet()) {
+                usageTypes.put(usage.getLabel(), usage);
+            }
+            Map<DependencyUsageType, List<DependentComponentTransfer>> usages =
+                new LinkedHashMap<DependencyUsageType, List<DependentComponentTransfer>>();
+            for (DependencyUsageType usage : usageTypes.values()) {
+                List<DependentComponentTransfer> list = new ArrayList<DependentComponentTransfer>();
+                for (long node : found.get(type).get(usage)) {
+                    DependentComponentTransfer trans = new DependentComponentTransfer();
+                    trans.setId(idOf(node));
+                    String name = names.get(node);
+                    trans.setName(name == null ? "" : name);
+                    list.add(trans);
+                }
+                Collections.sort(list, new Comparator<DependentComponentTransfer>() {
+                    public int compare(DependentComponentTransfer o1, DependentComponentTransfer o2) {
+                        return o1.getId().compareTo(o2.getId());
+                    }
+                });
+                usages.put(usage, list);
+            }
+            result.put(type, usages);
+        }
+        return result;
+    }
+}
@@ -495,15 +495,8 @@ public class LRField extends SAFRField {
      */
     public boolean isDescendant(LRField chkFld) {
         Integer parent = getRedefine();
-        List<LRField> flds = logicalRecord.getLRFields().getActiveItems();        
         while (parent != null && parent != 0 && parent != -1) {
-            LRField parFld = null;
-            for (LRField fld : flds) {
-                if (fld.getId().equals(parent)) {
-                    parFld = fld;
-                    break;
-                }
-            }
+            LRField parFld = logicalRecord.findLRField(parent);
             if (parFld == null) {
                 return false;
             }
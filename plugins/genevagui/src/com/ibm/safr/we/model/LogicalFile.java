@@ -388,6 +388,8 @@ public class LogicalFile extends SAFREnvironmentalComponent {
 			if (success) {
 				// End Transaction.
 				DAOFactoryHolder.getDAOFactory().getDAOUOW().end();
+				SAFRApplication.getSAFRFactory().componentChanged(
+						ComponentType.LogicalFile, getId(), getEnvironmentId());
 
 			} else {
 				// Rollback the transaction.
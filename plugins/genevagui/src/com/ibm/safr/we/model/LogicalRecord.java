@@ -19,6 +19,7 @@ package com.ibm.safr.we.model;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -195,13 +196,17 @@ public class LogicalRecord extends SAFRActivatedComponent {
 			}
 		}
 
-		dependentLookups = DAOFactoryHolder.getDAOFactory()
-				.getLogicalRecordDAO().getAssociatedLFLookupDependencies(
-						getEnvironmentId(), LRLFAssociationIds);
+		// only ask for the details if an association is used at all
+		if (SAFRApplication.getSAFRFactory().getDependencyGraph(getEnvironmentId(), true)
+				.isAssociationUsed(LRLFAssociationIds)) {
+			dependentLookups = DAOFactoryHolder.getDAOFactory()
+					.getLogicalRecordDAO().getAssociatedLFLookupDependencies(
+							getEnvironmentId(), LRLFAssociationIds);
 
-		dependentViews = DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO()
-				.getAssociatedLFViewDependencies(getEnvironmentId(),
-						LRLFAssociationIds);
+			dependentViews = DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO()
+					.getAssociatedLFViewDependencies(getEnvironmentId(),
+							LRLFAssociationIds);
+		}
 
 		if (!dependentLookups.isEmpty() || !dependentViews.isEmpty()) {
 			Map<Integer, List<List<DependentComponentTransfer>>> dependentComponentMap = new HashMap<Integer, List<List<DependentComponentTransfer>>>();
@@ -467,17 +472,13 @@ public class LogicalRecord extends SAFRActivatedComponent {
 	}
 
     public LRField findLRField(Integer id) {
-        if (id == null || id == 0) {
+        // a redefine of 0 means no parent and -1 a field with no position
+        if (id == null || id <= 0) {
             return null;
         }
         else {
-            for (LRField fld : lrFields.getActiveItems()) {
-                if (fld.getId().equals(id)) {
-                    return fld;
-                }
-            }
+            return lrFields.findById(id);
         }
-        return null;
     }
 	
 
@@ -736,16 +737,25 @@ public class LogicalRecord extends SAFRActivatedComponent {
 
 		List<LRField> deletedLrFieldsList = new ArrayList<LRField>();
 
+		// only ask for the details of components which use this LR or field
+		DependencyGraph graph = SAFRApplication.getSAFRFactory().getDependencyGraph(getEnvironmentId(), true);
+		boolean lookupsUseLR = graph.isUsed(ComponentType.LogicalRecord,
+				Collections.singletonList(getId()), ComponentType.LookupPath);
+
 		boolean fieldsHaveDependencies = false;
 		for (LRField selectedField : selectedLrFieldsList) {
 			boolean fieldHasDependency = false;
 			List<Integer>  fieldsToBeDeleted = new ArrayList<Integer>();
 			fieldsToBeDeleted.add(selectedField.getId());
 			// Lookups dependencies
-			dependentLookupComps = DAOFactoryHolder.getDAOFactory()
-					.getLogicalRecordDAO().getFieldLookupDependencies(
-							getEnvironmentId(),
-							fieldsToBeDeleted);
+			if (lookupsUseLR) {
+				dependentLookupComps = DAOFactoryHolder.getDAOFactory()
+						.getLogicalRecordDAO().getFieldLookupDependencies(
+								getEnvironmentId(),
+								fieldsToBeDeleted);
+			} else {
+				dependentLookupComps = new HashMap<Integer, List<DependentComponentTransfer>>();
+			}
 			
 			if (!dependentLookupComps.isEmpty()) {
 				// show the field label
@@ -770,10 +780,14 @@ public class LogicalRecord extends SAFRActivatedComponent {
 
 			// views dependencies
 			Map<Integer, List<DependentComponentTransfer>> dependentViewComps;
-			dependentViewComps = DAOFactoryHolder.getDAOFactory()
-					.getLogicalRecordDAO().getFieldViewDependencies(
-							getEnvironmentId(),
-							fieldsToBeDeleted);
+			if (graph.isUsed(ComponentType.LogicalRecordField, fieldsToBeDeleted, ComponentType.View)) {
+				dependentViewComps = DAOFactoryHolder.getDAOFactory()
+						.getLogicalRecordDAO().getFieldViewDependencies(
+								getEnvironmentId(),
+								fieldsToBeDeleted);
+			} else {
+				dependentViewComps = new HashMap<Integer, List<DependentComponentTransfer>>();
+			}
 			
 			allowUniqueMap.clear();
 			if (!dependentViewComps.isEmpty()) {
@@ -975,6 +989,7 @@ public class LogicalRecord extends SAFRActivatedComponent {
 			throw new NullPointerException("LR Fields cannot be null");
 		}
 		Map<Integer,LRField> startPositions = new HashMap<Integer,LRField>();
+		Map<Integer,LRField> firstChildren = null;
 		boolean firstField = true;
 		for (LRField field : selectedLrFieldsList) {
 
@@ -1018,14 +1033,17 @@ public class LogicalRecord extends SAFRActivatedComponent {
             } else {
                 if (parFld == null) {
                     List<LRField> actItem = getLRFields().getActiveItems();
-                    int index = actItem.indexOf(field);
-                    if (index == 0) {
+                    if (actItem.get(0).equals(field)) {
                         field.setPositionSimple(1);
                         field.markModified();
                     }
                 }
                 else {
-                    if (isFirstChild(parFld, field)) {
+                    if (firstChildren == null) {
+                        firstChildren = getFirstChildren();
+                    }
+                    LRField firstChild = firstChildren.get(parFld.getId());
+                    if (firstChild.getId().equals(field.getId())) {
                         field.setPositionSimple(parFld.getPosition());
                         field.markModified();
                     }
@@ -1036,8 +1054,43 @@ public class LogicalRecord extends SAFRActivatedComponent {
 		markModified();
 	}
 
-	private boolean isFirstChild(LRField parent, LRField child) {
-	    return parent.getChildren().get(0).getId().equals(child.getId());
+	/**
+	 * @return the first field redefining each field, by the redefined field's id.
+	 */
+	private Map<Integer, LRField> getFirstChildren() {
+	    Map<Integer, LRField> firstChildren = new HashMap<Integer, LRField>();
+	    for (LRField fld : lrFields.getActiveItems()) {
+	        Integer parent = fld.getRedefine();
+	        if (parent != null && !firstChildren.containsKey(parent)) {
+	            firstChildren.put(parent, fld);
+	        }
+	    }
+	    return firstChildren;
+	}
+
+	/**
+	 * Returns a field with all the fields which redefine it, directly or
+	 * through other fields, in list order. Recalculating these is enough
+	 * after a change within the field.
+	 * 
+	 * @param field
+	 *            the top field of the redefine subtree.
+	 * @return the field followed by its descendants.
+	 */
+	public List<LRField> getRedefineSubtree(LRField field) {
+	    List<LRField> subtree = new ArrayList<LRField>();
+	    subtree.add(field);
+	    Set<Integer> ids = new HashSet<Integer>();
+	    ids.add(field.getId());
+	    List<LRField> activeFields = lrFields.getActiveItems();
+	    for (int i = activeFields.indexOf(field) + 1; i < activeFields.size(); i++) {
+	        LRField fld = activeFields.get(i);
+	        if (fld.getRedefine() != null && ids.contains(fld.getRedefine())) {
+	            subtree.add(fld);
+	            ids.add(fld.getId());
+	        }
+	    }
+	    return subtree;
 	}
 	/**
 	 * Resets index keys (start effective and end effective) of LR Fields. Only
@@ -1210,6 +1263,8 @@ public class LogicalRecord extends SAFRActivatedComponent {
 			if (success) {
 				// End Transaction.
 				DAOFactoryHolder.getDAOFactory().getDAOUOW().end();
+				SAFRApplication.getSAFRFactory().componentChanged(
+						ComponentType.LogicalRecord, getId(), getEnvironmentId());
 
 			} else {
 				// Rollback the transaction.
@@ -1479,10 +1534,15 @@ public class LogicalRecord extends SAFRActivatedComponent {
 				// message
 				Map<Integer, Integer> allowUniqueMap = new HashMap<Integer, Integer>();
 				Map<Integer, List<DependentComponentTransfer>> dependentLookupComps;
+				DependencyGraph graph = SAFRApplication.getSAFRFactory().getDependencyGraph(getEnvironmentId(), true);
 
 				// Lookups dependencies
-				dependentLookupComps = DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO().
-				    getFieldLookupDependencies(getEnvironmentId(), fieldsToBeDeleted);
+				if (graph.isUsed(ComponentType.LogicalRecord, Collections.singletonList(this.id), ComponentType.LookupPath)) {
+					dependentLookupComps = DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO().
+					    getFieldLookupDependencies(getEnvironmentId(), fieldsToBeDeleted);
+				} else {
+					dependentLookupComps = new HashMap<Integer, List<DependentComponentTransfer>>();
+				}
 				if (!dependentLookupComps.isEmpty()) {
 					dependencies += "LOOKUP PATHS :" + SAFRUtilities.LINEBREAK;
 					List<DependentComponentTransfer> depCompTransfers;
@@ -1505,8 +1565,12 @@ public class LogicalRecord extends SAFRActivatedComponent {
 
 				// views dependencies
 				Map<Integer, List<DependentComponentTransfer>> dependentViewComps;
-				dependentViewComps = DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO().
-				    getFieldViewDependencies(getEnvironmentId(), fieldsToBeDeleted);
+				if (graph.isUsed(ComponentType.LogicalRecordField, fieldsToBeDeleted, ComponentType.View)) {
+					dependentViewComps = DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO().
+					    getFieldViewDependencies(getEnvironmentId(), fieldsToBeDeleted);
+				} else {
+					dependentViewComps = new HashMap<Integer, List<DependentComponentTransfer>>();
+				}
 				allowUniqueMap.clear();
 				if (!dependentViewComps.isEmpty()) {
 					dependencies += "VIEWS :" + SAFRUtilities.LINEBREAK;
@@ -1659,8 +1723,9 @@ public class LogicalRecord extends SAFRActivatedComponent {
 				}
 			}
 			// check for LR dependency
-			// check for only saved LRs.
-			if (this.id > 0) {
+			// check for only saved LRs which are used at all.
+			if (this.id > 0 && SAFRApplication.getSAFRFactory().getDependencyGraph(getEnvironmentId(), true)
+					.isUsed(ComponentType.LogicalRecord, Collections.singletonList(this.id))) {
 				String lrDependencies = "";
 				List<DependentComponentTransfer> dependentComps;
 				Map<Integer, String> depsIdName = new HashMap<Integer, String>();
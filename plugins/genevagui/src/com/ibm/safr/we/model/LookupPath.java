@@ -589,6 +589,8 @@ public class LookupPath extends SAFRActivatedComponent {
 			if (success) {
 				// End Transaction.
 				DAOFactoryHolder.getDAOFactory().getDAOUOW().end();
+				SAFRApplication.getSAFRFactory().componentChanged(
+						ComponentType.LookupPath, getId(), getEnvironmentId());
 
 			} else {
 				// Rollback the transaction.
@@ -681,12 +681,12 @@ public class LookupPathStep extends SAFREnvironmentalComponent {
 	    ComponentAssociation lrlfAssoc = getTargetLRLFAssociation();
         if (lrlfAssoc != null) {
             Integer targetLF = lrlfAssoc.getAssociatedComponentIdNum();
-            LogicalFile LF = SAFRApplication.getSAFRFactory().getLogicalFile(targetLF, this.getEnvironment().getId());
+            LogicalFile LF = SAFRApplication.getSAFRFactory().getCachedLogicalFile(targetLF, this.getEnvironment().getId());
             SAFRList<FileAssociation> pfAssocs = LF.getPhysicalFileAssociations();
             for(FileAssociation lfpfAssoc : pfAssocs){
                 if(token == false)
                 {
-                    PhysicalFile pf = SAFRApplication.getSAFRFactory().getPhysicalFile(lfpfAssoc.getAssociatedComponentIdNum(), this.getEnvironment().getId());
+                    PhysicalFile pf = SAFRApplication.getSAFRFactory().getCachedPhysicalFile(lfpfAssoc.getAssociatedComponentIdNum(), this.getEnvironment().getId());
                     Code pfType = pf.getFileTypeCode();
                     if(pfType.getDescription().equals("Token")) {
                         token = true;
@@ -600,6 +600,8 @@ public class PhysicalFile extends SAFREnvironmentalComponent {
 			trans = DAOFactoryHolder.getDAOFactory().getPhysicalFileDAO()
 					.persistPhysicalFile(trans);
 			setObjectData(trans);
+			SAFRApplication.getSAFRFactory().componentChanged(
+					ComponentType.PhysicalFile, getId(), getEnvironmentId());
 			
 	        SAFRApplication.getModelCount().incCount(this.getClass(), 1);       
 			
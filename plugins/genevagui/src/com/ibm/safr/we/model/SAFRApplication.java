@@ -79,6 +79,7 @@ public class SAFRApplication extends SAFRObject {
 			throw new NullPointerException();
 		}
 		userSession = uSession;
+		getSAFRFactory().getComponentCache().clear();
 
 		Group group = userSession.getGroup();
 		User currentUser = userSession.getUser();
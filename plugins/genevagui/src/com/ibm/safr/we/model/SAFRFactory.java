@@ -19,6 +19,7 @@ package com.ibm.safr.we.model;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +49,7 @@ import com.ibm.safr.we.data.transfer.PhysicalFileTransfer;
 import com.ibm.safr.we.data.transfer.UserExitRoutineTransfer;
 import com.ibm.safr.we.data.transfer.UserTransfer;
 import com.ibm.safr.we.data.transfer.ViewFolderTransfer;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
 import com.ibm.safr.we.data.transfer.ViewTransfer;
 import com.ibm.safr.we.exceptions.SAFRDependencyException;
 import com.ibm.safr.we.exceptions.SAFRException;
@@ -71,10 +73,143 @@ public class SAFRFactory extends SAFRObject {
     
 	private Map<String, CodeSet> codeSets = null; // lazily initialized
 	private Map<Integer, UserExitRoutine> userExitRoutines = new HashMap<Integer, UserExitRoutine>();
+	private ComponentCache componentCache = new ComponentCache();
+	private Map<Integer, DependencyGraph> dependencyGraphs = new HashMap<Integer, DependencyGraph>();
+	private Map<Integer, SymbolTable> symbolTables = new HashMap<Integer, SymbolTable>();
 
 	protected SAFRFactory() {
 	} // package private
 
+	/**
+	 * Returns the cache of components read by the read only getters, e.g.
+	 * {@link #getCachedPhysicalFile(Integer, Integer)}. Components from the
+	 * cache are shared and must not be changed.
+	 */
+	public ComponentCache getComponentCache() {
+		return componentCache;
+	}
+
+	/**
+	 * Drops cached components which may be out of date because the specified
+	 * component has been stored or deleted. Storing a view only affects that
+	 * view. Any other component may change the dependencies or the active
+	 * state of others, so the whole environment is dropped. The dependencies
+	 * of the component are read again the next time the dependency graph of
+	 * the environment is used.
+	 * 
+	 * @param type
+	 *            the type of the component
+	 * @param id
+	 *            the component id
+	 * @param environId
+	 *            the environment containing the component
+	 */
+	public void componentChanged(ComponentType type, Integer id,
+			Integer environId) {
+		if (type == ComponentType.View) {
+			componentCache.remove(type, environId, id);
+		} else {
+			componentCache.removeEnvironment(environId);
+		}
+		DependencyGraph graph;
+		synchronized (dependencyGraphs) {
+			graph = dependencyGraphs.get(environId);
+		}
+		if (graph != null) {
+			graph.componentChanged(type, id);
+		}
+		SymbolTable table;
+		synchronized (symbolTables) {
+			table = symbolTables.get(environId);
+		}
+		if (table != null) {
+			table.componentChanged(type, id);
+		}
+	}
+
+	/**
+	 * Drops all cached components of the environment, e.g. after components
+	 * have been changed directly through the DAOs.
+	 * 
+	 * @param environId
+	 *            the environment id
+	 */
+	public void environmentChanged(Integer environId) {
+		componentCache.removeEnvironment(environId);
+		synchronized (dependencyGraphs) {
+			dependencyGraphs.remove(environId);
+		}
+		synchronized (symbolTables) {
+			symbolTables.remove(environId);
+		}
+	}
+
+	/**
+	 * Returns the dependency graph of an environment, reading it the first
+	 * time it is asked for and bringing it up to date with the components
+	 * stored since.
+	 * 
+	 * @param environId
+	 *            the environment id
+	 * @return the up to date graph
+	 * @throws DAOException
+	 */
+	public DependencyGraph getDependencyGraph(Integer environId)
+			throws DAOException {
+		return getDependencyGraph(environId, false);
+	}
+
+	/**
+	 * Returns the dependency graph of an environment as
+	 * {@link #getDependencyGraph(Integer)} does, optionally looking for the
+	 * changes of other users now rather than at most every
+	 * {@link DependencyGraph#CHECK_INTERVAL} milliseconds. Check now before
+	 * deleting or inactivating anything on the strength of the graph.
+	 * 
+	 * @param environId
+	 *            the environment id
+	 * @param checkNow
+	 *            true to look for the changes of other users now
+	 * @return the up to date graph
+	 * @throws DAOException
+	 */
+	public DependencyGraph getDependencyGraph(Integer environId,
+			boolean checkNow) throws DAOException {
+		DependencyGraph graph;
+		synchronized (dependencyGraphs) {
+			graph = dependencyGraphs.get(environId);
+			if (graph == null) {
+				graph = new DependencyGraph(environId);
+				dependencyGraphs.put(environId, graph);
+			}
+		}
+		graph.refresh(checkNow);
+		return graph;
+	}
+
+	/**
+	 * Returns the symbol table of an environment, shared by the logic text
+	 * editors, dropping whatever other users have changed since it was last
+	 * checked.
+	 * 
+	 * @param environId
+	 *            the environment id
+	 * @return the table
+	 * @throws DAOException
+	 */
+	public SymbolTable getSymbolTable(Integer environId) throws DAOException {
+		SymbolTable table;
+		synchronized (symbolTables) {
+			table = symbolTables.get(environId);
+			if (table == null) {
+				table = new SymbolTable(environId);
+				symbolTables.put(environId, table);
+			}
+		}
+		table.refresh();
+		return table;
+	}
+
 	/**
 	 * This method creates new User.
 	 * 
@@ -497,6 +632,35 @@ public class SAFRFactory extends SAFRObject {
 		return physicalFile;
 	}
 
+	/**
+	 * Gets the specified Physical File from the specified environment to be
+	 * read but not changed, e.g. by activation checks or comparisons. The
+	 * Physical File is shared through the component cache until it is stored
+	 * or deleted. It is loaded completely before it is shared, so it may be
+	 * read on any thread.
+	 * 
+	 * @param id
+	 *            : the Id of the Physical file to be searched.
+	 * @param environId
+	 *            : the Id of the Environment to be searched.
+	 * @return the shared physical file.
+	 * @throws SAFRNotFoundException
+	 *             If PhysicalFile with the specified Id is not present in the
+	 *             database.
+	 * @throws SAFRException
+	 */
+	public PhysicalFile getCachedPhysicalFile(Integer id, Integer environId)
+			throws SAFRException {
+		PhysicalFile physicalFile = (PhysicalFile) componentCache.get(
+				ComponentType.PhysicalFile, environId, id);
+		if (physicalFile == null) {
+			physicalFile = getPhysicalFile(id, environId);
+			physicalFile.getUserExitRoutine(); // the only part read lazily
+			componentCache.put(ComponentType.PhysicalFile, environId, id, physicalFile);
+		}
+		return physicalFile;
+	}
+
 	public PhysicalFile getPhysicalFile(String name) throws SAFRException {
 		return getPhysicalFile(name, getCurrentEnvironmentId());
 	}
@@ -698,6 +862,34 @@ public class SAFRFactory extends SAFRObject {
 		return logicalFile;
 	}
 
+	/**
+	 * Gets the specified Logical File from the specified Environment to be
+	 * read but not changed, e.g. by activation checks or comparisons. The
+	 * Logical File is shared through the component cache until it is stored
+	 * or deleted. It is loaded completely before it is shared, so it may be
+	 * read on any thread.
+	 * 
+	 * @param id
+	 *            of the Logical File to get.
+	 * @param environId
+	 *            of the Environment which contains the Logical File.
+	 * @return the shared Logical File.
+	 * @throws SAFRNotFoundException
+	 *             if the Logical File with the specified ID is not present in
+	 *             database.
+	 * @throws SAFRException
+	 */
+	public LogicalFile getCachedLogicalFile(Integer id, Integer environId)
+			throws SAFRException {
+		LogicalFile logicalFile = (LogicalFile) componentCache.get(
+				ComponentType.LogicalFile, environId, id);
+		if (logicalFile == null) {
+			logicalFile = getLogicalFile(id, environId);
+			componentCache.put(ComponentType.LogicalFile, environId, id, logicalFile);
+		}
+		return logicalFile;
+	}
+
 	// public LogicalFile getLogicalFile(String name, Integer environId) {
 	// 	LogicalFile logicalFile = null;
 	// 	LogicalFileTransfer logicalFileTransfer = null;
@@ -1147,6 +1339,22 @@ public class SAFRFactory extends SAFRObject {
 		return getView(id, getCurrentEnvironmentId());
 	}
 
+	/**
+	 * Get a View from a View graph already read from the database, e.g. by
+	 * {@link com.ibm.safr.we.data.dao.ViewDAO#getViewGraphs(List, Integer)}.
+	 * 
+	 * @param graph
+	 *            the View and its children
+	 * @return the View object
+	 * @throws SAFRException
+	 *             In case there are inactive dependencies and the view cannot
+	 *             be loaded, a subtype {@link SAFRDependencyException} will be
+	 *             thrown with a list of inactive components.
+	 */
+	public View getView(ViewGraphTransfer graph) throws SAFRException {
+		return new View(graph);
+	}
+
 	/**
 	 * Get the existing View with the specified ID and environment ID.
 	 * 
@@ -1164,15 +1372,15 @@ public class SAFRFactory extends SAFRObject {
 	 */
 	public View getView(Integer id, Integer environId) throws SAFRException	{
 		View view = null;
-		ViewTransfer viewTransfer = null;
-		viewTransfer = DAOFactoryHolder.getDAOFactory().getViewDAO().getView(
+		ViewGraphTransfer viewGraph = null;
+		viewGraph = DAOFactoryHolder.getDAOFactory().getViewDAO().getViewGraph(
 				id, environId);
 
-		if (viewTransfer == null) {
+		if (viewGraph == null) {
 			throw new SAFRNotFoundException("View '" + id
 					+ "' not found in Environment '" + environId + "'.", id);
 		} else {
-			view = new View(viewTransfer);
+			view = new View(viewGraph);
 		}
 
 		return view;
@@ -1289,6 +1497,7 @@ public class SAFRFactory extends SAFRObject {
         if (SAFRApplication.getUserSession().getEditRights(ComponentType.View, viewId) == 
             EditRights.ReadModifyDelete || migration) {	    
 			DAOFactoryHolder.getDAOFactory().getViewDAO().deleteView(viewId, environId);
+			componentChanged(ComponentType.View, viewId, environId);
 		} else {
 			throw new SAFRException("The user is not authorized to perform this deletion.");
 		}
@@ -1403,6 +1612,8 @@ public class SAFRFactory extends SAFRObject {
 			DAOFactoryHolder.getDAOFactory().getPhysicalFileDAO()
 					.removePhysicalFile(physicalFileId,
 							getCurrentEnvironmentId());
+			componentChanged(ComponentType.PhysicalFile, physicalFileId,
+					getCurrentEnvironmentId());
 
 		} else {
 			throw new SAFRException("The user is not authorized to perform this deletion.");
@@ -1433,6 +1644,8 @@ public class SAFRFactory extends SAFRObject {
     		} else {
     			DAOFactoryHolder.getDAOFactory().getLookupDAO().removeLookupPath(
     					lookupPathId, getCurrentEnvironmentId());
+    			componentChanged(ComponentType.LookupPath, lookupPathId,
+    					getCurrentEnvironmentId());
     		}
 		
 	    } else {
@@ -1535,24 +1748,28 @@ public class SAFRFactory extends SAFRObject {
             
 			Map<ComponentType, List<DependentComponentTransfer>> dependencies = 
 			    new HashMap<ComponentType, List<DependentComponentTransfer>>();
-			List<DependentComponentTransfer> lookupDependencies = DAOFactoryHolder
-					.getDAOFactory().getLogicalRecordDAO()
-					.getLRLookupDependencies(getCurrentEnvironmentId(),
-							logicalRecordId, new ArrayList<Integer>());
-			if (lookupDependencies != null && lookupDependencies.size() > 0) {
-				dependencies.put(ComponentType.LookupPath, lookupDependencies);
-			}
-			List<Integer> lookupPathIds = new ArrayList<Integer>();
-			for (DependentComponentTransfer depComp : lookupDependencies) {
-				lookupPathIds.add(depComp.getId());
-			}
-			List<DependentComponentTransfer> viewDependencies = DAOFactoryHolder
-					.getDAOFactory().getLogicalRecordDAO()
-					.getLRViewDependencies(getCurrentEnvironmentId(),
-							logicalRecordId, lookupPathIds,
-							new ArrayList<Integer>());
-			if (viewDependencies != null && viewDependencies.size() > 0) {
-				dependencies.put(ComponentType.View, viewDependencies);
+			// only ask for the details if the LR is used at all
+			if (getDependencyGraph(getCurrentEnvironmentId(), true).isUsed(
+					ComponentType.LogicalRecord, Collections.singletonList(logicalRecordId))) {
+				List<DependentComponentTransfer> lookupDependencies = DAOFactoryHolder
+						.getDAOFactory().getLogicalRecordDAO()
+						.getLRLookupDependencies(getCurrentEnvironmentId(),
+								logicalRecordId, new ArrayList<Integer>());
+				if (lookupDependencies != null && lookupDependencies.size() > 0) {
+					dependencies.put(ComponentType.LookupPath, lookupDependencies);
+				}
+				List<Integer> lookupPathIds = new ArrayList<Integer>();
+				for (DependentComponentTransfer depComp : lookupDependencies) {
+					lookupPathIds.add(depComp.getId());
+				}
+				List<DependentComponentTransfer> viewDependencies = DAOFactoryHolder
+						.getDAOFactory().getLogicalRecordDAO()
+						.getLRViewDependencies(getCurrentEnvironmentId(),
+								logicalRecordId, lookupPathIds,
+								new ArrayList<Integer>());
+				if (viewDependencies != null && viewDependencies.size() > 0) {
+					dependencies.put(ComponentType.View, viewDependencies);
+				}
 			}
 
 			if (dependencies.size() > 0) {
@@ -1562,6 +1779,8 @@ public class SAFRFactory extends SAFRObject {
 				DAOFactoryHolder.getDAOFactory().getLogicalRecordDAO()
 						.removeLogicalRecord(logicalRecordId,
 								getCurrentEnvironmentId());
+				componentChanged(ComponentType.LogicalRecord, logicalRecordId,
+						getCurrentEnvironmentId());
 			}
 		} else {
 			throw new SAFRException(
@@ -1665,6 +1884,8 @@ public class SAFRFactory extends SAFRObject {
 					.getDAOFactory()
 					.getLogicalFileDAO()
 					.removeLogicalFile(logicalFileId, getCurrentEnvironmentId());
+			componentChanged(ComponentType.LogicalFile, logicalFileId,
+					getCurrentEnvironmentId());
 
 		} else {
 			throw new SAFRException(
@@ -1693,6 +1914,7 @@ public class SAFRFactory extends SAFRObject {
 		    SAFRApplication.getUserSession().isEnvironmentAdministrator(environmentId)) {
 			DAOFactoryHolder.getDAOFactory().getEnvironmentDAO()
 					.clearEnvironment(environmentId);
+			environmentChanged(environmentId);
 			// clear the data if the user is an environment admin and has admin
 			// permissions on the environment to be cleared.
 		} else {
@@ -1727,6 +1949,7 @@ public class SAFRFactory extends SAFRObject {
 			} else {
 				DAOFactoryHolder.getDAOFactory().getEnvironmentDAO()
 						.removeEnvironment(environmentId);
+				environmentChanged(environmentId);
 			}
 		} else {
 			throw new SAFRException(
@@ -19,10 +19,14 @@ package com.ibm.safr.we.model;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import com.ibm.safr.we.constants.SAFRPersistence;
+import com.ibm.safr.we.model.base.SAFRComponent;
 import com.ibm.safr.we.model.base.SAFRPersistentObject;
 
 /**
@@ -46,6 +50,69 @@ public class SAFRList<T extends SAFRPersistentObject> extends ArrayList<T>
 
 	private static final long serialVersionUID = 1; 
 
+	// The active items and an index of them by component id. Both are built
+	// on demand and kept until the list changes or an object is marked
+	// deleted, so the lookups in between don't scan the list. Items change
+	// their persistence and ids outside this list, so they are rebuilt
+	// rather than updated in place. Each is built completely before it is
+	// published, so a thread reading a shared model never sees one half
+	// built.
+	private transient volatile ActiveItems<T> active = null;
+
+	/**
+	 * The active items of the list as they were when it last changed.
+	 */
+	private static class ActiveItems<T> {
+		private final List<T> items;
+		private final int modCount;
+		private final int deletedStateChanges;
+		private volatile Index<T> index = null;
+
+		ActiveItems(List<T> items, int modCount, int deletedStateChanges) {
+			this.items = items;
+			this.modCount = modCount;
+			this.deletedStateChanges = deletedStateChanges;
+		}
+	}
+
+	/**
+	 * The active items by component id. Components which had no id yet when
+	 * it was built are kept aside, as they are given one when stored.
+	 */
+	private static class Index<T> {
+		private final Map<Integer, T> byId;
+		private final List<T> unassigned;
+
+		Index(List<T> items) {
+			Map<Integer, T> map = new HashMap<Integer, T>(items.size() * 2);
+			List<T> unassigned = new ArrayList<T>();
+			for (T item : items) {
+				Integer id = ((SAFRComponent) item).getId();
+				if (id == null || id == 0) {
+					unassigned.add(item);
+				} else {
+					map.put(id, item);
+				}
+			}
+			this.byId = map;
+			this.unassigned = unassigned;
+		}
+
+		/**
+		 * @return true if an item without an id when the index was built
+		 *         has been given one since.
+		 */
+		boolean idsAssigned() {
+			for (T item : unassigned) {
+				Integer id = ((SAFRComponent) item).getId();
+				if (id != null && id != 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
     public void removeAll() {
         T thatItem;
         Iterator<T> i = this.iterator();
@@ -99,21 +166,67 @@ public class SAFRList<T extends SAFRPersistentObject> extends ArrayList<T>
 
 	/**
 	 * Returns only the SAFRPersistentObjects that are not marked for deletion.
-	 * That is, those that are new, old or modified.
+	 * That is, those that are new, old or modified. The list returned is
+	 * shared between callers so it can't be changed.
 	 * 
 	 * @return a List of SAFRPersistentObjects
 	 */
 	public List<T> getActiveItems() {
-		List<T> activeItems = new ArrayList<T>();
-		T item;
-		Iterator<T> i = this.iterator();
-		while (i.hasNext()) {
-			item = (T) i.next();
-			if (item.getPersistence() != SAFRPersistence.DELETED) {
-				activeItems.add(item);
+		return getActive().items;
+	}
+
+	private ActiveItems<T> getActive() {
+		ActiveItems<T> current = active;
+		int deletedStateChanges = SAFRPersistentObject.getDeletedStateChanges();
+		if (current == null || current.modCount != modCount
+				|| current.deletedStateChanges != deletedStateChanges) {
+			List<T> items = new ArrayList<T>(size());
+			for (T item : this) {
+				if (item.getPersistence() != SAFRPersistence.DELETED) {
+					items.add(item);
+				}
 			}
+			current = new ActiveItems<T>(Collections.unmodifiableList(items),
+					modCount, deletedStateChanges);
+			active = current;
 		}
-		return activeItems;
+		return current;
+	}
+
+	/**
+	 * Returns the active item with the specified component id, without
+	 * scanning the list when it hasn't changed since the last lookup.
+	 * 
+	 * @param id
+	 *            the id of a SAFRComponent in this list
+	 * @return the item or null if no active item has this id
+	 */
+	public T findById(Integer id) {
+		ActiveItems<T> current = getActive();
+		Index<T> index = current.index;
+		if (index == null) {
+			index = new Index<T>(current.items);
+			current.index = index;
+		}
+		T item = index.byId.get(id);
+		if (item == null ? !index.idsAssigned()
+				: id.equals(((SAFRComponent) item).getId())) {
+			return item;
+		}
+		// ids have been assigned or changed since the index was built
+		index = new Index<T>(current.items);
+		current.index = index;
+		return index.byId.get(id);
+	}
+
+	/**
+	 * Replaces the object at the specified position. Overridden as the
+	 * ArrayList doesn't count this as a change to the list.
+	 */
+	@Override
+	public T set(int index, T element) {
+		active = null;
+		return super.set(index, element);
 	}
 
 	public void flushDeletedItems() {
@@ -0,0 +1,363 @@
+package com.ibm.safr.we.model;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.SortType;
+import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.transfer.FileAssociationTransfer;
+import com.ibm.safr.we.data.transfer.LRFieldTransfer;
+import com.ibm.safr.we.model.query.LogicalFileQueryBean;
+import com.ibm.safr.we.model.query.UserExitRoutineQueryBean;
+
+/**
+ * The names which logic text can refer to in one environment: the fields of
+ * its Logical Records, its Logical Files and their Physical Files, and its
+ * User-Exit Routines. Shared by every logic text editor so that opening an
+ * editor does not query them again. The syntax check does not read it, as
+ * the WorkbenchCompiler resolves the names in logic text itself.
+ * <p>
+ * Each part is read the first time it is used. When a component is stored
+ * only the part it affects is dropped, e.g. the fields of one Logical Record,
+ * and that part is read again the next time it is used. Components stored by
+ * other users are found from their modify times, checked at most every
+ * {@link #CHECK_INTERVAL} milliseconds.
+ * <p>
+ * Names can be looked up exactly or by prefix, ignoring case, e.g. for
+ * content assist. The lists handed out are shared and cannot be changed.
+ */
+public class SymbolTable {
+
+    static transient Logger logger = Logger
+    .getLogger("com.ibm.safr.we.model.SymbolTable");
+
+    public static final long CHECK_INTERVAL = 5000L;
+
+    /**
+     * Items in the order they were read, indexed by upper case name. Two
+     * items may share a name, so the index key is the name followed by the
+     * position of the item.
+     */
+    private static class Names<T> {
+        private List<T> items;
+        private TreeMap<String, T> index = new TreeMap<String, T>();
+
+        Names(List<T> items, List<String> names) {
+            this.items = Collections.unmodifiableList(items);
+            for (int i = 0; i < items.size(); i++) {
+                index.put(key(names.get(i)) + '\0' + i, items.get(i));
+            }
+        }
+
+        List<T> find(String prefix) {
+            String from = key(prefix);
+            return Collections.unmodifiableList(new ArrayList<T>(
+                index.subMap(from, true, from + Character.MAX_VALUE, false).values()));
+        }
+
+        T get(String name) {
+            String from = key(name) + '\0';
+            Map.Entry<String, T> entry = index.ceilingEntry(from);
+            if (entry != null && entry.getKey().startsWith(from)) {
+                return entry.getValue();
+            }
+            return null;
+        }
+
+        private static String key(String name) {
+            return name == null ? "" : name.trim().toUpperCase();
+        }
+    }
+
+    private Integer environId;
+    private Names<LogicalFileQueryBean> logicalFiles;
+    private Map<Integer, Names<FileAssociationTransfer>> physicalFiles = new HashMap<Integer, Names<FileAssociationTransfer>>();
+    private Names<UserExitRoutineQueryBean> exits;
+    private Names<UserExitRoutineQueryBean> exitPrograms;
+    private Map<Integer, Names<LRFieldTransfer>> lrFields = new HashMap<Integer, Names<LRFieldTransfer>>();
+    private Map<ComponentType, Map<Integer, Date>> times = new HashMap<ComponentType, Map<Integer, Date>>();
+    private long checkedAt = 0;
+
+    public SymbolTable(Integer environId) {
+        this.environId = environId;
+    }
+
+    public Integer getEnvironmentId() {
+        return environId;
+    }
+
+    /**
+     * Note that a component has been stored or deleted, dropping the part
+     * of the table which depends on it.
+     */
+    public synchronized void componentChanged(ComponentType type, Integer id) {
+        switch (type) {
+        case LogicalRecord:
+            lrFields.remove(id);
+            break;
+        case LogicalFile:
+            logicalFiles = null;
+            physicalFiles.remove(id);
+            break;
+        case PhysicalFile:
+            // the Physical File names are held by the associations
+            physicalFiles.clear();
+            break;
+        case UserExitRoutine:
+            exits = null;
+            exitPrograms = null;
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Drop whatever has been changed by other users since the last check,
+     * unless that was less than {@link #CHECK_INTERVAL} milliseconds ago.
+     *
+     * @throws DAOException
+     */
+    public synchronized void refresh() throws DAOException {
+        long now = System.currentTimeMillis();
+        if (now - checkedAt < CHECK_INTERVAL) {
+            return;
+        }
+        checkedAt = now;
+        Map<Integer, Date> lrTimes = readTimes(ComponentType.LogicalRecord);
+        Map<Integer, Date> cached = times.get(ComponentType.LogicalRecord);
+        if (cached != null) {
+            Iterator<Integer> it = lrFields.keySet().iterator();
+            while (it.hasNext()) {
+                Integer lrid = it.next();
+                Date time = lrTimes.get(lrid);
+                if (time == null || !time.equals(cached.get(lrid))) {
+                    it.remove();
+                }
+            }
+        }
+        times.put(ComponentType.LogicalRecord, lrTimes);
+        if (changed(ComponentType.LogicalFile)) {
+            logicalFiles = null;
+            physicalFiles.clear();
+        }
+        if (changed(ComponentType.PhysicalFile)) {
+            physicalFiles.clear();
+        }
+        if (changed(ComponentType.UserExitRoutine)) {
+            exits = null;
+            exitPrograms = null;
+        }
+    }
+
+    private Map<Integer, Date> readTimes(ComponentType type) throws DAOException {
+        return DAOFactoryHolder.getDAOFactory().getEnvironmentDAO()
+            .getModifyTimes(type, environId);
+    }
+
+    private boolean changed(ComponentType type) throws DAOException {
+        Map<Integer, Date> current = readTimes(type);
+        Map<Integer, Date> cached = times.put(type, current);
+        return cached != null && !cached.equals(current);
+    }
+
+    /**
+     * @return the fields of a Logical Record in the order they were read
+     * @throws DAOException
+     */
+    public synchronized List<LRFieldTransfer> getLRFields(Integer lrid) throws DAOException {
+        return lrFieldNames(lrid).items;
+    }
+
+    /**
+     * @return the fields of a Logical Record whose names start with the
+     *         prefix, in name order
+     * @throws DAOException
+     */
+    public synchronized List<LRFieldTransfer> findLRFields(Integer lrid, String prefix) throws DAOException {
+        return lrFieldNames(lrid).find(prefix);
+    }
+
+    /**
+     * @return the field of a Logical Record with the name, or null
+     * @throws DAOException
+     */
+    public synchronized LRFieldTransfer getLRField(Integer lrid, String name) throws DAOException {
+        return lrFieldNames(lrid).get(name);
+    }
+
+    private Names<LRFieldTransfer> lrFieldNames(Integer lrid) throws DAOException {
+        Names<LRFieldTransfer> fields = lrFields.get(lrid);
+        if (fields == null) {
+            List<LRFieldTransfer> list = DAOFactoryHolder.getDAOFactory()
+                .getLRFieldDAO().getLRFields(environId, lrid);
+            List<String> names = new ArrayList<String>();
+            for (LRFieldTransfer field : list) {
+                names.add(field.getName());
+            }
+            fields = new Names<LRFieldTransfer>(list, names);
+            lrFields.put(lrid, fields);
+            logger.log(Level.FINE, "Read " + list.size() + " fields of LR " + lrid);
+        }
+        return fields;
+    }
+
+    /**
+     * @return the Logical Files of the environment in name order
+     * @throws DAOException
+     */
+    public synchronized List<LogicalFileQueryBean> getLogicalFiles() throws DAOException {
+        return logicalFileNames().items;
+    }
+
+    /**
+     * @return the Logical Files whose names start with the prefix
+     * @throws DAOException
+     */
+    public synchronized List<LogicalFileQueryBean> findLogicalFiles(String prefix) throws DAOException {
+        return logicalFileNames().find(prefix);
+    }
+
+    /**
+     * @return the Logical File with the name, or null
+     * @throws DAOException
+     */
+    public synchronized LogicalFileQueryBean getLogicalFile(String name) throws DAOException {
+        return logicalFileNames().get(name);
+    }
+
+    private Names<LogicalFileQueryBean> logicalFileNames() throws DAOException {
+        if (logicalFiles == null) {
+            List<LogicalFileQueryBean> list = DAOFactoryHolder.getDAOFactory()
+                .getLogicalFileDAO().queryAllLogicalFiles(environId, SortType.SORT_BY_NAME);
+            List<String> names = new ArrayList<String>();
+            for (LogicalFileQueryBean lf : list) {
+                names.add(lf.getName());
+            }
+            logicalFiles = new Names<LogicalFileQueryBean>(list, names);
+        }
+        return logicalFiles;
+    }
+
+    /**
+     * @return the Physical File associations of a Logical File in the order
+     *         they were read
+     * @throws DAOException
+     */
+    public synchronized List<FileAssociationTransfer> getPhysicalFiles(Integer lfid) throws DAOException {
+        return physicalFileNames(lfid).items;
+    }
+
+    /**
+     * @return the Physical File associations of a Logical File whose Physical
+     *         File names start with the prefix
+     * @throws DAOException
+     */
+    public synchronized List<FileAssociationTransfer> findPhysicalFiles(Integer lfid, String prefix) throws DAOException {
+        return physicalFileNames(lfid).find(prefix);
+    }
+
+    private Names<FileAssociationTransfer> physicalFileNames(Integer lfid) throws DAOException {
+        Names<FileAssociationTransfer> files = physicalFiles.get(lfid);
+        if (files == null) {
+            List<FileAssociationTransfer> list = DAOFactoryHolder.getDAOFactory()
+                .getLogicalFileDAO().getAssociatedPhysicalFiles(lfid, environId);
+            List<String> names = new ArrayList<String>();
+            for (FileAssociationTransfer assoc : list) {
+                names.add(assoc.getAssociatedComponentName());
+            }
+            files = new Names<FileAssociationTransfer>(list, names);
+            physicalFiles.put(lfid, files);
+        }
+        return files;
+    }
+
+    /**
+     * @param typeKey
+     *            the key of the exit type code, or null for all types
+     * @return the User-Exit Routines of the type in name order
+     * @throws DAOException
+     */
+    public synchronized List<UserExitRoutineQueryBean> getUserExitRoutines(String typeKey) throws DAOException {
+        return ofType(exitNames().items, typeKey);
+    }
+
+    /**
+     * @param typeKey
+     *            the key of the exit type code, or null for all types
+     * @return the User-Exit Routines of the type whose names start with the
+     *         prefix
+     * @throws DAOException
+     */
+    public synchronized List<UserExitRoutineQueryBean> findUserExitRoutines(String typeKey, String prefix) throws DAOException {
+        return ofType(exitNames().find(prefix), typeKey);
+    }
+
+    /**
+     * @param typeKey
+     *            the key of the exit type code, or null for all types
+     * @return the User-Exit Routines of the type whose program names start
+     *         with the prefix
+     * @throws DAOException
+     */
+    public synchronized List<UserExitRoutineQueryBean> findUserExitPrograms(String typeKey, String prefix) throws DAOException {
+        exitNames();
+        return ofType(exitPrograms.find(prefix), typeKey);
+    }
+
+    private Names<UserExitRoutineQueryBean> exitNames() throws DAOException {
+        if (exits == null) {
+            List<UserExitRoutineQueryBean> list = DAOFactoryHolder.getDAOFactory()
+                .getUserExitRoutineDAO().queryAllUserExitRoutines(environId, SortType.SORT_BY_NAME);
+            List<String> names = new ArrayList<String>();
+            List<String> programs = new ArrayList<String>();
+            for (UserExitRoutineQueryBean exit : list) {
+                names.add(exit.getName());
+                programs.add(exit.getProgram());
+            }
+            exits = new Names<UserExitRoutineQueryBean>(list, names);
+            exitPrograms = new Names<UserExitRoutineQueryBean>(list, programs);
+        }
+        return exits;
+    }
+
+    private static List<UserExitRoutineQueryBean> ofType(List<UserExitRoutineQueryBean> list, String typeKey) {
+        if (typeKey == null) {
+            return list;
+        }
+        List<UserExitRoutineQueryBean> result = new ArrayList<UserExitRoutineQueryBean>();
+        for (UserExitRoutineQueryBean exit : list) {
+            if (typeKey.equals(exit.getType())) {
+                result.add(exit);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -489,6 +489,8 @@ public class UserExitRoutine extends SAFREnvironmentalComponent {
 			trans = DAOFactoryHolder.getDAOFactory().getUserExitRoutineDAO()
 					.persistUserExitRoutine(trans);
 			setObjectData(trans);
+			SAFRApplication.getSAFRFactory().componentChanged(
+					ComponentType.UserExitRoutine, getId(), getEnvironmentId());
 			
 			if (isForMigration()) {
 				if (userSession.getEditRights(ComponentType.UserExitRoutine, 
@@ -21,6 +21,7 @@ package com.ibm.safr.we.model.base;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.ibm.safr.we.constants.SAFRPersistence;
 import com.ibm.safr.we.data.DAOException;
@@ -39,6 +40,10 @@ abstract public class SAFRPersistentObject extends SAFRObject {
 	// Indicates the persistence status of this object
 	private SAFRPersistence persistence;
 
+	// Counts the times any object was marked deleted or brought back, so a
+	// SAFRList knows when the active items it holds may be out of date.
+	private static final AtomicInteger deletedStateChanges = new AtomicInteger();
+
 	// Persistent state
 	private String comment;
 	private Date createTime;
@@ -111,8 +116,8 @@ abstract public class SAFRPersistentObject extends SAFRObject {
 		this.modifyTime = trans.getModifyTime();
 		this.modifyBy = trans.getModifyBy();
 
-		this.persistence = trans.isPersistent() ? SAFRPersistence.OLD
-				: SAFRPersistence.NEW;
+		changePersistence(trans.isPersistent() ? SAFRPersistence.OLD
+				: SAFRPersistence.NEW);
 		this.forImport = trans.isForImport();
 	}
 
@@ -152,9 +157,24 @@ abstract public class SAFRPersistentObject extends SAFRObject {
 
 	// JAK: needed by associations - to be reviewed later.
 	public void setPersistence(SAFRPersistence persistence) {
+		changePersistence(persistence);
+	}
+
+	private void changePersistence(SAFRPersistence persistence) {
+		if ((this.persistence == SAFRPersistence.DELETED) != (persistence == SAFRPersistence.DELETED)) {
+			deletedStateChanges.incrementAndGet();
+		}
 		this.persistence = persistence;
 	}
 
+	/**
+	 * @return a count which changes whenever any object is marked deleted or
+	 *         stops being deleted.
+	 */
+	public static int getDeletedStateChanges() {
+		return deletedStateChanges.get();
+	}
+
 	/**
 	 * Marks this object as modified from its persistent state so that the data
 	 * layer can determine if an existing object is to be udpated. It has no
@@ -178,7 +198,7 @@ abstract public class SAFRPersistentObject extends SAFRObject {
 	 */
 	public void markDeleted() {
 		if (persistence != SAFRPersistence.NEW) {
-			this.persistence = SAFRPersistence.DELETED;
+			changePersistence(SAFRPersistence.DELETED);
 		}
 	}
 
@@ -265,7 +285,7 @@ abstract public class SAFRPersistentObject extends SAFRObject {
 		createTime = (Date) undoMap.get(CREATED_TIME);
 		modifyBy = (String) undoMap.get(MODIFY_BY);
 		modifyTime = (Date) undoMap.get(MODIFY_TIME);
-		persistence = (SAFRPersistence) undoMap.get(PERSISTENCE);
+		changePersistence((SAFRPersistence) undoMap.get(PERSISTENCE));
 	}
 
 	/**
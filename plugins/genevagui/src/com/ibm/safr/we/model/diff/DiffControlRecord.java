@@ -42,7 +42,7 @@ public class DiffControlRecord extends DiffNodeComp {
 		gi.setName("General");
 		gi.setParent(this);
 		diff.add(gi.addStringField("Name", lhs.getName(), rhs.getName(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
-		if (DiffNode.weFields) {
+		if (DiffNode.isWeFields()) {
     		diff.add(gi.addStringField("Comments", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
     		diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
     		diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
@@ -73,7 +73,7 @@ public class DiffLRField extends DiffNodeComp {
             diff.add(addStringField("Heading 3", lhs.getHeading3(), rhs.getHeading3(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
             diff.add(addStringField("Sort Header", lhs.getSortKeyLabel(), rhs.getSortKeyLabel(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
             diff.add(addStringField("Sort Footer", lhs.getSubtotalLabel(), rhs.getSubtotalLabel(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
-            if (DiffNode.weFields) {
+            if (DiffNode.isWeFields()) {
                 diff.add(addStringField("Comment", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
             }
             
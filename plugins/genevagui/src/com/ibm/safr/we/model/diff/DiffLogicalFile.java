@@ -48,7 +48,7 @@ public class DiffLogicalFile extends DiffNodeComp {
         gi.setParent(this);
         Set<DiffNodeState> diff = new HashSet<DiffNodeState>();
         diff.add(gi.addStringField("Name", lhs.getName(), rhs.getName(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             diff.add(gi.addStringField("Comment", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
             diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
             diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
@@ -71,7 +71,7 @@ public class DiffLogicalFile extends DiffNodeComp {
         List<SAFREnvironmentalComponent> lhsList = new ArrayList<SAFREnvironmentalComponent>();
         for (FileAssociation fal : lhs.getPhysicalFileAssociations()) {
             if (fal.getAssociatedComponentIdNum() != 0) {
-                PhysicalFile lhsComp = SAFRApplication.getSAFRFactory().getPhysicalFile(fal.getAssociatedComponentIdNum(), fal.getEnvironmentId());
+                PhysicalFile lhsComp = SAFRApplication.getSAFRFactory().getCachedPhysicalFile(fal.getAssociatedComponentIdNum(), fal.getEnvironmentId());
                 lhsList.add(lhsComp);
             }
         }
@@ -79,7 +79,7 @@ public class DiffLogicalFile extends DiffNodeComp {
         List<SAFREnvironmentalComponent> rhsList = new ArrayList<SAFREnvironmentalComponent>();
         for (FileAssociation far : rhs.getPhysicalFileAssociations()) {
             if (far.getAssociatedComponentIdNum() != 0) {
-                PhysicalFile rhsComp = SAFRApplication.getSAFRFactory().getPhysicalFile(far.getAssociatedComponentIdNum(), far.getEnvironmentId());
+                PhysicalFile rhsComp = SAFRApplication.getSAFRFactory().getCachedPhysicalFile(far.getAssociatedComponentIdNum(), far.getEnvironmentId());
                 rhsList.add(rhsComp);
             }
         }
@@ -59,7 +59,7 @@ public class DiffLogicalRecord extends DiffNodeComp {
         }
         
         diff.add(gi.addStringField("Lookup Exit Param", lhs.getLookupExitParams(), rhs.getLookupExitParams(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             diff.add(gi.addStringField("Comment", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
             diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
             diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
@@ -113,7 +113,7 @@ public class DiffLogicalRecord extends DiffNodeComp {
         List<SAFREnvironmentalComponent> lhsList = new ArrayList<SAFREnvironmentalComponent>();
         for (ComponentAssociation cal : lhs.getLogicalFileAssociations()) {
             if (cal.getAssociatedComponentIdNum() != 0) {            
-                LogicalFile lhsComp = SAFRApplication.getSAFRFactory().getLogicalFile(cal.getAssociatedComponentIdNum(), cal.getEnvironmentId());
+                LogicalFile lhsComp = SAFRApplication.getSAFRFactory().getCachedLogicalFile(cal.getAssociatedComponentIdNum(), cal.getEnvironmentId());
                 lhsList.add(lhsComp);
             }
         }
@@ -121,7 +121,7 @@ public class DiffLogicalRecord extends DiffNodeComp {
         List<SAFREnvironmentalComponent> rhsList = new ArrayList<SAFREnvironmentalComponent>();
         for (ComponentAssociation car : rhs.getLogicalFileAssociations()) {
             if (car.getAssociatedComponentIdNum() != 0) {            
-                LogicalFile rhsComp = SAFRApplication.getSAFRFactory().getLogicalFile(car.getAssociatedComponentIdNum(), car.getEnvironmentId());
+                LogicalFile rhsComp = SAFRApplication.getSAFRFactory().getCachedLogicalFile(car.getAssociatedComponentIdNum(), car.getEnvironmentId());
                 rhsList.add(rhsComp);
             }
         }
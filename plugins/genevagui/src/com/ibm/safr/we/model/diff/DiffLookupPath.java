@@ -45,7 +45,7 @@ public class DiffLookupPath extends DiffNodeComp {
         Set<DiffNodeState> diff = new HashSet<DiffNodeState>();
         diff.add(gi.addStringField("Name", lhs.getName(), rhs.getName(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
         diff.add(gi.addBoolField("Active", lhs.isValid(), rhs.isValid(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             diff.add(gi.addStringField("Comment", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
             diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
             diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
@@ -54,18 +54,45 @@ public abstract class DiffNode extends DiffBaseNode {
 		}
 	}
 		
-	protected static Map<Class<?>, Map<Integer, DiffNodeComp>> generated = new HashMap<Class<?>, Map<Integer, DiffNodeComp>>();
-	protected static DiffNodeLabel metadata = null;
-	protected static boolean related = true;
-    protected static boolean weFields = true;
+	/**
+	 * The nodes generated by one comparison, the tree they are added to and
+	 * what the comparison includes. Kept per thread so that several 
+	 * components can be compared at once.
+	 */
+	private static class Generated {
+	    private Map<Class<?>, Map<Integer, DiffNodeComp>> nodes = new HashMap<Class<?>, Map<Integer, DiffNodeComp>>();
+	    private DiffNodeLabel metadata = null;
+	    private boolean related = true;
+	    private boolean weFields = true;
+	}
+	
+	private static ThreadLocal<Generated> generated = new ThreadLocal<Generated>() {
+	    @Override
+	    protected Generated initialValue() {
+	        return new Generated();
+	    }
+	};
 
-    public static void initGenerated() {
-        generated.clear();
-        metadata = new DiffNodeLabel("Metadata");
+    /**
+     * Start a comparison on this thread.
+     * 
+     * @param related whether to compare the components referred to
+     * @param weFields whether to compare the fields not used by the VDP
+     */
+    public static void initGenerated(boolean related, boolean weFields) {
+        Generated gen = generated.get();
+        gen.nodes.clear();
+        gen.metadata = new DiffNodeLabel("Metadata");
+        gen.related = related;
+        gen.weFields = weFields;
     }
 
+    protected static DiffNodeLabel getMetadata() {
+        return generated.get().metadata;
+    }
+    
     public static DiffNodeComp getGenerated(Class<?> cl, Integer id) {
-        Map<Integer, DiffNodeComp> entry = generated.get(cl);
+        Map<Integer, DiffNodeComp> entry = generated.get().nodes.get(cl);
         if (entry == null) {
             return null;            
         }
@@ -75,33 +102,25 @@ public abstract class DiffNode extends DiffBaseNode {
     }
     
     public static void storeGenerated(Class<?> cl, Integer id, DiffNodeComp node) {
-        Map<Integer, DiffNodeComp> entry = generated.get(cl);
+        Map<Integer, DiffNodeComp> entry = generated.get().nodes.get(cl);
         if (entry == null) {
             entry = new HashMap<Integer, DiffNodeComp>();
-            generated.put(cl, entry);
+            generated.get().nodes.put(cl, entry);
         }
         entry.put(id, node);
     }        
 	
-    public static void setRelated(boolean relate) {
-        related = relate;
+    protected static boolean isRelated() {
+        return generated.get().related;
     }
 
-    public static void setWEFields(boolean weField) {
-        weFields = weField;
-    }
-    
-    public static boolean isRelated() {
-        return related;
-    }
-
-    public static boolean isWeFields() {
-        return weFields;
+    protected static boolean isWeFields() {
+        return generated.get().weFields;
     }
     
 	protected List<DiffNode> children = null;
 	
-	protected int calcInsertIndex(MetaType type) {
+	protected static int calcInsertIndex(DiffNodeLabel metadata, MetaType type) {
 		int pos=0;
 		List<DiffNode> children = metadata.getChildren();
 		if (children.isEmpty()) {
@@ -123,10 +142,18 @@ public abstract class DiffNode extends DiffBaseNode {
 	}
 	
 	protected void addMetadataNode(MetaType type, DiffNodeComp node) {
+	    addMetadataNode(getMetadata(), type, node);
+	}
+	
+	/**
+	 * Add a compared component to a metadata tree under the label of its
+	 * type, e.g. to gather the components of an environment comparison.
+	 */
+	public static void addMetadataNode(DiffNodeLabel metadata, MetaType type, DiffNodeComp node) {
 		DiffNodeLabel mnode = (DiffNodeLabel)metadata.getChild(type.getName()); 
 		if (mnode == null) {
 			mnode = new DiffNodeLabel(type.getName());
-			metadata.addChild(mnode, calcInsertIndex(type));
+			metadata.addChild(mnode, calcInsertIndex(metadata, type));
 			mnode.setParent(metadata);
 			mnode.setState(DiffNodeState.Same);
 		}
@@ -156,7 +183,7 @@ public abstract class DiffNode extends DiffBaseNode {
 				if (lhsComp.getId().equals(rhsComp.getId())) {
 					found = true;
                     DiffFieldReference ref = new DiffFieldReference();
-					if (related) {
+					if (isRelated()) {
 					    ref.setReference(DiffNodeFactory.generateDiffComp(lhsComp, rhsComp));
 					}
 					else {
@@ -174,7 +201,7 @@ public abstract class DiffNode extends DiffBaseNode {
                 // add referenced component			    
 			    SAFREnvironmentalComponent rhsComp = DiffNodeFactory.generateComp(type, lhsComp.getId(), rhsEnvId);
                 DiffFieldReference ref = new DiffFieldReference();
-			    if (related) {
+			    if (isRelated()) {
     			    if (rhsComp == null) {
     			        ref.setReference(DiffNodeFactory.generateNodeComp(lhsComp, DiffNodeState.Removed, rhsEnvId));
     			    }
@@ -209,7 +236,7 @@ public abstract class DiffNode extends DiffBaseNode {
 			    // add referenced component
 			    SAFREnvironmentalComponent lhsComp = DiffNodeFactory.generateComp(type, rhsComp.getId(), lhsEnvId);
                 DiffFieldReference ref = new DiffFieldReference();
-	            if (related) {
+	            if (isRelated()) {
                     if (lhsComp == null) {
                         ref.setReference(DiffNodeFactory.generateNodeComp(rhsComp, DiffNodeState.Added, lhsEnvId));
                     }
@@ -268,7 +295,7 @@ public abstract class DiffNode extends DiffBaseNode {
                 
                 // add rhs reference
                 DiffFieldReference rhsRef = new DiffFieldReference();
-                if (related) {
+                if (isRelated()) {
                     SAFREnvironmentalComponent lhsCom = DiffNodeFactory.generateComp(type, rhsComp.getId(), lhsEnvId); 
                     if (lhsCom == null) {
                         rhsRef.setReference(DiffNodeFactory.generateNodeComp(rhsComp, DiffNodeState.Added, lhsEnvId));
@@ -291,7 +318,7 @@ public abstract class DiffNode extends DiffBaseNode {
             if (rhsComp == null) {
                 // lhs reference
                 DiffFieldReference lhsRef = new DiffFieldReference();
-                if (related) {
+                if (isRelated()) {
                     SAFREnvironmentalComponent rhsCom = DiffNodeFactory.generateComp(type, lhsComp.getId(), rhsEnvId);                        
                     if (rhsCom == null) {
                         lhsRef.setReference(DiffNodeFactory.generateNodeComp(lhsComp, DiffNodeState.Removed, rhsEnvId));
@@ -321,7 +348,7 @@ public abstract class DiffNode extends DiffBaseNode {
                 // if one same reference
                 if (lhsComp.getId().equals(rhsComp.getId())) {
                     DiffFieldReference ref = new DiffFieldReference();
-                    if (related) {
+                    if (isRelated()) {
                         ref.setReference(DiffNodeFactory.generateDiffComp(lhsComp, rhsComp));
                     }
                     else {
@@ -338,7 +365,7 @@ public abstract class DiffNode extends DiffBaseNode {
                     
                     // check other env
                     DiffFieldReference lhsRef = new DiffFieldReference();
-                    if (related) {
+                    if (isRelated()) {
                         SAFREnvironmentalComponent rhsCom = DiffNodeFactory.generateComp(type, lhsComp.getId(), rhsEnvId);                        
                         if (rhsCom == null) {
                             lhsRef.setReference(DiffNodeFactory.generateNodeComp(lhsComp, DiffNodeState.Removed, rhsEnvId));
@@ -358,7 +385,7 @@ public abstract class DiffNode extends DiffBaseNode {
 
                     // rhs reference
                     DiffFieldReference rhsRef = new DiffFieldReference();
-                    if (related) {
+                    if (isRelated()) {
                         SAFREnvironmentalComponent lhsCom = DiffNodeFactory.generateComp(type, rhsComp.getId(), lhsEnvId);
                         if (lhsCom == null) {
                             rhsRef.setReference(DiffNodeFactory.generateNodeComp(rhsComp, DiffNodeState.Added, lhsEnvId));                            
@@ -476,7 +503,7 @@ public abstract class DiffNode extends DiffBaseNode {
             result.add(ref);                    
             
             // generate node to reference
-            if (related) {
+            if (isRelated()) {
                 if (ocomp == null) {
                     DiffNodeComp node = DiffNodeFactory.generateNodeComp(comp, state, otherEnv);
                     ref.setReference(node);
@@ -515,7 +542,7 @@ public abstract class DiffNode extends DiffBaseNode {
         if (comp != null) {
             ref.setEnvID(comp.getEnvironmentId());
             
-            if (related) {
+            if (isRelated()) {
                 SAFREnvironmentalComponent ocomp = DiffNodeFactory.generateComp(type, comp.getId(), otherEnv);
     
                 if (ocomp == null) {
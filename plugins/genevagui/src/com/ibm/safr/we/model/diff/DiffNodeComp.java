@@ -116,7 +116,7 @@ public abstract class DiffNodeComp extends DiffNodeSection {
 	
 	public DiffNode generateWholeTree() throws SAFRException {
 		generateTree();
-		return metadata;
+		return getMetadata();
 	}
 
 	@Override
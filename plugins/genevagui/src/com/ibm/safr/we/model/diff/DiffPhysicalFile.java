@@ -57,7 +57,7 @@ public class DiffPhysicalFile extends DiffNodeComp {
 		}
 		
         diff.add(gi.addStringField("User Exit Params", lhs.getUserExitRoutineParams(), rhs.getUserExitRoutineParams(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             diff.add(gi.addStringField("Comments", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));		
             diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
             diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
@@ -52,7 +52,7 @@ public class DiffUserExitRoutine extends DiffNodeComp {
             diff.add(gi.addBoolField("Optimize", lhs.isOptimize(), rhs.isOptimize(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
 			diff.add(gi.addCodeField("Language", lhs.getLanguageCode(), rhs.getLanguageCode(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
 			diff.add(gi.addStringField("Executable", lhs.getExecutable(), rhs.getExecutable(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
-	        if (DiffNode.weFields) {			
+	        if (DiffNode.isWeFields()) {			
     			diff.add(gi.addStringField("Comments", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
     			diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
     			diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
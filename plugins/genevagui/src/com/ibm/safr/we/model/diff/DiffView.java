@@ -62,7 +62,7 @@ public class DiffView extends DiffNodeComp {
             gi.getFields().add(ref);
         }
         
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             diff.add(gi.addStringField("Comment", lhs.getComment(), rhs.getComment(), lhs.getEnvironmentId(), rhs.getEnvironmentId())); 
             diff.add(gi.addStringField("Created By", lhs.getCreateBy(), rhs.getCreateBy(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
             diff.add(gi.addDateField("Created Time", lhs.getCreateTime(), rhs.getCreateTime(), lhs.getEnvironmentId(), rhs.getEnvironmentId()));
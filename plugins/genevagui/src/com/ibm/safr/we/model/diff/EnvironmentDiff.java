@@ -0,0 +1,236 @@
+package com.ibm.safr.we.model.diff;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2008.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.data.DAOFactory;
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.exceptions.SAFRDependencyException;
+import com.ibm.safr.we.exceptions.SAFRException;
+import com.ibm.safr.we.model.SAFRFactory;
+import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.diff.DiffBaseNode.DiffNodeState;
+import com.ibm.safr.we.model.diff.DiffNode.MetaType;
+import com.ibm.safr.we.model.utilities.BackgroundCalls;
+
+/**
+ * Compares every component of two environments.
+ * <p>
+ * The components of each type are first fingerprinted with content hashes
+ * read in bulk from the database. A component with the same hash in both
+ * environments is reported as the same, and a component only in one
+ * environment as added or removed, without reading it. Only the components
+ * whose hashes differ are read and expanded into full diff trees, several at
+ * once on pooled connections. Results are passed to a {@link Listener} as
+ * they become available.
+ */
+public class EnvironmentDiff {
+
+    static transient Logger logger = Logger.getLogger("com.ibm.safr.we.model.diff.EnvironmentDiff");
+
+    /**
+     * Receives the compared components. Always called on the thread running
+     * {@link EnvironmentDiff#compare(Listener)}.
+     */
+    public interface Listener {
+        void compared(MetaType type, DiffNodeComp node);
+    }
+
+    private static final MetaType[] META_TYPES = { 
+        MetaType.CONTROL_RECORDS, MetaType.USER_EXIT_ROUTINES, MetaType.PHYSICAL_FILES, 
+        MetaType.LOGICAL_FILES, MetaType.LOGICAL_RECORDS, MetaType.LOOKUP_PATHS, 
+        MetaType.VIEWS, MetaType.VIEW_FOLDERS };
+    
+    private static final ComponentType[] COMPONENT_TYPES = { 
+        ComponentType.ControlRecord, ComponentType.UserExitRoutine, ComponentType.PhysicalFile, 
+        ComponentType.LogicalFile, ComponentType.LogicalRecord, ComponentType.LookupPath, 
+        ComponentType.View, ComponentType.ViewFolder };
+
+    // the node names used by the Diff classes
+    private static final String[] NAMES = { 
+        "Control Record", "User Exit Routine", "Physical File", 
+        "Logical File", "Logical Record", "Lookup Path", 
+        "View", "View Folder" };
+    
+    private static class Expanded {
+        private MetaType type;
+        private DiffNodeComp node;
+        
+        Expanded(MetaType type, DiffNodeComp node) {
+            this.type = type;
+            this.node = node;
+        }
+    }
+    
+    private int lhsEnvId;
+    private int rhsEnvId;
+    private boolean weFields;
+    private volatile boolean cancelled = false;
+    
+    private int same = 0;
+    private int different = 0;
+    private int removed = 0;
+    private int added = 0;
+
+    /**
+     * @param lhsEnvId
+     * @param rhsEnvId
+     * @param weFields whether to compare the fields not used by the VDP
+     */
+    public EnvironmentDiff(int lhsEnvId, int rhsEnvId, boolean weFields) {
+        this.lhsEnvId = lhsEnvId;
+        this.rhsEnvId = rhsEnvId;
+        this.weFields = weFields;
+    }
+
+    /**
+     * Stop the comparison at the next component. May be called from any
+     * thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * Compare the environments, passing each component to the listener as it
+     * is compared. Components are reported a type at a time, the same, added
+     * and removed ones of a type first.
+     * 
+     * @param listener
+     * @throws SAFRException
+     */
+    public void compare(Listener listener) throws SAFRException {
+        DAOFactory daoFactory = DAOFactoryHolder.getDAOFactory();
+        List<Future<Expanded>> expansions = new ArrayList<Future<Expanded>>();
+        try {
+            for (int t = 0; t < META_TYPES.length && !cancelled; t++) {
+                Map<Integer, String> lhsHashes = daoFactory.getEnvironmentDAO().getComponentHashes(
+                    COMPONENT_TYPES[t], lhsEnvId, weFields);
+                Map<Integer, String> rhsHashes = daoFactory.getEnvironmentDAO().getComponentHashes(
+                    COMPONENT_TYPES[t], rhsEnvId, weFields);
+                Set<Integer> ids = new TreeSet<Integer>(lhsHashes.keySet());
+                ids.addAll(rhsHashes.keySet());
+                for (Integer id : ids) {
+                    String lhsHash = lhsHashes.get(id);
+                    String rhsHash = rhsHashes.get(id);
+                    if (rhsHash == null) {
+                        report(listener, META_TYPES[t], new NodeSummary(NAMES[t], id, lhsEnvId, DiffNodeState.Removed));
+                    }
+                    else if (lhsHash == null) {
+                        report(listener, META_TYPES[t], new NodeSummary(NAMES[t], id, rhsEnvId, DiffNodeState.Added));
+                    }
+                    else if (lhsHash.equals(rhsHash)) {
+                        report(listener, META_TYPES[t], new NodeSummary(NAMES[t], id, null, DiffNodeState.Same));
+                    }
+                    else {
+                        expansions.add(BackgroundCalls.submit(expand(t, id)));
+                    }
+                }
+            }
+            for (Future<Expanded> expansion : expansions) {
+                if (cancelled) {
+                    break;
+                }
+                Expanded result = BackgroundCalls.waitFor(expansion,
+                    "Environment comparison interrupted.",
+                    "Unexpected error occurred while comparing the environments.");
+                report(listener, result.type, result.node);
+            }
+        } finally {
+            BackgroundCalls.cancel(expansions);
+        }
+        logger.info("Compared Environments " + lhsEnvId + " and " + rhsEnvId + ": " + 
+            same + " same, " + different + " different, " + removed + " only in " + lhsEnvId + 
+            ", " + added + " only in " + rhsEnvId + (cancelled ? " (cancelled)" : ""));
+    }
+
+    /**
+     * Read a component from both environments and generate its diff tree.
+     */
+    private Callable<Expanded> expand(final int t, final Integer id) {
+        return new Callable<Expanded>() {
+            public Expanded call() throws Exception {
+                if (cancelled) {
+                    return new Expanded(META_TYPES[t], new NodeSummary(NAMES[t], id, null, DiffNodeState.Different));
+                }
+                try {
+                    // the related components are compared in their own right
+                    DiffNode.initGenerated(false, weFields);
+                    SAFREnvironmentalComponent lhs = SAFRFactory.getComponent(COMPONENT_TYPES[t], id, lhsEnvId);
+                    SAFREnvironmentalComponent rhs = SAFRFactory.getComponent(COMPONENT_TYPES[t], id, rhsEnvId);
+                    return new Expanded(META_TYPES[t], DiffNodeFactory.generateDiffComp(lhs, rhs));
+                } catch (SAFRDependencyException sde) {
+                    // an inactive dependency stops the details being read
+                    logger.log(Level.WARNING, NAMES[t] + " " + id + " could not be compared: " + sde.getDependencyString());
+                    return new Expanded(META_TYPES[t], new NodeSummary(NAMES[t], id, null, DiffNodeState.Different));
+                }
+            }
+        };
+    }
+    
+    private void report(Listener listener, MetaType type, DiffNodeComp node) {
+        switch (node.getState()) {
+        case Same:
+            same++;
+            break;
+        case Different:
+            different++;
+            break;
+        case Removed:
+            removed++;
+            break;
+        case Added:
+            added++;
+            break;
+        default:
+            break;
+        }
+        listener.compared(type, node);
+    }
+    
+    public int getSameCount() {
+        return same;
+    }
+
+    public int getDifferentCount() {
+        return different;
+    }
+
+    public int getRemovedCount() {
+        return removed;
+    }
+
+    public int getAddedCount() {
+        return added;
+    }
+}
@@ -41,7 +41,7 @@ public class NodeControlRecord extends DiffNodeComp {
 		gi.setParent(this);
 		gi.setState(state);
 		gi.addStringField("Name", cr.getName(), cr.getEnvironmentId(), state);
-	    if (DiffNode.weFields) {
+	    if (DiffNode.isWeFields()) {
     		gi.addStringField("Comments", cr.getComment(), cr.getEnvironmentId(), state);
     		gi.addStringField("Created By", cr.getCreateBy(), cr.getEnvironmentId(), state);
     		gi.addDateField("Created Time", cr.getCreateTime(), cr.getEnvironmentId(), state);
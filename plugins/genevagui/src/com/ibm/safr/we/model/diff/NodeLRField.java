@@ -66,7 +66,7 @@ public class NodeLRField extends DiffNodeComp {
             addStringField("Heading 3", field.getHeading3(), field.getEnvironmentId(), state); 
             addStringField("Sort Header", field.getSortKeyLabel(), field.getEnvironmentId(), state); 
             addStringField("Sort Footer", field.getSubtotalLabel(), field.getEnvironmentId(), state); 
-            if (DiffNode.weFields) {            
+            if (DiffNode.isWeFields()) {            
                 addStringField("Comment", field.getComment(), field.getEnvironmentId(), state);
             }
             
@@ -48,7 +48,7 @@ public class NodeLogicalFile extends DiffNodeComp {
         gi.setName("General"); 
         gi.setParent(this);
         gi.addStringField("Name", lf.getName(), lf.getEnvironmentId(), state); 
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             gi.addStringField("Comment", lf.getComment(), lf.getEnvironmentId(), state); 
             gi.addStringField("Created By", lf.getCreateBy(), lf.getEnvironmentId(), state);
             gi.addDateField("Created Time", lf.getCreateTime(), lf.getEnvironmentId(), state);
@@ -67,7 +67,7 @@ public class NodeLogicalFile extends DiffNodeComp {
         List<SAFREnvironmentalComponent> list = new ArrayList<SAFREnvironmentalComponent>();
         for (FileAssociation fal : lf.getPhysicalFileAssociations()) {
             if (fal.getAssociatedComponentIdNum() != 0) {            
-                PhysicalFile comp = SAFRApplication.getSAFRFactory().getPhysicalFile(fal.getAssociatedComponentIdNum(), fal.getEnvironmentId());
+                PhysicalFile comp = SAFRApplication.getSAFRFactory().getCachedPhysicalFile(fal.getAssociatedComponentIdNum(), fal.getEnvironmentId());
                 list.add(comp);
             }
         }
@@ -51,7 +51,7 @@ public class NodeLogicalRecord extends DiffNodeComp {
         gi.getFields().add(nodeSingleReference(MetaType.USER_EXIT_ROUTINES, "Lookup Exit", lr.getLookupExitRoutine(), state, otherEnv));
         
         gi.addStringField("Lookup Exit Param", lr.getLookupExitParams(), lr.getEnvironmentId(), state);
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             gi.addStringField("Comment", lr.getComment(), lr.getEnvironmentId(), state); 
             gi.addStringField("Created By", lr.getCreateBy(), lr.getEnvironmentId(), state);
             gi.addDateField("Created Time", lr.getCreateTime(), lr.getEnvironmentId(), state);
@@ -89,7 +89,7 @@ public class NodeLogicalRecord extends DiffNodeComp {
         List<SAFREnvironmentalComponent> list = new ArrayList<SAFREnvironmentalComponent>();
         for (ComponentAssociation ca : lr.getLogicalFileAssociations()) {
             if (ca.getAssociatedComponentIdNum() != 0) {                        
-                LogicalFile comp = SAFRApplication.getSAFRFactory().getLogicalFile(ca.getAssociatedComponentIdNum(), ca.getEnvironmentId());
+                LogicalFile comp = SAFRApplication.getSAFRFactory().getCachedLogicalFile(ca.getAssociatedComponentIdNum(), ca.getEnvironmentId());
                 list.add(comp);
             }
         }
@@ -43,7 +43,7 @@ public class NodeLookupPath extends DiffNodeComp {
         gi.setState(state);
         gi.addStringField("Name", lp.getName(), lp.getEnvironmentId(), state); 
         gi.addBoolField("Active", lp.isValid(), lp.getEnvironmentId(), state);
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             gi.addStringField("Comment", lp.getComment(), lp.getEnvironmentId(), state); 
             gi.addStringField("Created By", lp.getCreateBy(), lp.getEnvironmentId(), state);
             gi.addDateField("Created Time", lp.getCreateTime(), lp.getEnvironmentId(), state);
@@ -119,7 +119,7 @@ public class NodePhysicalFile extends DiffNodeComp {
                 pf.getUserExitRoutine(), state, otherEnv));
         }
         gi.addStringField("User Exit Params", pf.getUserExitRoutineParams(), pf.getEnvironmentId(), state);
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             gi.addStringField("Comments", pf.getComment(), pf.getEnvironmentId(), state);
             gi.addStringField("Created By", pf.getCreateBy(), pf.getEnvironmentId(), state);
             gi.addDateField("Created Time", pf.getCreateTime(), pf.getEnvironmentId(), state);
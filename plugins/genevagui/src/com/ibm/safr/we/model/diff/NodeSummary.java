@@ -0,0 +1,38 @@
+package com.ibm.safr.we.model.diff;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2008.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+/**
+ * A component of an environment comparison which was not expanded into its
+ * details, because its content hash showed it to be the same in both
+ * environments or it is only in one of them.
+ */
+public class NodeSummary extends DiffNodeComp {
+
+    public NodeSummary(String name, Integer id, Integer envID, DiffNodeState state) {
+        setName(name);
+        setId(id);
+        setEnvID(envID);
+        setState(state);
+    }
+
+    protected void generateTree() {
+    }
+
+}
@@ -50,7 +50,7 @@ public class NodeUserExitRoutine extends DiffNodeComp {
             gi.addBoolField("Optimize", exit.isOptimize(), exit.getEnvironmentId(), state);
 			gi.addCodeField("Language", exit.getLanguageCode(), exit.getEnvironmentId(), state);
 			gi.addStringField("Executable", exit.getExecutable(), exit.getEnvironmentId(), state);
-  	        if (DiffNode.weFields) {
+  	        if (DiffNode.isWeFields()) {
     			gi.addStringField("Comments", exit.getComment(), exit.getEnvironmentId(), state);
     			gi.addStringField("Created By", exit.getCreateBy(), exit.getEnvironmentId(), state);
     			gi.addDateField("Created Time", exit.getCreateTime(), exit.getEnvironmentId(), state);
@@ -54,7 +54,7 @@ public class NodeView extends DiffNodeComp {
         gi.addObjectField("Output Format", view.getOutputFormat(), view.getEnvironmentId(), state);
         gi.getFields().add(nodeSingleReference(MetaType.CONTROL_RECORDS, "Control Record", view.getControlRecord(), state, otherEnv));                
         
-        if (DiffNode.weFields) {
+        if (DiffNode.isWeFields()) {
             gi.addStringField("Comment", view.getComment(), view.getEnvironmentId(), state); 
             gi.addStringField("Created By", view.getCreateBy(), view.getEnvironmentId(), state);
             gi.addDateField("Created Time", view.getCreateTime(), view.getEnvironmentId(), state);
@@ -33,6 +33,14 @@ import java.util.logging.Logger;
 import com.ibm.safr.we.SAFRUtilities;
 import com.ibm.safr.we.constants.LogicTextType;
 
+/**
+ * Splits logic text into lines of tokens for the logic text editor.
+ * <p>
+ * A line is lexed on its own, so when the text is parsed again only the lines
+ * which changed are lexed; the tokens of the unchanged lines before and after
+ * them are reused. The brackets and IF blocks which span lines are then linked
+ * up again over all the tokens.
+ */
 public class LogicTextParser {
     
     static transient Logger logger = Logger
@@ -74,6 +82,10 @@ public class LogicTextParser {
     
     protected Map<Integer,List<LogicToken>> tokenMap = new TreeMap<Integer,List<LogicToken>>();
     
+    // the lines of the last text parsed, each with its end of line, and their tokens
+    protected List<String> lines = new ArrayList<String>();
+    protected List<List<LogicToken>> lineTokens = new ArrayList<List<LogicToken>>();
+    
     protected Set<LogicToken> curlBracketGroup = null;
 
     protected Deque<LogicToken> normBrackets = new ArrayDeque<LogicToken>();
@@ -89,41 +101,169 @@ public class LogicTextParser {
             return;
         }
         inStr = newStr;
-        curLineOff = 0;
-        curLinePos = 0;
+        List<String> newLines = splitLines(newStr);
+        
+        // keep the tokens of the lines before and after those which changed
+        int maxSame = Math.min(lines.size(), newLines.size());
+        int head = 0;
+        while (head < maxSame && lines.get(head).equals(newLines.get(head))) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < maxSame - head && 
+            lines.get(lines.size() - 1 - tail).equals(newLines.get(newLines.size() - 1 - tail))) {
+            tail++;
+        }
+        List<List<LogicToken>> newTokens = new ArrayList<List<LogicToken>>(newLines.size());
+        newTokens.addAll(lineTokens.subList(0, head));
+        int lineOff = 0;
+        for (int i = 0; i < head; i++) {
+            lineOff += newLines.get(i).length();
+        }
+        for (int i = head; i < newLines.size() - tail; i++) {
+            newTokens.add(lexLine(lineOff));
+            lineOff += newLines.get(i).length();
+        }
+        newTokens.addAll(lineTokens.subList(lineTokens.size() - tail, lineTokens.size()));
+        lines = newLines;
+        lineTokens = newTokens;
+        
         tokenMap.clear();
-        normBrackets.clear();
+        lineOff = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            // a last line without an end of line is only kept if it has tokens
+            if (!lineTokens.get(i).isEmpty() || line.endsWith("\r") || line.endsWith("\n")) {
+                tokenMap.put(lineOff, lineTokens.get(i));
+            }
+            lineOff += line.length();
+        }
+        linkGroups();
+    }
+    
+    /**
+     * Split the text into lines, each with its end of line, which is a CR or
+     * LF optionally followed by the other one, as {@link #nextToken()} reads
+     * it.
+     */
+    private static List<String> splitLines(String str) {
+        List<String> result = new ArrayList<String>();
+        int start = 0;
+        int pos = 0;
+        while (pos < str.length()) {
+            char c = str.charAt(pos++);
+            if (c == CR_KEY || c == LF_KEY) {
+                if (pos < str.length()) {
+                    char next = str.charAt(pos);
+                    if ((c == CR_KEY && next == LF_KEY) || (c == LF_KEY && next == CR_KEY)) {
+                        pos++;
+                    }
+                }
+                result.add(str.substring(start, pos));
+                start = pos;
+            }
+        }
+        if (start < str.length()) {
+            result.add(str.substring(start));
+        }
+        return result;
+    }
+    
+    /**
+     * @return the tokens of the line of {@link #inStr} starting at the offset,
+     *         without its end of line.
+     */
+    private List<LogicToken> lexLine(int lineOff) {
+        curLineOff = lineOff;
+        curLinePos = 0;
         curlBracketGroup = null;
-        List<LogicToken> lineTokens = new ArrayList<LogicToken>();
-        
+        List<LogicToken> tokens = new ArrayList<LogicToken>();
         LogicToken curToken = nextToken();
-        while (!(curToken.getType() == LogicTokenType.EOF)) {
-            if (curToken.getType() == LogicTokenType.EOL) {
-                tokenMap.put(curLineOff, lineTokens);
-                curLineOff += curLinePos;
-                curLinePos = 0;
-                lineTokens = new ArrayList<LogicToken>();
-                curToken = nextToken();
-            } else if (curToken.getType() == LogicTokenType.LCBRACKET) {
-                lineTokens.add(curToken);                
+        while (curToken.getType() != LogicTokenType.EOF && curToken.getType() != LogicTokenType.EOL) {
+            tokens.add(curToken);                
+            if (curToken.getType() == LogicTokenType.LCBRACKET) {
                 curToken = processInsideCurlBracket();
             } else if (curToken.getType() == LogicTokenType.INCBRACKET) {
-                lineTokens.add(curToken);                
                 curToken = processEndCurlBracket();
             } else {
-                lineTokens.add(curToken);                
                 curToken = nextToken();
             }
         }
-        
-        if (lineTokens.size() > 0) {
-            tokenMap.put(curLineOff, lineTokens);            
+        return tokens;
+    }
+    
+    /**
+     * Group each bracket with its partner, and each IF with its THEN, ELSE
+     * and ENDIF, across all lines. Curly brackets stay on one line so they
+     * are grouped as they are lexed.
+     */
+    private void linkGroups() {
+        normBrackets.clear();
+        ifBlocks.clear();
+        for (List<LogicToken> tokens : lineTokens) {
+            for (LogicToken token : tokens) {
+                switch (token.getType()) {
+                case LBRACKET :
+                case IF :
+                    Set<LogicToken> group = new HashSet<LogicToken>();
+                    group.add(token);
+                    token.setGroup(group);
+                    if (token.getType() == LogicTokenType.IF) {
+                        ifBlocks.push(token);
+                    } else {
+                        normBrackets.push(token);
+                    }
+                    break;
+                case RBRACKET :
+                    linkToOpen(token, normBrackets.isEmpty() ? null : normBrackets.pop());
+                    break;
+                case THEN :
+                case ELSE :
+                    linkToOpen(token, ifBlocks.peek());
+                    break;
+                case ENDIF :
+                    linkToOpen(token, ifBlocks.isEmpty() ? null : ifBlocks.pop());
+                    break;
+                default :
+                    break;
+                }
+            }
+        }
+    }
+
+    private void linkToOpen(LogicToken token, LogicToken open) {
+        if (open == null) {
+            token.setGroup(null);
+        } else {
+            token.setGroup(open.getGroup());
+            open.getGroup().add(token);
         }
     }
 
     public Map<Integer, List<LogicToken>> getTokenMap() {
         return tokenMap;
     }
+
+    /**
+     * @return the tokens of the last text parsed other than white space and
+     *         comments, each with its line and position in the line. Texts
+     *         which differ only in their comments or in the white space at
+     *         the ends of lines give the same string.
+     */
+    public String getSignificantTokens() {
+        StringBuilder result = new StringBuilder();
+        int line = 0;
+        for (List<LogicToken> tokens : tokenMap.values()) {
+            for (LogicToken token : tokens) {
+                if (token.getType() != LogicTokenType.WHITE && token.getType() != LogicTokenType.COMMENT) {
+                    result.append(line).append(':').append(token.getStart()).append(':')
+                        .append(token.getString()).append('\n');
+                }
+            }
+            line++;
+        }
+        return result.toString();
+    }
         
     public boolean isKeyword(String word) {
         word = word.toUpperCase();
@@ -214,23 +354,12 @@ public class LogicTextParser {
                 curlBracketGroup.add(lcbracket);
                 return lcbracket;
             case '(':
+                // grouped with its partner by linkGroups
                 tokBuffer.append((char)c);
-                Set<LogicToken> normBracketGroup = new HashSet<LogicToken>();
-                LogicToken lbracket = new LogicToken(LogicTokenType.LBRACKET, tokStartPos, curLinePos, tokBuffer.toString(), normBracketGroup);
-                normBracketGroup.add(lbracket);
-                normBrackets.push(lbracket);
-                return lbracket;
+                return new LogicToken(LogicTokenType.LBRACKET, tokStartPos, curLinePos, tokBuffer.toString());
             case ')':
                 tokBuffer.append((char)c);
-                LogicToken rbracket;
-                if (normBrackets.size() > 0) {
-                    LogicToken clbracket = normBrackets.pop();
-                    rbracket = new LogicToken(LogicTokenType.RBRACKET, tokStartPos, curLinePos, tokBuffer.toString(), clbracket.getGroup());
-                    clbracket.getGroup().add(rbracket);
-                } else {
-                    rbracket = new LogicToken(LogicTokenType.RBRACKET, tokStartPos, curLinePos, tokBuffer.toString());
-                }
-                return rbracket;
+                return new LogicToken(LogicTokenType.RBRACKET, tokStartPos, curLinePos, tokBuffer.toString());
             case EOF_KEY:
                 tokBuffer.append((char)c);
                 return new LogicToken(LogicTokenType.EOF,tokStartPos, curLinePos, tokBuffer.toString());
@@ -328,42 +457,20 @@ public class LogicTextParser {
     }
 
     protected LogicToken processKeyword(int tokStartPos, StringBuffer tokBuffer) {
+        // IF blocks are grouped by linkGroups
+        LogicTokenType type;
         if (tokBuffer.toString().equals("IF")) {
-            Set<LogicToken> ifGroup = new HashSet<LogicToken>();
-            LogicToken token =  new LogicToken(LogicTokenType.IF, tokStartPos, curLinePos, tokBuffer.toString(),ifGroup);
-            ifGroup.add(token);
-            ifBlocks.push(token);
-            return token;
+            type = LogicTokenType.IF;
         } else if (tokBuffer.toString().equals("THEN")) {
-            if (ifBlocks.size() > 0) {
-                LogicToken ifTok = ifBlocks.peek();
-                LogicToken token =  new LogicToken(LogicTokenType.THEN, tokStartPos, curLinePos, tokBuffer.toString(),ifTok.getGroup());
-                ifTok.getGroup().add(token);
-                return token;
-            } else {
-                return new LogicToken(LogicTokenType.THEN, tokStartPos, curLinePos, tokBuffer.toString());                                
-            }
+            type = LogicTokenType.THEN;
         } else if (tokBuffer.toString().equals("ELSE")) {
-            if (ifBlocks.size() > 0) {
-                LogicToken ifTok = ifBlocks.peek();
-                LogicToken token =  new LogicToken(LogicTokenType.ELSE, tokStartPos, curLinePos, tokBuffer.toString(),ifTok.getGroup());
-                ifTok.getGroup().add(token);
-                return token;
-            } else {
-                return new LogicToken(LogicTokenType.ELSE, tokStartPos, curLinePos, tokBuffer.toString());                                
-            }
+            type = LogicTokenType.ELSE;
         } else if (tokBuffer.toString().equals("ENDIF")) {
-            if (ifBlocks.size() > 0) {
-                LogicToken ifTok = ifBlocks.pop();
-                LogicToken token =  new LogicToken(LogicTokenType.ENDIF, tokStartPos, curLinePos, tokBuffer.toString(),ifTok.getGroup());
-                ifTok.getGroup().add(token);
-                return token;
-            } else {
-                return new LogicToken(LogicTokenType.ENDIF, tokStartPos, curLinePos, tokBuffer.toString());                                
-            }
+            type = LogicTokenType.ENDIF;
         } else {
-            return new LogicToken(LogicTokenType.KEY, tokStartPos, curLinePos, tokBuffer.toString());
+            type = LogicTokenType.KEY;
         }
+        return new LogicToken(type, tokStartPos, curLinePos, tokBuffer.toString());
     }
 
     private boolean isIdentifierStart(Character c) {
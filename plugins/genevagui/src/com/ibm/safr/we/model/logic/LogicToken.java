@@ -64,5 +64,9 @@ public class LogicToken {
     public Set<LogicToken> getGroup() {
         return group;
     }
+
+    void setGroup(Set<LogicToken> group) {
+        this.group = group;
+    }
     
 }
@@ -0,0 +1,150 @@
+package com.ibm.safr.we.model.utilities;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.DAOUOWInterruptedException;
+import com.ibm.safr.we.exceptions.SAFRException;
+
+/**
+ * Runs model and DAO calls off the calling thread, e.g. so that the user
+ * interface stays usable while a long list is read. Each call holds a pooled
+ * connection while it runs, so it neither waits for nor disturbs the primary
+ * connection used by the editors. At most as many calls run at once as the
+ * pool has connections; the rest wait in turn.
+ * <p>
+ * A call is cancelled by interrupting its thread, e.g. with
+ * <code>Future.cancel(true)</code>. A statement which is already running is
+ * not stopped, so long calls should use {@link #checkInterrupted(String)}
+ * between steps. Either way the call ends with a
+ * {@link DAOUOWInterruptedException}, which is also what
+ * {@link #waitFor(Future, String, String)} throws for a cancelled call.
+ */
+public class BackgroundCalls {
+
+    private static final long IDLE_TIME = 60L;
+
+    private static ThreadPoolExecutor executor;
+
+    /**
+     * Run a call on a background thread with a pooled connection.
+     *
+     * @return the result of the call, to be collected with
+     *         {@link #waitFor(Future, String, String)}
+     */
+    public static <T> Future<T> submit(final Callable<T> call) {
+        return getExecutor().submit(new Callable<T>() {
+            public T call() throws Exception {
+                DAOFactoryHolder.getDAOFactory().attachPooledConnection();
+                try {
+                    return call.call();
+                } finally {
+                    DAOFactoryHolder.getDAOFactory().releasePooledConnection();
+                }
+            }
+        });
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, DAOFactoryHolder.getDAOFactory()
+                .getConnectionParameters().getPoolSize());
+            executor = new ThreadPoolExecutor(threads, threads, IDLE_TIME,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "Background call " + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Wait for the result of a background call.
+     *
+     * @param result
+     *            the call's future
+     * @param interrupted
+     *            the message if the call or the wait is cancelled
+     * @param failed
+     *            the message if the call fails with anything but a
+     *            SAFRException
+     * @return the result of the call
+     * @throws DAOUOWInterruptedException
+     *             if the call or the wait is cancelled
+     * @throws SAFRException
+     *             if the call fails
+     */
+    public static <T> T waitFor(Future<T> result, String interrupted, String failed)
+        throws SAFRException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOUOWInterruptedException(interrupted);
+        } catch (CancellationException e) {
+            throw new DAOUOWInterruptedException(interrupted);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SAFRException) {
+                throw (SAFRException) e.getCause();
+            }
+            throw new SAFRException(failed, e.getCause());
+        }
+    }
+
+    /**
+     * Cancel background calls which are no longer wanted, e.g. those still
+     * running when the caller gives up on an error. Calls which have
+     * finished are left alone.
+     */
+    public static void cancel(Iterable<? extends Future<?>> results) {
+        for (Future<?> result : results) {
+            result.cancel(true);
+        }
+    }
+
+    /**
+     * Stop the calling thread's work if it has been cancelled.
+     *
+     * @param message
+     *            the message of the exception
+     * @throws DAOUOWInterruptedException
+     *             if the thread has been interrupted
+     */
+    public static void checkInterrupted(String message) throws DAOUOWInterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new DAOUOWInterruptedException(message);
+        }
+    }
+}
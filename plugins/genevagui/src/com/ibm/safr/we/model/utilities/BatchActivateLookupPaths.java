@@ -131,6 +131,7 @@ public class BatchActivateLookupPaths {
 			DAOFactoryHolder.getDAOFactory().getLookupDAO()
 			.makeLookupPathsInactive(makeInActiveList,envId);
 		}
+		SAFRApplication.getSAFRFactory().environmentChanged(envId);
 	}
 
 }
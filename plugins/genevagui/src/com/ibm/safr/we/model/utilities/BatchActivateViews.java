@@ -17,21 +17,31 @@ package com.ibm.safr.we.model.utilities;
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.genevaers.runcontrolgenerator.workbenchinterface.WorkbenchCompiler;
 
 import com.ibm.safr.we.constants.ActivityResult;
-import com.ibm.safr.we.constants.ReportType;
+import com.ibm.safr.we.data.DAOFactory;
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
 import com.ibm.safr.we.exceptions.SAFRDependencyException;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.exceptions.SAFRViewActivationException;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.query.ViewQueryBean;
+import com.ibm.safr.we.model.view.ActivationContext;
 import com.ibm.safr.we.model.view.View;
-import com.ibm.safr.we.ui.reports.ReportUtils;
+import com.ibm.safr.we.model.view.WBCompilerDataStore;
 import com.ibm.safr.we.utilities.SAFRLogger;
 
 /**
@@ -41,10 +51,24 @@ public class BatchActivateViews {
 
     static transient Logger logger = Logger.getLogger("com.ibm.safr.we.model.utilities.BatchActivateViews");
 
-    private static View view;
-    private static ViewQueryBean viewBean;
     private static final String ACTIVE = "ACTVE";
-    private static boolean allActive;
+    // views read from the database in one call
+    private static final int PREFETCH_SIZE = 50;
+    // chunks read or compiled ahead of the one being stored
+    private static final int CHUNKS_IN_FLIGHT = 2;
+    private static volatile boolean allActive;
+
+    /**
+     * The outcome of loading and compiling one view on a worker thread, ready
+     * to be stored and reported back into its BatchComponent.
+     */
+    private static class CompiledView {
+        private BatchComponent component;
+        private View view;
+        private SAFRViewActivationException actExp;
+        private SAFRDependencyException loadExp;
+        private boolean warnings;
+    }
 
     /**
      * This static method is used to activate the views that are selected.
@@ -63,54 +87,226 @@ public class BatchActivateViews {
         // else is added to
         // the invalid list and stored to the database.
         allActive = true;
+        List<BatchComponent> components = new ArrayList<BatchComponent>(batchViewComponents);
         Integer max = batchViewComponents.size();
         Integer i = 1;
-        for (BatchComponent component : batchViewComponents) {
-            SAFRLogger.logAllStamp(logger, Level.INFO,
-                    "Batch Activating " + i++ + " of " + max + " : " + component.getComponent().getIdLabel());
-            component.setException(null);
-            viewBean = (ViewQueryBean) component.getComponent();
-            String status = viewBean.getStatus();
+        for (int start = 0; start < components.size(); start += PREFETCH_SIZE) {
+            List<BatchComponent> chunk = components.subList(start,
+                    Math.min(start + PREFETCH_SIZE, components.size()));
+            Map<BatchComponent, ViewGraphTransfer> graphs = loadGraphs(chunk);
+            for (BatchComponent component : chunk) {
+                SAFRLogger.logAllStamp(logger, Level.INFO,
+                        "Batch Activating " + i++ + " of " + max + " : " + component.getComponent().getIdLabel());
+                CompiledView compiled = loadAndCompile(component, graphs.get(component));
+                storeAndReport(compiled, warningStrategy);
+            }
+        }
+        SAFRApplication.getSAFRFactory().getComponentCache().report();
+    }
 
+    /**
+     * Activate the selected views on {@link BackgroundCalls} worker threads,
+     * when the number of processors and the size of the connection pool allow
+     * more than one.
+     * <p>
+     * The views are read on the calling thread in chunks of
+     * {@value #PREFETCH_SIZE}, each chunk in one database call per
+     * environment, while the workers compile the previous chunk. At most
+     * {@value #CHUNKS_IN_FLIGHT} chunks are read ahead; a chunk is stored
+     * before the next one is read, so the views of the whole batch are never
+     * held at once. Each worker builds its view on its own pooled connection
+     * and compiles it in its own {@link ActivationContext}. The
+     * WorkbenchCompiler itself is a static singleton, so compilation is
+     * serialized on {@link WBCompilerDataStore#COMPILER_LOCK}; view loading
+     * overlaps with it. Views are stored on the calling thread in the order given, so
+     * warning confirmations are raised where the caller expects them. The
+     * results are set in the same BatchComponent fields as
+     * {@link #activate(Collection, ConfirmWarningStrategy)}.
+     * 
+     * @param batchViewComponents
+     * @param warningStrategy
+     * @throws SAFRException
+     */
+    public static void activateInParallel(Collection<BatchComponent> batchViewComponents,
+            ConfirmWarningStrategy warningStrategy) throws SAFRException {
+        DAOFactory factory = DAOFactoryHolder.getDAOFactory();
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(),
+                factory.getConnectionParameters().getPoolSize());
+        threads = Math.min(threads, batchViewComponents.size());
+        if (threads <= 1) {
+            activate(batchViewComponents, warningStrategy);
+            return;
+        }
+
+        allActive = true;
+        LinkedList<List<Future<CompiledView>>> inFlight = new LinkedList<List<Future<CompiledView>>>();
+        try {
+            List<BatchComponent> components = new ArrayList<BatchComponent>(batchViewComponents);
+            Integer max = batchViewComponents.size();
+            Integer i = 1;
+            int next = 0;
+            while (next < components.size() || !inFlight.isEmpty()) {
+                while (next < components.size() && inFlight.size() < CHUNKS_IN_FLIGHT) {
+                    List<BatchComponent> chunk = components.subList(next,
+                            Math.min(next + PREFETCH_SIZE, components.size()));
+                    next += chunk.size();
+                    inFlight.add(submitChunk(chunk));
+                }
+                for (Future<CompiledView> result : inFlight.getFirst()) {
+                    CompiledView compiled = BackgroundCalls.waitFor(result, "Batch activation interrupted.",
+                            "Unexpected error occurred while activating the views.");
+                    SAFRLogger.logAllStamp(logger, Level.INFO,
+                            "Batch Activated " + i++ + " of " + max + " : " + compiled.component.getComponent().getIdLabel());
+                    storeAndReport(compiled, warningStrategy);
+                }
+                inFlight.removeFirst();
+            }
+            SAFRApplication.getSAFRFactory().getComponentCache().report();
+        } finally {
+            for (List<Future<CompiledView>> results : inFlight) {
+                BackgroundCalls.cancel(results);
+            }
+        }
+    }
+
+    /**
+     * Read the views of one chunk and hand them to background calls to
+     * compile.
+     */
+    private static List<Future<CompiledView>> submitChunk(List<BatchComponent> chunk) {
+        Map<BatchComponent, ViewGraphTransfer> graphs = loadGraphs(chunk);
+        List<Future<CompiledView>> results = new ArrayList<Future<CompiledView>>();
+        for (final BatchComponent component : chunk) {
+            final ViewGraphTransfer graph = graphs.get(component);
+            results.add(BackgroundCalls.submit(new Callable<CompiledView>() {
+                public CompiledView call() throws Exception {
+                    try {
+                        return loadAndCompile(component, graph);
+                    } finally {
+                        WBCompilerDataStore.clearContext();
+                    }
+                }
+            }));
+        }
+        return results;
+    }
+
+    /**
+     * Read the views of the components with one database call per
+     * environment.
+     * 
+     * @return the View graph of each component, none for a view which was
+     *         not found.
+     */
+    private static Map<BatchComponent, ViewGraphTransfer> loadGraphs(List<BatchComponent> components) {
+        Map<Integer, List<Integer>> idsByEnv = new HashMap<Integer, List<Integer>>();
+        for (BatchComponent component : components) {
+            ViewQueryBean viewBean = (ViewQueryBean) component.getComponent();
+            List<Integer> ids = idsByEnv.get(viewBean.getEnvironmentId());
+            if (ids == null) {
+                ids = new ArrayList<Integer>();
+                idsByEnv.put(viewBean.getEnvironmentId(), ids);
+            }
+            ids.add(viewBean.getId());
+        }
+        Map<Integer, Map<Integer, ViewGraphTransfer>> graphsByEnv = new HashMap<Integer, Map<Integer, ViewGraphTransfer>>();
+        for (Map.Entry<Integer, List<Integer>> entry : idsByEnv.entrySet()) {
+            graphsByEnv.put(entry.getKey(), DAOFactoryHolder.getDAOFactory()
+                    .getViewDAO().getViewGraphs(entry.getValue(), entry.getKey()));
+        }
+        Map<BatchComponent, ViewGraphTransfer> result = new HashMap<BatchComponent, ViewGraphTransfer>();
+        for (BatchComponent component : components) {
+            ViewQueryBean viewBean = (ViewQueryBean) component.getComponent();
+            ViewGraphTransfer graph = graphsByEnv.get(viewBean.getEnvironmentId()).get(viewBean.getId());
+            if (graph != null) {
+                result.put(component, graph);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load the view of the component and compile it in a fresh activation
+     * context. Does not store the view.
+     * 
+     * @param graph
+     *            the view already read from the database, or null to read it
+     *            now
+     */
+    private static CompiledView loadAndCompile(BatchComponent component, ViewGraphTransfer graph) {
+        CompiledView compiled = new CompiledView();
+        compiled.component = component;
+        component.setException(null);
+        ViewQueryBean viewBean = (ViewQueryBean) component.getComponent();
+        try {
+            if (graph != null) {
+                compiled.view = SAFRApplication.getSAFRFactory().getView(graph);
+            } else {
+                compiled.view = SAFRApplication.getSAFRFactory().getView(viewBean.getId(), viewBean.getEnvironmentId());
+            }
+        } catch (SAFRDependencyException sde) {
+            compiled.loadExp = sde;
+            return compiled;
+        }
+        WBCompilerDataStore.setContext(new ActivationContext());
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
             try {
-                view = SAFRApplication.getSAFRFactory().getView(viewBean.getId(), viewBean.getEnvironmentId());
-                inactivateAndOrActivate(warningStrategy, component, status);
+                // CQ9748 ensure already Active views are re-compiled if
+                // selected.
+                // If it's currently active, make it inactive first.
+                if (viewBean.getStatus().equalsIgnoreCase(ACTIVE)) {
+                    compiled.view.makeViewInactive();
+                }
+                compiled.view.batchActivate();
+            } catch (SAFRViewActivationException svae) {
+                // set the SAFRViewActivationException in the model to use
+                // it in the UI which is later passed to the
+                // SAFRViewActivation Error.
+                compiled.actExp = svae;
             } catch (SAFRDependencyException sde) {
-                component.setResult(ActivityResult.LOADERRORS);
-                component.setActive(false);
-                component.setException(sde);
-                allActive = false;
+                compiled.loadExp = sde;
+                return compiled;
             }
+            compiled.warnings = WorkbenchCompiler.hasWarnings();
         }
+        return compiled;
     }
 
-    private static void inactivateAndOrActivate(ConfirmWarningStrategy warningStrategy, BatchComponent component,
-            String status) {
-        SAFRViewActivationException actExp = null;
+    private static void storeAndReport(CompiledView compiled, ConfirmWarningStrategy warningStrategy) {
+        BatchComponent component = compiled.component;
+        if (compiled.loadExp != null) {
+            component.setResult(ActivityResult.LOADERRORS);
+            component.setActive(false);
+            component.setException(compiled.loadExp);
+            allActive = false;
+            return;
+        }
+        SAFRViewActivationException actExp = compiled.actExp;
+        View view = compiled.view;
         try {
-            // CQ9748 ensure already Active views are re-compiled if
-            // selected.
-            // If it's currently active, make it inactive first.
-            if (status.equalsIgnoreCase(ACTIVE)) {
-                view.makeViewInactive();
+            if (actExp == null) {
+                view.setConfirmWarningStrategy(warningStrategy);
+                view.store();
+            } else {
+                component.setException(actExp);
+                // if warning store it anyway
+                if (!actExp.hasErrorOccured()) {
+                    view.setConfirmWarningStrategy(warningStrategy);
+                    view.store();
+                }
             }
-            view.batchActivate();
-            view.setConfirmWarningStrategy(warningStrategy);
-            view.store();
         } catch (SAFRViewActivationException svae) {
-            // set the SAFRViewActivationException in the model to use
-            // it in the UI which is later passed to the
-            // SAFRViewActivation Error.
             actExp = svae;
             component.setException(svae);
-            // if warning store it anyway
-            if (!svae.hasErrorOccured()) {
-                view.setConfirmWarningStrategy(warningStrategy);
-                view.store();
-            }
+        } catch (SAFRDependencyException sde) {
+            component.setResult(ActivityResult.LOADERRORS);
+            component.setActive(false);
+            component.setException(sde);
+            allActive = false;
+            return;
         }
         if (actExp == null) {
-            if (WorkbenchCompiler.hasWarnings()) {
+            if (compiled.warnings) {
                 component.setResult(ActivityResult.WARNING);
             } else {
                 component.setResult(ActivityResult.PASS);
@@ -24,8 +24,8 @@ import java.util.Map;
 import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.DependencyUsageType;
 import com.ibm.safr.we.data.DAOException;
-import com.ibm.safr.we.data.DAOFactoryHolder;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
+import com.ibm.safr.we.model.SAFRApplication;
 
 /**
  * Dependency checker utility class. This class is used to retrieve the direct
@@ -168,11 +168,11 @@ public class DependencyChecker {
 			DependencyCheckerNode parentNode, String componentName)
 			throws DAOException {
 		Map<ComponentType, Map<DependencyUsageType, List<DependentComponentTransfer>>> dependentComponentsMap;
-		// calls the DAO layer to retrieve the dependency and creates a tree
+		// answer from the dependency graph of the environment and create a tree
 
-		dependentComponentsMap = DAOFactoryHolder.getDAOFactory()
-				.getDependencyCheckerDAO().getDependentComponents(type,
-						componentId, environmentId, directDepsOnly);
+		dependentComponentsMap = SAFRApplication.getSAFRFactory()
+				.getDependencyGraph(environmentId).getDependentComponents(type,
+						componentId, directDepsOnly);
 		
 		//showDepCompsMap(dependentComponentsMap); // for debug, dont delete
 		
@@ -18,6 +18,9 @@ package com.ibm.safr.we.model.utilities;
  */
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.ibm.safr.we.constants.EditRights;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.data.transfer.FindTransfer;
@@ -34,6 +37,8 @@ public class FindReplaceComponent {
     private Integer columnId;	
 	private Boolean selected;
 	private EditRights rights;
+	private List<Integer> matchStarts = new ArrayList<Integer>();
+	private List<Integer> matchEnds = new ArrayList<Integer>();
 
 	/**
 	 * @param viewId
@@ -140,6 +145,38 @@ public class FindReplaceComponent {
 	 */
 	public void setLogicText(String logicText) {
 		this.logicText = logicText;
+		// the matches were found in the old text
+		matchStarts.clear();
+		matchEnds.clear();
+	}
+
+	/**
+	 * Records a match of the search text in the logic text.
+	 * 
+	 * @param start
+	 *            offset of the first character matched.
+	 * @param end
+	 *            offset after the last character matched.
+	 */
+	public void addMatch(int start, int end) {
+		matchStarts.add(start);
+		matchEnds.add(end);
+	}
+
+	/**
+	 * @return the start offsets of the matches of the search text in the
+	 *         logic text, in order.
+	 */
+	public List<Integer> getMatchStarts() {
+		return matchStarts;
+	}
+
+	/**
+	 * @return the end offsets of the matches of the search text in the logic
+	 *         text, in the order of {@link #getMatchStarts()}.
+	 */
+	public List<Integer> getMatchEnds() {
+		return matchEnds;
 	}
 
 	/**
@@ -36,6 +36,7 @@ import com.ibm.safr.we.data.DAOFactoryHolder;
 import com.ibm.safr.we.data.transfer.FindTransfer;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.exceptions.SAFRValidationException;
+import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.query.EnvironmentalQueryBean;
 
 /**
@@ -273,7 +274,10 @@ public class FindReplaceText {
 						componentIdList,
 						searchCriteria == null ? SearchCriteria.None : searchCriteria, 
 						dateToSearch, 
-						searchPeriod);
+						searchPeriod,
+						searchText,
+						matchCase,
+						usePatternMatching);
 		// process list of transfer objects list to form a map.In which view id
 		// is used as key.use this map for grouping find transfer objects
 		// according to view id.
@@ -300,14 +304,21 @@ public class FindReplaceText {
 			// get the logic text in the string form.
 			for (FindTransfer findTransfer : fTList) {
 			    String logicText =findTransfer.getLogicText();
-				// check whether the component name to find is used in the
-				// logic text then create find replace component.
-				if ((logicText != null) && (isComponentUsedInLT(logicText))) {
+				// the database only narrows the logic text, so confirm the
+				// component name to find is used in it and note where.
+				if (logicText == null) {
+					continue;
+				}
+				Matcher match = pattern.matcher(logicText);
+				if (match.find()) {
 					FindReplaceComponent findReplaceComponent = new FindReplaceComponent(
 							viewId, findTransfer.getViewName(),
 							findTransfer.getLogicTextType(), logicText,
 							findTransfer.getCellId(), findTransfer.getReferenceId(),
 							findTransfer.getRights());
+					do {
+						findReplaceComponent.addMatch(match.start(), match.end());
+					} while (match.find());
 					findReList.add(findReplaceComponent);
 				}
 			}
@@ -459,6 +470,7 @@ public class FindReplaceText {
         Set<Integer> mapKeySet = viewIdToFindTransListmap.keySet();        
         DAOFactoryHolder.getDAOFactory().getViewDAO().makeViewsInactive(
             new ArrayList<Integer>(mapKeySet), environmentId);				
+        SAFRApplication.getSAFRFactory().environmentChanged(environmentId);
 	}
 
 	private String replaceComponentInLogicText(String logicText) {
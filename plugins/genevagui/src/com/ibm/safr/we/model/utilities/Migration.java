@@ -28,6 +28,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Observable;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,9 +45,11 @@ import com.ibm.safr.we.constants.SAFRPersistence;
 import com.ibm.safr.we.constants.SAFRValidationType;
 import com.ibm.safr.we.constants.SortType;
 import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DAOFactory;
 import com.ibm.safr.we.data.DAOFactoryHolder;
 import com.ibm.safr.we.data.DAOUOWInterruptedException;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
 import com.ibm.safr.we.exceptions.SAFRCancelException;
 import com.ibm.safr.we.exceptions.SAFRDependencyException;
 import com.ibm.safr.we.exceptions.SAFRException;
@@ -99,6 +103,19 @@ public class Migration extends Observable {
 	transient protected static final String LINEBREAK = System
 			.getProperty("line.separator");
 	
+	/**
+	 * The migration stages in dependency order. Components are collected,
+	 * validated and stored a stage at a time, so a component is always stored
+	 * after the components it refers to.
+	 */
+	private static final ComponentType[] STAGES = { ComponentType.ControlRecord,
+			ComponentType.UserExitRoutine, ComponentType.PhysicalFile,
+			ComponentType.LogicalFile, ComponentType.LogicalRecord,
+			ComponentType.LookupPath, ComponentType.View, ComponentType.ViewFolder };
+	
+	// number of Views read from the database in one call
+	private static final int VIEW_LOAD_SIZE = 50;
+	
 	// Migration params
 	private EnvironmentQueryBean sourceEnv;
 	private EnvironmentQueryBean targetEnv;
@@ -116,6 +133,9 @@ public class Migration extends Observable {
 	// migrated LRLF pairs that already exist in the target env
 	private Map<Integer, ComponentAssociation> existingLRLFAssocs = new HashMap<Integer, ComponentAssociation>();	
 	
+	// target env Views loaded ahead, null for a View known not to exist there
+	private Map<Integer, View> targetViews = new HashMap<Integer, View>();
+	
 	// time monitoring
 	private TimeReporter reporter = new TimeReporter("");
 	private TimeStamper stamper = new TimeStamper(TimeStamper.NONE, reporter);
@@ -264,24 +284,12 @@ public class Migration extends Observable {
 	
 	private void initMaps() {
 		compMap.clear();
-		compMap.put(ComponentType.ControlRecord, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.UserExitRoutine, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.PhysicalFile, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.LogicalFile, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.LogicalRecord, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.LookupPath, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.View, new HashSet<SAFREnvironmentalComponent>());
-		compMap.put(ComponentType.ViewFolder, new HashSet<SAFREnvironmentalComponent>());
-		
 		relatedIdMap.clear();
-		relatedIdMap.put(ComponentType.ControlRecord, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.UserExitRoutine, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.PhysicalFile, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.LogicalFile, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.LogicalRecord, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.LookupPath, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.View, new HashSet<Integer>());
-		relatedIdMap.put(ComponentType.ViewFolder, new HashSet<Integer>());
+		for (ComponentType stage : STAGES) {
+			compMap.put(stage, new HashSet<SAFREnvironmentalComponent>());
+			relatedIdMap.put(stage, new HashSet<Integer>());
+		}
+		targetViews.clear();
 	}
 	
 	private void doValidate() throws SAFRException {
@@ -798,34 +806,32 @@ public class Migration extends Observable {
 		while (!success) {
 			try {
 				// Begin Transaction
-			    Map<Class<? extends SAFREnvironmentalComponent>, TimeStamper> timeMap = 
-			        new HashMap<Class<? extends SAFREnvironmentalComponent>, TimeStamper>();
 				DAOFactoryHolder.getDAOFactory().getDAOUOW().begin();
 				DAOFactoryHolder.getDAOFactory().getDAOUOW().multiComponentScopeOn();
 
 				SAFRApplication.getModelCount().restartCount();
 				SAFRApplication.getTimingMap().startRecording();
 				
-                TimeReporter reporter = new TimeReporter("Store: ");				
-				for (Set<SAFREnvironmentalComponent> comps : compMap.values()) {
+                // store a stage at a time in dependency order
+                TimeReporter reporter = new TimeReporter("Store: ");
+				String tmReport = "Component Store Timing" + LINEBREAK;
+				for (Map.Entry<ComponentType, Set<SAFREnvironmentalComponent>> stage : compMap.entrySet()) {
+					Set<SAFREnvironmentalComponent> comps = stage.getValue();
+					if (comps.isEmpty()) {
+						continue;
+					}
+					TimeStamper stageStamper = new TimeStamper(TimeStamper.NONE, reporter);
+					stageStamper.startStamp();
 					for (SAFREnvironmentalComponent comp : comps) {
-					    if (!timeMap.containsKey(comp.getClass())) {
-					        timeMap.put(comp.getClass(), new TimeStamper(TimeStamper.NONE, reporter));
-					    }
-					    timeMap.get(comp.getClass()).startStamp();
 						String progress = "Storing : " + getDescriptor(comp);
 						SAFRLogger.logAll(logger, Level.INFO, progress);
 						this.setChanged();
 				        notifyObservers( progress );
                         comp.store();
-                        timeMap.get(comp.getClass()).stopStamp();                        
 					}
-				}
-				
-				// report timing of all Store methods
-				String tmReport = "Component Store Timing" + LINEBREAK;
-				for (Map.Entry<Class<? extends SAFREnvironmentalComponent>, TimeStamper> ent : timeMap.entrySet()) {
-				    tmReport += reporter.report(ent.getValue(), ent.getKey().getName()) + LINEBREAK;
+					stageStamper.stopStamp();
+				    tmReport += reporter.report(stageStamper, stage.getKey().getLabel() 
+				        + " (" + comps.size() + ")") + LINEBREAK;
 				}
 				SAFRLogger.logAll(logger, Level.INFO, tmReport);
                 
@@ -850,6 +856,7 @@ public class Migration extends Observable {
 				SAFRApplication.getTimingMap().report("DAO Method timings");
                 SAFRApplication.getTimingMap().stopRecording();
                 SAFRApplication.getModelCount().report();               
+                SAFRApplication.getSAFRFactory().getComponentCache().report();
 			}
 		}
 
@@ -1201,18 +1208,7 @@ public class Migration extends Observable {
 		this.setChanged();
         notifyObservers( progress );
 
-		srcView.getExtractFileAssociation(); //Lazy init
-		srcView.getControlRecord(); //Lazy Init
-		srcView.getViewLogicDependencies(); //Lazy init
-		srcView.getFormatExit(); //Lazy init
-		srcView.getWriteExit(); //Lazy init
-		if (srcView.getViewColumnSources() != null)
-		{
-			for (ViewColumnSource src : srcView.getViewColumnSources())
-			{
-				src.getSortKeyTitleLRField(); //Lazy init
-			}
-		}
+		initRelatedComponents(srcView);
 				
 		View tgtView = null;
 		try {
@@ -1597,23 +1593,12 @@ public class Migration extends Observable {
 			relatedIdMap.get(ComponentType.View).add(view.getId());
 		}
 		
-		view.getExtractFileAssociation(); //Lazy init
-		view.getControlRecord(); //Lazy Init
-		view.getViewLogicDependencies(); //Lazy init
-		view.getFormatExit(); //Lazy init
-		view.getWriteExit(); //Lazy init
-		if (view.getViewColumnSources() != null)
-		{
-			for (ViewColumnSource src : view.getViewColumnSources())
-			{
-				src.getSortKeyTitleLRField(); //Lazy init
-			}
-		}
+		initRelatedComponents(view);
 		
 		boolean existsInTarget;
 		View tgtView = null;
 		try {
-			tgtView = factory.getView(view.getId(), targetEnv.getId());
+			tgtView = getTargetView(view.getId());
 			SAFRLogger.logAll(logger, Level.INFO, 
 			    "View exists in Env " + targetEnv.getId() + " with ID : " + view.getId());
 			existsInTarget = true;
@@ -1656,6 +1641,104 @@ public class Migration extends Observable {
 		checkViewDetails(view, tgtView);
 	}
 
+	/**
+	 * Read the components a View refers to while it is still in the source
+	 * environment.
+	 */
+	private static void initRelatedComponents(View view) throws SAFRException {
+		view.getExtractFileAssociation(); //Lazy init
+		view.getControlRecord(); //Lazy Init
+		view.getViewLogicDependencies(); //Lazy init
+		view.getFormatExit(); //Lazy init
+		view.getWriteExit(); //Lazy init
+		if (view.getViewColumnSources() != null)
+		{
+			for (ViewColumnSource src : view.getViewColumnSources())
+			{
+				src.getSortKeyTitleLRField(); //Lazy init
+			}
+		}
+	}
+	
+	private View getTargetView(Integer viewId) throws SAFRException {
+		if (targetViews.containsKey(viewId)) {
+			View tgtView = targetViews.get(viewId);
+			if (tgtView == null) {
+				throw new SAFRNotFoundException("View '" + viewId
+						+ "' not found in Environment '" + targetEnv.getId() + "'.", viewId);
+			}
+			return tgtView;
+		}
+		return factory.getView(viewId, targetEnv.getId());
+	}
+	
+	/**
+	 * Load Views of an environment ahead of the checks. The View graphs are
+	 * read in bulk and the Views built concurrently as {@link BackgroundCalls}.
+	 * A View which cannot be built, e.g. because it refers to an inactive
+	 * component, is left out so that the check loading it again reports the
+	 * error in context.
+	 * 
+	 * @param ids
+	 *            the ids of the Views to load
+	 * @param environId
+	 *            the environment of the Views
+	 * @param source
+	 *            true to also read the components the Views refer to, as
+	 *            needed before migrating them
+	 * @return the loaded Views keyed by id
+	 * @throws SAFRException
+	 */
+	private Map<Integer, View> loadViews(List<Integer> ids, Integer environId,
+			final boolean source) throws SAFRException {
+		Map<Integer, View> views = new HashMap<Integer, View>();
+		if (ids.isEmpty()) {
+			return views;
+		}
+		DAOFactory daoFactory = DAOFactoryHolder.getDAOFactory();
+		
+		TimeReporter loadReporter = new TimeReporter("Load: ");
+		TimeStamper loadStamper = new TimeStamper(TimeStamper.NONE, loadReporter);
+		loadStamper.startStamp();
+		Map<Integer, Future<View>> results = new LinkedHashMap<Integer, Future<View>>();
+		try {
+			for (int start = 0; start < ids.size(); start += VIEW_LOAD_SIZE) {
+				List<Integer> chunk = ids.subList(start,
+						Math.min(start + VIEW_LOAD_SIZE, ids.size()));
+				Map<Integer, ViewGraphTransfer> graphs = daoFactory.getViewDAO()
+						.getViewGraphs(chunk, environId);
+				for (final Map.Entry<Integer, ViewGraphTransfer> graph : graphs.entrySet()) {
+					results.put(graph.getKey(), BackgroundCalls.submit(new Callable<View>() {
+						public View call() throws Exception {
+							try {
+								View view = SAFRApplication.getSAFRFactory().getView(graph.getValue());
+								if (source) {
+									initRelatedComponents(view);
+								}
+								return view;
+							} catch (SAFRDependencyException sde) {
+								return null;
+							}
+						}
+					}));
+				}
+			}
+			for (Map.Entry<Integer, Future<View>> result : results.entrySet()) {
+				View view = BackgroundCalls.waitFor(result.getValue(), "Migration interrupted.",
+				    "Unexpected error occurred while loading the views.");
+				if (view != null) {
+					views.put(result.getKey(), view);
+				}
+			}
+		} finally {
+			BackgroundCalls.cancel(results.values());
+		}
+		loadStamper.stopStamp();
+		SAFRLogger.logAll(logger, Level.INFO, loadReporter.report(loadStamper, 
+		    views.size() + " Views from Env " + environId));
+		return views;
+	}
+	
 	private void checkLogicalFileDetails(LogicalFile lfSource,
 			LogicalFile lfTarget) throws SAFRException {
 
@@ -2608,12 +2691,15 @@ public class Migration extends Observable {
             srcViewIDs.add(viewBean.getId());
         }
                 
-        //find associated source Views that exist in the target env
+        //find associated source Views that exist in the target env, in one query
+        Set<Integer> targViewIDs = new HashSet<Integer>();
+        for (ViewQueryBean bean : SAFRQuery.queryAllViews(targetEnv.getId(), SortType.SORT_BY_ID, true)) {
+            targViewIDs.add(bean.getId());
+        }
         Set<Integer> targExistViews = new HashSet<Integer>();       
         for(ViewQueryBean viewBean: srcViewBeans) {
-            ViewQueryBean bean = SAFRQuery.queryView(targetEnv.getId(), viewBean.getId());
-            if (bean != null) {
-                targExistViews.add(bean.getId());
+            if (targViewIDs.contains(viewBean.getId())) {
+                targExistViews.add(viewBean.getId());
             }
             else if (migrateRelated && actViewIDs.contains(viewBean.getId())) {
                 targExistViews.add(viewBean.getId());
@@ -2652,11 +2738,27 @@ public class Migration extends Observable {
 			}
 		}
 
+		// load the active views and their existing targets up front
+		List<Integer> actIDs = new ArrayList<Integer>();
+		List<Integer> tgtIDs = new ArrayList<Integer>();
+		for (ViewQueryBean viewBean : activeViews) {
+			actIDs.add(viewBean.getId());
+			if (targViewIDs.contains(viewBean.getId())) {
+				tgtIDs.add(viewBean.getId());
+			} else {
+				targetViews.put(viewBean.getId(), null);
+			}
+		}
+		Map<Integer, View> srcViews = loadViews(actIDs, sourceEnv.getId(), true);
+		targetViews.putAll(loadViews(tgtIDs, targetEnv.getId(), false));
+
 		//check the active views to be migrated
 		for(ViewQueryBean viewBean: activeViews) {
-			View view;
+			View view = srcViews.get(viewBean.getId());
 			try {
-				view = factory.getView(viewBean.getId(), sourceEnv.getId());
+				if (view == null) {
+					view = factory.getView(viewBean.getId(), sourceEnv.getId());
+				}
 			} catch (SAFRDependencyException sde) {
 				String ctxMsg = getInactiveContextMsg(ComponentType.View,
 						getDescriptor(viewBean), SOURCE);
@@ -21,10 +21,7 @@ package com.ibm.safr.we.model.utilities.export;
 
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -32,9 +29,12 @@ import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Shell;
@@ -43,26 +43,25 @@ import com.ibm.safr.we.SAFRUtilities;
 import com.ibm.safr.we.constants.ActivityResult;
 import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.EditRights;
-import com.ibm.safr.we.constants.ExportElementType;
 import com.ibm.safr.we.constants.SAFRValidationType;
 import com.ibm.safr.we.data.DAOException;
 import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.DAOUOWInterruptedException;
+import com.ibm.safr.we.data.dao.ExportDAO;
 import com.ibm.safr.we.data.transfer.DependentComponentTransfer;
 import com.ibm.safr.we.data.transfer.ViewFolderViewAssociationTransfer;
 import com.ibm.safr.we.data.transfer.ViewTransfer;
-import com.ibm.safr.we.data.transfer.XMLTableDataTransfer;
+import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.exceptions.SAFRValidationException;
 import com.ibm.safr.we.model.Folder;
-import com.ibm.safr.we.model.ModelUtilities;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.Views;
 import com.ibm.safr.we.model.base.SAFRObject;
 import com.ibm.safr.we.model.query.EnvironmentQueryBean;
+import com.ibm.safr.we.model.utilities.BackgroundCalls;
 import com.ibm.safr.we.model.utilities.TaskLogger;
 import com.ibm.safr.we.ui.dialogs.ExportInactiveDialog;
 import com.ibm.safr.we.ui.editors.ExportUtilityEditor;
-import com.ibm.safr.we.ui.utilities.UIUtilities;
-import com.ibm.safr.we.utilities.FileUtils;
 import com.ibm.safr.we.utilities.ProfileLocation;
 
 public class ExportUtility extends SAFRObject {
@@ -80,10 +79,7 @@ public class ExportUtility extends SAFRObject {
 	private String exportPath;
 	private ComponentType componentType;
 
-	private int indent = 0;
 	private String fileName = null;
-	private OutputStream xmlStream;
-	private String rootElement;
 	Map<ComponentType, List<DependentComponentTransfer>> depComponentTransferMap = new LinkedHashMap<ComponentType, List<DependentComponentTransfer>>();
 	private String encoding = null;
 	private String linebreakString = SAFRUtilities.LINEBREAK;
@@ -93,6 +89,27 @@ public class ExportUtility extends SAFRObject {
 	private boolean folderNameFolderId;
 	private boolean multiple;
 	public boolean result=true;
+	private List<ExportComponent> exportCompList = new ArrayList<ExportComponent>();
+	private List<ExportJob> jobs = new ArrayList<ExportJob>();
+
+	/**
+	 * One export file and the components to be written to it, with the
+	 * dependencies found when the components were validated.
+	 */
+	private class ExportJob {
+		private List<ExportComponent> components;
+		private String fileName;
+		private Map<ComponentType, List<DependentComponentTransfer>> dependencies;
+		private boolean activeViewsOnly;
+
+		ExportJob(List<ExportComponent> components, String fileName) {
+			this.components = components;
+			this.fileName = fileName;
+			this.dependencies = new LinkedHashMap<ComponentType, List<DependentComponentTransfer>>(depComponentTransferMap);
+			this.activeViewsOnly = result;
+		}
+	}
+
 	/**
 	 * Use this constructor to create an Export Utility object to export a
 	 * component to XML file.
@@ -142,21 +159,20 @@ public class ExportUtility extends SAFRObject {
 	}
 
 	/**
-	 * Export the selected component to an XML file.The token will not be
-	 * checked in validate because all the validations are either of type error.
-	 * Validates all the Components selected for export and adds the errors to
-	 * the list if any.
+	 * Prepare the export of the selected components to XML files. The token
+	 * will not be checked in validate because all the validations are either
+	 * of type error. Validates all the Components selected for export and adds
+	 * the errors to the list if any, and asks whether files which exist should
+	 * be replaced. Call this on the display thread, then {@link #write} to
+	 * write the files.
 	 * 
 	 * @throws DAOException
 	 * @throws SAFRValidationException
-	 * 
-	 * @throws IOException
-	 *             : Gives an IOEXception when there is some problem while
-	 *             generating an XML file or when the specified file path is not
-	 *             found.
 	 */
-	public void export(List<ExportComponent> exportCompList,Shell shell)
+	public void prepare(List<ExportComponent> exportCompList,Shell shell)
 			throws SAFRValidationException {
+		this.exportCompList = exportCompList;
+		jobs.clear();
 		try {
 	        validateParms();
         	String totalpath="";
@@ -166,7 +182,7 @@ public class ExportUtility extends SAFRObject {
                      } else {
      	        		if(checkfileexists(totalpath,shell)==true) {
 		                    if(validateExport(exportCompList)) {
-		                    exportComponents(exportCompList, fileName);
+		                    jobs.add(new ExportJob(exportCompList, fileName));
 	                    }
                      }
 	        }
@@ -185,7 +201,7 @@ public class ExportUtility extends SAFRObject {
 	                    }    
 	                    totalpath = exportPath.toString()  + "\\" + fileName.toString();
 	                    if(checkfileexists(totalpath,shell)==true) {
-		                    exportComponents(exportCompList, fileName);
+		                    jobs.add(new ExportJob(exportCompList, fileName));
 	                    }
 	                }
 	                }
@@ -195,8 +211,29 @@ public class ExportUtility extends SAFRObject {
 			if (!taskLogger.isAlreadyRecorded(sve)) {
 				taskLogger.logError("Export error:", sve);
 			}
+			jobs.clear();
+			logResults();
 			throw sve;
+		}
+	}
+
+	/**
+	 * Write the files of the components prepared by {@link #prepare}, then
+	 * log the result of each component. May be called off the display thread.
+	 * 
+	 * @param monitor
+	 *            reports each file as it is written
+	 */
+	public void write(IProgressMonitor monitor) {
+		try {
+			exportInParallel(jobs, monitor);
 		} finally {
+			jobs.clear();
+			logResults();
+		}
+	}
+
+	private void logResults() {
 			// log any export component errors
 			StringBuffer msgBuffer = new StringBuffer();
 			for (ExportComponent comp : exportCompList) {
@@ -216,21 +253,20 @@ public class ExportUtility extends SAFRObject {
 			
 			// write messages to log file
 			taskLogger.writeLog(true);
-		}
 	}
 
     private void exportEachComponent(List<ExportComponent> exportCompList, Shell shell) {
     	String fileName = null;
-    	List<ExportComponent> singleComp = new ArrayList<ExportComponent>();
     	String totalpath="";
         for (ExportComponent component : exportCompList) {
+            List<ExportComponent> singleComp = new ArrayList<ExportComponent>();
             singleComp.add(component);
             if(validateExport(singleComp)) {
             if (component.getComponent().getComponentType().toString() == "View" && viewId) {
                 fileName ="V"+String.format("%07d",component.getComponent().getId());
                 totalpath = exportPath.toString()  + "\\" + fileName.toString();
                 if(checkfileexists(totalpath,shell)==true) {
-                    exportComponents(singleComp, fileName);
+                    jobs.add(new ExportJob(singleComp, fileName));
                 }
                 
             }
@@ -238,27 +274,89 @@ public class ExportUtility extends SAFRObject {
             	fileName ="F"+String.format("%07d",component.getComponent().getId());
             	totalpath = exportPath.toString()  + "\\" + fileName.toString();
             	if(checkfileexists(totalpath,shell)==true) {
-                    exportComponents(singleComp, fileName);
+                    jobs.add(new ExportJob(singleComp, fileName));
                 }
             }
             if(component.getComponent().getComponentType().toString() == "ViewFolder" && folderNameFolderId) {
                 fileName = component.getComponent().getName() + "[" + component.getComponent().getId() + "].xml";
                 totalpath = exportPath.toString()  + "\\" + fileName.toString();
                 if(checkfileexists(totalpath,shell)==true) {
-                    exportComponents(singleComp, fileName);
+                    jobs.add(new ExportJob(singleComp, fileName));
                 }
             }
             if (component.getComponent().getComponentType().toString() == "View" && viewNameViewId) {
                 fileName = component.getComponent().getName() + "[" + component.getComponent().getId() + "].xml";
                 totalpath = exportPath.toString()  + "\\" + fileName.toString();
                 if(checkfileexists(totalpath,shell)==true) {
-                    exportComponents(singleComp, fileName);
+                    jobs.add(new ExportJob(singleComp, fileName));
                 }
             }    
             }
-            singleComp.clear();
         }
     }
+
+    /**
+     * Write the export files of the jobs, several at once when there is more
+     * than one. Each file is written by its own {@link BackgroundCalls} call on
+     * its own pooled connection. The calling thread waits for them in turn,
+     * reporting each file to the monitor as it completes.
+     */
+    private void exportInParallel(List<ExportJob> jobs, IProgressMonitor monitor) {
+        monitor.beginTask("Exporting", jobs.size());
+        try {
+            int threads = Math.min(Runtime.getRuntime().availableProcessors(),
+                DAOFactoryHolder.getDAOFactory().getConnectionParameters().getPoolSize());
+            threads = Math.min(threads, jobs.size());
+            if (threads <= 1) {
+                for (int i = 0; i < jobs.size(); i++) {
+                    checkCancelled(monitor);
+                    exportComponents(jobs.get(i));
+                    monitor.subTask("Exported " + (i + 1) + " of " + jobs.size() + " : " + jobs.get(i).fileName);
+                    monitor.worked(1);
+                }
+                return;
+            }
+
+            List<Future<ExportJob>> results = new ArrayList<Future<ExportJob>>();
+            try {
+                for (final ExportJob job : jobs) {
+                    results.add(BackgroundCalls.submit(new Callable<ExportJob>() {
+                        public ExportJob call() {
+                            exportComponents(job);
+                            return job;
+                        }
+                    }));
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    checkCancelled(monitor);
+                    ExportJob job = jobs.get(i);
+                    try {
+                        BackgroundCalls.waitFor(results.get(i), "Export interrupted.",
+                            "Unexpected error occurred while exporting.");
+                    } catch (DAOUOWInterruptedException e) {
+                        throw e;
+                    } catch (SAFRException e) {
+                        // e.g. no pooled connection for the call
+                        storeError(job.components, e);
+                        logStackTrace(job.components, e);
+                    }
+                    monitor.subTask("Exported " + (i + 1) + " of " + jobs.size() + " : " + job.fileName);
+                    monitor.worked(1);
+                }
+            } finally {
+                BackgroundCalls.cancel(results);
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private void checkCancelled(IProgressMonitor monitor) {
+        if (monitor.isCanceled()) {
+            throw new DAOUOWInterruptedException("Export cancelled.");
+        }
+        BackgroundCalls.checkInterrupted("Export interrupted.");
+    }
    	
     private boolean checkfileexists(String path,Shell shell) {
 		// TODO Auto-generated method stub
@@ -307,12 +405,22 @@ public class ExportUtility extends SAFRObject {
         	List<String> errList = new ArrayList<String>();
         	try {
         		// Add the export dependencies
-        	    Map<ComponentType, List<DependentComponentTransfer>> newDeps = DAOFactoryHolder
-                    .getDAOFactory()
-                    .getExportDAO()
-                    .getComponentDependencies(this.componentType,
-                            exportComponent.getComponent().getId(),
-                            environment.getId());
+        	    Map<ComponentType, List<DependentComponentTransfer>> newDeps;
+        	    if (componentType.equals(ComponentType.View)
+        	            && SAFRApplication.getUserSession().isSystemAdministrator()) {
+        	        // no rights to check so the dependency graph will do
+        	        newDeps = SAFRApplication.getSAFRFactory()
+        	            .getDependencyGraph(environment.getId())
+        	            .getUsedComponents(ComponentType.View,
+        	                exportComponent.getComponent().getId());
+        	    } else {
+        	        newDeps = DAOFactoryHolder
+                        .getDAOFactory()
+                        .getExportDAO()
+                        .getComponentDependencies(this.componentType,
+                                exportComponent.getComponent().getId(),
+                                environment.getId());
+        	    }
         		
         	    if (componentType.equals(ComponentType.View)) {
         	        newDeps.remove(ComponentType.View);
@@ -378,128 +486,113 @@ public class ExportUtility extends SAFRObject {
 		return result;
     }
 
-    private void exportComponents(List<ExportComponent> exportComponents, String fileName) {
+    private void exportComponents(ExportJob job) {
+        XMLExportWriter writer = null;
+        boolean readBegun = false;
         try {
-            xmlStream = openFile(exportComponents, fileName);				        
-        	if (encoding != null) {
-        		xmlStream.write(new String(
-        				"<?xml version=\"1.0\" encoding=\"" + encoding
-        						+ "\"?>" + linebreakString).getBytes());
-        	}
-        	rootElement = ROOT_TAG;
-        	xmlStream.write(openElement(rootElement, true, true).getBytes());
+            writer = openFile(job.fileName);
+            // fetch the rows in batches so a large export is not held in memory
+            readBegun = DAOFactoryHolder.getDAOFactory().getExportDAO().beginExportRead();
+            writer.startElement(ROOT_TAG);
         	
             // export generation record
-        	exportGeneration();
+        	exportGeneration(writer, job.fileName);
         	List<Integer> idList = new ArrayList<Integer>();
-        	for (ExportComponent exportComponent : exportComponents) {
+        	for (ExportComponent exportComponent : job.components) {
         	    idList.add(exportComponent.getComponent().getId());
         	}        	    
 
-        	exportMetadata(componentType, idList, environment.getId());
+        	exportMetadata(componentType, idList, writer);
         	// export dependent components.
             // export Views
-            retrieveComponentFromMap(ComponentType.View);
+            retrieveComponentFromMap(job, writer, ComponentType.View);
         	
         	// export Lookup Paths
-        	retrieveComponentFromMap(ComponentType.LookupPath);
+        	retrieveComponentFromMap(job, writer, ComponentType.LookupPath);
 
         	// export Logical Records
-        	retrieveComponentFromMap(ComponentType.LogicalRecord);
+        	retrieveComponentFromMap(job, writer, ComponentType.LogicalRecord);
 
         	// export Logical Files
-        	retrieveComponentFromMap(ComponentType.LogicalFile);
+        	retrieveComponentFromMap(job, writer, ComponentType.LogicalFile);
 
         	// export Physical Files
-        	retrieveComponentFromMap(ComponentType.PhysicalFile);
+        	retrieveComponentFromMap(job, writer, ComponentType.PhysicalFile);
 
         	// export User-Exit Routines
-        	retrieveComponentFromMap(ComponentType.UserExitRoutine);
+        	retrieveComponentFromMap(job, writer, ComponentType.UserExitRoutine);
 
         	// export Control Record
-        	retrieveComponentFromMap(ComponentType.ControlRecord);
+        	retrieveComponentFromMap(job, writer, ComponentType.ControlRecord);
 
-        	retrieveComponentFromMap(ComponentType.ViewFolder);
+        	retrieveComponentFromMap(job, writer, ComponentType.ViewFolder);
 
-        	xmlStream.write(closeElement(rootElement, true, true).getBytes());
+        	writer.endElement();
         } catch (IOException ioe) {
-        	storeError(exportComponents, ioe);
-        	logStackTrace(exportComponents, ioe);
-        } catch (DAOException de) {
-        	storeError(exportComponents, de);
-        	logStackTrace(exportComponents, de);
+        	storeError(job.components, ioe);
+        	logStackTrace(job.components, ioe);
+        } catch (SAFRException se) {
+        	storeError(job.components, se);
+        	logStackTrace(job.components, se);
         } finally {
         	try {
-        		closeFile();
+        		if (readBegun) {
+        			DAOFactoryHolder.getDAOFactory().getExportDAO().endExportRead();
+        		}
+        	} catch (SAFRException se) {
+        		storeError(job.components, se);
+        		logStackTrace(job.components, se);
+        	}
+        	try {
+        		if (writer != null) {
+        			writer.close();
+        		}
         	} catch (IOException ioe) {
-        		storeError(exportComponents, ioe); 
-        		logStackTrace(exportComponents, ioe);
+        		storeError(job.components, ioe); 
+        		logStackTrace(job.components, ioe);
         	}
         }
-        for (ExportComponent exportComponent : exportComponents) {
+        for (ExportComponent exportComponent : job.components) {
             if (exportComponent.getErrors().isEmpty()) {
                 exportComponent.setResult(ActivityResult.PASS);
             }
         }
     }
 
-	private void exportGeneration() throws IOException {
-        xmlStream.write(openElement("Generation", true, true).getBytes());
-
-        xmlStream.write(openElement("Record", true, true).getBytes());
-        
-        xmlStream.write(openElement("XMLVERSION", true, false).getBytes());
-        xmlStream.write("3".getBytes());
-        xmlStream.write(closeElement("XMLVERSION", false, true).getBytes());
-
-        xmlStream.write(openElement("TYPE", true, false).getBytes());
-        xmlStream.write(getComponentString().getBytes());
-        xmlStream.write(closeElement("TYPE", false, true).getBytes());
-        
-        xmlStream.write(openElement("PROGRAM", true, false).getBytes());
-        xmlStream.write(("Workbench " + SAFRUtilities.getWEVersion()).getBytes());
-        xmlStream.write(closeElement("PROGRAM", false, true).getBytes());
-        
-        xmlStream.write(openElement("FILENAME", true, false).getBytes());
-        xmlStream.write(fileName.getBytes());
-        xmlStream.write(closeElement("FILENAME", false, true).getBytes());
-        
-        xmlStream.write(openElement("CREATEDTIMESTAMP", true, false).getBytes());
+	private void exportGeneration(XMLExportWriter writer, String fileName) {
+        writer.startElement("Generation");
+        writer.startElement("Record");
+        writer.element("XMLVERSION", "3", false);
+        writer.element("TYPE", getComponentString(), false);
+        writer.element("PROGRAM", "Workbench " + SAFRUtilities.getWEVersion(), false);
+        writer.element("FILENAME", fileName, false);
         DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        //Date date = new Date();
-        Date samedate = date;
-        xmlStream.write(dateFormat.format(samedate).getBytes());
-        xmlStream.write(closeElement("CREATEDTIMESTAMP", false, true).getBytes());
-
-        xmlStream.write(openElement("CREATEDUSERID", true, false).getBytes());
-        xmlStream.write(SAFRApplication.getUserSession().getUser().getUserid().getBytes());
-        xmlStream.write(closeElement("CREATEDUSERID", false, true).getBytes());
-                
-        xmlStream.write(closeElement("Record", true, true).getBytes());
-        
-        xmlStream.write(closeElement("Generation", true, true).getBytes());
+        writer.element("CREATEDTIMESTAMP", dateFormat.format(date), false);
+        writer.element("CREATEDUSERID", SAFRApplication.getUserSession().getUser().getUserid(), false);
+        writer.endElement();
+        writer.endElement();
     }
 
-    private void retrieveComponentFromMap(ComponentType type)
-			throws DAOException, IOException {
-    	if(result) {
-    		retrieveComponentFromMapFilter(type);
+    private void retrieveComponentFromMap(ExportJob job, XMLExportWriter writer, ComponentType type)
+			throws DAOException {
+    	if(job.activeViewsOnly) {
+    		retrieveComponentFromMapFilter(job, writer, type);
     	}
     	else {
-    		List<DependentComponentTransfer> depList = depComponentTransferMap.get(type);
+    		List<DependentComponentTransfer> depList = job.dependencies.get(type);
     		List<Integer> idList = new ArrayList<Integer>();
     		if (depList != null) {
     			for (DependentComponentTransfer depComTrans : depList) {
     				idList.add(depComTrans.getId());
     			}
-    			exportMetadata(type, idList, environment.getId());
+    			exportMetadata(type, idList, writer);
     		}
     	}
 	}
     
-    public void retrieveComponentFromMapFilter(ComponentType type)
-			throws DAOException, IOException {
-    	List<DependentComponentTransfer> depList = depComponentTransferMap.get(type);
+    private void retrieveComponentFromMapFilter(ExportJob job, XMLExportWriter writer, ComponentType type)
+			throws DAOException {
+    	List<DependentComponentTransfer> depList = job.dependencies.get(type);
 		List<Integer> idList = new ArrayList<Integer>();
 		ViewTransfer viewTransfer = null;
 		if (depList != null) {
@@ -514,80 +607,37 @@ public class ExportUtility extends SAFRObject {
 					idList.add(depComTrans.getId());
 				}
 			}
-			exportMetadata(type, idList, environment.getId());
+			exportMetadata(type, idList, writer);
 		}
 	}
 
-
+	/**
+	 * Stream the data of the components from the database into the XML
+	 * file.
+	 */
 	private void exportMetadata(ComponentType type, List<Integer> idList,
-			Integer environmentId) throws DAOException, IOException {
+			XMLExportWriter writer) throws DAOException {
+		ExportDAO exportDAO = DAOFactoryHolder.getDAOFactory().getExportDAO();
+		Integer environmentId = environment.getId();
         if (type == ComponentType.ControlRecord) {
-			exportControlRecord(environmentId, idList);
+			exportDAO.getControlRecordData(environmentId, idList, writer);
 		} else if (type == ComponentType.UserExitRoutine) {
-			exportUserExitRoutine(environmentId, idList);
+			exportDAO.getUserExitRoutineData(environmentId, idList, writer);
 		} else if (type == ComponentType.PhysicalFile) {
-			exportPhysicalFile(environmentId, idList);
+			exportDAO.getPhysicalFileData(environmentId, idList, writer);
 		} else if (type == ComponentType.LogicalFile) {
-			exportLogicalFile(environmentId, idList);
+			exportDAO.getLogicalFileData(environmentId, idList, writer);
 		} else if (type == ComponentType.LogicalRecord) {
-			exportLogicalRecord(environmentId, idList);
+			exportDAO.getLogicalRecordData(environmentId, idList, writer);
 		} else if (type == ComponentType.LookupPath) {
-			exportLookupPath(environmentId, idList);
+			exportDAO.getLookupPathData(environmentId, idList, writer);
 		} else if (type == ComponentType.View) {
-			exportView(environmentId, idList);
+			exportDAO.getViewData(environmentId, idList, writer);
 		} else if (type == ComponentType.ViewFolder) {
-            exportViewFolder(environmentId, idList);
+			exportDAO.getViewFolderData(environmentId, idList, writer);
         }
 	}
 
-    private void exportViewFolder(Integer environmentId, List<Integer> componentIds)
-        throws DAOException, IOException {
-        Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-                .getDAOFactory().getExportDAO().getViewFolderData(environmentId,componentIds);
-        writeComponentData(compDataMap);
-    }
-	
-    private void exportView(Integer environmentId, List<Integer> componentIds)
-			throws DAOException, IOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getViewData(environmentId,
-						componentIds);
-		writeComponentData(compDataMap);
-
-	}
-
-	private void exportLookupPath(Integer environmentId,
-			List<Integer> componentIds) throws DAOException, IOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getLookupPathData(
-						environmentId, componentIds);
-		writeComponentData(compDataMap);
-	}
-
-	private void exportLogicalFile(Integer environmentId,
-			List<Integer> componentIds) throws IOException, DAOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getLogicalFileData(
-						environmentId, componentIds);
-		writeComponentData(compDataMap);
-	}
-
-	private void exportUserExitRoutine(Integer environmentId,
-			List<Integer> componentIds) throws DAOException, IOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getUserExitRoutineData(
-						environmentId, componentIds);
-		writeComponentData(compDataMap);
-	}
-
-	private void exportControlRecord(Integer environmentId,
-			List<Integer> componentIds) throws DAOException, IOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getControlRecordData(
-						environmentId, componentIds);
-		writeComponentData(compDataMap);
-	}
-
 	private String getComponentString() {
 		if (componentType == ComponentType.PhysicalFile) {
 			return "PhysicalFile";
@@ -606,225 +656,19 @@ public class ExportUtility extends SAFRObject {
 		}
 	}
 
-	private void exportPhysicalFile(Integer environmentId,
-			List<Integer> componentIds) throws DAOException, IOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getPhysicalFileData(
-						environmentId, componentIds);
-		writeComponentData(compDataMap);
-	}
-
-	private void exportLogicalRecord(Integer environmentId,
-			List<Integer> componentIds) throws DAOException, IOException {
-		Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> compDataMap = DAOFactoryHolder
-				.getDAOFactory().getExportDAO().getLogicalRecordData(
-						environmentId, componentIds);
-		writeComponentData(compDataMap);
-	}
-
-	private void writeComponentData(
-			Map<ExportElementType, Map<Integer, List<XMLTableDataTransfer>>> componentDataMap)
-			throws IOException {
-		// get data to be exported from Datalayer by calling GP_ARCHLR
-		// the data layer should return data in a form of a MAP.
-		// the key of this map will be 'type' of data
-		// value will be another MAP, whose key will be a number and value will be
-		// a list of XMLTableDataTransfer objects.
-		for (ExportElementType type : componentDataMap.keySet()) {
-			// write this key to XML as parent element eg. this could be <LR-File>
-			// Don't write empty tags (which don't contain any records) to XML
-			if (!componentDataMap.get(type).isEmpty()) {
-				xmlStream.write(openElement(type.getXmlString(), true,true).getBytes());
-				Map<Integer, List<XMLTableDataTransfer>> records = componentDataMap.get(type);
-				// loop through all the records in this key
-				for (Integer i : records.keySet()) {
-					// write a <Record> element under the above parent element.
-					xmlStream.write(openElement("Record", true, true).getBytes());
-					for (XMLTableDataTransfer tableRecord : records.get(i)) {
-						// check for cdata
-						if (tableRecord.isCdata()) {
-							// write this table record inside the above <Record> element.
-							xmlStream.write(openCdataElement(tableRecord.getName().toUpperCase(), true, false).getBytes());
-							if (tableRecord.getValue() != null) {
-								// normalize line endings
-								String cdstr =  FileUtils.fixCdataLineEndings(tableRecord.getValue());
-								xmlStream.write(cdstr.getBytes());
-							}
-							xmlStream.write(closeCdataElement(tableRecord.getName().toUpperCase(), false, true).getBytes());							
-						}
-						else {
-							// write this table record inside the above <Record>
-							// element.
-							xmlStream.write(openElement(tableRecord.getName().toUpperCase(),
-									true, false).getBytes());
-							if (tableRecord.getValue() != null) {
-								// handle special characters and write the data
-								xmlStream.write(handleSpecialChars(
-										tableRecord.getValue()).getBytes());
-							}
-							xmlStream.write(closeElement(tableRecord.getName().toUpperCase(),
-									false, true).getBytes());
-						}
-					}
-					xmlStream.write(closeElement("Record", true, true)
-							.getBytes());
-				}
-				xmlStream.write(closeElement(type.getXmlString(), true,
-						true).getBytes());
-			}
-		}
-
-	}
-
-	/**
-	 * Generates a string representing an xml open element. eg. /<Person/><![CDATA[. This
-	 * function will also increment the <code>indent</code> variable with '4'.
-	 * This means that the next open element will be indented with 4 spaces on
-	 * left.
-	 * 
-	 * @param element
-	 *            using which the open element String is to be generated.
-	 * @param indented
-	 *            boolean. If the returned string is to be indented based on
-	 *            previous element.
-	 * @param lineBreak
-	 *            boolean. If a line break is to be appended to the returned
-	 *            string.
-	 * @return indented xml open element string.
-	 */
-	private String openCdataElement(String element, boolean indented,
-			boolean lineBreak) {
-		String returnStr = "<" + element + "><![CDATA[";
-		if (indented) {
-			returnStr = genSpaces(indent) + returnStr;
-			indent += 4;
-		}
-		if (lineBreak ) {
-			returnStr += linebreakString;
-		}
-		return returnStr;
-	}
-	
-	/**
-	 * Generates a string representing an xml open element. eg. /<Person/>. This
-	 * function will also increment the <code>indent</code> variable with '4'.
-	 * This means that the next open element will be indented with 4 spaces on
-	 * left.
-	 * 
-	 * @param element
-	 *            using which the open element String is to be generated.
-	 * @param indented
-	 *            boolean. If the returned string is to be indented based on
-	 *            previous element.
-	 * @param lineBreak
-	 *            boolean. If a line break is to be appended to the returned
-	 *            string.
-	 * @return indented xml open element string.
-	 */
-	private String openElement(String element, boolean indented,
-			boolean lineBreak) {
-		String returnStr = "<" + element + ">";
-		if (indented) {
-			returnStr = genSpaces(indent) + returnStr;
-			indent += 4;
-		}
-		if (lineBreak ) {
-			returnStr += linebreakString;
-		}
-		return returnStr;
-	}
-
-	/**
-	 * Generates a string representing an xml close element. eg. /</Person/>.
-	 * This function will also decrement the <code>indent</code> variable with
-	 * '4'. This means that the next close element will be indented with -4
-	 * spaces on left.
-	 * 
-	 * @param element
-	 *            using which the close element String is to be generated.
-	 * @param indented
-	 *            boolean. If the returned string is to be indented based on
-	 *            previous element.
-	 * @param lineBreak
-	 *            boolean. If a line break is to be appended to the returned
-	 *            string.
-	 * @return indented xml close element string.
-	 */
-	private String closeElement(String element, boolean indented,
-			boolean lineBreak) {
-		String returnStr = "</" + element + ">";
-		indent -= 4;
-		if (indented) {
-			returnStr = genSpaces(indent) + returnStr;
-		}
-		if (lineBreak ) {
-			returnStr += linebreakString;
-		}
-		return returnStr;
-	}
-
-	/**
-	 * Generates a string representing an xml close element. eg. /</Person/>.
-	 * This function will also decrement the <code>indent</code> variable with
-	 * '4'. This means that the next close element will be indented with -4
-	 * spaces on left.
-	 * 
-	 * @param element
-	 *            using which the close element String is to be generated.
-	 * @param indented
-	 *            boolean. If the returned string is to be indented based on
-	 *            previous element.
-	 * @param lineBreak
-	 *            boolean. If a line break is to be appended to the returned
-	 *            string.
-	 * @return indented xml close element string.
-	 */
-	private String closeCdataElement(String element, boolean indented,
-			boolean lineBreak) {
-		String returnStr = "]]></" + element + ">";
-		indent -= 4;
-		if (indented) {
-			returnStr = genSpaces(indent) + returnStr;
-		}
-		if (lineBreak ) {
-			returnStr += linebreakString;
-		}
-		return returnStr;
-	}
-	
-	/**
-	 * This method is used to generate spaces.For eg. if the parameter is given
-	 * as 2, then this method returns a string having 2 spaces("  ").
-	 * 
-	 * @param num
-	 *            : The number of spaces to be generated.
-	 * @return: a string which comprise of the spaces.
-	 */
-	private String genSpaces(int num) {
-		return ModelUtilities.genChar(num, " ");
-	}
-
 	/**
 	 * Creates the xml file for writing. This function also creates an output
-	 * folder if it doesn't exists. The variable <code>xmlstream</code> will be
-	 * initialized with this newly created file.
+	 * folder if it doesn't exists.
 	 * 
-	 * @param type
-	 *            the component type for which the file is to be created. This
-	 *            is used to create an output folder.
+	 * @param fileName
+	 *            the name of the file in the export folder.
 	 * @throws IOException
 	 */
-	private OutputStream openFile(List<ExportComponent> exportComponents, String fileName) {
+	private XMLExportWriter openFile(String fileName) throws IOException {
 		File outputFile = new File(exportPath);
 		outputFile.mkdir(); // create the required directory
 		outputFile = new File(exportPath + "/" + fileName);
-		FileOutputStream fos = null;
-		try {
-			fos = new FileOutputStream(outputFile);
-		} catch (FileNotFoundException e) {
-			UIUtilities.handleWEExceptions(e, "Unable to open file", fileName);
-		}
-		return fos;
+		return new XMLExportWriter(outputFile, encoding, linebreakString);
 	}
 	
 	public static String getDefaultLocation(ComponentType componentType) {
@@ -852,18 +696,6 @@ public class ExportUtility extends SAFRObject {
     }
 
     
-	/**
-	 * Closes the XML file and flushes all the data in memory.
-	 * 
-	 * @throws IOException
-	 */
-	private void closeFile() throws IOException {
-		if (xmlStream != null) {
-			xmlStream.flush();
-			xmlStream.close();
-		}
-	}
-
 	/**
 	 * This enum maintains the properties of export utility.
 	 * 
@@ -958,23 +790,6 @@ public class ExportUtility extends SAFRObject {
 		return errorList;
 	}
 
-	/**
-	 * Converts special characters in a string to XML escape chars.
-	 * 
-	 * @param input
-	 *            the string.
-	 * @return modified string.
-	 */
-	private String handleSpecialChars(String input) {
-		String returnStr;
-		returnStr = input.replaceAll("&", "&amp;");
-		returnStr = returnStr.replaceAll("<", "&lt;");
-		returnStr = returnStr.replaceAll(">", "&gt;");
-		returnStr = returnStr.replaceAll("\"", "&quot;");
-		returnStr = returnStr.replaceAll("'", "&apos;");
-		return returnStr;
-	}
-
     private void storeError(List<ExportComponent> comps, Throwable t) {
         for (ExportComponent comp : comps) {
             storeError(comp, t);
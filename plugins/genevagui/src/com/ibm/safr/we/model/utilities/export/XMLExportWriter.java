@@ -0,0 +1,153 @@
+package com.ibm.safr.we.model.utilities.export;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.ibm.safr.we.constants.ExportElementType;
+import com.ibm.safr.we.data.dao.ExportDAO.RecordHandler;
+import com.ibm.safr.we.data.transfer.XMLTableDataTransfer;
+import com.ibm.safr.we.exceptions.SAFRException;
+import com.ibm.safr.we.model.ModelUtilities;
+import com.ibm.safr.we.utilities.FileUtils;
+
+/**
+ * Writes one export XML file with a StAX writer as the rows arrive from the
+ * {@link com.ibm.safr.we.data.dao.ExportDAO}, so that only the current row
+ * is held in memory. Elements are indented by four spaces per level, one per
+ * line, as the Workbench has always written them.
+ */
+class XMLExportWriter implements RecordHandler {
+
+	private static final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+
+	private Writer out;
+	private XMLStreamWriter xml;
+	private String linebreak;
+	private int indent = 0;
+
+	/**
+	 * @param encoding
+	 *            the encoding named in the XML declaration, or null for no
+	 *            declaration. The file itself is written in the platform
+	 *            encoding.
+	 */
+	XMLExportWriter(File file, String encoding, String linebreak) throws IOException {
+		this.linebreak = linebreak;
+		out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file)));
+		if (encoding != null) {
+			// written directly as StAX refuses a declaration which differs
+			// from the encoding of the stream
+			out.write("<?xml version=\"1.0\" encoding=\"" + encoding + "\"?>" + linebreak);
+		}
+		try {
+			xml = factory.createXMLStreamWriter(out);
+		} catch (XMLStreamException e) {
+			out.close();
+			throw new IOException(e);
+		}
+	}
+
+	void startElement(String name) {
+		try {
+			xml.writeCharacters(spaces());
+			xml.writeStartElement(name);
+			xml.writeCharacters(linebreak);
+			indent += 4;
+		} catch (XMLStreamException e) {
+			throw writeError(e);
+		}
+	}
+
+	void endElement() {
+		try {
+			indent -= 4;
+			xml.writeCharacters(spaces());
+			xml.writeEndElement();
+			xml.writeCharacters(linebreak);
+		} catch (XMLStreamException e) {
+			throw writeError(e);
+		}
+	}
+
+	/**
+	 * Write an element holding only text on one line.
+	 */
+	void element(String name, String value, boolean cdata) {
+		try {
+			xml.writeCharacters(spaces());
+			xml.writeStartElement(name);
+			if (cdata) {
+				// normalize line endings
+				xml.writeCData(value == null ? "" : FileUtils.fixCdataLineEndings(value));
+			} else if (value != null) {
+				xml.writeCharacters(value);
+			}
+			xml.writeEndElement();
+			xml.writeCharacters(linebreak);
+		} catch (XMLStreamException e) {
+			throw writeError(e);
+		}
+	}
+
+	public void startElement(ExportElementType type) {
+		startElement(type.getXmlString());
+	}
+
+	public void record(List<XMLTableDataTransfer> record) {
+		startElement("Record");
+		for (XMLTableDataTransfer column : record) {
+			element(column.getName().toUpperCase(), column.getValue(), column.isCdata());
+		}
+		endElement();
+	}
+
+	public void endElement(ExportElementType type) {
+		endElement();
+	}
+
+	void close() throws IOException {
+		try {
+			xml.flush();
+			xml.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			out.close();
+		}
+	}
+
+	private String spaces() {
+		return ModelUtilities.genChar(indent, " ");
+	}
+
+	private SAFRException writeError(XMLStreamException e) {
+		return new SAFRException("Error writing the export XML file.", e);
+	}
+}
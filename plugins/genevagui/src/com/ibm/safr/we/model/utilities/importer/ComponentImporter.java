@@ -20,9 +20,13 @@ package com.ibm.safr.we.model.utilities.importer;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.xml.xpath.XPath;
@@ -78,6 +82,9 @@ public abstract class ComponentImporter {
     .getLogger("com.ibm.safr.we.model.utilities.importer.ComponentImporter");
     
 	private ImportUtility importUtility;
+	
+	// parsers waiting for streamRecords(), in the order they were registered
+	private Map<String, RecordParser> streamedParsers = new LinkedHashMap<String, RecordParser>();
 	protected Map<Class<? extends SAFRTransfer>, Map<Integer, SAFRTransfer>> records = new HashMap<Class<? extends SAFRTransfer>, Map<Integer, SAFRTransfer>>();
 
 	// Records existing components with IDs matching the import data
@@ -173,6 +180,120 @@ public abstract class ComponentImporter {
 		return importUtility.getCurrentFile();
 	}
 
+	protected boolean isStreaming() {
+		return importUtility.isStreaming();
+	}
+
+	/**
+	 * Called by a RecordParser in streaming mode instead of evaluating its
+	 * XPath expression. Its records are parsed by the next call to
+	 * {@link #streamRecords()}.
+	 */
+	void registerParser(RecordParser parser) {
+		streamedParsers.put(parser.getTableName(), parser);
+	}
+
+	/**
+	 * In streaming mode, parse the records of the current file for every
+	 * RecordParser registered since the last call, in a single pass over the
+	 * file. Records are parsed in document order, except that a record whose
+	 * prerequisite table has not yet been read is held back until it has.
+	 * Does nothing in DOM mode, where the parsers have already done their
+	 * work.
+	 * 
+	 * @throws SAFRValidationException
+	 *             if the file is not well formed or a record is invalid
+	 * @throws XPathExpressionException
+	 *             if a syntax error is found in an XPath expression
+	 */
+	protected void streamRecords() throws SAFRValidationException,
+			XPathExpressionException {
+		if (streamedParsers.isEmpty()) {
+			return;
+		}
+		Map<String, RecordParser> parsers = streamedParsers;
+		streamedParsers = new LinkedHashMap<String, RecordParser>();
+
+		Map<String, Map<Integer, SAFRTransfer>> maps = new HashMap<String, Map<Integer, SAFRTransfer>>();
+		for (String table : parsers.keySet()) {
+			maps.put(table, new HashMap<Integer, SAFRTransfer>());
+		}
+		Set<String> complete = new HashSet<String>();
+		Set<String> ended = new HashSet<String>();
+		Map<String, List<Element>> heldBack = new LinkedHashMap<String, List<Element>>();
+
+		RecordStream stream = importUtility.getRecordStream();
+		RecordStream.Fragment fragment;
+		while ((fragment = stream.next()) != null) {
+			String table = fragment.getTable();
+			RecordParser parser = parsers.get(table);
+			if (parser == null) {
+				continue; // not wanted by this importer
+			}
+			if (fragment.getRecord() == null) {
+				complete.add(table);
+				if (!heldBack.containsKey(table)) {
+					// else ended once its held back records are parsed
+					parser.endStreamedRecords(maps.get(table));
+					ended.add(table);
+				}
+				releaseHeldBack(table, parsers, maps, heldBack, complete, ended);
+				continue;
+			}
+			String prereq = parser.getPrerequisiteTable();
+			if (prereq != null && parsers.containsKey(prereq)
+					&& !complete.contains(prereq)) {
+				List<Element> held = heldBack.get(table);
+				if (held == null) {
+					held = new ArrayList<Element>();
+					heldBack.put(table, held);
+				}
+				held.add(fragment.getRecord());
+			} else {
+				parser.parseStreamedRecord(fragment.getRecord(), maps.get(table));
+			}
+		}
+
+		// finish in the order the parsers were registered
+		for (Entry<String, RecordParser> entry : parsers.entrySet()) {
+			String table = entry.getKey();
+			if (ended.contains(table)) {
+				continue;
+			}
+			List<Element> held = heldBack.remove(table);
+			if (held != null) {
+				for (Element record : held) {
+					entry.getValue().parseStreamedRecord(record, maps.get(table));
+				}
+			}
+			entry.getValue().endStreamedRecords(maps.get(table));
+		}
+	}
+
+	private void releaseHeldBack(String completed,
+			Map<String, RecordParser> parsers,
+			Map<String, Map<Integer, SAFRTransfer>> maps,
+			Map<String, List<Element>> heldBack, Set<String> complete,
+			Set<String> ended)
+			throws SAFRValidationException, XPathExpressionException {
+		Iterator<Entry<String, List<Element>>> it = heldBack.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<String, List<Element>> entry = it.next();
+			String table = entry.getKey();
+			RecordParser parser = parsers.get(table);
+			if (completed.equals(parser.getPrerequisiteTable())) {
+				for (Element record : entry.getValue()) {
+					parser.parseStreamedRecord(record, maps.get(table));
+				}
+				it.remove();
+				if (complete.contains(table)) {
+					parser.endStreamedRecords(maps.get(table));
+					ended.add(table);
+				}
+			}
+		}
+	}
+
 	
 	/**
 	 * Check that the component type indicated by the name of the document
@@ -191,8 +312,7 @@ public abstract class ComponentImporter {
 	protected void checkDocumentElement(String expectedText)
 			throws SAFRValidationException {
 		SAFRValidationException sve = new SAFRValidationException();
-		Element rootElement = getDocument().getDocumentElement();
-		String rootName = rootElement.getTagName();
+		String rootName = importUtility.getDocumentElementName();
 		String actualText = null;
 		int hyphenIndex = rootName.indexOf('-');
 		if (hyphenIndex > -1) {
@@ -23,9 +23,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -84,6 +90,12 @@ public class ImportUtility extends SAFRObject {
 	private DocumentBuilder builder;
 	private Document document;
 	private XPath xpath;
+	
+	// number of files parsed ahead of the one being imported
+	private static final int LOOK_AHEAD = 2;
+	private boolean streaming = true;
+	private ExecutorService streamParsers;
+	private Map<ImportFile, RecordStream> recordStreams = new HashMap<ImportFile, RecordStream>();
 
 	public ImportUtility(EnvironmentQueryBean targetEnvironment,
 			ComponentType componentType,
@@ -163,6 +175,24 @@ public class ImportUtility extends SAFRObject {
 		this.confirmWarningStrategy = strategy;
 	}
 
+	/**
+	 * @return true if files are read with a single streaming pass rather than
+	 *         being loaded into a DOM and queried with XPath.
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Choose between the streaming import (the default) and the DOM import.
+	 * The streaming import uses memory independent of the file size and
+	 * parses the next files of a multi-file import while the current one is
+	 * imported.
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	// package private. used only by import implementation.
 	XPath getXPath() {
 		return xpath;
@@ -179,7 +209,23 @@ public class ImportUtility extends SAFRObject {
 	}
 
 	// package private. used only by import implementation.
-	
+	String getDocumentElementName() throws SAFRValidationException {
+		if (streaming) {
+			return recordStreams.get(currentFile).getRootName();
+		} else {
+			return document.getDocumentElement().getTagName();
+		}
+	}
+
+	// package private. used only by import implementation.
+	RecordStream getRecordStream() {
+		RecordStream stream = recordStreams.get(currentFile);
+		if (stream == null || stream.isEnded()) {
+			// a further pass over the file
+			stream = startRecordStream(currentFile);
+		}
+		return stream;
+	}
 	
 	public void importMetadata() throws SAFRException {
 
@@ -188,11 +234,6 @@ public class ImportUtility extends SAFRObject {
 			//We can do some copybook validaton here later
 		} else {
 			validate();
-			try {
-				initXMLFactories();
-			} catch (ParserConfigurationException e1) {
-			    logger.log(Level.SEVERE, "An XML parser system error occurred. Cannot continue with import. " + e1.getMessage());
-			}
 		}
 		
 		// Clear previous results for the files to be imported
@@ -227,24 +268,49 @@ public class ImportUtility extends SAFRObject {
         default :
             break;
 		}
-		for (ImportFile file : files) {
-			currentFile = file;
-			if(componentType == ComponentType.CobolCopyBook) {
-				CopybookImporter cbi = new CopybookImporter(this);
-				cbi.importCopybook(file, targetEnvironment.getId());
-			} else {
-				parseAndImportXML(importer, file);
-			}
-		} // end for loop, import next file
+		importFiles(importer);
 		
 		// Log any errors reported during import
 		logErrors();
 	}
 
+	// package private. imports the files one by one with the given importer.
+	void importFiles(ComponentImporter importer) throws SAFRException {
+		if (componentType != ComponentType.CobolCopyBook) {
+			try {
+				initXMLFactories();
+			} catch (ParserConfigurationException e1) {
+			    logger.log(Level.SEVERE, "An XML parser system error occurred. Cannot continue with import. " + e1.getMessage());
+			}
+		}
+		try {
+			for (int i = 0; i < files.size(); i++) {
+				ImportFile file = files.get(i);
+				currentFile = file;
+				if(componentType == ComponentType.CobolCopyBook) {
+					CopybookImporter cbi = new CopybookImporter(this);
+					cbi.importCopybook(file, targetEnvironment.getId());
+				} else {
+					if (streaming) {
+						startRecordStreams(i);
+					}
+					parseAndImportXML(importer, file);
+					closeRecordStream(file);
+				}
+			} // end for loop, import next file
+		} finally {
+			stopRecordStreams();
+		}
+	}
+
 	private void parseAndImportXML(ComponentImporter importer, ImportFile file) {
 		try {
 			// Parse the XML
-		    if (file.getStream() == null) {
+		    if (streaming) {
+		        // records are streamed to the parsers during the import
+		        document = null;
+		    }
+		    else if (file.getStream() == null) {
 		        document = builder.parse(file.getFile());			        
 		    }
 		    else {
@@ -306,6 +372,59 @@ public class ImportUtility extends SAFRObject {
 		}
 	}
 	
+	/**
+	 * Start parsing the file at index first and the files after it within the
+	 * look ahead window, if not already started.
+	 */
+	private void startRecordStreams(int first) {
+		int last = Math.min(first + LOOK_AHEAD, files.size() - 1);
+		for (int i = first; i <= last; i++) {
+			if (!recordStreams.containsKey(files.get(i))) {
+				startRecordStream(files.get(i));
+			}
+		}
+	}
+
+	private RecordStream startRecordStream(ImportFile file) {
+		RecordStream stream = new RecordStream(file);
+		RecordStream old = recordStreams.put(file, stream);
+		if (old != null) {
+			old.close();
+		}
+		if (streamParsers == null) {
+			// daemon threads, so a failed import cannot keep the JVM alive
+			streamParsers = Executors.newFixedThreadPool(Math.min(LOOK_AHEAD + 1, files.size()), new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "Import parser " + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		stream.setTask(streamParsers.submit(stream));
+		return stream;
+	}
+
+	private void closeRecordStream(ImportFile file) {
+		RecordStream stream = recordStreams.remove(file);
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	private void stopRecordStreams() {
+		for (RecordStream stream : recordStreams.values()) {
+			stream.close();
+		}
+		recordStreams.clear();
+		if (streamParsers != null) {
+			streamParsers.shutdownNow();
+			streamParsers = null;
+		}
+	}
+	
 	private void logErrors() {
 		boolean hasErrors = false;
 		StringBuffer buffer = new StringBuffer();
@@ -46,6 +46,12 @@ public class LRFieldAttributeRecordParser extends RecordParser {
 		return "//LR-Field-Attribute/Record";
 	}
 
+	@Override
+	protected String getPrerequisiteTable() {
+		// updates the LRField transfers
+		return "LRField";
+	}
+
 	@Override
 	protected SAFRTransfer parseRecord(Node record)
 			throws SAFRValidationException, XPathExpressionException {
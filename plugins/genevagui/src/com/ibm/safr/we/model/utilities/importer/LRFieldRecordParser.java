@@ -57,6 +57,11 @@ public class LRFieldRecordParser extends RecordParser {
 
     final public void parseRecords() throws SAFRValidationException, XPathExpressionException {
 
+        if (importer.isStreaming()) {
+            importer.registerParser(this);
+            return;
+        }
+
         // get all of the <Record> elements
         NodeList recordNodes = (NodeList) importer.getXPath().evaluate(getRecordExpression(), importer.getDocument(),
             XPathConstants.NODESET);
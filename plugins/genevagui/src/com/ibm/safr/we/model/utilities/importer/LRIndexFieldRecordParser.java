@@ -42,6 +42,12 @@ public class LRIndexFieldRecordParser extends RecordParser {
 		return "//LR-IndexField/Record";
 	}
 
+	@Override
+	protected String getPrerequisiteTable() {
+		// updates the LRField transfers
+		return "LRField";
+	}
+
 	@Override
 	protected SAFRTransfer parseRecord(Node record)
 			throws SAFRValidationException, XPathExpressionException {
@@ -50,6 +50,12 @@ public class LRIndexRecordParser extends RecordParser {
 		return "//LR-Index/Record";
 	}
 
+	@Override
+	protected String getPrerequisiteTable() {
+		// updates the LRField transfers
+		return "LRField";
+	}
+
 	@Override
 	protected SAFRTransfer parseRecord(Node record)
 			throws SAFRValidationException, XPathExpressionException {
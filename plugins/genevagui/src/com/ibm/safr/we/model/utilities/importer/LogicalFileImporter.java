@@ -63,6 +63,7 @@ public class LogicalFileImporter extends PhysicalFileImporter {
 		clearMaps();
 		
 		parseRecords();
+		streamRecords();
 
 		// Check that the file contains at least one Logical File record
 		if (!records.containsKey(LogicalFileTransfer.class)) {
@@ -458,14 +459,6 @@ public class LogicalFileImporter extends PhysicalFileImporter {
 
 		lfParser = new LogicalFileRecordParser(this);
 		lfParser.parseRecords();
-
-		// Check that the file contains at least one Logical File record
-		if (!records.containsKey(LogicalFileTransfer.class)) {
-			sve.setErrorMessage(getCurrentFile().getName(),
-			"There are no <LogicalFile> <Record> elements.");
-			throw sve;
-		}
-
 		// Parse the sub components
 		lfPfParser = new LFPFAssocRecordParser(
 				this);
@@ -474,6 +467,14 @@ public class LogicalFileImporter extends PhysicalFileImporter {
 		pfParser.parseRecords();
 		procParser = new ExitRecordParser(this);
 		procParser.parseRecords();
+		streamRecords();
+
+		// Check that the file contains at least one Logical File record
+		if (!records.containsKey(LogicalFileTransfer.class)) {
+			sve.setErrorMessage(getCurrentFile().getName(),
+			"There are no <LogicalFile> <Record> elements.");
+			throw sve;
+		}
 
 		// Check for orphaned foreign keys and unreferenced primary keys
 		lfParser.checkReferentialIntegrity();
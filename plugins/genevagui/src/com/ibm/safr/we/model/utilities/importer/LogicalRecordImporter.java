@@ -211,6 +211,7 @@ public class LogicalRecordImporter extends LogicalFileImporter implements
 		clearMaps();
 
 		parseRecords();
+		streamRecords();
 
 		// Check that the file contains at least one LR record
 		if (!records.containsKey(LogicalRecordTransfer.class)) {
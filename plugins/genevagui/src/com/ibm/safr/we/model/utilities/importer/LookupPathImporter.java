@@ -71,6 +71,7 @@ public class LookupPathImporter extends LogicalRecordImporter implements
 		clearMaps();
 		
 		parseRecords();
+		streamRecords();
 
 		// Check that the file contains at least 1 Join record
 		if (!records.containsKey(LookupPathTransfer.class)) {
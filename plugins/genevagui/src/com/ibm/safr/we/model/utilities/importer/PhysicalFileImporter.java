@@ -61,6 +61,7 @@ public class PhysicalFileImporter extends ComponentImporter {
 		clearMaps();
 		
 		parseRecords();
+		streamRecords();
 
 		// Check that the file contains at least one PF record
 		if (!records.containsKey(PhysicalFileTransfer.class)) {
@@ -189,6 +190,10 @@ public class PhysicalFileImporter extends ComponentImporter {
 
 		pfParser = new PhysicalFileRecordParser(this);
 		pfParser.parseRecords();
+		// Parse the sub components
+		procParser = new ExitRecordParser(this);
+		procParser.parseRecords();
+		streamRecords();
 
 		// Check that the file contains at least one PF record
 		if (!records.containsKey(PhysicalFileTransfer.class)) {
@@ -197,10 +202,6 @@ public class PhysicalFileImporter extends ComponentImporter {
 			throw sve;
 		}
 
-		// Parse the sub components
-		procParser = new ExitRecordParser(this);
-		procParser.parseRecords();
-
 		// Check for orphaned foreign keys and unreferenced primary keys
 		pfParser.checkReferentialIntegrity();
 		procParser.checkReferentialIntegrity();
@@ -62,6 +62,12 @@ abstract public class RecordParser {
 	public void parseRecords() throws SAFRValidationException,
 			XPathExpressionException {
 
+		if (importer.isStreaming()) {
+			// records are delivered later by ComponentImporter.streamRecords()
+			importer.registerParser(this);
+			return;
+		}
+		
 		// get all of the <Record> elements
 		NodeList recordNodes = (NodeList) importer.getXPath().evaluate(
 				getRecordExpression(), importer.getDocument(),
@@ -90,6 +96,50 @@ abstract public class RecordParser {
 		}
 	}
 
+	/**
+	 * Parse one &LT;Record&GT; element delivered by a streaming import into
+	 * the map of transfer objects being built for this parser.
+	 */
+	void parseStreamedRecord(Node record, Map<Integer, SAFRTransfer> map)
+			throws SAFRValidationException, XPathExpressionException {
+		SAFRTransfer tfr = parseRecord(record);
+		tfr.setPersistent(false);
+		tfr.setForImport(true);
+		putToMap(map, tfr);
+	}
+
+	/**
+	 * Save the transfer objects parsed by a streaming import, as
+	 * {@link #parseRecords()} does at the end of a DOM import.
+	 */
+	void endStreamedRecords(Map<Integer, SAFRTransfer> map) {
+		if (!map.isEmpty()) {
+			SAFRTransfer tfr = (SAFRTransfer) map.values().toArray()[0];
+			importer.records.put(tfr.getClass(), map);
+		}
+	}
+
+	/**
+	 * Returns the name of the element which holds the &LT;Record&GT; elements
+	 * parsed by this parser, e.g. "PhysicalFile" for "//PhysicalFile/Record".
+	 */
+	String getTableName() {
+		String expr = getRecordExpression();
+		int start = expr.startsWith("//") ? 2 : 0;
+		int end = expr.lastIndexOf('/');
+		return expr.substring(start, end);
+	}
+
+	/**
+	 * Returns the name of the table whose records must all be parsed before
+	 * any record of this parser, or null if there is none. A streaming import
+	 * holds back records which arrive before their prerequisite table is
+	 * complete.
+	 */
+	protected String getPrerequisiteTable() {
+		return null;
+	}
+
 	/**
 	 * Implemented by subclasses, this method returns the XPath expression for
 	 * the set of &LT;Record&GT; elements parsed by the implementing subclass.
@@ -0,0 +1,289 @@
+package com.ibm.safr.we.model.utilities.importer;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.ibm.safr.we.exceptions.SAFRValidationException;
+
+/**
+ * Reads the &LT;Record&GT; elements of an import file in a single pass using
+ * StAX. Each record is turned into a small detached element and handed to the
+ * consumer through a bounded queue, so the memory used does not depend on the
+ * size of the file. The end of each table element (e.g. &LT;View-Column&GT;)
+ * is signalled with a fragment which has no record.
+ * <p>
+ * The stream is filled by {@link #run()}, normally on a background thread so
+ * that the next files of a multi-file import are parsed while the current one
+ * is being imported.
+ */
+class RecordStream implements Runnable {
+
+    static transient Logger logger = Logger
+    .getLogger("com.ibm.safr.we.model.utilities.importer.RecordStream");
+
+    // records parsed ahead of the consumer
+    static final int CAPACITY = 256;
+
+    private static final String RECORD = "Record";
+
+    static class Fragment {
+        private String table;
+        private Element record;
+
+        Fragment(String table, Element record) {
+            this.table = table;
+            this.record = record;
+        }
+
+        String getTable() {
+            return table;
+        }
+
+        /**
+         * @return the record element, or null if this fragment marks the end
+         *         of the table element.
+         */
+        Element getRecord() {
+            return record;
+        }
+    }
+
+    private static final Fragment END = new Fragment(null, null);
+
+    private ImportFile file;
+    private BlockingQueue<Fragment> queue = new ArrayBlockingQueue<Fragment>(CAPACITY);
+    private CountDownLatch rootRead = new CountDownLatch(1);
+    private volatile String rootName;
+    private volatile Exception failure;
+    private volatile boolean closed = false;
+    private boolean ended = false;
+    private Future<?> task;
+
+    RecordStream(ImportFile file) {
+        this.file = file;
+    }
+
+    void setTask(Future<?> task) {
+        this.task = task;
+    }
+
+    public void run() {
+        InputStream in = null;
+        XMLStreamReader reader = null;
+        try {
+            if (file.getStream() == null) {
+                in = new BufferedInputStream(new FileInputStream(file.getFile()));
+                reader = createReader(in);
+            } else {
+                reader = createReader(file.getStream());
+            }
+            read(reader);
+        } catch (InterruptedException e) {
+            // closed by the consumer
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            rootRead.countDown();
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.log(Level.FINE, "Error closing XML reader", e);
+                }
+            }
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    logger.log(Level.FINE, "Error closing " + file.getName(), e);
+                }
+            }
+            if (!closed) {
+                try {
+                    queue.put(END);
+                } catch (InterruptedException e) {
+                    // closed by the consumer
+                }
+            }
+        }
+    }
+
+    private XMLStreamReader createReader(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory.createXMLStreamReader(in);
+    }
+
+    private void read(XMLStreamReader reader) throws Exception {
+        Document owner = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+        String[] path = new String[16];
+        int depth = 0;
+        String table = null;
+        int tableDepth = -1;
+        Element record = null;
+        Node cursor = null;
+
+        while (reader.hasNext() && !closed) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                String name = reader.getLocalName();
+                if (depth == 0) {
+                    rootName = name;
+                    rootRead.countDown();
+                }
+                if (record != null) {
+                    Node child = owner.createElement(name);
+                    cursor.appendChild(child);
+                    cursor = child;
+                } else if (name.equals(RECORD) && depth > 0) {
+                    table = path[depth - 1];
+                    tableDepth = depth - 1;
+                    record = owner.createElement(name);
+                    cursor = record;
+                }
+                if (depth == path.length) {
+                    String[] deeper = new String[path.length * 2];
+                    System.arraycopy(path, 0, deeper, 0, path.length);
+                    path = deeper;
+                }
+                path[depth++] = name;
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                if (record != null && cursor != record) {
+                    cursor.appendChild(owner.createTextNode(reader.getText()));
+                }
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                if (record != null) {
+                    if (cursor == record) {
+                        queue.put(new Fragment(table, record));
+                        record = null;
+                        cursor = null;
+                    } else {
+                        cursor = cursor.getParentNode();
+                    }
+                } else if (depth == tableDepth) {
+                    queue.put(new Fragment(table, null));
+                    table = null;
+                    tableDepth = -1;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return the name of the document element, waiting for the parser to
+     *         reach it if necessary.
+     * @throws SAFRValidationException
+     *             if the file could not be parsed.
+     */
+    String getRootName() throws SAFRValidationException {
+        try {
+            rootRead.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (rootName == null) {
+            throw parseError();
+        }
+        return rootName;
+    }
+
+    /**
+     * Return the next fragment of the file, waiting for the parser if
+     * necessary.
+     *
+     * @return the next fragment or null at the end of the file.
+     * @throws SAFRValidationException
+     *             if the file is not well formed XML.
+     */
+    Fragment next() throws SAFRValidationException {
+        if (ended) {
+            return null;
+        }
+        Fragment fragment;
+        try {
+            fragment = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SAFRValidationException(file.getName(), "Import was interrupted.");
+        }
+        if (fragment == END) {
+            ended = true;
+            if (failure != null) {
+                throw parseError();
+            }
+            return null;
+        }
+        return fragment;
+    }
+
+    /**
+     * @return true if every fragment of the file has been returned by
+     *         {@link #next()}.
+     */
+    boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Stop parsing and discard any fragments not yet consumed.
+     */
+    void close() {
+        closed = true;
+        queue.clear();
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    private SAFRValidationException parseError() {
+        SAFRValidationException sve = new SAFRValidationException(failure);
+        String msg = failure == null ? "No XML document element." : failure.getMessage();
+        sve.setErrorMessage(file.getName(), msg);
+        return sve;
+    }
+}
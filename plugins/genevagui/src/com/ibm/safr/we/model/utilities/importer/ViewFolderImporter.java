@@ -60,6 +60,7 @@ public class ViewFolderImporter extends ViewImporter {
         
         clearMaps();
         parseRecords();
+        streamRecords();
 
         // Check that View Folder(s) was found
         if (!records.containsKey(ViewFolderTransfer.class)) {
@@ -86,6 +86,7 @@ public class ViewImporter extends LookupPathImporter implements
 		clearMaps();
 
 		parseRecords();
+		streamRecords();
 
 		// Check that View(s) was found
 		if (!records.containsKey(ViewTransfer.class)) {
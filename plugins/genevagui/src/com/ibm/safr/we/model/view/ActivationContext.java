@@ -0,0 +1,107 @@
+package com.ibm.safr.we.model.view;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Holds the state of a single view activation or logic text syntax check:
+ * the view, source and column being compiled, the logic text and the
+ * resulting calculation stacks and logic table log.
+ * <p>
+ * Each thread works on its own context through {@link WBCompilerDataStore},
+ * so batch activation can run views on several threads without one view's
+ * state leaking into another's report.
+ */
+public class ActivationContext {
+
+    private View view;
+    private ViewColumn column;
+    private ViewSource viewSource;
+    private String logicText;
+    private String logicTableLog;
+    private String calcStackString;
+    private String formatFilterCalculationStack;
+    private Map<Integer, String> colCalcs = new TreeMap<Integer, String>();
+
+    public View getView() {
+        return view;
+    }
+
+    public void setView(View view) {
+        this.view = view;
+    }
+
+    public ViewColumn getColumn() {
+        return column;
+    }
+
+    public void setColumn(ViewColumn column) {
+        this.column = column;
+    }
+
+    public ViewSource getViewSource() {
+        return viewSource;
+    }
+
+    public void setViewSource(ViewSource viewSource) {
+        this.viewSource = viewSource;
+    }
+
+    public String getLogicText() {
+        return logicText;
+    }
+
+    public void setLogicText(String logicText) {
+        this.logicText = logicText;
+    }
+
+    public String getLogicTableLog() {
+        return logicTableLog;
+    }
+
+    public void setLogicTableLog(String logicTableLog) {
+        this.logicTableLog = logicTableLog;
+    }
+
+    public String getCalculationStack() {
+        return calcStackString;
+    }
+
+    public void setCalculationStack(String calcStackString) {
+        this.calcStackString = calcStackString;
+    }
+
+    public String getFormatFilterCalculationStack() {
+        return formatFilterCalculationStack;
+    }
+
+    public void setFormatFilterCalculationStack(String formatFilterCalculationStack) {
+        this.formatFilterCalculationStack = formatFilterCalculationStack;
+    }
+
+    public void addColumnCalcStack(int colnum, String stack) {
+        colCalcs.put(colnum, stack);
+    }
+
+    public String getColumnCalcStack(int colnum) {
+        return colCalcs.get(colnum);
+    }
+}
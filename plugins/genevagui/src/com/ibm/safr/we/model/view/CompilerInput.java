@@ -0,0 +1,101 @@
+package com.ibm.safr.we.model.view;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.genevaers.runcontrolgenerator.workbenchinterface.ColumnData;
+import org.genevaers.runcontrolgenerator.workbenchinterface.ViewColumnSourceData;
+import org.genevaers.runcontrolgenerator.workbenchinterface.ViewData;
+import org.genevaers.runcontrolgenerator.workbenchinterface.ViewSourceData;
+import org.genevaers.runcontrolgenerator.workbenchinterface.WorkbenchCompiler;
+
+import com.ibm.safr.we.data.DAOFactoryHolder;
+
+/**
+ * The view data given to the WorkbenchCompiler, copied out of a
+ * {@link View}.
+ * <p>
+ * The View's lists are not thread safe, so the copy is made on the thread
+ * which edits the view. {@link #load()} only reads the copy, so it may run on
+ * another thread while the view is being edited.
+ */
+public class CompilerInput {
+
+    private static class SourceInput {
+        private ViewSourceData source;
+        private Integer sourceLRID;
+        private Integer sourceLFID;
+        private List<ColumnData> columns = new ArrayList<ColumnData>();
+        private List<ViewColumnSourceData> columnSources = new ArrayList<ViewColumnSourceData>();
+    }
+
+    private ViewData view;
+    private Integer environmentId;
+    private List<SourceInput> sources = new ArrayList<SourceInput>();
+
+    CompilerInput(View view) {
+        this(view, view.getViewSources().getActiveItems());
+    }
+
+    /**
+     * Copy the view with only the sources given, e.g. the one source whose
+     * logic text is checked.
+     */
+    CompilerInput(View view, List<ViewSource> viewSources) {
+        this.view = WBCompilerDataStore.makeView(view);
+        this.environmentId = view.getEnvironmentId();
+        for (ViewSource source : viewSources) {
+            SourceInput input = new SourceInput();
+            input.source = WBCompilerDataStore.makeViewSource(source);
+            input.sourceLRID = source.getLrFileAssociation().getAssociatingComponentId();
+            input.sourceLFID = source.getLrFileAssociation().getAssociatedComponentIdNum();
+            for (ViewColumn col : view.getViewColumns().getActiveItems()) {
+                input.columns.add(WBCompilerDataStore.getColumnData(col));
+                ViewColumnSource colSource = col.getViewColumnSources().get(source.getSequenceNo() - 1);
+                input.columnSources.add(WBCompilerDataStore.makeViewColumnSource(view, source, col,
+                        colSource.getExtractColumnAssignment()));
+            }
+            sources.add(input);
+        }
+    }
+
+    /**
+     * Reset the WorkbenchCompiler and give it this view, reading over the
+     * calling thread's connection. The caller holds
+     * {@link WBCompilerDataStore#COMPILER_LOCK}.
+     */
+    public void load() {
+        WorkbenchCompiler.reset();
+        WorkbenchCompiler.setSQLConnection(DAOFactoryHolder.getDAOFactory().getConnection());
+        WorkbenchCompiler.setSchema(DAOFactoryHolder.getDAOFactory().getConnectionParameters().getSchema());
+        WorkbenchCompiler.addView(view);
+        WorkbenchCompiler.setEnvironment(environmentId);
+        for (SourceInput input : sources) {
+            WorkbenchCompiler.addViewSource(input.source);
+            WorkbenchCompiler.setSourceLRID(input.sourceLRID);
+            WorkbenchCompiler.setSourceLFID(input.sourceLFID);
+            for (int i = 0; i < input.columns.size(); i++) {
+                WorkbenchCompiler.addColumn(input.columns.get(i));
+                WorkbenchCompiler.addViewColumnSource(input.columnSources.get(i));
+            }
+        }
+    }
+}
@@ -20,8 +20,11 @@ package com.ibm.safr.we.model.view;
  */
 
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
+import org.genevaers.repository.data.CompilerMessage;
 import org.genevaers.runcontrolgenerator.workbenchinterface.WorkbenchCompiler;
 
 import com.ibm.safr.we.constants.ReportType;
@@ -29,38 +32,145 @@ import com.ibm.safr.we.ui.reports.ReportUtils;
 
 public class LogicTextSyntaxChecker {
     static transient Logger logger = Logger.getLogger("com.ibm.safr.we.model.view.LogicTextSyntaxChecker");
-    private static String calcStackString;
+
+    /**
+     * The messages of a {@link Check}.
+     */
+    public static class Result {
+        private List<CompilerMessage> errors;
+        private List<CompilerMessage> warnings;
+
+        public List<CompilerMessage> getErrors() {
+            return errors;
+        }
+
+        public List<CompilerMessage> getWarnings() {
+            return warnings;
+        }
+    }
+
+    /**
+     * A syntax check which runs without opening the logic table report. Used
+     * to check logic text on a background thread while it is edited.
+     * <p>
+     * The parts of the view the logic text can refer to are copied when the
+     * check is prepared, on the thread which edits it; {@link #run()} only
+     * compiles the copy, so it may be called on another thread.
+     */
+    public static abstract class Check {
+        private CompilerInput input;
+        protected Integer viewId;
+        protected String text;
+
+        private Check(String text, View view, ViewSource source) {
+            this.input = WBCompilerDataStore.makeCompilerInput(view, source);
+            this.viewId = view.getId();
+            this.text = text;
+        }
+
+        protected abstract void compile();
+
+        /**
+         * Compile the text over the calling thread's connection and return
+         * the compiler's messages.
+         */
+        public Result run() {
+            synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+                input.load();
+                compile();
+                Result result = new Result();
+                result.errors = new ArrayList<CompilerMessage>(WorkbenchCompiler.getErrorMessages());
+                result.warnings = new ArrayList<CompilerMessage>(WorkbenchCompiler.getWarningMessages());
+                return result;
+            }
+        }
+    }
+
+    public static Check prepareFormatFilter(String text, View view) {
+        return new Check(text, view, null) {
+            protected void compile() {
+                WorkbenchCompiler.checkSyntaxFormatFilter(viewId, text);
+            }
+        };
+    }
+
+    public static Check prepareFormatCalc(String text, View view, ViewColumn col) {
+        final Integer colNo = col.getColumnNo();
+        return new Check(text, view, null) {
+            protected void compile() {
+                WorkbenchCompiler.checkSyntaxFormatCalc(viewId, colNo, text);
+            }
+        };
+    }
+
+    public static Check prepareExtractAssign(String text, View view, ViewSource viewsource, ViewColumn col) {
+        final Integer seqNo = viewsource.getSequenceNo();
+        final Integer colNo = col.getColumnNo();
+        return new Check(text, view, viewsource) {
+            protected void compile() {
+                WorkbenchCompiler.checkSyntaxExtractAssign(viewId, seqNo, colNo, text);
+            }
+        };
+    }
+
+    public static Check prepareExtractFilter(String text, View view, ViewSource viewsource) {
+        final Integer seqNo = viewsource.getSequenceNo();
+        return new Check(text, view, viewsource) {
+            protected void compile() {
+                WorkbenchCompiler.checkSyntaxExtractFilter(viewId, seqNo, text);
+            }
+        };
+    }
+
+    public static Check prepareExtractOutput(String text, View view, ViewSource viewsource) {
+        final Integer seqNo = viewsource.getSequenceNo();
+        return new Check(text, view, viewsource) {
+            protected void compile() {
+                WorkbenchCompiler.checkSyntaxExtractOutput(viewId, seqNo, text);
+            }
+        };
+    }
 
     public static void checkSyntaxFormatFilter(String text, View view) {
-        WBCompilerDataStore.initLogicTextProcessor(text, view, null, null);
-        calcStackString = WorkbenchCompiler.checkSyntaxFormatFilter(view.getId(), text);
-        WBCompilerDataStore.setCalculationStack(calcStackString);
-        generateOutputReport();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            WBCompilerDataStore.initLogicTextProcessor(text, view, null, null);
+            String calcStackString = WorkbenchCompiler.checkSyntaxFormatFilter(view.getId(), text);
+            WBCompilerDataStore.setCalculationStack(calcStackString);
+            generateOutputReport();
+        }
     }
 
     public static void checkSyntaxFormatCalc(String text, View view, ViewColumn col) {
-        WBCompilerDataStore.initLogicTextProcessor(text, view, null, col);
-        calcStackString = WorkbenchCompiler.checkSyntaxFormatCalc(view.getId(), col.getColumnNo(), text);
-        WBCompilerDataStore.setCalculationStack(calcStackString);
-        generateOutputReport();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            WBCompilerDataStore.initLogicTextProcessor(text, view, null, col);
+            String calcStackString = WorkbenchCompiler.checkSyntaxFormatCalc(view.getId(), col.getColumnNo(), text);
+            WBCompilerDataStore.setCalculationStack(calcStackString);
+            generateOutputReport();
+        }
     }
 
     public static void checkSyntaxExtractAssign(String text, View view, ViewSource viewsource, ViewColumn col) {
-        WBCompilerDataStore.initLogicTextProcessor(text, view, viewsource, col);
-        WorkbenchCompiler.checkSyntaxExtractAssign(view.getId(), viewsource.getSequenceNo(), col.getColumnNo(), text);
-        generateOutputReport();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            WBCompilerDataStore.initLogicTextProcessor(text, view, viewsource, col);
+            WorkbenchCompiler.checkSyntaxExtractAssign(view.getId(), viewsource.getSequenceNo(), col.getColumnNo(), text);
+            generateOutputReport();
+        }
     }
 
     public static void checkSyntaxExtractFilter(String text, View view, ViewSource viewsource) {
-        WBCompilerDataStore.initLogicTextProcessor(text, view, viewsource, null);
-        WorkbenchCompiler.checkSyntaxExtractFilter(view.getId(), viewsource.getSequenceNo(), text);
-        generateOutputReport();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            WBCompilerDataStore.initLogicTextProcessor(text, view, viewsource, null);
+            WorkbenchCompiler.checkSyntaxExtractFilter(view.getId(), viewsource.getSequenceNo(), text);
+            generateOutputReport();
+        }
     }
 
     public static void checkSyntaxExtractOutput(String text, View view, ViewSource viewsource) {
-        WBCompilerDataStore.initLogicTextProcessor(text, view, viewsource, null);
-        WorkbenchCompiler.checkSyntaxExtractOutput(view.getId(), viewsource.getSequenceNo(), text);
-        generateOutputReport();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            WBCompilerDataStore.initLogicTextProcessor(text, view, viewsource, null);
+            WorkbenchCompiler.checkSyntaxExtractOutput(view.getId(), viewsource.getSequenceNo(), text);
+            generateOutputReport();
+        }
     }
 
     private static void generateOutputReport() {
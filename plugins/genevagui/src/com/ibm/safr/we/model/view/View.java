@@ -19,8 +19,10 @@ package com.ibm.safr.we.model.view;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -48,6 +50,7 @@ import com.ibm.safr.we.data.transfer.SAFRTransfer;
 import com.ibm.safr.we.data.transfer.UserExitRoutineTransfer;
 import com.ibm.safr.we.data.transfer.ViewColumnSourceTransfer;
 import com.ibm.safr.we.data.transfer.ViewColumnTransfer;
+import com.ibm.safr.we.data.transfer.ViewGraphTransfer;
 import com.ibm.safr.we.data.transfer.ViewLogicDependencyTransfer;
 import com.ibm.safr.we.data.transfer.ViewSortKeyTransfer;
 import com.ibm.safr.we.data.transfer.ViewSourceTransfer;
@@ -130,6 +133,12 @@ public class View extends SAFRActivatedComponent {
     private final SAFRList<ViewColumnSource> viewColumnSources = new SAFRList<ViewColumnSource>();
     private final SAFRList<ViewSortKey> viewSortKeys = new SAFRList<ViewSortKey>();
 
+    // The active column sources of each column, rebuilt when the active
+    // column sources change. Columns compare equal by id, which changes when
+    // they are stored, so the index is by object.
+    private List<ViewColumnSource> indexedColumnSources;
+    private Map<ViewColumn, List<ViewColumnSource>> columnSourceIndex;
+
     private View.HeaderFooterItems header;
     private View.HeaderFooterItems footer;
 
@@ -202,19 +211,55 @@ public class View extends SAFRActivatedComponent {
      */
     public View(ViewTransfer trans) throws DAOException, SAFRException {
         super(trans);
-        initFromTransfer(trans);
+        initFromTransfer(trans, null);
+    }
+
+    /**
+     * Create a View object from a View graph read in a single database call,
+     * so its sources, columns, column sources, sort keys, header/footer items
+     * and logic dependencies are not read separately.
+     * 
+     * @param graph
+     *            the ViewGraphTransfer object
+     * @throws SAFRException
+     *             In case there are inactive dependencies and the view cannot
+     *             be loaded, a sub-type {@link SAFRDependencyException} will be
+     *             thrown with a list of inactive components.
+     */
+    public View(ViewGraphTransfer graph) throws DAOException, SAFRException {
+        super(graph.getView());
+        initFromTransfer(graph.getView(), graph);
     }
 
-    private void initFromTransfer(ViewTransfer trans) throws DAOException, SAFRException {
+    private void initFromTransfer(ViewTransfer trans, ViewGraphTransfer graph) throws DAOException, SAFRException {
         
         if (!isForImport() && !isForMigration()) {
             checkForInactiveDependencies();
 
             // init viewColumns and viewSources before viewColumnSources
-            this.viewSources.addAll(ViewFactory.getViewSources(this));
-            this.viewColumns.addAll(ViewFactory.getViewColumns(this));
-            this.viewColumnSources.addAll(ViewFactory.getViewColumnSources(this));
-            this.viewSortKeys.addAll(ViewFactory.getViewSortKeys(this));
+            if (graph == null) {
+                this.viewSources.addAll(ViewFactory.getViewSources(this));
+                this.viewColumns.addAll(ViewFactory.getViewColumns(this));
+                this.viewColumnSources.addAll(ViewFactory.getViewColumnSources(this));
+                this.viewSortKeys.addAll(ViewFactory.getViewSortKeys(this));
+            } else {
+                for (ViewSourceTransfer vst : graph.getViewSources()) {
+                    this.viewSources.add(ViewFactory.initViewSource(this, vst));
+                }
+                for (ViewColumnTransfer vct : graph.getViewColumns()) {
+                    this.viewColumns.add(ViewFactory.initViewColumn(this, vct));
+                }
+                for (ViewColumnSourceTransfer vcst : graph.getViewColumnSources()) {
+                    this.viewColumnSources.add(ViewFactory.initViewColumnSource(this, vcst));
+                }
+                for (ViewSortKeyTransfer vskt : graph.getViewSortKeys()) {
+                    this.viewSortKeys.add(ViewFactory.initViewSortKey(this, vskt));
+                }
+                this.viewLogicDependencies = new ArrayList<ViewLogicDependency>();
+                for (ViewLogicDependencyTransfer vldt : graph.getViewLogicDependencies()) {
+                    this.viewLogicDependencies.add(new ViewLogicDependency(this, vldt));
+                }
+            }
 
             // append the load warnings from the individual view columns, view
             // column sources and view sort keys to the loadWarnings list of the
@@ -243,7 +288,13 @@ public class View extends SAFRActivatedComponent {
 
             if (this.outputFormat == OutputFormat.Format_Report) {
                 // load header footer items from DB.
-                ViewFactory.loadHeaderFooterItems(this);
+                if (graph == null) {
+                    ViewFactory.loadHeaderFooterItems(this);
+                } else {
+                    for (HeaderFooterItemTransfer hft : graph.getHeaderFooterItems()) {
+                        ViewFactory.addHeaderFooterItem(this, hft);
+                    }
+                }
 
                 // CQ 8768. Nikita. 21/10/2010
                 // append the load warnings from the headers and footers to the
@@ -1345,6 +1396,206 @@ public class View extends SAFRActivatedComponent {
         markUpdated();
     }
 
+    /**
+     * Starts a set of column changes which are applied to this View together.
+     * Use it to insert, move or remove many columns, e.g. when generating
+     * columns from the fields of a Logical Record, rather than
+     * {@link #addViewColumn(int)} and {@link #removeViewColumn(ViewColumn)}
+     * which recalculate the whole View for each column.
+     * 
+     * @return the changes, empty
+     */
+    public ColumnChanges changeColumns() {
+        return new ColumnChanges();
+    }
+
+    /**
+     * Column inserts, moves and removes which are collected and then applied
+     * to the View in one go by {@link #apply()}. Until then the View is not
+     * changed, so the changes can be dropped by not applying them. The column
+     * numbers, start positions and sort keys are recalculated once when they
+     * are applied.
+     * <p>
+     * Positions are column numbers among the columns as changed so far,
+     * starting from 1. The properties of a new column and of its column
+     * sources can be set before the changes are applied.
+     */
+    public class ColumnChanges {
+
+        private final List<ViewColumn> columns;
+        private final List<ViewColumn> removed = new ArrayList<ViewColumn>();
+        private final Map<ViewColumn, List<ViewColumnSource>> inserted = 
+            new IdentityHashMap<ViewColumn, List<ViewColumnSource>>();
+        private boolean applied = false;
+
+        private ColumnChanges() {
+            columns = new ArrayList<ViewColumn>(viewColumns.getActiveItems());
+        }
+
+        /**
+         * Creates a new column, with a column source for each View Source,
+         * to be inserted at the specified column number.
+         * 
+         * @param position
+         *            : the column number of the new column. If it is 0 or
+         *            less then the column is added at the end.
+         * @return the new column
+         */
+        public ViewColumn insert(int position) {
+            checkNotApplied();
+            ViewColumn vc = new ViewColumn(View.this);
+            vc.setExtractAreaCode(SAFRApplication.getSAFRFactory()
+                    .getCodeSet(CodeCategories.EXTRACT)
+                    .getCode(Codes.DT_AREA));
+            vc.setId(dummyColumnId++ * -1);
+            List<ViewColumnSource> sources = new ArrayList<ViewColumnSource>();
+            for (ViewSource viewSource : viewSources.getActiveItems()) {
+                sources.add(newViewColumnSource(vc, viewSource));
+            }
+            if (position <= 0) {
+                columns.add(vc);
+            } else {
+                columns.add(position - 1, vc);
+            }
+            inserted.put(vc, sources);
+            return vc;
+        }
+
+        /**
+         * Moves a column to the specified column number.
+         */
+        public void move(ViewColumn viewColumn, int position) {
+            checkNotApplied();
+            int index = indexOf(viewColumn);
+            if (index < 0) {
+                throw new IllegalArgumentException("The column is not in this View.");
+            }
+            columns.remove(index);
+            columns.add(position - 1, viewColumn);
+        }
+
+        /**
+         * Removes a column, with its column sources and any sort key.
+         */
+        public void remove(ViewColumn viewColumn) {
+            checkNotApplied();
+            int index = indexOf(viewColumn);
+            if (index < 0) {
+                throw new IllegalArgumentException("The column is not in this View.");
+            }
+            columns.remove(index);
+            if (inserted.remove(viewColumn) == null) {
+                removed.add(viewColumn);
+            }
+        }
+
+        /**
+         * @return the columns in their order after the changes
+         */
+        public List<ViewColumn> getColumns() {
+            return Collections.unmodifiableList(columns);
+        }
+
+        /**
+         * Returns the column source of a column for a View Source, whether the
+         * column is new or already in the View.
+         */
+        public ViewColumnSource getColumnSource(ViewColumn viewColumn,
+                ViewSource viewSource) {
+            List<ViewColumnSource> sources = inserted.get(viewColumn);
+            if (sources == null) {
+                sources = getColumnSources(viewColumn);
+            }
+            return sources.get(viewSource.getSequenceNo() - 1);
+        }
+
+        /**
+         * Applies the changes to the View. The changes can only be applied
+         * once.
+         */
+        public void apply() {
+            checkNotApplied();
+            applied = true;
+            if (inserted.isEmpty() && removed.isEmpty()
+                    && columns.equals(viewColumns.getActiveItems())) {
+                return;
+            }
+
+            // the sources of removed columns are dropped if new, or marked
+            // deleted, in a single pass over the column sources.
+            Map<ViewColumnSource, ViewColumnSource> droppedSources = 
+                new IdentityHashMap<ViewColumnSource, ViewColumnSource>();
+            for (ViewColumn viewColumn : removed) {
+                if (viewColumn.isSortKey()) {
+                    ViewSortKey sortKey = viewColumn.getViewSortKey();
+                    sortKey.removeSortKeyTitleField();
+                    viewSortKeys.remove(sortKey);
+                }
+                for (ViewColumnSource vcs : getColumnSources(viewColumn)) {
+                    droppedSources.put(vcs, vcs);
+                }
+            }
+            List<ViewColumnSource> keptSources = new ArrayList<ViewColumnSource>(
+                viewColumnSources.size());
+            for (ViewColumnSource vcs : viewColumnSources) {
+                if (droppedSources.containsKey(vcs)) {
+                    vcs.markDeleted();
+                    if (vcs.getPersistence() != SAFRPersistence.DELETED) {
+                        continue;
+                    }
+                }
+                keptSources.add(vcs);
+            }
+
+            // the active columns in their new order, followed by the deleted
+            // ones which are still to be erased when the View is stored.
+            Map<ViewColumn, ViewColumn> active = new IdentityHashMap<ViewColumn, ViewColumn>();
+            for (ViewColumn viewColumn : columns) {
+                active.put(viewColumn, viewColumn);
+            }
+            List<ViewColumn> allColumns = new ArrayList<ViewColumn>(columns);
+            for (ViewColumn viewColumn : viewColumns) {
+                if (!active.containsKey(viewColumn)) {
+                    viewColumn.markDeleted();
+                    if (viewColumn.getPersistence() == SAFRPersistence.DELETED) {
+                        allColumns.add(viewColumn);
+                    }
+                }
+            }
+            viewColumns.clear();
+            viewColumns.addAll(allColumns);
+
+            for (ViewColumn viewColumn : columns) {
+                List<ViewColumnSource> sources = inserted.get(viewColumn);
+                if (sources != null) {
+                    keptSources.addAll(sources);
+                }
+            }
+            viewColumnSources.clear();
+            viewColumnSources.addAll(keptSources);
+
+            calculateStartPosition();
+            makeViewInactive();
+            markModified();
+        }
+
+        private int indexOf(ViewColumn viewColumn) {
+            // by object, as the columns compare equal by id
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i) == viewColumn) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void checkNotApplied() {
+            if (applied) {
+                throw new IllegalStateException("The column changes have already been applied.");
+            }
+        }
+    }
+
     /**
      * Returns a list of all of the ViewColumnSources for this View.
      * 
@@ -1368,23 +1619,57 @@ public class View extends SAFRActivatedComponent {
      */
     public ViewColumnSource addViewColumnSource(ViewColumn viewColumn,
             ViewSource viewSource) {
-        for (ViewColumnSource vcs : viewColumnSources.getActiveItems()) {
-            if (vcs.getViewColumn() == viewColumn
-                    && vcs.getViewSource() == viewSource) {
+        for (ViewColumnSource vcs : getColumnSources(viewColumn)) {
+            if (vcs.getViewSource() == viewSource) {
                 throw new IllegalArgumentException(
                         "A ViewColumnSource already exists for this ViewColumn and ViewSource.");
             }
         }
+        ViewColumnSource vcSrc = newViewColumnSource(viewColumn, viewSource);
+        viewColumnSources.add(vcSrc);
+        makeViewInactive();
+        markUpdated();
+        return vcSrc;
+    }
+
+    private ViewColumnSource newViewColumnSource(ViewColumn viewColumn,
+            ViewSource viewSource) {
         ViewColumnSource vcSrc = new ViewColumnSource(viewColumn, viewSource);
         vcSrc.setId(dummyColumnSrcId++ * -1);
         vcSrc.setSourceType(SAFRApplication.getSAFRFactory()
                 .getCodeSet(CodeCategories.COLSRCTYPE).getCode(Codes.CONSTANT));
-        viewColumnSources.add(vcSrc);
-        makeViewInactive();
-        markUpdated();
         return vcSrc;
     }
 
+    /**
+     * Returns the active ViewColumnSources of a column in the order they are
+     * held by this View, which is the order of their View Sources.
+     * 
+     * @param viewColumn
+     *            a column of this View
+     * @return the column sources, which can't be changed
+     */
+    List<ViewColumnSource> getColumnSources(ViewColumn viewColumn) {
+        List<ViewColumnSource> active = viewColumnSources.getActiveItems();
+        if (active != indexedColumnSources) {
+            columnSourceIndex = new IdentityHashMap<ViewColumn, List<ViewColumnSource>>();
+            for (ViewColumnSource vcs : active) {
+                List<ViewColumnSource> sources = columnSourceIndex.get(vcs.getViewColumn());
+                if (sources == null) {
+                    sources = new ArrayList<ViewColumnSource>();
+                    columnSourceIndex.put(vcs.getViewColumn(), sources);
+                }
+                sources.add(vcs);
+            }
+            indexedColumnSources = active;
+        }
+        List<ViewColumnSource> sources = columnSourceIndex.get(viewColumn);
+        if (sources == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(sources);
+    }
+
     /**
      * This method is used to remove view column source.
      * 
@@ -2483,6 +2768,8 @@ public class View extends SAFRActivatedComponent {
             if (success) {
                 // End Transaction.
                 DAOFactoryHolder.getDAOFactory().getDAOUOW().end();
+                SAFRApplication.getSAFRFactory().componentChanged(
+                        ComponentType.View, getId(), getEnvironmentId());
 
             } else {
                 // Rollback the transaction.
@@ -2920,93 +3207,123 @@ public class View extends SAFRActivatedComponent {
         // proceed if not.
         if (outputLR != null && outputLR.getId() != this.outputLRId) {
 
-            // if there are columns in the view then remove all the columns.
-            if (!viewColumns.getActiveItems().isEmpty()) {
-                for (ViewColumn viewColumn : viewColumns.getActiveItems()) {
-                    removeViewColumn(viewColumn);
-                }
+            // replace all the columns in the view with one for each LRField
+            // of the outputLR specified.
+            ColumnChanges changes = changeColumns();
+            for (ViewColumn viewColumn : viewColumns.getActiveItems()) {
+                changes.remove(viewColumn);
             }
-
-            // get all the LRFields of the outputLR specified.
             List<LRField> lrFields = SAFRApplication.getSAFRFactory()
                     .getLRFields(outputLR);
-            if (!lrFields.isEmpty()) {
-                addFieldsAsColumns(lrFields, 0);
-            }
+            addFieldsAsColumns(changes, lrFields, 0);
+            changes.apply();
 
         }
 
     }
 
     public int genFieldsAsColumns(List<LRField> lrFields, int startPos, ViewSource viewSrc) {
+        ColumnChanges changes = changeColumns();
+        int newPos = genFieldsAsColumns(changes, lrFields, startPos, viewSrc);
+        changes.apply();
+        return newPos;
+    }
+
+    /**
+     * Inserts a column for each field, taking its value from the field of the
+     * View Source, as part of a set of column changes.
+     * 
+     * @return the column number of the last column inserted
+     */
+    public int genFieldsAsColumns(ColumnChanges changes, List<LRField> lrFields,
+        int startPos, ViewSource viewSrc) {
         int i = 0;
         for (; i < lrFields.size(); i++) {
             LRField lrField = lrFields.get(i);
             int colNum = startPos + i + 1;
-            ViewColumn vc = addViewColumn(colNum);
+            ViewColumn vc = changes.insert(colNum);
             setColumnAsField(lrField, vc);
-            setColumnSourceField(vc, lrField, viewSrc);
+            setColumnSourceField(changes.getColumnSource(vc, viewSrc), lrField);
         }      
         return startPos+i;
     }
     
     public void genLPFieldAsColumn(LRField field, int position, ViewSource viewSrc,
         LogicalRecordQueryBean lrBean, LookupQueryBean lpBean) {
-        ViewColumn vc = addViewColumn(position+1);
+        ColumnChanges changes = changeColumns();
+        genLPFieldAsColumn(changes, field, position, viewSrc, lrBean, lpBean);
+        changes.apply();
+    }
+    
+    /**
+     * Inserts a column taking its value from a lookup field, as part of a set
+     * of column changes.
+     */
+    public void genLPFieldAsColumn(ColumnChanges changes, LRField field, int position,
+        ViewSource viewSrc, LogicalRecordQueryBean lrBean, LookupQueryBean lpBean) {
+        ViewColumn vc = changes.insert(position+1);
         setColumnAsField(field, vc);
-        setColumnLookupField(vc, field, viewSrc, lrBean, lpBean);
+        setColumnLookupField(changes.getColumnSource(vc, viewSrc), field, lrBean, lpBean);
     }
     
     public void addFieldsAsColumns(List<LRField> lrFields, int startPos) {
+        ColumnChanges changes = changeColumns();
+        addFieldsAsColumns(changes, lrFields, startPos);
+        changes.apply();
+    }
+
+    private void addFieldsAsColumns(ColumnChanges changes, List<LRField> lrFields, int startPos) {
         // loop through all the lrFields of the output LR and create a
         // new view Column for each lrField and set the properties of
         // the newly created column as that of the LRField.
         for (int i = 0; i < lrFields.size(); i++) {
             LRField lrField = lrFields.get(i);
             int colNum = startPos + i + 1;
-            ViewColumn vc = addViewColumn(colNum);
+            ViewColumn vc = changes.insert(colNum);
             setColumnAsField(lrField, vc);
         }
     }
 
     public int overAllFieldsAsColumns(List<LRField> lrFields, int startPos, ViewSource viewSrc) {
+        List<ViewColumn> columns = viewColumns.getActiveItems();
         int i = 0;
         for (; i < lrFields.size(); i++) {
             LRField lrField = lrFields.get(i);
-            ViewColumn vc = viewColumns.get(startPos+i);
+            ViewColumn vc = columns.get(startPos+i);
             setColumnAsField(lrField, vc);
-            setColumnSourceField(vc, lrField, viewSrc);
+            setColumnSourceField(getColumnSource(vc, viewSrc), lrField);
         }      
         return startPos+i;
     }
     
     public void overAllLPFieldAsColumn(LRField field, int position, ViewSource viewSrc,
         LogicalRecordQueryBean lrBean, LookupQueryBean lpBean) {
-        ViewColumn vc = viewColumns.get(position);
+        ViewColumn vc = viewColumns.getActiveItems().get(position);
         setColumnAsField(field, vc);
-        setColumnLookupField(vc, field, viewSrc, lrBean, lpBean);
+        setColumnLookupField(getColumnSource(vc, viewSrc), field, lrBean, lpBean);
     }
     
     public int overSourceFieldsAsColumns(List<LRField> lrFields, int startPos, ViewSource viewSrc) {
+        List<ViewColumn> columns = viewColumns.getActiveItems();
         int i = 0;
         for (; i < lrFields.size(); i++) {
             LRField lrField = lrFields.get(i);
-            ViewColumn vc = viewColumns.get(startPos+i);
-            setColumnSourceField(vc, lrField, viewSrc);
+            ViewColumn vc = columns.get(startPos+i);
+            setColumnSourceField(getColumnSource(vc, viewSrc), lrField);
         }      
         return startPos+i;
     }
     
     public void overSourceLPFieldAsColumn(LRField field, int position, ViewSource viewSrc,
         LogicalRecordQueryBean lrBean, LookupQueryBean lpBean) {
-        ViewColumn vc = viewColumns.get(position);
-        setColumnLookupField(vc, field, viewSrc, lrBean, lpBean);
+        ViewColumn vc = viewColumns.getActiveItems().get(position);
+        setColumnLookupField(getColumnSource(vc, viewSrc), field, lrBean, lpBean);
     }
 
     public void overAllAsConstant(int position, ViewSource viewSrc) {
-        ViewColumn col = viewColumns.get(position);
+        ViewColumn col = viewColumns.getActiveItems().get(position);
         
-        ViewColumnSource colSrc = col.getViewColumnSources().get(viewSrc.getSequenceNo()-1);
+        ViewColumnSource colSrc = getColumnSource(col, viewSrc);
         colSrc.setSourceType(SAFRApplication.getSAFRFactory().
             getCodeSet(CodeCategories.COLSRCTYPE).getCode(Codes.CONSTANT));
         colSrc.setSourceValue(" ");
@@ -3017,9 +3334,9 @@ public class View extends SAFRActivatedComponent {
     }
     
     public void overSourceAsConstant(int position, ViewSource viewSrc) {
-        ViewColumn col = viewColumns.get(position);
+        ViewColumn col = viewColumns.getActiveItems().get(position);
         
-        ViewColumnSource colSrc = col.getViewColumnSources().get(viewSrc.getSequenceNo()-1);
+        ViewColumnSource colSrc = getColumnSource(col, viewSrc);
         colSrc.setSourceType(SAFRApplication.getSAFRFactory().
             getCodeSet(CodeCategories.COLSRCTYPE).getCode(Codes.CONSTANT));
         colSrc.setSourceValue(" ");        
@@ -3066,16 +3383,18 @@ public class View extends SAFRActivatedComponent {
         vc.setDataTypeCode(lrField.getDataTypeCode());
     }
 
-    private void setColumnSourceField(ViewColumn col, LRField field, ViewSource viewSrc) {
-        ViewColumnSource colSrc = col.getViewColumnSources().get(viewSrc.getSequenceNo()-1);
+    private ViewColumnSource getColumnSource(ViewColumn col, ViewSource viewSrc) {
+        return getColumnSources(col).get(viewSrc.getSequenceNo()-1);
+    }
+
+    private void setColumnSourceField(ViewColumnSource colSrc, LRField field) {
         colSrc.setSourceType(SAFRApplication.getSAFRFactory().
             getCodeSet(CodeCategories.COLSRCTYPE).getCode(Codes.SOURCE_FILE_FIELD));
         colSrc.setLRFieldPaste(field);        
     }
     
-    private void setColumnLookupField(ViewColumn col, LRField field, ViewSource viewSrc,
+    private void setColumnLookupField(ViewColumnSource colSrc, LRField field,
         LogicalRecordQueryBean lrBean, LookupQueryBean lpBean) {
-        ViewColumnSource colSrc = col.getViewColumnSources().get(viewSrc.getSequenceNo()-1);
         colSrc.setSourceType(SAFRApplication.getSAFRFactory().
             getCodeSet(CodeCategories.COLSRCTYPE).getCode(Codes.LOOKUP_FIELD));
         colSrc.setLogicalRecordQueryBean(lrBean);
@@ -3120,31 +3439,25 @@ public class View extends SAFRActivatedComponent {
         this.migrateRelatedComponents = migrateRelatedComponents;
     }
     
+    /**
+     * @return the active column with the id, or null
+     */
     public ViewColumn findColumn(Integer colId) {
-        for (ViewColumn col : getViewColumns().getActiveItems()) {
-            if (col.getId().equals(colId)) {
-                return col;
-            }
-        }
-        return null;
+        return viewColumns.findById(colId);
     }
 
+    /**
+     * @return the active column source with the id, or null
+     */
     public ViewColumnSource findColumnSource(Integer colSrcId) {
-        for (ViewColumnSource colSrc : getViewColumnSources()) {
-            if (colSrc.getId().equals(colSrcId)) {
-                return colSrc;
-            }
-        }
-        return null;
+        return viewColumnSources.findById(colSrcId);
     }
 
+    /**
+     * @return the active View Source with the id, or null
+     */
     public ViewSource findSource(Integer srcId) {
-        for (ViewSource src : getViewSources()) {
-            if (src.getId().equals(srcId)) {
-                return src;
-            }
-        }
-        return null;
+        return viewSources.findById(srcId);
     }
 
     public String getCompilerVersion() {
@@ -78,15 +78,19 @@ public class ViewActivator {
      * @throws DAOException, SAFRException
      */ 
     public void activate() throws DAOException, SAFRException {
-        executeTheActivation();
-    	ReportUtils.openReportEditor(ReportType.ActivationReport);
-        logActivationResult();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            executeTheActivation();
+            ReportUtils.openReportEditor(ReportType.ActivationReport);
+            logActivationResult();
+        }
     }
 
     public void batchActivate() throws DAOException, SAFRException {
-        executeTheActivation();
-    	ReportUtils.generateOnly(ReportType.ActivationReport);
-        logActivationResult();
+        synchronized (WBCompilerDataStore.COMPILER_LOCK) {
+            executeTheActivation();
+            ReportUtils.generateOnly(ReportType.ActivationReport);
+            logActivationResult();
+        }
     }
 
 	private void logActivationResult() {
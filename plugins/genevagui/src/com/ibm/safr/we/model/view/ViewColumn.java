@@ -509,15 +509,7 @@ public class ViewColumn extends SAFRField {
 	 * @return a read-only list of the ViewColumnSources for this ViewColumn
 	 */
 	public SAFRImmutableList<ViewColumnSource> getViewColumnSources() {
-		List<ViewColumnSource> result = new ArrayList<ViewColumnSource>();
-		List<ViewColumnSource> vcss = view.getViewColumnSources()
-				.getActiveItems();
-		for (ViewColumnSource vcs : vcss) {
-			if (vcs.getViewColumn().getId() == this.getId()) {
-				result.add(vcs);
-			}
-		}
-		return new SAFRImmutableList<ViewColumnSource>(result);
+		return new SAFRImmutableList<ViewColumnSource>(view.getColumnSources(this));
 	}
 
 	/**
@@ -282,13 +282,7 @@ public class ViewColumnSource extends SAFREnvironmentalComponent {
 	 */
 	public ViewColumn getViewColumn() {
 		if (viewColumn == null) {
-			List<ViewColumn> vcs = view.getViewColumns().getActiveItems();
-			for (ViewColumn vc : vcs) {
-				if (vc.getId().equals(viewColumnId)) {
-					this.viewColumn = vc;
-					break;
-				}
-			}
+			this.viewColumn = view.getViewColumns().findById(viewColumnId);
 		}
 		return viewColumn;
 	}
@@ -298,13 +292,7 @@ public class ViewColumnSource extends SAFREnvironmentalComponent {
 	 */
 	public ViewSource getViewSource() {
 		if (viewSource == null) {
-			List<ViewSource> vss = view.getViewSources().getActiveItems();
-			for (ViewSource vs : vss) {
-				if (vs.getId().equals(viewSourceId)) {
-					this.viewSource = vs;
-					break;
-				}
-			}
+			this.viewSource = view.getViewSources().findById(viewSourceId);
 		}
 		return viewSource;
 	}
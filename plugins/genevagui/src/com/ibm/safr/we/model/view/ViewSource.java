@@ -562,11 +562,11 @@ public class ViewSource extends SAFREnvironmentalComponent {
 				return lrFieldList;
 			}
 
-			// get all the LR fields of the logicalRecordId and make a
-			// list of LR fields.
-			List<LRFieldTransfer> lrFieldTransferList = DAOFactoryHolder
-					.getDAOFactory().getLRFieldDAO().getLRFields(
-							getEnvironmentId(), logicalRecordId);
+			// get all the LR fields of the logicalRecordId from the
+			// environment's symbol table and make a list of LR fields.
+			List<LRFieldTransfer> lrFieldTransferList = SAFRApplication
+					.getSAFRFactory().getSymbolTable(getEnvironmentId())
+					.getLRFields(logicalRecordId);
 			for (int i = 0; i < lrFieldTransferList.size(); i++) {
 				LRField lrField = new LRField(lrFieldTransferList.get(i));
 				lrFieldList.add(lrField);
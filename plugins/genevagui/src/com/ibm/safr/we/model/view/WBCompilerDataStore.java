@@ -1,8 +1,7 @@
 package com.ibm.safr.we.model.view;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 /*
  * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2008.
@@ -33,74 +32,108 @@ import org.genevaers.runcontrolgenerator.workbenchinterface.WorkbenchCompiler;
 import com.ibm.safr.we.constants.CodeCategories;
 import com.ibm.safr.we.constants.Codes;
 import com.ibm.safr.we.constants.ReportType;
-import com.ibm.safr.we.data.DAOFactoryHolder;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.ui.reports.ReportUtils;
 
 public class WBCompilerDataStore {
     static transient Logger logger = Logger.getLogger("com.ibm.safr.we.model.view.CompilerFactory");
-    private static View currentView;
-    private static ViewColumn currentColumn;
-    private static ViewSource currentViewSource;
     // used to compile a view or to check syntax
     final static int CT_ADDITION = 13;
 
-    private static String ltLog;
+    /**
+     * WorkbenchCompiler keeps its state in static fields, so only one thread
+     * may drive it at a time. Hold this lock around any sequence of
+     * WorkbenchCompiler calls.
+     */
+    public static final Object COMPILER_LOCK = new Object();
 
-    private static String formatFilterCalculationStack;
-    private static Map<Integer, String> colCalcs = new TreeMap<>();
-    private static String logicText;
-    private static String calcStackString;
+    private static ThreadLocal<ActivationContext> context = new ThreadLocal<ActivationContext>() {
+        @Override
+        protected ActivationContext initialValue() {
+            return new ActivationContext();
+        }
+    };
+
+    /**
+     * @return the activation context of the calling thread.
+     */
+    public static ActivationContext getContext() {
+        return context.get();
+    }
+
+    /**
+     * Make the given context the activation context of the calling thread.
+     */
+    public static void setContext(ActivationContext ctx) {
+        context.set(ctx);
+    }
+
+    /**
+     * Drop the activation context of the calling thread. Worker threads
+     * should call this when they finish so pooled threads do not hold on to
+     * views.
+     */
+    public static void clearContext() {
+        context.remove();
+    }
 
     public static List<String> getWarnings() {
     	return WorkbenchCompiler.getWarnings();
     }
 
     public static String getLogicTableLog() {
-        if(calcStackString != null) {
-        	return calcStackString;
+        ActivationContext ctx = getContext();
+        if(ctx.getCalculationStack() != null) {
+        	return ctx.getCalculationStack();
         } else {
-        	return ltLog;
+        	return ctx.getLogicTableLog();
         }
     }
 
     public static void initLogicTextProcessor(String text, View view, ViewSource currentSource, ViewColumn col) {
-        currentViewSource = currentSource;
-        currentColumn = col;
-        logicText = text;
-        calcStackString = null;
+        ActivationContext ctx = getContext();
+        ctx.setViewSource(currentSource);
+        ctx.setColumn(col);
+        ctx.setLogicText(text);
+        ctx.setCalculationStack(null);
         initializeWorkbenchCompiler(view);
     }
     
     public static void initializeWorkbenchCompiler(View view) {
-        currentView = view;
-        WorkbenchCompiler.reset();
-        WorkbenchCompiler.setSQLConnection(DAOFactoryHolder.getDAOFactory().getConnection());
-        WorkbenchCompiler.setSchema(DAOFactoryHolder.getDAOFactory().getConnectionParameters().getSchema());
-        WorkbenchCompiler.addView(makeView(view));
-        WorkbenchCompiler.setEnvironment(view.getEnvironmentId());
+        makeCompilerInput(view).load();
         setView(view);
-        setupWorkbenchCompilerViewColumnSources(view);
-    }
-
-    private static void setupWorkbenchCompilerViewColumnSources(View view) {
-        for (ViewSource source : view.getViewSources().getActiveItems()) {
-            WorkbenchCompiler.addViewSource(makeViewSource(source));
-            WorkbenchCompiler.setSourceLRID(source.getLrFileAssociation().getAssociatingComponentId());
-            WorkbenchCompiler.setSourceLFID(source.getLrFileAssociation().getAssociatedComponentIdNum());
-            for (ViewColumn col : view.getViewColumns().getActiveItems()) {
-                WorkbenchCompiler.addColumn(getColumnData(col));
-                ViewColumnSource colSource = col.getViewColumnSources().get(source.getSequenceNo() - 1);
-                WorkbenchCompiler.addViewColumnSource(makeViewColumnSource(view, source, col, colSource.getExtractColumnAssignment()));
-            }
+    }
+
+    /**
+     * Copy the data the WorkbenchCompiler needs out of the view. Call this on
+     * the thread which edits the view.
+     */
+    public static CompilerInput makeCompilerInput(View view) {
+        return new CompilerInput(view);
+    }
+
+    /**
+     * Copy the data the WorkbenchCompiler needs to check the logic text of
+     * one view source, or of the format phase when the source is null. The
+     * logic text cannot refer to the other sources, so only that source is
+     * copied, or the first one for the format phase. Call this on the thread
+     * which edits the view.
+     */
+    public static CompilerInput makeCompilerInput(View view, ViewSource source) {
+        List<ViewSource> sources = view.getViewSources().getActiveItems();
+        if (source != null) {
+            sources = Collections.singletonList(source);
+        } else if (sources.size() > 1) {
+            sources = sources.subList(0, 1);
         }
+        return new CompilerInput(view, sources);
     }
     
     public static void setLogicTableLog() {
         if (WorkbenchCompiler.hasErrors()) {
-            ltLog = "Errors detected";
+            getContext().setLogicTableLog("Errors detected");
         } else {
-            ltLog = WorkbenchCompiler.getLogicTableLog();
+            getContext().setLogicTableLog(WorkbenchCompiler.getLogicTableLog());
         }
     }
 
@@ -182,47 +215,47 @@ public class WBCompilerDataStore {
      }
 
     public static String getLogicText() {
-    	return logicText;
+    	return getContext().getLogicText();
     }
     
     public static ViewColumn getViewColumn() {
-    	return currentColumn;
+    	return getContext().getColumn();
     }
     
     public static ViewSource getViewSource() {
-    	return  currentViewSource;
+    	return getContext().getViewSource();
     }
     
     public static String getCalculationStack() {
-    	return calcStackString;
+    	return getContext().getCalculationStack();
     }
     
     public static void setCalculationStack(String cs) {
-        calcStackString = cs;
+        getContext().setCalculationStack(cs);
     }
 
     public static void setView(View view) {
-        currentView = view;
+        getContext().setView(view);
     }
 
     public static View getView() {
-        return currentView;
+        return getContext().getView();
     }
 
     public static void setFormatFilterCalculationStack(String generateCalcStack) {
-        formatFilterCalculationStack = generateCalcStack;
+        getContext().setFormatFilterCalculationStack(generateCalcStack);
     }
 
     public static String getFormatFilterCalculationStack() {
-        return formatFilterCalculationStack;
+        return getContext().getFormatFilterCalculationStack();
     }
 
     public static void addColumnCalcStack(int colnum, String stack) {
-        colCalcs.put(colnum, stack);
+        getContext().addColumnCalcStack(colnum, stack);
     }
 
     public static String getColumnCalcStacks(int colnum) {
-        return colCalcs.get(colnum);
+        return getContext().getColumnCalcStack(colnum);
     }
 
 }    
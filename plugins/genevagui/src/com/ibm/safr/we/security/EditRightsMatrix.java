@@ -0,0 +1,116 @@
+package com.ibm.safr.we.security;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2008.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Arrays;
+
+import com.ibm.safr.we.constants.ComponentType;
+import com.ibm.safr.we.constants.EditRights;
+import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.transfer.ComponentRightsTransfer;
+import com.ibm.safr.we.model.associations.GroupEnvironmentAssociation;
+
+/**
+ * The edit rights of the login Group in one Environment. The Group's role in
+ * the Environment is read when the matrix is made. The rights on individual
+ * components are read with one query the first time one is asked for, and
+ * are then held as sorted arrays of component ids and rights codes for each
+ * component type.
+ */
+class EditRightsMatrix {
+
+    private final Integer environmentId;
+    private final Integer groupId;
+    private final GroupEnvironmentAssociation environmentAssociation;
+    private final EditRights[] roleRights = new EditRights[ComponentType.values().length];
+    private int[][] componentIds;
+    private int[][] rightsCodes;
+
+    EditRightsMatrix(Integer environmentId, Integer groupId,
+        GroupEnvironmentAssociation environmentAssociation) {
+        this.environmentId = environmentId;
+        this.groupId = groupId;
+        this.environmentAssociation = environmentAssociation;
+    }
+
+    /**
+     * @return the Group's association with the Environment, or null if it has
+     *         none
+     */
+    GroupEnvironmentAssociation getEnvironmentAssociation() {
+        return environmentAssociation;
+    }
+
+    /**
+     * @return the rights the Group's role gives on a type of component
+     */
+    synchronized EditRights getRoleRights(ComponentType type) {
+        if (environmentAssociation == null) {
+            return EditRights.None;
+        }
+        EditRights rights = roleRights[type.ordinal()];
+        if (rights == null) {
+            rights = environmentAssociation.getEnvRole().getRights().getComponentRight(type);
+            roleRights[type.ordinal()] = rights;
+        }
+        return rights;
+    }
+
+    /**
+     * @return the rights given by a rights code, the role's rights for 0
+     */
+    EditRights getRights(int rightsCode, ComponentType type) {
+        if (rightsCode == 0) {
+            return getRoleRights(type);
+        } else {
+            return EditRights.intToEnum(rightsCode);
+        }
+    }
+
+    /**
+     * @return the rights the Group has on a component, the role's rights if
+     *         none have been given on the component itself
+     */
+    synchronized EditRights getRights(ComponentType type, int id) throws DAOException {
+        if (componentIds == null) {
+            load();
+        }
+        int[] ids = componentIds[type.ordinal()];
+        int ndx = Arrays.binarySearch(ids, id);
+        if (ndx < 0) {
+            return getRoleRights(type);
+        } else {
+            return getRights(rightsCodes[type.ordinal()][ndx], type);
+        }
+    }
+
+    private void load() throws DAOException {
+        ComponentRightsTransfer trans = DAOFactoryHolder.getDAOFactory().getGroupDAO().
+            getComponentRights(environmentId, groupId);
+        int[][] ids = new int[ComponentType.values().length][];
+        int[][] codes = new int[ComponentType.values().length][];
+        for (ComponentType type : ComponentType.values()) {
+            ids[type.ordinal()] = trans.getComponentIds(type);
+            codes[type.ordinal()] = trans.getRightsCodes(type);
+        }
+        componentIds = ids;
+        rightsCodes = codes;
+    }
+}
@@ -18,6 +18,9 @@ package com.ibm.safr.we.security;
  */
 
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.EditRights;
 import com.ibm.safr.we.constants.EnvRole;
@@ -28,7 +31,6 @@ import com.ibm.safr.we.model.Environment;
 import com.ibm.safr.we.model.Group;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.User;
-import com.ibm.safr.we.model.associations.GroupComponentAssociation;
 import com.ibm.safr.we.model.associations.GroupEnvironmentAssociation;
 import com.ibm.safr.we.model.associations.SAFRAssociationFactory;
 import com.ibm.safr.we.model.base.SAFRObject;
@@ -61,8 +63,8 @@ public class UserSession extends SAFRObject {
 	private User loggedInUser;
 	private Environment sessionEnvironment;
 	private Group sessionGroup;
-	private GroupEnvironmentAssociation sessionGroupEnvAssoc = null;
-    private GroupEnvironmentAssociation cacheGroupEnvAssoc = null;
+    // the login Group's rights in each Environment used this session
+    private Map<Integer, EditRightsMatrix> rightsMatrices = new HashMap<Integer, EditRightsMatrix>();
 
 	/**
 	 * Create a session object for the specified User,Environment and Group. If
@@ -114,8 +116,15 @@ public class UserSession extends SAFRObject {
             }
         }
         	    
-	    sessionGroupEnvAssoc = null;
-	    cacheGroupEnvAssoc = null;
+	    clearEditRights();
+	}
+
+	/**
+	 * Forgets the login Group's rights and permissions so they are read again
+	 * when next needed. Call this after the rights of Groups are changed.
+	 */
+	public synchronized void clearEditRights() {
+	    rightsMatrices.clear();
 	}
 	
 	/**
@@ -174,19 +183,10 @@ public class UserSession extends SAFRObject {
 	 */
 	public EditRights getEditRights(ComponentType componentType, Integer id,
 			Integer envId) throws DAOException, SAFRException {
-		EditRights editRights;
-
         if (isSystemAdministrator()) {
             return EditRights.ReadModifyDelete;
         }
-        		
-		GroupComponentAssociation grpCompAssoc = sessionGroup.getComponentAssociation(componentType, envId, id);
-		if (grpCompAssoc == null) {
-			editRights = getRoleEditRights(componentType, envId);
-		} else {
-			editRights = grpCompAssoc.getRights();
-		}
-		return editRights;
+        return getRightsMatrix(envId).getRights(componentType, id);
 	}
 
 	/**
@@ -205,26 +205,7 @@ public class UserSession extends SAFRObject {
 	public EditRights getEditRights(ComponentType componentType, Integer id)
 			throws DAOException, SAFRException {
 	    
-        EditRights editRights;
-	    
-        if (isSystemAdministrator()) {
-            return EditRights.ReadModifyDelete;
-        }
-        
-        GroupComponentAssociation grpCompAssoc = sessionGroup.getComponentAssociation(componentType, sessionEnvironment.getId(), id);
-        if (grpCompAssoc == null) {
-            initSessionEnvAssoc();
-            if (sessionGroupEnvAssoc == null) {
-                return EditRights.None;
-            }
-            else {
-                editRights = sessionGroupEnvAssoc.getEnvRole().getRights().getComponentRight(componentType);
-            }
-        } else {
-            editRights = grpCompAssoc.getRights();
-        }
-        return editRights;
-	    
+        return getEditRights(componentType, id, sessionEnvironment.getId());
 	}
 
     /**
@@ -241,14 +222,7 @@ public class UserSession extends SAFRObject {
         if (isSystemAdministrator()) {
             return EditRights.ReadModifyDelete;
         }
-	    
-        EditRights edRight;
-        if (rights == 0) {
-            edRight = SAFRApplication.getUserSession().getRoleEditRights(type, envId);                  
-        } else {
-            edRight = EditRights.intToEnum(rights);
-        }	 
-        return edRight;
+        return getRightsMatrix(envId).getRights(rights, type);
 	}
 
     /**
@@ -264,7 +238,7 @@ public class UserSession extends SAFRObject {
         
         EditRights edRight;
         if (rights == 0) {
-            edRight = SAFRApplication.getUserSession().getRoleEditRights(type, envId);                  
+            edRight = getRoleEditRights(type, envId);                  
         } else {
             edRight = EditRights.intToEnum(rights);
         }    
@@ -281,30 +255,10 @@ public class UserSession extends SAFRObject {
      */
 	
     public EditRights getRoleEditRights(ComponentType componentType, Integer envId) throws DAOException {
-        EditRights editRights;
-    
         if (isSystemAdministrator()) {
             return EditRights.ReadModifyDelete;
         }
-        if (envId == sessionEnvironment.getId()) {
-            initSessionEnvAssoc();        
-            if (sessionGroupEnvAssoc == null) {
-                return EditRights.None;
-            }
-            else {
-                editRights = sessionGroupEnvAssoc.getEnvRole().getRights().getComponentRight(componentType);
-            }
-        }
-        else {
-            initCacheEnvAssoc(envId);
-            if (cacheGroupEnvAssoc == null) {
-                return EditRights.None;
-            }
-            else {                
-                editRights = cacheGroupEnvAssoc.getEnvRole().getRights().getComponentRight(componentType);
-            }
-        }
-        return editRights;
+        return getRightsMatrix(envId).getRoleRights(componentType);
     }
 
     /**
@@ -320,21 +274,19 @@ public class UserSession extends SAFRObject {
         return getRoleEditRights(componentType,sessionEnvironment.getId());
     }
     
-	private void initSessionEnvAssoc() throws DAOException {
-        if (sessionGroupEnvAssoc == null) {
-            // lazy initialization
-            sessionGroupEnvAssoc = SAFRAssociationFactory
-                .getGroupToEnvironmentAssociation(sessionGroup,sessionEnvironment.getId());
-        }	    
-	}
-	
-    private void initCacheEnvAssoc(int envId) throws DAOException {
-        if (cacheGroupEnvAssoc == null ||
-            cacheGroupEnvAssoc.getEnvironmentId() != envId) {
+    private synchronized EditRightsMatrix getRightsMatrix(Integer envId) throws DAOException {
+        EditRightsMatrix matrix = rightsMatrices.get(envId);
+        if (matrix == null) {
             // lazy initialization
-            cacheGroupEnvAssoc = SAFRAssociationFactory.
-                getGroupToEnvironmentAssociation(sessionGroup,envId);
-        }       
+            matrix = new EditRightsMatrix(envId, sessionGroup.getId(), 
+                SAFRAssociationFactory.getGroupToEnvironmentAssociation(sessionGroup, envId));
+            rightsMatrices.put(envId, matrix);
+        }
+        return matrix;
+    }
+
+    private GroupEnvironmentAssociation getEnvAssoc(Integer envId) throws DAOException {
+        return getRightsMatrix(envId).getEnvironmentAssociation();
     }
 	
 	/**
@@ -351,7 +303,7 @@ public class UserSession extends SAFRObject {
 		if (isSystemAdministrator()) {
 			return true;
 		}
-		initSessionEnvAssoc();
+        GroupEnvironmentAssociation sessionGroupEnvAssoc = getEnvAssoc(sessionEnvironment.getId());
         if (sessionGroupEnvAssoc == null) {
             return false;
         }
@@ -378,16 +330,12 @@ public class UserSession extends SAFRObject {
 		if (isSystemAdministrator()) {
 			return true;
 		}		
-        if (sessionEnvironment.getId() == envId) {
-            return hasPermission(permission);
-        } else {
-            initCacheEnvAssoc(envId);
-            if (cacheGroupEnvAssoc == null) {
-                return false;
-            }            
-            else {
-                return cacheGroupEnvAssoc.hasPermission(permission);
-            }
+        GroupEnvironmentAssociation groupEnvAssoc = getEnvAssoc(envId);
+        if (groupEnvAssoc == null) {
+            return false;
+        }            
+        else {
+            return groupEnvAssoc.hasPermission(permission);
         }
 		
 	}
@@ -438,18 +386,13 @@ public class UserSession extends SAFRObject {
 	 * @throws DAOException
 	 */
 	public Boolean isEnvironmentAdministrator(Integer envId) throws DAOException {
-	    if (sessionEnvironment.getId() == envId) {
-	        return isEnvironmentAdministrator();
-	    }
-	    else {
-	        initCacheEnvAssoc(envId);
-            if (cacheGroupEnvAssoc == null) {
-                return false;
-            }
-            else {
-                return cacheGroupEnvAssoc.getEnvRole().equals(EnvRole.ADMIN);
-            }
-	    }
+        GroupEnvironmentAssociation groupEnvAssoc = getEnvAssoc(envId);
+        if (groupEnvAssoc == null) {
+            return false;
+        }
+        else {
+            return groupEnvAssoc.getEnvRole().equals(EnvRole.ADMIN);
+        }
 	}
 	
 	/**
@@ -459,13 +402,7 @@ public class UserSession extends SAFRObject {
 	 * @throws DAOException
 	 */
 	public Boolean isEnvironmentAdministrator() throws DAOException {
-        initSessionEnvAssoc();
-        if (sessionGroupEnvAssoc == null) {
-            return false;
-        }
-        else {
-            return sessionGroupEnvAssoc.getEnvRole().equals(EnvRole.ADMIN);
-        }
+        return isEnvironmentAdministrator(sessionEnvironment.getId());
 	}
 
     /**
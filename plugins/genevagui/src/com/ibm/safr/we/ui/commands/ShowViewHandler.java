@@ -28,6 +28,7 @@ import org.eclipse.ui.handlers.HandlerUtil;
 import com.ibm.safr.we.ui.utilities.UIUtilities;
 import com.ibm.safr.we.ui.views.logic.LogicTextView;
 import com.ibm.safr.we.ui.views.metadatatable.MetadataView;
+import com.ibm.safr.we.ui.views.metrics.DAOMetricsView;
 import com.ibm.safr.we.ui.views.navigatortree.NavigatorView;
 import com.ibm.safr.we.ui.views.vieweditor.ColumnSourceView;
 import com.ibm.safr.we.ui.views.vieweditor.DataSourceView;
@@ -47,6 +48,7 @@ public class ShowViewHandler extends AbstractHandler implements IHandler {
 	private static final Object DATA_SOURCE_VIEW = "SAFRWE.DataSourceView";
 	private static final Object SORT_KEY_TITLES = "SAFRWE.SortKeyTitleView";
 	private static final Object LOGIC_TEXT_HELPER = "SAFRWE.LogicTextView";;
+	private static final Object DAO_METRICS = "SAFRWE.DAOMetricsView";
 
 	public Object execute(ExecutionEvent event) throws ExecutionException {
 		try {
@@ -71,6 +73,9 @@ public class ShowViewHandler extends AbstractHandler implements IHandler {
 			} else if (event.getCommand().getId().equals(LOGIC_TEXT_HELPER)) {
 				HandlerUtil.getActiveWorkbenchWindow(event).getActivePage()
 						.showView(LogicTextView.ID);
+			} else if (event.getCommand().getId().equals(DAO_METRICS)) {
+				HandlerUtil.getActiveWorkbenchWindow(event).getActivePage()
+						.showView(DAOMetricsView.ID);
 			}
 
 		} catch (PartInitException e) {
@@ -435,17 +435,20 @@ public class ViewGenColumn {
 
     protected void insertColumns(List<LRField> lrFields,
         List<FieldTreeNodeLeaf> lpFields, int position) {
-        int newPos = view.genFieldsAsColumns(lrFields, position, viewSource);
+        // insert all the columns at once
+        View.ColumnChanges changes = view.changeColumns();
+        int newPos = view.genFieldsAsColumns(changes, lrFields, position, viewSource);
         
         // insert lookup path fields
         for (FieldTreeNodeLeaf lpLeaf : lpFields) {
             FieldTreeNodeLR lrNode = (FieldTreeNodeLR)lpLeaf.getParent();
             FieldTreeNodeLP lpNode = (FieldTreeNodeLP)lrNode.getParent();
             
-            view.genLPFieldAsColumn(lpLeaf.getField(), newPos, viewSource,
+            view.genLPFieldAsColumn(changes, lpLeaf.getField(), newPos, viewSource,
                 lrNode.getLrBean(), lpNode.getLPBean());            
             newPos++;
         }
+        changes.apply();
         tableViewerColumn.setInput(1);
         tableColumn.setSelection(newPos-1);
     }
@@ -30,6 +30,7 @@ import java.util.logging.Level;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.ToolBarManager;
@@ -117,6 +118,7 @@ import com.ibm.safr.we.ui.Application;
 import com.ibm.safr.we.ui.ApplicationMediator;
 import com.ibm.safr.we.ui.editors.DiffUtilityEditor.CollapseAction;
 import com.ibm.safr.we.ui.editors.DiffUtilityEditor.ExpandAction;
+import com.ibm.safr.we.ui.utilities.BackgroundJob;
 import com.ibm.safr.we.ui.utilities.ColumnSelectionListenerForTableCombo;
 import com.ibm.safr.we.ui.utilities.EditorOpener;
 import com.ibm.safr.we.ui.utilities.ImageKeys;
@@ -176,6 +178,7 @@ public class DependencyCheckerEditor extends SAFREditorPart {
 	private TreeViewer dependencyTreeViewer;
 
 	private DependencyChecker dpChecker;
+	private BackgroundJob<DependencyCheckerNode> checkJob;
 	private String str;
 	private int indent = 0;
 	private int increment = 6;
@@ -1005,34 +1008,56 @@ public class DependencyCheckerEditor extends SAFREditorPart {
 	}
 
     protected void checkDependencies() {
-        try {
-            ApplicationMediator.getAppMediator().waitCursor();
-            sectionDependencyResults.setEnabled(true);
-            nodeList.clear();
-            nodeMap.clear();
-            dpChecker = new DependencyChecker(currentEnvID,
-                    currentEnvName, currentComponent.getId(),
-                    (ComponentType) componentType, currentComponent
-                            .getName() == null ? "" : currentComponent
-                            .getName(), chkboxDirectDepsOnly
-                            .getSelection());
-            try {
-                DependencyCheckerNode dpCheckerNode = dpChecker.getDependency();
+        if (checkJob != null) {
+            checkJob.cancel();
+        }
+        sectionDependencyResults.setEnabled(true);
+        nodeList.clear();
+        nodeMap.clear();
+        dependencyTreeViewer.setInput(null);
+        setExportEnabled(false);
+        final DependencyChecker checker = new DependencyChecker(currentEnvID,
+                currentEnvName, currentComponent.getId(),
+                (ComponentType) componentType, currentComponent
+                        .getName() == null ? "" : currentComponent
+                        .getName(), chkboxDirectDepsOnly
+                        .getSelection());
+        dpChecker = checker;
+        // the check reads the whole environment so it runs in the background
+        checkJob = new BackgroundJob<DependencyCheckerNode>("Checking dependencies") {
+            protected DependencyCheckerNode call(IProgressMonitor monitor) throws SAFRException {
+                return checker.getDependency();
+            }
+
+            protected void done(DependencyCheckerNode dpCheckerNode) {
+                if (checkJob != this || dependencyTreeViewer.getTree().isDisposed()) {
+                    return;
+                }
+                checkJob = null;
                 dependencyTreeViewer.setInput(dpCheckerNode);
                 dependencyTreeViewer.refresh();
                 if (dependencyTreeViewer.getTree().getItems().length != 0) {
-                    sectionExport.setEnabled(true);
-                    radioExportAsCSV.setEnabled(true);
-                    radioExportAsReport.setEnabled(true);
-                    buttonExport.setEnabled(true);
+                    setExportEnabled(true);
                 }
-            } catch (DAOException e1) {
-                UIUtilities.handleWEExceptions(e1,"Unexpected error occurred while getting the dependencies.",null);
             }
 
-        } finally {
-            ApplicationMediator.getAppMediator().normalCursor();
-        }
+            protected void failed(SAFRException e) {
+                if (checkJob != this || dependencyTreeViewer.getTree().isDisposed()) {
+                    return;
+                }
+                checkJob = null;
+                UIUtilities.handleWEExceptions(e,"Unexpected error occurred while getting the dependencies.",null);
+            }
+        };
+        checkJob.setUser(true);
+        checkJob.start();
+    }
+
+    private void setExportEnabled(boolean enabled) {
+        sectionExport.setEnabled(enabled);
+        radioExportAsCSV.setEnabled(enabled);
+        radioExportAsReport.setEnabled(enabled);
+        buttonExport.setEnabled(enabled);
     }
 	
     private void addCompOpenEditorMenu()
@@ -1462,6 +1487,15 @@ public class DependencyCheckerEditor extends SAFREditorPart {
 
 	}
 
+	@Override
+	public void dispose() {
+		if (checkJob != null) {
+			checkJob.cancel();
+			checkJob = null;
+		}
+		super.dispose();
+	}
+
 	@Override
 	public void storeModel() throws DAOException, SAFRException {
 		// TODO Auto-generated method stub
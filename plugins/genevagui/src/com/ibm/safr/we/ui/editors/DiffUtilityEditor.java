@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -32,10 +33,12 @@ import java.util.logging.Logger;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.ToolBarManager;
 import org.eclipse.jface.dialogs.IDialogConstants;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.resource.FontRegistry;
 import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.CellLabelProvider;
@@ -86,6 +89,7 @@ import org.eclipse.ui.forms.widgets.FormToolkit;
 import org.eclipse.ui.forms.widgets.ScrolledForm;
 import org.eclipse.ui.forms.widgets.Section;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.eclipse.ui.progress.IProgressService;
 
 import com.ibm.safr.we.SAFRUtilities;
 import com.ibm.safr.we.constants.ComponentType;
@@ -108,9 +112,12 @@ import com.ibm.safr.we.model.diff.DiffFieldReference;
 import com.ibm.safr.we.model.diff.DiffFieldValue;
 import com.ibm.safr.we.model.diff.DiffFieldValue.OtherValue;
 import com.ibm.safr.we.model.diff.DiffNode;
+import com.ibm.safr.we.model.diff.DiffNode.MetaType;
 import com.ibm.safr.we.model.diff.DiffNodeComp;
 import com.ibm.safr.we.model.diff.DiffNodeFactory;
+import com.ibm.safr.we.model.diff.DiffNodeLabel;
 import com.ibm.safr.we.model.diff.DiffNodeSection;
+import com.ibm.safr.we.model.diff.EnvironmentDiff;
 import com.ibm.safr.we.model.query.ControlRecordQueryBean;
 import com.ibm.safr.we.model.query.EnvironmentQueryBean;
 import com.ibm.safr.we.model.query.EnvironmentalQueryBean;
@@ -368,6 +375,8 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
     private Button buttonDiff;
     private Button buttonRelated;
     private Button buttonWE;
+    private Button buttonEnvironment;
+    private boolean environmentResult = false;
 	private Button buttonExport;
 	protected int selectedComponentType = -1;
 	protected EnvironmentalQueryBean currentComponent;
@@ -475,6 +484,7 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
 						setResultsState(false);
 						buttonDiff.setEnabled(false);
 					}
+					enableEnvironmentCompare();
 					getSite().getShell().setCursor(getSite().getShell().getDisplay()
 						.getSystemCursor(SWT.CURSOR_WAIT));
 					if (componentType != null) {
@@ -535,6 +545,7 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
                         setResultsState(false);
                         buttonDiff.setEnabled(false);
                     }
+                    enableEnvironmentCompare();
                     getSite().getShell().setCursor(getSite().getShell().getDisplay()
                         .getSystemCursor(SWT.CURSOR_WAIT));
                     if (componentType != null) {
@@ -637,12 +648,7 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
         dataCompareRelated.top = new FormAttachment(comboComponentType, 10);
         dataCompareRelated.left = new FormAttachment(labelEnvironmentsLHS, 40);
         buttonRelated.setLayoutData(dataCompareRelated);
-        buttonRelated.setSelection(DiffNode.isRelated());
-        buttonRelated.addSelectionListener(new SelectionAdapter() {
-            public void widgetSelected(SelectionEvent e) {
-                DiffNode.setRelated(buttonRelated.getSelection());
-            }
-        });
+        buttonRelated.setSelection(true);
                 		
         buttonWE = safrGuiToolkit.createButton(compositeDiffCriteria,
             SWT.CHECK, "Compare Non &VDP Fields");
@@ -650,10 +656,27 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
         dataCompareWE.top = new FormAttachment(buttonRelated, 10);
         dataCompareWE.left = new FormAttachment(labelEnvironmentsLHS, 40);
         buttonWE.setLayoutData(dataCompareWE);
-        buttonWE.setSelection(DiffNode.isWeFields());
-        buttonWE.addSelectionListener(new SelectionAdapter() {
+        buttonWE.setSelection(true);
+        
+        buttonEnvironment = safrGuiToolkit.createButton(compositeDiffCriteria,
+            SWT.CHECK, "Compare Whole &Environments");
+        FormData dataCompareEnvironment = new FormData();
+        dataCompareEnvironment.top = new FormAttachment(buttonWE, 10);
+        dataCompareEnvironment.left = new FormAttachment(labelEnvironmentsLHS, 40);
+        buttonEnvironment.setLayoutData(dataCompareEnvironment);
+        buttonEnvironment.setSelection(false);
+        buttonEnvironment.addSelectionListener(new SelectionAdapter() {
             public void widgetSelected(SelectionEvent e) {
-                DiffNode.setWEFields(buttonWE.getSelection());
+                boolean whole = buttonEnvironment.getSelection();
+                comboComponentType.setEnabled(!whole);
+                comboComponent.setEnabled(!whole && componentType != null);
+                buttonRelated.setEnabled(!whole);
+                diffTreeViewer.setSelection(null);
+                diffTreeViewer.setInput(null);
+                diffTreeViewer.refresh();
+                setResultsState(false);
+                buttonDiff.setEnabled(!whole && currentComponent != null);
+                enableEnvironmentCompare();
             }
         });
         
@@ -661,14 +684,14 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
 				compositeDiffCriteria, SWT.NONE, "Compo&nent:");
 		FormData dataLabelComponent = new FormData();
 		dataLabelComponent.left = new FormAttachment(0, 5);
-		dataLabelComponent.top = new FormAttachment(buttonWE, 10);
+		dataLabelComponent.top = new FormAttachment(buttonEnvironment, 10);
 		labelComponent.setLayoutData(dataLabelComponent);
 
 		comboComponentViewer = safrGuiToolkit
 				.createTableComboForComponents(compositeDiffCriteria);
 		comboComponent = comboComponentViewer.getTableCombo();
 		FormData dataComboFind = new FormData();
-		dataComboFind.top = new FormAttachment(buttonWE, 10);
+		dataComboFind.top = new FormAttachment(buttonEnvironment, 10);
 		dataComboFind.left = new FormAttachment(labelEnvironmentsLHS, 40);
 		dataComboFind.width = 375;
 		comboComponent.setLayoutData(dataComboFind);
@@ -714,6 +737,11 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
 				getSite().getShell().setCursor(
 				    getSite().getShell().getDisplay().getSystemCursor(SWT.CURSOR_WAIT));
 									
+				if (buttonEnvironment.getSelection()) {
+				    getSite().getShell().setCursor(null);
+				    compareEnvironments();
+				    return;
+				}
 				// get data and fill in results
 				try {
                     SAFREnvironmentalComponent lhs = SAFRFactory.getComponent(
@@ -722,9 +750,10 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
                     SAFREnvironmentalComponent rhs = SAFRFactory.getComponent(
                         componentType, currentComponent.getId(), currentEnvIDRHS);
                     
-                    DiffNode.initGenerated();
+                    DiffNode.initGenerated(buttonRelated.getSelection(), buttonWE.getSelection());
                     DiffNodeComp node = DiffNodeFactory.generateDiffComp(lhs, rhs);
                     root = node.generateWholeTree();
+                    environmentResult = false;
                     diffTreeViewer.setSelection(null);
                     diffTreeViewer.setInput(root);
                     diffTreeViewer.refresh();                    
@@ -983,6 +1012,83 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
         setResultsState(false);
 	}
 
+    private void enableEnvironmentCompare() {
+        if (buttonEnvironment.getSelection()) {
+            buttonDiff.setEnabled(currentEnvironmentLHS != null && currentEnvironmentRHS != null);
+        }
+    }
+    
+    /**
+     * Compare every component of the two environments. Components whose
+     * content is the same are listed without details and only the differing
+     * ones are expanded. The results are added to the tree as they arrive.
+     */
+    private void compareEnvironments() {
+        final EnvironmentDiff envDiff = new EnvironmentDiff(currentEnvIDLHS, currentEnvIDRHS, buttonWE.getSelection());
+        final DiffNodeLabel envRoot = new DiffNodeLabel("Metadata");
+        final List<Object[]> arrived = new ArrayList<Object[]>();
+        final Runnable addArrived = new Runnable() {
+            public void run() {
+                List<Object[]> nodes;
+                synchronized (arrived) {
+                    nodes = new ArrayList<Object[]>(arrived);
+                    arrived.clear();
+                }
+                for (Object[] arrival : nodes) {
+                    DiffNode.addMetadataNode(envRoot, (MetaType) arrival[0], (DiffNodeComp) arrival[1]);
+                }
+                if (root == envRoot && !diffTreeViewer.getControl().isDisposed()) {
+                    diffTreeViewer.refresh();
+                }
+            }
+        };
+        
+        root = envRoot;
+        environmentResult = true;
+        diffTreeViewer.setSelection(null);
+        diffTreeViewer.setInput(root);
+        setResultsState(true);
+        
+        try {
+            IProgressService progressService = PlatformUI.getWorkbench().getProgressService();
+            progressService.run(true, true, new IRunnableWithProgress() {
+                public void run(final IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
+                    monitor.beginTask("Comparing Environments", IProgressMonitor.UNKNOWN);
+                    try {
+                        envDiff.compare(new EnvironmentDiff.Listener() {
+                            public void compared(MetaType type, DiffNodeComp node) {
+                                if (monitor.isCanceled()) {
+                                    envDiff.cancel();
+                                }
+                                monitor.subTask(type.getName());
+                                boolean first;
+                                synchronized (arrived) {
+                                    first = arrived.isEmpty();
+                                    arrived.add(new Object[] {type, node});
+                                }
+                                // one refresh for the nodes arriving before the UI catches up
+                                if (first) {
+                                    Display.getDefault().asyncExec(addArrived);
+                                }
+                            }
+                        });
+                    } catch (SAFRException se) {
+                        throw new InvocationTargetException(se);
+                    } finally {
+                        monitor.done();
+                    }
+                }
+            });
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            UIUtilities.handleWEExceptions(cause instanceof Exception ? (Exception) cause : e,
+                "Unexpected error occurred while comparing the environments.", null);
+        } catch (InterruptedException e) {
+            envDiff.cancel();
+        }
+        addArrived.run();
+    }
+
     private void addCompOpenEditorMenu()
     {
         Text text = comboComponent.getTextControl();
@@ -1195,10 +1301,18 @@ public class DiffUtilityEditor extends SAFREditorPart implements IPartListener2
             getSite().getShell().setCursor(
                     getSite().getShell().getDisplay().getSystemCursor(
                             SWT.CURSOR_WAIT));
-            String exportPath = textLocation.getText() + File.separatorChar
+            String exportPath;
+            if (environmentResult) {
+                exportPath = textLocation.getText() + File.separatorChar
+                    + "Environment-" + currentEnvIDLHS + "-" + currentEnvIDRHS
+                    + ".txt";
+            }
+            else {
+                exportPath = textLocation.getText() + File.separatorChar
                     + componentType.toString() + "-"
                     + currentComponent.getName()
                     + ".txt";
+            }
 
             // create the output stream
             try {
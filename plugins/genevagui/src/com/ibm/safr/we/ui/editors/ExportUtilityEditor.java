@@ -26,6 +26,7 @@ import java.util.logging.Level;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.CheckStateChangedEvent;
 import org.eclipse.jface.viewers.CheckboxTableViewer;
@@ -104,6 +105,7 @@ import com.ibm.safr.we.preferences.SAFRPreferences;
 import com.ibm.safr.we.preferences.SortOrderPrefs;
 import com.ibm.safr.we.preferences.SortOrderPrefs.Order;
 import com.ibm.safr.we.ui.ApplicationMediator;
+import com.ibm.safr.we.ui.utilities.BackgroundJob;
 import com.ibm.safr.we.ui.utilities.ISearchablePart;
 import com.ibm.safr.we.ui.utilities.SAFRGUIToolkit;
 import com.ibm.safr.we.ui.utilities.UIUtilities;
@@ -454,6 +456,7 @@ public class ExportUtilityEditor extends SAFREditorPart implements ISearchablePa
     final private String LOADERROR = "Security Error";
     final private String CANCEL = "Cancelled";
     ExportUtility exportUtility;
+    private BackgroundJob<Void> exportJob;
     private int prevSelection = 0;
 
     private ExportComponent exportComponent;
@@ -1135,16 +1138,7 @@ public class ExportUtilityEditor extends SAFREditorPart implements ISearchablePa
 
                 try {
                     ApplicationMediator.getAppMediator().waitCursor();
-                    exportUtility.export(list, Display.getDefault().getActiveShell());
-                    getMsgManager().removeAllMessages();
-                    if(checkPass.getSelection()) {
-                        String t = comboRCAType.getText();
-                        PassGenerator.runFromXML(rcaReportDir, t);
-                        String url = rcaReportDir + "/" + PassGenerator.getReportHtmlFile();
-                        Program.launch(url);
-                    }
-                    getSite().getShell().setCursor(null);
-
+                    exportUtility.prepare(list, Display.getDefault().getActiveShell());
                 } catch (SAFRValidationException e1) {
                     String title;
                     if (SAFRValidationType.PARAMETER_ERROR.equals(e1.getSafrValidationType())) {
@@ -1154,11 +1148,13 @@ public class ExportUtilityEditor extends SAFREditorPart implements ISearchablePa
                     }
                     decorateEditor(e1);
                     MessageDialog.openError(getSite().getShell(), title, e1.getMessageString());
+                    tableViewerComponents.refresh();
+                    return;
                 } finally {
                     getSite().getShell().setCursor(null);
-                    tableViewerComponents.refresh();
                 }
-
+                startExport(exportUtility, checkPass.getSelection() ? rcaReportDir : null,
+                    comboRCAType.getText());
             }
 
         });
@@ -1166,6 +1162,54 @@ public class ExportUtilityEditor extends SAFREditorPart implements ISearchablePa
 
     }
 
+    /**
+     * Write the files of a prepared export in the background, then show the
+     * RCA report if one was asked for.
+     */
+    private void startExport(final ExportUtility export, final String rcaReportDir, final String rcaType) {
+        buttonExport.setEnabled(false);
+        exportJob = new BackgroundJob<Void>("Exporting") {
+            protected Void call(IProgressMonitor monitor) throws SAFRException {
+                export.write(monitor);
+                return null;
+            }
+
+            protected void done(Void result) {
+                if (!finish()) {
+                    return;
+                }
+                getMsgManager().removeAllMessages();
+                if (rcaReportDir != null) {
+                    PassGenerator.runFromXML(rcaReportDir, rcaType);
+                    String url = rcaReportDir + "/" + PassGenerator.getReportHtmlFile();
+                    Program.launch(url);
+                }
+            }
+
+            protected void failed(SAFRException e) {
+                if (finish()) {
+                    super.failed(e);
+                }
+            }
+
+            protected void cancelled() {
+                finish();
+            }
+
+            private boolean finish() {
+                if (exportJob != this || tableViewerComponents.getTable().isDisposed()) {
+                    return false;
+                }
+                exportJob = null;
+                buttonExport.setEnabled(true);
+                tableViewerComponents.refresh();
+                return true;
+            }
+        };
+        exportJob.setUser(true);
+        exportJob.start();
+    }
+
     private void generateRCAOption() {
         Group group = new Group(compositeComponents, SWT.SHADOW_NONE);
         group.setLayout(new FormLayout());
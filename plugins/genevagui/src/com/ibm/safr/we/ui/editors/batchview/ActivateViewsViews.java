@@ -460,7 +460,9 @@ public class ActivateViewsViews {
                     mediator.getSite().getShell().setCursor(mediator.getSite().getShell().getDisplay().getSystemCursor(SWT.CURSOR_WAIT));
 
                     try {
-                        BatchActivateViews.activate(viewSet, new SAFRGUIConfirmWarningStrategy(SAFRGUIContext.MODEL));
+                        // not a BackgroundJob, the views are stored on this
+                        // thread and storing may ask the user to confirm warnings
+                        BatchActivateViews.activateInParallel(viewSet, new SAFRGUIConfirmWarningStrategy(SAFRGUIContext.MODEL));
                         MetadataView metadataview = (MetadataView) (PlatformUI.getWorkbench().getActiveWorkbenchWindow()
                                 .getActivePage().findView(MetadataView.ID));
                         if (metadataview != null) {
@@ -388,6 +388,12 @@ public class FindReplaceResults {
                             lineStyler = new LogicTextLineStyler(parser);
                             text.addLineStyleListener(lineStyler);
                             text.setText(logicText);
+                            // show the first match
+                            if (!findReplaceComponent.getMatchStarts().isEmpty()) {
+                                text.setSelection(findReplaceComponent.getMatchStarts().get(0),
+                                    findReplaceComponent.getMatchEnds().get(0));
+                                text.showSelection();
+                            }
                         }
                         Object[] checkedElementList = tableViewerSearchResult
                                 .getCheckedElements();
@@ -24,6 +24,7 @@ import com.ibm.safr.we.constants.EditRights;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.ViewColumnSource;
 import com.ibm.safr.we.model.view.ViewSource;
 import com.ibm.safr.we.ui.editors.view.ViewEditor;
@@ -115,6 +116,12 @@ public class ECLLogicTextEditorInput extends LogicTextEditorInput {
 		viewColumnSource.validateExtractColumnAssignment(text);
 	}
 
+	@Override
+	protected LogicTextSyntaxChecker.Check prepareSyntaxCheck(String text) {
+		return LogicTextSyntaxChecker.prepareExtractAssign(text, view,
+				viewColumnSource.getViewSource(), viewColumnSource.getViewColumn());
+	}
+
 	@Override
 	protected String getLogicTextFormTitle() {
 		return "View: "
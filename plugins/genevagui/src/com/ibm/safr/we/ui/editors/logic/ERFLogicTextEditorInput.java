@@ -23,6 +23,7 @@ import org.eclipse.ui.IPersistableElement;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.ViewSource;
 import com.ibm.safr.we.ui.editors.view.ViewEditor;
 import com.ibm.safr.we.ui.editors.view.ViewEditorInput;
@@ -99,6 +100,11 @@ public class ERFLogicTextEditorInput extends LogicTextEditorInput {
 		viewSource.validateExtractRecordFilter(text);
 	}
 
+	@Override
+	protected LogicTextSyntaxChecker.Check prepareSyntaxCheck(String text) {
+		return LogicTextSyntaxChecker.prepareExtractFilter(text, view, viewSource);
+	}
+
 	@Override
 	protected String getLogicTextFormTitle() {
 		return "View: "
@@ -21,6 +21,7 @@ package com.ibm.safr.we.ui.editors.logic;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.ViewSource;
 import com.ibm.safr.we.ui.editors.view.ViewEditor;
 import com.ibm.safr.we.ui.editors.view.ViewEditorInput;
@@ -92,6 +93,11 @@ public class EROLogicTextEditorInput extends LogicTextEditorInput {
 		viewSource.validateExtractRecordOutput(text);		
 	}
 
+	@Override
+	protected LogicTextSyntaxChecker.Check prepareSyntaxCheck(String text) {
+		return LogicTextSyntaxChecker.prepareExtractOutput(text, view, viewSource);
+	}
+
 	@Override
 	protected String getLogicTextFormTitle() {
 		return "View: "
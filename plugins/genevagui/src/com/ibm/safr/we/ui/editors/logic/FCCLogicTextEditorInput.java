@@ -21,6 +21,7 @@ package com.ibm.safr.we.ui.editors.logic;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.ViewColumn;
 import com.ibm.safr.we.ui.editors.view.ViewEditor;
 import com.ibm.safr.we.ui.editors.view.ViewEditorInput;
@@ -89,6 +90,11 @@ public class FCCLogicTextEditorInput extends LogicTextEditorInput {
 		viewColumn.validateFormatColumnCalculation(text);
 	}
 
+	@Override
+	protected LogicTextSyntaxChecker.Check prepareSyntaxCheck(String text) {
+		return LogicTextSyntaxChecker.prepareFormatCalc(text, view, viewColumn);
+	}
+
 	@Override
 	protected String getLogicTextFormTitle() {
 		return "View: " + view.getName() + "["+ view.getId() + "] - Column: "+ viewColumn.getColumnNo();
@@ -22,6 +22,7 @@ import com.ibm.safr.we.constants.EditRights;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.View;
 import com.ibm.safr.we.ui.editors.view.ViewEditor;
 
@@ -82,6 +83,11 @@ public class FRFLogicTextEditorInput extends LogicTextEditorInput {
 		view.validateFormatRecordFilter(text);
 	}
 
+	@Override
+	protected LogicTextSyntaxChecker.Check prepareSyntaxCheck(String text) {
+		return LogicTextSyntaxChecker.prepareFormatFilter(text, view);
+	}
+
 	@Override
 	protected String getLogicTextFormTitle() {
 		return "View: " + view.getName() + " [" + view.getId() + "]";
@@ -19,13 +19,18 @@ package com.ibm.safr.we.ui.editors.logic;
 
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.ContributionManager;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.ToolBarManager;
+import org.eclipse.jface.dialogs.IMessageProvider;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.CTabFolder;
@@ -68,21 +73,25 @@ import com.ibm.safr.we.constants.ComponentType;
 import com.ibm.safr.we.constants.EditRights;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.data.DAOFactoryHolder;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.exceptions.SAFRValidationException;
 import com.ibm.safr.we.exceptions.SAFRViewActivationException;
 import com.ibm.safr.we.model.SAFRValidator;
 import com.ibm.safr.we.model.base.SAFRPersistentObject;
 import com.ibm.safr.we.model.logic.LogicTextParser;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.View;
 import com.ibm.safr.we.ui.ApplicationMediator;
 import com.ibm.safr.we.ui.editors.SAFREditorPart;
 import com.ibm.safr.we.ui.editors.view.ViewColumnEditor;
 import com.ibm.safr.we.ui.editors.view.ViewEditor;
+import com.ibm.safr.we.ui.utilities.BackgroundJob;
 import com.ibm.safr.we.ui.utilities.SAFRGUIToolkit;
 import com.ibm.safr.we.ui.utilities.UIUtilities;
 import com.ibm.safr.we.ui.views.logic.LogicTextView;
 import com.ibm.safr.we.utilities.SAFRLogger;
+import org.genevaers.repository.data.CompilerMessage;
 
 /**
  * An editor for writing Logic Text.
@@ -96,6 +105,20 @@ public class LogicTextEditor extends SAFREditorPart implements IPartListener2 {
 	private static final int MAX_UNDO_SIZE = 25;	
 	public static String ID = "SAFRWE.LogicTextEditor";
 	
+	// milliseconds to wait after the last change before checking the syntax
+	private static final int SYNTAX_CHECK_DELAY = 750;
+	
+	// the compiler checks one text at a time, so the checks of all editors run in turn
+	private static final ISchedulingRule SYNTAX_CHECK_RULE = new ISchedulingRule() {
+        public boolean contains(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        public boolean isConflicting(ISchedulingRule rule) {
+            return rule == this;
+        }
+    };
+	
 	// Support for Undo/Redo Operation classes
 	abstract class Operation {
 		abstract void redo(StyledText text);
@@ -206,6 +229,17 @@ public class LogicTextEditor extends SAFREditorPart implements IPartListener2 {
 	private Stack<Operation> redoStack = new Stack<Operation>();
 	private boolean recording = false;
 	
+	private Runnable syntaxCheckTimer = new Runnable() {
+        public void run() {
+            startSyntaxCheck();
+        }
+    };
+	private BackgroundJob<LogicTextSyntaxChecker.Result> syntaxCheck = null;
+	private String syntaxCheckTokens = null;
+	// the significant tokens of the text last checked and its messages
+	private String checkedTokens = null;
+	private LogicTextSyntaxChecker.Result checkedResult = null;
+	
     // store the expand state of the related view activation log
     Object expandsOld[] = null;
     Object expandsNew[] = null;
@@ -434,6 +468,7 @@ public class LogicTextEditor extends SAFREditorPart implements IPartListener2 {
 		labelHeadClient = safrGuiToolkit.createLabel(form.getForm().getHead(),
 				SWT.LEFT, "");
 		form.setHeadClient(labelHeadClient);
+		setMsgManager(form.getMessageManager());
 		refreshControls();
 		text.addModifyListener(this);
 		setDirty(false);
@@ -681,6 +716,129 @@ public class LogicTextEditor extends SAFREditorPart implements IPartListener2 {
 	public void modifyText(ModifyEvent e) {
 		super.modifyText(e);
 		viewInput.getViewEditor().setDirty(true);
+		// restarts the wait if it is already running
+		text.getDisplay().timerExec(SYNTAX_CHECK_DELAY, syntaxCheckTimer);
+	}
+
+	/**
+	 * Check the syntax of the text in the background and show the compiler's
+	 * messages on the form. A check which has not started yet is dropped in
+	 * favour of this one. Only the parts of the view the text can refer to
+	 * are copied here, on the display thread. The text is not compiled again
+	 * when only its comments or the white space at line ends have changed.
+	 */
+	private void startSyntaxCheck() {
+		if (text.isDisposed()) {
+			return;
+		}
+		final String checkText = text.getText();
+		if (checkText.trim().length() == 0) {
+			cancelSyntaxCheck();
+			checkedTokens = null;
+			checkedResult = null;
+			getMsgManager().removeAllMessages();
+			return;
+		}
+		final String tokens = getSignificantTokens();
+		if (tokens.equals(checkedTokens)) {
+			cancelSyntaxCheck();
+			showSyntaxMessages(tokens, checkedResult);
+			return;
+		}
+		if (syntaxCheck != null && tokens.equals(syntaxCheckTokens)) {
+			return;
+		}
+		cancelSyntaxCheck();
+		final LogicTextSyntaxChecker.Check check;
+		try {
+			check = viewInput.prepareSyntaxCheck(checkText);
+		} catch (SAFRException e) {
+			// the user sees these when validating or saving the text
+			logger.log(Level.FINE, "Background syntax check failed", e);
+			return;
+		}
+		syntaxCheck = new BackgroundJob<LogicTextSyntaxChecker.Result>("Checking logic text syntax") {
+			@Override
+			protected LogicTextSyntaxChecker.Result call(IProgressMonitor monitor) throws SAFRException {
+				return check.run();
+			}
+
+			@Override
+			protected void done(LogicTextSyntaxChecker.Result result) {
+				finished(this);
+				checkedTokens = tokens;
+				checkedResult = result;
+				showSyntaxMessages(tokens, result);
+			}
+
+			@Override
+			protected void failed(SAFRException e) {
+				finished(this);
+				logger.log(Level.WARNING, "Background syntax check failed", e);
+			}
+
+			@Override
+			protected void cancelled() {
+				finished(this);
+			}
+		};
+		syntaxCheckTokens = tokens;
+		syntaxCheck.setSystem(true);
+		syntaxCheck.setRule(SYNTAX_CHECK_RULE);
+		syntaxCheck.start();
+	}
+
+	/**
+	 * Drop the pending syntax check. One which is running is left to finish,
+	 * as its messages still apply if the text is changed back.
+	 */
+	private void cancelSyntaxCheck() {
+		if (syntaxCheck != null && syntaxCheck.getState() != Job.RUNNING) {
+			syntaxCheck.cancel();
+		}
+		syntaxCheck = null;
+		syntaxCheckTokens = null;
+	}
+
+	private void finished(Job job) {
+		if (syntaxCheck == job) {
+			syntaxCheck = null;
+			syntaxCheckTokens = null;
+		}
+	}
+
+	private String getSignificantTokens() {
+		parser.parse(text.getText());
+		return parser.getSignificantTokens();
+	}
+
+	private void showSyntaxMessages(String tokens, LogicTextSyntaxChecker.Result result) {
+		// the text has changed since, so a newer check is on its way
+		if (text.isDisposed() || !tokens.equals(getSignificantTokens())) {
+			return;
+		}
+		getMsgManager().setAutoUpdate(false);
+		getMsgManager().removeAllMessages();
+		addSyntaxMessages("Error", result.getErrors(), IMessageProvider.ERROR);
+		addSyntaxMessages("Warning", result.getWarnings(), IMessageProvider.WARNING);
+		getMsgManager().setAutoUpdate(true);
+	}
+
+	private void addSyntaxMessages(String keyPrefix, List<CompilerMessage> messages, int type) {
+		int i = 0;
+		for (CompilerMessage message : messages) {
+			String msg = message.getDetail().replace("&", "&&");
+			getMsgManager().addMessage(keyPrefix + i++, msg, null, type, text);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (text != null && !text.isDisposed()) {
+			text.getDisplay().timerExec(-1, syntaxCheckTimer);
+		}
+		cancelSyntaxCheck();
+		super.dispose();
 	}
 
 	@Override
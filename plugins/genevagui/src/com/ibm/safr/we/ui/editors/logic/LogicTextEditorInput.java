@@ -27,6 +27,7 @@ import com.ibm.safr.we.constants.EditRights;
 import com.ibm.safr.we.constants.LogicTextType;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.base.SAFREnvironmentalComponent;
+import com.ibm.safr.we.model.view.LogicTextSyntaxChecker;
 import com.ibm.safr.we.model.view.View;
 import com.ibm.safr.we.model.view.ViewColumn;
 import com.ibm.safr.we.model.view.ViewColumnSource;
@@ -170,6 +171,12 @@ public abstract class LogicTextEditorInput implements IEditorInput {
 
 	protected abstract void validateLogicText(String text) throws SAFRException;
 
+	/**
+	 * Prepare a syntax check of the text without a report. Call this on the
+	 * display thread; the check returned may run on another thread.
+	 */
+	protected abstract LogicTextSyntaxChecker.Check prepareSyntaxCheck(String text);
+
 	protected abstract String getLogicTextFormTitle();
 
 	public abstract boolean matches(SAFREnvironmentalComponent component);
@@ -1242,23 +1242,12 @@ public class LogicalRecordFieldEditor {
             return;
         }
         LRField field =  (LRField) tableViewerLRFields.getGrid().getItem(selection).getData();
-        List<LRField> withinFields = new ArrayList<LRField>();
-        withinFieldsR(field, withinFields);
-        logicalRecord.recalculateFields(withinFields);
+        logicalRecord.recalculateFields(logicalRecord.getRedefineSubtree(field));
         tableViewerLRFields.setInput(logicalRecord);   
         calculateFieldCount();
         setDirty(true);
     }
 
-    private void withinFieldsR(LRField field, List<LRField> withinFields) {
-        withinFields.add(field);
-        
-        List<LRField> children =  field.getChildren();
-        for (LRField child : children) {
-            withinFieldsR(child, withinFields);
-        }
-    }
-    
     
     /**
      * This function is used to recalculates Fixed position and Ordinal position
@@ -32,6 +32,7 @@ import com.ibm.safr.we.constants.MetadataSearchCriteria;
 import com.ibm.safr.we.data.DAOException;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.exceptions.SAFRValidationException;
+import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.associations.GroupComponentAssociation;
 import com.ibm.safr.we.model.associations.GroupEnvironmentAssociation;
 import com.ibm.safr.we.model.base.SAFRPersistentObject;
@@ -86,6 +87,8 @@ public class EnvPermEditor extends SAFREditorPart implements ISearchablePart {
         mediator.getCurrentEnvironment().storeAssociatedGroups();
         mediator.getCurrentEnvironment().setAssociatedGroupsList(mediator.getGroupList());
         mediator.getCurrentEnvironment().storeComponentRights();
+        // the login group's rights may have been among those edited
+        SAFRApplication.getUserSession().clearEditRights();
         mediator.onSave();
         UIUtilities.enableDisableMenuAsPerUserRights();
     }
@@ -32,6 +32,7 @@ import com.ibm.safr.we.constants.MetadataSearchCriteria;
 import com.ibm.safr.we.data.DAOException;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.exceptions.SAFRValidationException;
+import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.associations.GroupComponentAssociation;
 import com.ibm.safr.we.model.associations.GroupEnvironmentAssociation;
 import com.ibm.safr.we.model.base.SAFRPersistentObject;
@@ -84,6 +85,8 @@ public class GroupPermEditor extends SAFREditorPart implements ISearchablePart {
     public void storeModel() throws DAOException, SAFRException {
         mediator.getCurrentGroup().storeAssociatedEnvironments();
         mediator.getCurrentGroup().storeComponentRights();
+        // the login group's rights may have been among those edited
+        SAFRApplication.getUserSession().clearEditRights();
         mediator.onSave();
     }
     
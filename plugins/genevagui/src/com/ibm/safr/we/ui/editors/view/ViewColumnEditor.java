@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -1209,6 +1210,30 @@ public class ViewColumnEditor {
     private List<ViewColumnCopy> copiedViewColumnsList = new ArrayList<ViewColumnCopy>();
     private Font boldFont = null;
     
+    // selects the whole column when its header is selected
+    private final SelectionListener columnHeaderListener = new SelectionListener() {
+
+        public void widgetSelected(SelectionEvent e) {
+            GridColumn col = (GridColumn) e.getSource();
+            int idx = 0;
+            for (GridColumn lcol : viewEditorGrid.getGrid().getColumns()) {
+                if (lcol == col) {
+                    break;
+                }
+                idx++;
+            }
+            viewEditorGrid.getGrid().setSelection(new GridItem[0]);
+            viewEditorGrid.getGrid().selectColumn(idx);
+            viewEditorGrid.getGrid().setFocusItem(viewEditorGrid.getGrid().getItem(0));
+            viewEditorGrid.getGrid().setFocusColumn(col);
+            mediator.refreshToolbar();
+        }
+
+        public void widgetDefaultSelected(SelectionEvent e) {
+        }
+
+    };
+    
     // Property IDs
     // Heading
     public static final int COLUMN_HEADING_HEADER = 0;
@@ -1767,48 +1792,7 @@ public class ViewColumnEditor {
 
         int i = 0;
         for (ViewColumn viewColumn : view.getViewColumns().getActiveItems()) {
-            GridViewerColumn column = new GridViewerColumn(viewEditorGrid, SWT.NONE);
-            ViewColumnEditingSupport editingSupp = new ViewColumnEditingSupport(viewEditorGrid, i, this, viewColumn, mediator);
-            column.setEditingSupport(editingSupp);
-
-            LabelProviderImpl labelProvider = new LabelProviderImpl(i, viewColumn);
-            column.setLabelProvider(labelProvider);
-
-            column.getColumn().setData(COL_ID, i + 1);
-            column.getColumn().setData(VALUE, viewColumn);
-            column.getColumn().setData(LABEL_PROVIDER, labelProvider);
-            column.getColumn().setData(EDITING_SUPPORT, editingSupp);
-
-            column.getColumn().setText("Column " + (i + 1));
-            column.getColumn().setHeaderTooltip("Column " + (i + 1));
-            column.getColumn().setWidth(VIEW_COL_WIDTH);
-            // column.getColumn().setMoveable(true);
-
-            // Add handler to select whole column when column header is selected
-            column.getColumn().addSelectionListener(new SelectionListener() {
-
-                public void widgetSelected(SelectionEvent e) {
-                    GridColumn col = (GridColumn) e.getSource();
-                    int idx = 0;
-                    for (GridColumn lcol : viewEditorGrid.getGrid().getColumns()) {
-                        if (lcol == col) {
-                            break;
-                        }
-                        idx++;
-                    }
-                    viewEditorGrid.getGrid().setSelection(new GridItem[0]);
-                    viewEditorGrid.getGrid().selectColumn(idx);
-                    viewEditorGrid.getGrid().setFocusItem(viewEditorGrid.getGrid().getItem(0));
-                    viewEditorGrid.getGrid().setFocusColumn(col);
-                    mediator.refreshToolbar();
-                }
-
-                public void widgetDefaultSelected(SelectionEvent e) {
-                }
-
-            });
-
-            i++;
+            createGridColumn(i++, viewColumn);
         }
        
         // provide keyboard activation support. the editor will be activated
@@ -2049,20 +2033,136 @@ public class ViewColumnEditor {
         return currentViewColumnSource;
     }
  
-    protected void resetColumnHeaders() {
+    /**
+     * Creates the grid column of a View Column. Its cells are left empty.
+     * 
+     * @param index
+     *            zero based position of the grid column, the column is added
+     *            at the end if this is past the last column.
+     * @param viewColumn
+     *            the View Column shown in the grid column.
+     * @return the new grid column
+     */
+    private GridViewerColumn createGridColumn(int index, ViewColumn viewColumn) {
+        GridViewerColumn column;
+        if (index >= viewEditorGrid.getGrid().getColumnCount()) {
+            column = new GridViewerColumn(viewEditorGrid, SWT.NONE);
+        } else {
+            column = new GridViewerColumn(viewEditorGrid, SWT.NONE, index);
+        }
+        ViewColumnEditingSupport editingSupp = new ViewColumnEditingSupport(
+            viewEditorGrid, index, this, viewColumn, mediator);
+        column.setEditingSupport(editingSupp);
+
+        LabelProviderImpl labelProvider = new LabelProviderImpl(index, viewColumn);
+        column.setLabelProvider(labelProvider);
+
+        column.getColumn().setData(COL_ID, index + 1);
+        column.getColumn().setData(VALUE, viewColumn);
+        column.getColumn().setData(LABEL_PROVIDER, labelProvider);
+        column.getColumn().setData(EDITING_SUPPORT, editingSupp);
+
+        column.getColumn().setText("Column " + (index + 1));
+        column.getColumn().setHeaderTooltip("Column " + (index + 1));
+        column.getColumn().setWidth(VIEW_COL_WIDTH);
+        column.getColumn().addSelectionListener(columnHeaderListener);
+        return column;
+    }
+
+    /**
+     * Points the grid columns in a range at the View Columns now at their
+     * positions, and renumbers their headers. Their cells are not repainted.
+     * 
+     * @param from
+     *            zero based position of the first grid column.
+     * @param to
+     *            zero based position after the last grid column.
+     */
+    private void rebindColumns(int from, int to) {
         List<ViewColumn> activeCols = view.getViewColumns().getActiveItems();
-        for (int i = 0; i < viewEditorGrid.getGrid().getColumnCount(); i++) {
-            viewEditorGrid.getGrid().getColumn(i).setText("Column " + (i + 1));
-            viewEditorGrid.getGrid().getColumn(i).setData(COL_ID, i + 1);
-            viewEditorGrid.getGrid().getColumn(i).setData(VALUE, activeCols.get(i));
+        Grid grid = viewEditorGrid.getGrid();
+        for (int i = from; i < to; i++) {
+            GridColumn gridColumn = grid.getColumn(i);
+            gridColumn.setText("Column " + (i + 1));
+            gridColumn.setHeaderTooltip("Column " + (i + 1));
+            gridColumn.setData(COL_ID, i + 1);
+            gridColumn.setData(VALUE, activeCols.get(i));
             // reset column number in label provider and content provider of
             // this column
-            ((LabelProviderImpl) viewEditorGrid.getGrid().getColumn(i).getData(
-                    LABEL_PROVIDER)).setColumnIndex(i);
-            ((ViewColumnEditingSupport) viewEditorGrid.getGrid().getColumn(i).getData(
-                    EDITING_SUPPORT)).setColIndex(i);
+            ((LabelProviderImpl) gridColumn.getData(LABEL_PROVIDER)).setColumnIndex(i);
+            ((ViewColumnEditingSupport) gridColumn.getData(EDITING_SUPPORT)).setColIndex(i);
+        }
+    }
+
+    /**
+     * Fills in the cells of one grid column from its label provider, instead
+     * of refreshing every cell in the grid.
+     * 
+     * @param index
+     *            zero based position of the grid column.
+     */
+    private void updateColumnCells(int index) {
+        Grid grid = viewEditorGrid.getGrid();
+        LabelProviderImpl labelProvider = (LabelProviderImpl) grid.getColumn(index).getData(LABEL_PROVIDER);
+        for (GridItem item : grid.getItems()) {
+            Object element = item.getData();
+            String text = labelProvider.getText(element);
+            item.setText(index, text == null ? "" : text);
+            item.setImage(index, labelProvider.getImage(element));
+            item.setBackground(index, labelProvider.getBackground(element));
+        }
+    }
+
+    /**
+     * Repaints the rows which depend on the positions of the columns, after
+     * columns have been inserted, moved or removed.
+     */
+    private void updatePositionRows() {
+        updateElement(ViewColumnEditor.STARTPOS);
+        updateElement(ViewColumnEditor.COLUMN_PROP_HEADER);
+    }
+
+    /**
+     * Shows View Columns which have been inserted into the model and the grid
+     * next to each other, without refreshing the other columns.
+     * 
+     * @param from
+     *            zero based position of the first inserted column.
+     * @param count
+     *            the number of inserted columns.
+     */
+    private void columnsInserted(int from, int count) {
+        Grid grid = viewEditorGrid.getGrid();
+        grid.setRedraw(false);
+        try {
+            rebindColumns(from, grid.getColumnCount());
+            for (int i = from; i < from + count; i++) {
+                updateColumnCells(i);
+            }
+            updatePositionRows();
+        } finally {
+            grid.setRedraw(true);
+        }
+    }
+
+    /**
+     * Shows two View Columns which have swapped places in the model, without
+     * refreshing the other columns.
+     * 
+     * @param left
+     *            zero based position of the left column of the two.
+     */
+    private void columnsSwapped(int left) {
+        Grid grid = viewEditorGrid.getGrid();
+        grid.setRedraw(false);
+        try {
+            rebindColumns(left, left + 2);
+            updateColumnCells(left);
+            updateColumnCells(left + 1);
+            updatePositionRows();
+        } finally {
+            grid.setRedraw(true);
         }
-        viewEditorGrid.refresh();       
     }
     
     protected void copyViewColumns() {
@@ -2230,51 +2330,11 @@ public class ViewColumnEditor {
             return null;
         }
 
-        GridViewerColumn column;
-        if (insertIndex < 0) {
-            column = new GridViewerColumn(viewEditorGrid, SWT.NONE);
-        } else {
-            // grid viewer accepts 1 based column number
-            column = new GridViewerColumn(viewEditorGrid, SWT.NONE, index - 1);
+        // the model column number is 1-based while grid columns are 0-based.
+        GridViewerColumn column = createGridColumn(index - 1, tmpcolumn);
+        if (refresh) {
+            columnsInserted(index - 1, 1);
         }
-        // editing support and label provider needs zero based column number
-        ViewColumnEditingSupport editingSupp = new ViewColumnEditingSupport(
-            viewEditorGrid, index - 1, this, tmpcolumn, mediator);
-        column.setEditingSupport(editingSupp);
-        LabelProviderImpl labelProvider = new LabelProviderImpl(index - 1,tmpcolumn);
-        column.setLabelProvider(labelProvider);
-
-        column.getColumn().setData(COL_ID, index);
-        column.getColumn().setData(VALUE, tmpcolumn);
-        column.getColumn().setData(LABEL_PROVIDER, labelProvider);
-        column.getColumn().setData(EDITING_SUPPORT, editingSupp);
-
-        column.getColumn().setText("Column " + (index + 1));
-        column.getColumn().setWidth(VIEW_COL_WIDTH);
-
-        // Add handler to select whole column when column header is selected
-        column.getColumn().addSelectionListener(new SelectionListener() {
-
-            public void widgetSelected(SelectionEvent e) {
-                GridColumn col = (GridColumn)e.getSource();
-                int idx = 0;
-                for (GridColumn lcol : viewEditorGrid.getGrid().getColumns()) {
-                    if (lcol == col) {
-                        break;
-                    }
-                    idx++;
-                }
-                viewEditorGrid.getGrid().setSelection(new GridItem[0]);
-                viewEditorGrid.getGrid().selectColumn(idx);
-                viewEditorGrid.getGrid().setFocusItem(viewEditorGrid.getGrid().getItem(0));
-                viewEditorGrid.getGrid().setFocusColumn(col);
-                mediator.refreshToolbar();                
-            }
-
-            public void widgetDefaultSelected(SelectionEvent e) {
-            }
-            
-        });
         
         // set focus on the new column
         viewEditorGrid.setSelection((new StructuredSelection(viewEditorGrid.getGrid().getItem(focusY).getData())));
@@ -2285,11 +2345,6 @@ public class ViewColumnEditor {
         openCellRelatedView(viewEditorGrid.getGrid().getFocusItem(), index - 1, true, true);
         
         if (refresh) {
-            if (index >= 0) {
-                resetColumnHeaders();
-            }
-
-            refreshGrid();
             mediator.formReflow(true);
         }
         mediator.setModified(true);
@@ -2510,29 +2565,53 @@ public class ViewColumnEditor {
         mEvent.y = viewEditorGrid.getGrid().getFocusCell().y;
         mEvent.button = 1;
 
-        // remove the selected columns from the model and the UI
+        // remove the selected columns from the model in one go
         boolean flag = false;
+        Map<ViewColumn, ViewColumn> removed = new IdentityHashMap<ViewColumn, ViewColumn>();
+        View.ColumnChanges changes = view.changeColumns();
         for (ViewColumn currentColumn : columns) {
             // if any of the columns to be deleted is a sort key, sort key rows
             // should be refreshed
             if (!flag) {
                 flag = currentColumn.isSortKey();
             }
-            view.removeViewColumn(currentColumn);
-
-            // remove column from UI
-            int index = getColumnIndex(currentColumn);
-            // index is 1-based while grid columns are 0-based.
-            viewEditorGrid.getGrid().getColumn(index - 1).dispose();
+            changes.remove(currentColumn);
+            removed.put(currentColumn, currentColumn);
+        }
+        Grid grid = viewEditorGrid.getGrid();
+        List<GridColumn> gridColumns = new ArrayList<GridColumn>();
+        int first = -1;
+        for (int i = 0; i < grid.getColumnCount(); i++) {
+            if (removed.containsKey(grid.getColumn(i).getData(VALUE))) {
+                gridColumns.add(grid.getColumn(i));
+                if (first < 0) {
+                    first = i;
+                }
+            }
+        }
+        changes.apply();
 
-            resetColumnHeaders();
+        // remove their grid columns from the UI, only the columns after them
+        // change position.
+        grid.setRedraw(false);
+        try {
+            for (GridColumn gridColumn : gridColumns) {
+                gridColumn.dispose();
+            }
+            if (first >= 0) {
+                rebindColumns(first, grid.getColumnCount());
+            }
+            updatePositionRows();
+        } finally {
+            grid.setRedraw(true);
+        }
+        for (ViewColumn currentColumn : columns) {
             mediator.closeRelatedLogicTextEditors(currentColumn);
         }
         if (flag) {
             refreshSortKeyRows();
         }        
-        viewEditorGrid.getGrid().showSelection();
-        refreshGrid();
+        grid.showSelection();
 
         mediator.formReflow(true);
         mediator.setModified(true);
@@ -2548,36 +2627,47 @@ public class ViewColumnEditor {
             "View Length: " + Integer.toString(view.getViewLength()), true);        
     }
     
+    /**
+     * Brings the grid columns in line with the View Columns after the model
+     * has been changed outside this editor, e.g. by the column generator. The
+     * grid columns of View Columns which are still active are kept, those of
+     * removed View Columns are disposed and new ones are created in place for
+     * new View Columns. As the properties of the kept columns may have been
+     * changed too, the cells are then refreshed.
+     */
     public void refreshColumns() {
         
         if (viewEditorGrid != null) {
-            // remove existing view columns from view.
-            GridColumn[] columns = viewEditorGrid.getGrid().getColumns();
-            for (int i = 0; i < columns.length; i++) {
-                columns[i].dispose();
+            Grid grid = viewEditorGrid.getGrid();
+            List<ViewColumn> activeCols = view.getViewColumns().getActiveItems();
+            Map<ViewColumn, ViewColumn> active = new IdentityHashMap<ViewColumn, ViewColumn>();
+            for (ViewColumn viewColumn : activeCols) {
+                active.put(viewColumn, viewColumn);
             }
-            // add View columns from Model.
-            int i = 0;
-            for (ViewColumn viewColumn : view.getViewColumns().getActiveItems()) {
-                GridViewerColumn column = new GridViewerColumn(viewEditorGrid, SWT.NONE);
-                ViewColumnEditingSupport editingSupp = new ViewColumnEditingSupport(
-                    viewEditorGrid, i, this, viewColumn, mediator);
-                column.setEditingSupport(editingSupp);
-
-                LabelProviderImpl labelProvider = new LabelProviderImpl(i, viewColumn);
-                column.setLabelProvider(labelProvider);
-
-                column.getColumn().setData(COL_ID, i + 1);
-                column.getColumn().setData(VALUE, viewColumn);
-                column.getColumn().setData(LABEL_PROVIDER,labelProvider);
-                column.getColumn().setData(EDITING_SUPPORT,editingSupp);
-
-                column.getColumn().setText("Column " + (i + 1));
-                column.getColumn().setWidth(VIEW_COL_WIDTH); // column.getColumn().setMoveable(true);
-
-                i++;
+            grid.setRedraw(false);
+            try {
+                // remove the grid columns of View Columns no longer in the
+                // model.
+                Map<ViewColumn, GridColumn> kept = new IdentityHashMap<ViewColumn, GridColumn>();
+                for (GridColumn gridColumn : grid.getColumns()) {
+                    ViewColumn viewColumn = (ViewColumn) gridColumn.getData(VALUE);
+                    if (active.containsKey(viewColumn) && !kept.containsKey(viewColumn)) {
+                        kept.put(viewColumn, gridColumn);
+                    } else {
+                        gridColumn.dispose();
+                    }
+                }
+                // add grid columns for the new View Columns from the model.
+                for (int i = 0; i < activeCols.size(); i++) {
+                    if (!kept.containsKey(activeCols.get(i))) {
+                        createGridColumn(i, activeCols.get(i));
+                    }
+                }
+                rebindColumns(0, grid.getColumnCount());
+                viewEditorGrid.refresh();
+            } finally {
+                grid.setRedraw(true);
             }
-            viewEditorGrid.refresh();            
         }
     }
     
@@ -2813,8 +2903,8 @@ public class ViewColumnEditor {
             // move column in model
             view.moveColumnRight(getCurrentColumn());
 
-            // reset header text
-            resetColumnHeaders();
+            // swap the two grid columns over
+            columnsSwapped(index - 1);
 
             // set focus on moved column
             viewEditorGrid.getGrid().setFocusColumn(viewEditorGrid.getGrid().getColumn(index));
@@ -2827,8 +2917,6 @@ public class ViewColumnEditor {
                 viewEditorGrid.getGrid().setCellSelection(points);              
             }           
             
-            updateElement(ViewColumnEditor.STARTPOS);
-            updateElement(ViewColumnEditor.COLUMN_PROP_HEADER);
             try {
                 mediator.refreshRelatedLogicTextEditorsHeaders();
             } catch (SAFRException e) {
@@ -2857,8 +2945,8 @@ public class ViewColumnEditor {
             // move column in model
             view.moveColumnLeft(getCurrentColumn());
 
-            // reset header text
-            resetColumnHeaders();
+            // swap the two grid columns over
+            columnsSwapped(index - 2);
 
             // set focus on moved column
             viewEditorGrid.getGrid().setFocusColumn(viewEditorGrid.getGrid().getColumn(index-2));
@@ -2872,8 +2960,6 @@ public class ViewColumnEditor {
                 viewEditorGrid.getGrid().setCellSelection(points);              
             }
             
-            updateElement(ViewColumnEditor.STARTPOS);
-            updateElement(ViewColumnEditor.COLUMN_PROP_HEADER);
             try {
                 mediator.refreshRelatedLogicTextEditorsHeaders();
             } catch (SAFRException e) {
@@ -2947,6 +3033,7 @@ public class ViewColumnEditor {
             if (copiedViewColumnsList.size() > 0) {
                 
                 int currentColIndex = getCurrentColIndex();
+                int firstColIndex = -1;
                 
                 for (ViewColumnCopy copiedViewColumn : copiedViewColumnsList) {
                     
@@ -2955,10 +3042,12 @@ public class ViewColumnEditor {
                         // no view column added. no need to proceed.
                         return;
                     }
+                    if (firstColIndex < 0) {
+                        firstColIndex = vc.getColumnNo();
+                    }
                     copiedViewColumn.getViewColumnFromCopy(vc);
                 }
-                resetColumnHeaders();
-                refreshGrid();
+                columnsInserted(firstColIndex - 1, copiedViewColumnsList.size());
                 mediator.formReflow(true);
                 mediator.refreshRelatedLogicTextEditorsHeaders();
             }
@@ -2983,16 +3072,19 @@ public class ViewColumnEditor {
             if (copiedViewColumnsList.size() > 0) {
                 // get current column index for paste operation.
                 int currentColIndex = getCurrentColIndex() + 1;
+                int firstColIndex = -1;
                 for (ViewColumnCopy copiedViewColumn : copiedViewColumnsList) {
                     ViewColumn vc = mediator.addNewColumn(currentColIndex++, false);
                     if (vc == null) {
                         // no view column added. no need to proceed further.
                         return;
                     }
+                    if (firstColIndex < 0) {
+                        firstColIndex = vc.getColumnNo();
+                    }
                     copiedViewColumn.getViewColumnFromCopy(vc);
                 }
-                resetColumnHeaders();
-                refreshGrid();
+                columnsInserted(firstColIndex - 1, copiedViewColumnsList.size());
                 mediator.formReflow(true);
                 mediator.refreshRelatedLogicTextEditorsHeaders();
             }
@@ -44,6 +44,20 @@ public abstract class GenevaCSVReport {
 		 }
 	}
 	
+	/**
+	 * Opens a CSV file and writes its headers, for a report which writes its
+	 * rows as they are produced rather than all at once.
+	 */
+	protected CSVPrinter openPrinter(Path path, List<String> headers) {
+		try {
+			CSVPrinter printer = new CSVPrinter(new FileWriter(path.toFile()), CSVFormat.EXCEL);
+			printer.printRecord(headers);
+			return printer;
+		} catch (IOException ex) {
+			throw new SAFRException("Could not write Report CSV file " + path.toString());
+		}
+	}
+	
 	abstract protected List<String> getHeaders();
 	abstract protected List<List<String>> getRows();
 	
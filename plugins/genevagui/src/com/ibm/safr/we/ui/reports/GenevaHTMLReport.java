@@ -17,50 +17,108 @@ package com.ibm.safr.we.ui.reports;
  * under the License.
  */
 
-import static j2html.TagCreator.body;
 import static j2html.TagCreator.head;
-import static j2html.TagCreator.html;
 import static j2html.TagCreator.join;
 import static j2html.TagCreator.link;
 import static j2html.TagCreator.meta;
 import static j2html.TagCreator.script;
+import j2html.rendering.IndentedHtml;
 import j2html.tags.ContainerTag;
+import j2html.tags.DomContent;
 import j2html.tags.specialized.DivTag;
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
+/**
+ * An HTML report file. The page is rendered straight into the file rather
+ * than into a String first. A report with a lot of content can write its body
+ * a part at a time, between {@link #start()} and {@link #finish()}, so that
+ * only the part being written is held in memory.
+ */
 public abstract class GenevaHTMLReport {
 	static transient Logger logger = Logger.getLogger("com.ibm.safr.we.ui.reports.GenevaHTMLReport");
 	
 	protected Path reportPath;
-	private FileWriter fw;
+	private Writer fw;
 	static String toggleScript = "function toggleDiv(divname) {" + "var ele = document.getElementById(divname);"
 			+ "if (ele.style.display == \"none\") {" + "ele.style.display = \"block\";" + "}" + "else {"
 			+ "ele.style.display = \"none\";" + "}" + "}";
 
 	public void write() {
-		File output = reportPath.toFile();
+		if (start()) {
+			writeContent(bodyContent());
+			finish();
+		}
+	}
+
+	/**
+	 * Opens the report file and writes the page up to the start of its body.
+	 * 
+	 * @return false if the file could not be written
+	 */
+	public boolean start() {
+		try {
+			fw = new BufferedWriter(new FileWriter(reportPath.toFile()));
+			fw.write("<html>\n");
+			head(
+					meta().withContent("text/html; charset=UTF-8"),
+					link().withRel("stylesheet").withType("text/css").withHref("https://www.w3schools.com/w3css/4/w3.css"),
+					link().withRel("stylesheet").withType("text/css").withHref("https://www.w3schools.com/lib/w3-colors-flat.css"),
+					link().withRel("stylesheet").withType("text/css").withHref("https://cdnjs.cloudflare.com/ajax/libs/font-awesome/4.7.0/css/font-awesome.min.css"),
+					script(join(toggleScript)).withLang("Javascript")
+			).render(IndentedHtml.into(fw));
+			fw.write("<body style=\"overflow-x: scroll\">\n");
+			return true;
+		} catch (IOException e) {
+			failed();
+			return false;
+		}
+	}
+
+	/**
+	 * Renders part of the body into the report file. Does nothing if the file
+	 * is not open.
+	 */
+	public void writeContent(DomContent content) {
+		if (fw == null) {
+			return;
+		}
 		try {
-			
-			fw = new FileWriter(output);
-			fw.write(
-					html(
-							head(
-									meta().withContent("text/html; charset=UTF-8"),
-									link().withRel("stylesheet").withType("text/css").withHref("https://www.w3schools.com/w3css/4/w3.css"),
-									link().withRel("stylesheet").withType("text/css").withHref("https://www.w3schools.com/lib/w3-colors-flat.css"),
-									link().withRel("stylesheet").withType("text/css").withHref("https://cdnjs.cloudflare.com/ajax/libs/font-awesome/4.7.0/css/font-awesome.min.css"),
-									script(join(toggleScript)).withLang("Javascript")
-							),
-							body(
-									bodyContent()
-							).withStyle("overflow-x: scroll")).renderFormatted());
+			content.render(IndentedHtml.into(fw));
+		} catch (IOException e) {
+			failed();
+		}
+	}
+
+	/**
+	 * Ends the page and closes the report file.
+	 */
+	public void finish() {
+		if (fw == null) {
+			return;
+		}
+		try {
+			fw.write("</body>\n</html>\n");
 			fw.close();
+			fw = null;
 		} catch (IOException e) {
-			logger.severe("Unable to write HTML Report " + reportPath);
+			failed();
+		}
+	}
+
+	private void failed() {
+		logger.severe("Unable to write HTML Report " + reportPath);
+		if (fw != null) {
+			try {
+				fw.close();
+			} catch (IOException e) {
+				// already reported
+			}
+			fw = null;
 		}
 	}
 	
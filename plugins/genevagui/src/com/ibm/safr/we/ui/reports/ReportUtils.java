@@ -84,6 +84,10 @@ public class ReportUtils {
 						break;
 					}
 				}
+				// the editor writes the report files, some reports load
+				// their components while writing
+				page.openEditor(input, ReportEditor.ID);
+
 				// check for errors
 				String err = "";
 				for (String msg : input.getReportDataObject().getErrors()) {
@@ -97,10 +101,7 @@ public class ReportUtils {
 							"Error loading components",
 							"Error loading below components for report. The report won't be generated for these components. See log file for details.",
 							err, MessageDialog.ERROR, new String[] { "OK" }, 0);
-					shell.setCursor(shell.getDisplay().getSystemCursor(SWT.CURSOR_WAIT));
 				}
-
-				page.openEditor(input, ReportEditor.ID);
 			} catch (PartInitException e) {
 				UIUtilities.handleWEExceptions(e, "Unexpected error occurred while opening report.", null);
 			} finally {
@@ -29,7 +29,6 @@ import java.util.logging.Logger;
 
 import com.ibm.safr.we.SAFRUtilities;
 import com.ibm.safr.we.data.DAOFactoryHolder;
-import com.ibm.safr.we.exceptions.SAFRDependencyException;
 import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.query.ViewColumnPICQueryBean;
@@ -49,31 +48,6 @@ public class ViewColumnPICReportGenerator implements IReportGenerator {
 		this.viewIDs = viewIDs;
 	}
 
-	private void loadData(Integer id) {
-		try {
-			int envId = SAFRApplication.getUserSession().getEnvironment().getId();
-			viewColumns = DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewColumnPICData(id, envId);
-			//Create a View Column PIC Report
-			// how will we manage it writing more than on view?
-			
-			// need the html frame work ... the report
-			// add view columns and so add view
-			// 
-			
-		} catch (SAFRDependencyException e) {
-			errorMsgList
-					.add("View: "
-							+ id
-							+ "- Unable to load as below dependent components are inactive:" + SAFRUtilities.LINEBREAK
-							+ e.getDependencyString(4));
-		} catch (Exception ex) {
-            logger.log(Level.SEVERE, "Unable to load", ex);		    
-			errorMsgList.add("View: " + id
-					+ " - Unable to load due to below unexpected error:" + SAFRUtilities.LINEBREAK + "    "
-					+ ex.toString());
-		}
-	}
-
 	public List<String> getErrors() {
 		return errorMsgList;
 	}
@@ -100,10 +74,34 @@ public class ViewColumnPICReportGenerator implements IReportGenerator {
 	}
 
 	private void getReportData() {
+		// the columns of all the views in one query
+		Map<Integer, List<ViewColumnPICQueryBean>> columnsById = new HashMap<>();
+		try {
+			int envId = SAFRApplication.getUserSession().getEnvironment().getId();
+			for (ViewColumnPICQueryBean column : DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewColumnPICData(viewIDs, envId)) {
+				Integer id = Integer.valueOf(column.getViewid().trim());
+				List<ViewColumnPICQueryBean> columns = columnsById.get(id);
+				if (columns == null) {
+					columns = new ArrayList<>();
+					columnsById.put(id, columns);
+				}
+				columns.add(column);
+			}
+		} catch (Exception ex) {
+            logger.log(Level.SEVERE, "Unable to load", ex);		    
+			errorMsgList.add("Views: " + viewIDs
+					+ " - Unable to load due to below unexpected error:" + SAFRUtilities.LINEBREAK + "    "
+					+ ex.toString());
+		}
+		viewColumns = new ArrayList<>();
 		for (int id : viewIDs) {
-			loadData(id);
-			htmlreport.addViewColumns(id, viewColumns);
-			csvreport.addViewColumns(id, viewColumns);
+			List<ViewColumnPICQueryBean> columns = columnsById.get(id);
+			if (columns == null) {
+				columns = new ArrayList<>();
+			}
+			viewColumns.addAll(columns);
+			htmlreport.addViewColumns(id, columns);
+			csvreport.addViewColumns(id, columns);
 		}
 	}
 
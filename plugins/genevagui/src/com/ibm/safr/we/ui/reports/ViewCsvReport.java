@@ -18,13 +18,17 @@ package com.ibm.safr.we.ui.reports;
  */
 
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+
+import org.apache.commons.csv.CSVPrinter;
 
 import com.ibm.safr.we.constants.CodeCategories;
 import com.ibm.safr.we.constants.Codes;
+import com.ibm.safr.we.exceptions.SAFRException;
 import com.ibm.safr.we.model.Code;
 import com.ibm.safr.we.model.SAFRApplication;
 import com.ibm.safr.we.model.query.ViewMappingsReportQueryBean;
@@ -34,9 +38,11 @@ import com.ibm.safr.we.model.query.ViewSourcesReportQueryBean;
 
 public class ViewCsvReport extends  GenevaCSVReport  {
 
-	private Map<Integer, ViewReportData> viewReportData;
 	private String outputFile;
 	private Path csvPath;
+	private CSVPrinter propsPrinter;
+	private CSVPrinter sourcesPrinter;
+	private CSVPrinter mappingsPrinter;
 	
 	public ViewCsvReport() {
 	}
@@ -139,10 +145,6 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		}
 	}
 
-	public void addViewData(Map<Integer, ViewReportData> viewReportDataById) {
-		this.viewReportData = viewReportDataById;
-	}
-
 	@Override
 	protected List<String> getHeaders() {
 		return headers;
@@ -153,24 +155,60 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		return allrows;
 	}
 
-	public void writeProperties() {
-		reportPath = csvPath.resolve(outputFile + "_props.csv");
-		addPropsHeaders();
-		addPropsData();
-		write();
+	/**
+	 * Opens the properties, sources and mappings files. The views are then
+	 * written to them a batch at a time by {@link #writeViews(Collection)},
+	 * and the files are closed by {@link #close()}.
+	 */
+	public void open() {
+		try {
+			propsPrinter = openPrinter(csvPath.resolve(outputFile + "_props.csv"), getPropsHeaders());
+			sourcesPrinter = openPrinter(csvPath.resolve(outputFile + "_sourceIO.csv"), getSourcesHeaders());
+			mappingsPrinter = openPrinter(csvPath.resolve(outputFile + "_mappings.csv"), getMappingsHeaders());
+		} catch (SAFRException e) {
+			close();
+			throw e;
+		}
+	}
+
+	public void writeViews(Collection<ViewReportData> views) {
+		try {
+			for (ViewReportData vr : views) {
+				propsPrinter.printRecord(getViewPropsData(vr));
+				for (ViewSourceReportData src : vr.getViewSources()) {
+					sourcesPrinter.printRecord(getViewSourceData(src));
+					for (ViewMappingsReportQueryBean m : src.getColumnMappings()) {
+						List<String> row = new ArrayList<>();
+						addSourceMappings(src, m, row);
+						mappingsPrinter.printRecord(row);
+					}
+				}
+			}
+		} catch (IOException ex) {
+			throw new SAFRException("Could not write Report CSV files " + csvPath.resolve(outputFile).toString());
+		}
 	}
 
-	private void addPropsData() {
-		for( Integer v : viewReportData.keySet()) {
-			addViewPropsData(v);
+	public void close() {
+		try {
+			for (CSVPrinter printer : new CSVPrinter[] { propsPrinter, sourcesPrinter, mappingsPrinter }) {
+				if (printer != null) {
+					printer.close();
+				}
+			}
+		} catch (IOException ex) {
+			throw new SAFRException("Could not write Report CSV files " + csvPath.resolve(outputFile).toString());
+		} finally {
+			propsPrinter = null;
+			sourcesPrinter = null;
+			mappingsPrinter = null;
 		}
 	}
 
-	private void addViewPropsData(Integer v) {
+	private List<String> getViewPropsData(ViewReportData vr) {
 		List<String> row = new ArrayList<>();
-		ViewReportData vr = viewReportData.get(v);
 		ViewPropertiesReportQueryBean vb = vr.getView();
-		row.add(Integer.toString(v));
+		row.add(vb.getViewid());
 		row.add(vb.getName());
 		row.add(vr.getPhase());
 		row.add(getOutputformat(vb));
@@ -185,10 +223,11 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		row.add(vb.getFormatexitstartup() == null  ?  "" : vb.getFormatexitstartup());
 		row.add(vb.getZerosuppressind().equals("0") ? "false" : "true");
 		row.add(vb.getFormatfiltlogic());
-		allrows.add(row);
+		return row;
 	}
 
-	private void addPropsHeaders() {
+	private List<String> getPropsHeaders() {
+		List<String> headers = new ArrayList<>();
 		headers.add("ViewID");
 		headers.add("Name");
 		headers.add("Phase");
@@ -205,37 +244,10 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		headers.add("Extract Buffer Size");
 		headers.add("Zero Suppression");
 		headers.add("Format Logic");
+		return headers;
 	}
 
-	public void writeSourcesAndMappings() {
-		headers.clear();
-		allrows.clear();
-		reportPath = csvPath.resolve(outputFile + "_sourceIO.csv");
-		writeSourceIOForEachView();
-		headers.clear();
-		allrows.clear();
-		reportPath = csvPath.resolve(outputFile + "_mappings.csv");
-		addMappingsHeaders();
-		addMappingsDataForEachView();
-		write();
-	}
-
-	private void writeSourceIOForEachView() {
-		addSourcesHeader();
-		for( Integer v : viewReportData.keySet()) {
-			writeSourceIO(v);
-		}
-	}
-
-	private void writeSourceIO(Integer v) {
-		ViewReportData vr = viewReportData.get(v);
-		for (ViewSourceReportData src : vr.getViewSources() ) {
-			addViewSourceData(src);
-		}
-		write();
-	}
-
-	private void addViewSourceData(ViewSourceReportData src) {
+	private List<String> getViewSourceData(ViewSourceReportData src) {
 		List<String> row = new ArrayList<>();
 		ViewSourcesReportQueryBean sb = src.getViewSource();
 		row.add(sb.getViewid());
@@ -250,10 +262,11 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		row.add(sb.getWriteExitName());
 		row.add(sb.getWriteexitparm());
 		row.add(sb.getExtractoutputlogic());
-		allrows.add(row);
+		return row;
 	}
 
-	private void addSourcesHeader() {
+	private List<String> getSourcesHeaders() {
+		List<String> headers = new ArrayList<>();
 		headers.add("View");
 		headers.add("Source Number");
 		headers.add("Logical Record Name");
@@ -266,19 +279,7 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		headers.add("Write Exit");
 		headers.add("Write Exit Parm");
 		headers.add("Output Logic");
-	}
-
-	private void addMappingsDataForEachView() {
-		for( Integer v : viewReportData.keySet()) {
-			addViewMappingsData(v);
-		}
-	}
-
-	private void addViewMappingsData(Integer v) {
-		ViewReportData vr = viewReportData.get(v);
-		for (ViewSourceReportData src : vr.getViewSources() ) {
-			addViewSourceMappings(src);
-		}
+		return headers;
 	}
 
 	private void addSourceMappings(ViewSourceReportData src, ViewMappingsReportQueryBean m, List<String> row) {
@@ -308,9 +309,6 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 	}
 
 	private void addSortkeyToReport(ViewSortKeyReportQueryBean sk, List<String> row) {
-		if(sk.getKeyseqnbr().equalsIgnoreCase("1")) {
-			appendSortKeyHeader();
-		}
 		row.add(sk.getKeyseqnbr());
 		row.add(sk.getSkstartpos());
 		row.add(sk.getSortseqcd());
@@ -323,28 +321,6 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		row.add(sk.getSksigned());
 	}
 
-	private void appendSortKeyHeader() {
-		headers.add("Sort Sequence Number");
-		headers.add("Start Position");
-		headers.add("Order");
-		headers.add("Sort Break");
-		headers.add("Label");
-		headers.add("Datatype");
-		headers.add("Format");
-		headers.add("Length");
-		headers.add("DecimalPlaces");
-		headers.add("Signed");
-	}
-
-	private void addViewSourceMappings(ViewSourceReportData src) {
-		for( ViewMappingsReportQueryBean m : src.getColumnMappings()) {
-			List<String> row = new ArrayList<>();
-			addSourceMappings(src, m, row);
-			allrows.add(row);			
-		}
-		
-	}
-
 	private void addSourcePrefix(ViewSourceReportData src, List<String> row) {
 		ViewSourcesReportQueryBean s = src.getViewSource();
 		row.add(s.getViewid());
@@ -354,7 +330,8 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		row.add(s.getLogfileid());
 	}
 
-	private void addMappingsHeaders() {
+	private List<String> getMappingsHeaders() {
+		List<String> headers = new ArrayList<>();
 		headers.add("View");
 		headers.add("Logical Record Name");
 		headers.add("Logical Record ID");
@@ -375,7 +352,18 @@ public class ViewCsvReport extends  GenevaCSVReport  {
 		headers.add("Visible");
 		headers.add("Spaces");
 		headers.add("FormatPhaseCalculation");
+		// filled in for the columns which are sort keys
+		headers.add("Sort Sequence Number");
+		headers.add("Start Position");
+		headers.add("Order");
+		headers.add("Sort Break");
+		headers.add("Label");
+		headers.add("Datatype");
+		headers.add("Format");
+		headers.add("Length");
+		headers.add("DecimalPlaces");
+		headers.add("Signed");
+		return headers;
 	}
 
-
 }
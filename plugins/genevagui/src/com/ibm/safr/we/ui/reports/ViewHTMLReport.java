@@ -160,10 +160,26 @@ private boolean isFormatView(ViewReportData vw){
 	@Override
 	protected ContainerTag<DivTag> bodyContent() {
 		return div(
-				h1("View Properties Report"),
+				getTitle(),
 				each(viewReportData.values(), vw -> getViewReport(vw))
 			);
 	}
+
+	private DomContent getTitle() {
+		return h1("View Properties Report");
+	}
+
+	/**
+	 * Writes the title of a report which is written a view at a time, after
+	 * {@link #start()}.
+	 */
+	public void writeTitle() {
+		writeContent(getTitle());
+	}
+
+	public void writeView(ViewReportData vw) {
+		writeContent(getViewReport(vw));
+	}
 	
 	private ContainerTag<DivTag> getSourceIODetails(ViewReportData vw) {
 		return div(
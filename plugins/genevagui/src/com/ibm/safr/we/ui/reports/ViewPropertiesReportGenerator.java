@@ -21,141 +21,162 @@ import java.nio.file.Path;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.ibm.safr.we.SAFRUtilities;
-import com.ibm.safr.we.constants.Codes;
-import com.ibm.safr.we.data.DAOException;
 import com.ibm.safr.we.data.DAOFactoryHolder;
-import com.ibm.safr.we.exceptions.SAFRDependencyException;
+import com.ibm.safr.we.data.DAOUOWInterruptedException;
+import com.ibm.safr.we.data.dao.ReportsDAO;
 import com.ibm.safr.we.exceptions.SAFRException;
-import com.ibm.safr.we.model.Code;
-import com.ibm.safr.we.model.LRField;
 import com.ibm.safr.we.model.SAFRApplication;
-import com.ibm.safr.we.model.query.LogicalRecordQueryBean;
-import com.ibm.safr.we.model.query.LookupQueryBean;
-import com.ibm.safr.we.model.query.ViewMappingsCSVReportQueryBean;
 import com.ibm.safr.we.model.query.ViewMappingsReportQueryBean;
 import com.ibm.safr.we.model.query.ViewPropertiesReportQueryBean;
 import com.ibm.safr.we.model.query.ViewSortKeyReportQueryBean;
 import com.ibm.safr.we.model.query.ViewSourcesReportQueryBean;
+import com.ibm.safr.we.model.utilities.BackgroundCalls;
 import com.ibm.safr.we.model.view.View;
-import com.ibm.safr.we.model.view.ViewColumn;
-import com.ibm.safr.we.model.view.ViewColumnSource;
-import com.ibm.safr.we.model.view.ViewSource;
-import com.ibm.safr.we.ui.utilities.UIUtilities;
 
+/**
+ * The View Properties report. The properties of all the views are read when
+ * the report is created, so views which are missing are known before it is
+ * written. The sources and column mappings are read a batch at a time, each
+ * batch with one query per kind of data, and each batch is written to the
+ * HTML and CSV files before the next is read, so that only a few batches are
+ * held in memory. When there are several batches they are read in parallel,
+ * each on its own pooled connection, and written in view id order.
+ */
 public class ViewPropertiesReportGenerator implements IReportGenerator {
 
     static transient Logger logger = Logger.getLogger("com.ibm.safr.we.ui.reports.ViewPropertiesReportData");
     
-	private Map<Integer, ViewReportData> viewReportDataById = new TreeMap<>();
+    // the number of views read in one go
+    private static final int BATCH_SIZE = 100;
+    
 	private List<String> errorMsgList = new ArrayList<String>();
+	private boolean hasData = false;
 
-	private Map<Integer, ViewSortKeyReportQueryBean> viewSortKeys;
-
-	private ViewCSVWrapper csvwrapper;
-	
 	private ViewHTMLReport htmlReport = new ViewHTMLReport();
 	private ViewCsvReport csvReport = new ViewCsvReport();
 
 	private List<Integer> viewIDs;
 
-	public ViewPropertiesReportGenerator(List<Integer> viewIDs) throws SAFRException {
-		this.viewIDs = viewIDs;
-		for (int id : viewIDs) {
-			loadData(id);
+	// the properties of the views which exist, by view id
+	private Map<Integer, ViewPropertiesReportQueryBean> properties = new TreeMap<>();
+
+	// the report data of a batch of views, keyed by view id
+	private static class ViewBatch {
+		private final List<Integer> viewIds;
+		private final Map<Integer, ViewReportData> views = new TreeMap<>();
+		private final List<String> errors = new ArrayList<String>();
+
+		private ViewBatch(List<Integer> viewIds) {
+			this.viewIds = viewIds;
 		}
-		getCSVColumMappings(viewIDs);
 	}
 
-	private void getCSVColumMappings(List<Integer> viewIDs) {
-		int envId = SAFRApplication.getUserSession().getEnvironment().getId();
-		List<ViewMappingsCSVReportQueryBean> csvmaps = DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewColumnCSVMappings(viewIDs, envId);
-		csvwrapper = new ViewCSVWrapper(csvmaps);
+	public ViewPropertiesReportGenerator(List<Integer> viewIDs) throws SAFRException {
+		this.viewIDs = viewIDs;
+		loadProperties();
 	}
 
 	public ViewPropertiesReportGenerator(View view) throws SAFRException {
-		loadData( view.getId());
+		this.viewIDs = Collections.singletonList(view.getId());
+		loadProperties();
+	}
+
+	private void loadProperties() {
+		int envId = SAFRApplication.getUserSession().getEnvironment().getId();
+		ReportsDAO dao = DAOFactoryHolder.getDAOFactory().getReportsDAO();
+		// in view id order, as the report has always been
+		List<Integer> ids = new ArrayList<Integer>(new TreeSet<Integer>(viewIDs));
+		for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+			List<Integer> batchIds = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+			try {
+				for (ViewPropertiesReportQueryBean vp : dao.getViewProperties(batchIds, envId)) {
+					properties.put(toId(vp.getViewid()), vp);
+				}
+				for (Integer viewId : batchIds) {
+					if (!properties.containsKey(viewId)) {
+						errorMsgList.add("View: " + viewId + " - Unable to load as it does not exist.");
+					}
+				}
+			} catch (Exception ex) {
+				logger.log(Level.SEVERE, "Unable to load", ex);
+				errorMsgList.add("Views: " + batchIds
+						+ " - Unable to load due to below unexpected error:" + SAFRUtilities.LINEBREAK + "    "
+						+ ex.toString());
+			}
+		}
+		hasData = !properties.isEmpty();
 	}
 
 	// A view has some inherent properties
 	// And a number of sources from which data is mapped to each view column
 	//
 	// View columns may also have an associated sort key
-	private void loadData( Integer viewId) {
+	private ViewBatch loadBatch(ViewBatch batch, int envId) {
 		try {
-			
-			int envId = SAFRApplication.getUserSession().getEnvironment().getId();
-			ViewPropertiesReportQueryBean vp = DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewProperties(viewId, envId);
-			ViewReportData viewData = new ViewReportData(vp);
-			
+			ReportsDAO dao = DAOFactoryHolder.getDAOFactory().getReportsDAO();
+			for (Integer viewId : batch.viewIds) {
+				ViewReportData viewData = new ViewReportData(properties.get(viewId));
+				viewData.setViewSourcesData(new ArrayList<ViewSourceReportData>());
+				batch.views.put(viewId, viewData);
+			}
+
 			//get sortkey data to be available later
-			viewSortKeys = getSortKeysReportDataByColumnID(viewId, envId);
-			
-			List<ViewSourcesReportQueryBean> viewSources = getViewSourcesReportData(viewId, envId);		
-			List<ViewSourceReportData> viewSourcesData = getColumnMappingsForEachSource(viewId, envId, viewSources);
-			viewData.setViewSourcesData(viewSourcesData);
-			
-//			List<ViewReportData> viewPropertiesList = new ArrayList<>();
-//			viewPropertiesList.add(viewData);
-
-			viewReportDataById.put(viewId, viewData);
-		} catch (SAFRDependencyException e) {
-			errorMsgList
-					.add("View: "
-							+ viewId
-							+ "- Unable to load as below dependent components are inactive:" + SAFRUtilities.LINEBREAK
-							+ e.getDependencyString(4));
+			Map<Integer, ViewSortKeyReportQueryBean> sortKeys = new HashMap<>();
+			for (ViewSortKeyReportQueryBean vsk : dao.getViewSortKeys(batch.viewIds, envId)) {
+				sortKeys.put(toId(vsk.getViewcolumnid()), vsk);
+			}
+
+			// sources keyed by view id and source number
+			Map<String, ViewSourceReportData> sources = new HashMap<>();
+			for (ViewSourcesReportQueryBean vs : dao.getViewSources(batch.viewIds, envId)) {
+				ViewReportData viewData = batch.views.get(toId(vs.getViewid()));
+				if (viewData != null) {
+					ViewSourceReportData vsrd = new ViewSourceReportData(vs);
+					vsrd.setColumnMappings(new ArrayList<ViewMappingsReportQueryBean>());
+					viewData.getViewSources().add(vsrd);
+					sources.put(getSourceKey(vs.getViewid(), vs.getSrcseqnbr()), vsrd);
+				}
+			}
+
+			for (ViewMappingsReportQueryBean vcm : dao.getViewColumnMappings(batch.viewIds, envId)) {
+				ViewSourceReportData vsrd = sources.get(getSourceKey(vcm.getViewid(), vcm.getSrcseqnbr()));
+				if (vsrd != null) {
+					ViewSortKeyReportQueryBean sk = sortKeys.get(toId(vcm.getViewcolumnid()));
+					if (sk != null) {
+						vcm.setSortKey(sk);
+					}
+					vsrd.getColumnMappings().add(vcm);
+				}
+			}
 		} catch (Exception ex) {
             logger.log(Level.SEVERE, "Unable to load", ex);         
-			errorMsgList.add("View: " + viewId
+			batch.views.clear();
+			batch.errors.add("Views: " + batch.viewIds
 					+ " - Unable to load due to below unexpected error:" + SAFRUtilities.LINEBREAK + "    "
 					+ ex.toString());
 		}
+		return batch;
 	}
 
-	private List<ViewSourceReportData> getColumnMappingsForEachSource(Integer id, int envId, List<ViewSourcesReportQueryBean> viewSources) {
-		List<ViewSourceReportData> viewSourcesData = new ArrayList();
-		for(ViewSourcesReportQueryBean vs : viewSources) {
-			ViewSourceReportData vsrd = new ViewSourceReportData(vs);
-			List<ViewMappingsReportQueryBean> vcms = getViewColumnMappingsForSource(id, envId, vs);
-			addAssociatedSortkeysToColumns(vcms);
-			vsrd.setColumnMappings(vcms);
-			viewSourcesData.add(vsrd);
-		}
-		return viewSourcesData;
-	}
-
-	private List<ViewSourcesReportQueryBean> getViewSourcesReportData(int viewID, int envid) throws DAOException, SAFRException {
-		return DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewSources(viewID, envid);
+	private static Integer toId(String id) {
+		return Integer.valueOf(id.trim());
 	}
 
-	private  Map<Integer, ViewSortKeyReportQueryBean> getSortKeysReportDataByColumnID(int viewId, int envID) throws DAOException, SAFRException {
-		Map<Integer, ViewSortKeyReportQueryBean> skws = new HashMap<>(); 
-		List<ViewSortKeyReportQueryBean> vskqbs = DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewSortKeys(viewId, envID );
-		for(ViewSortKeyReportQueryBean vsk : vskqbs) {
-			skws.put(Integer.valueOf(vsk.getViewcolumnid()), vsk);
-		}
-		return skws;
-	}
-	
-	private  List<ViewMappingsReportQueryBean> getViewColumnMappingsForSource(int viewID, int envid, ViewSourcesReportQueryBean vs) throws DAOException, SAFRException {
-		return DAOFactoryHolder.getDAOFactory().getReportsDAO().getViewColumnMappings(viewID, envid, vs.getSrcseqnbr() );
-	}
-	
-	private void addAssociatedSortkeysToColumns(List<ViewMappingsReportQueryBean> vcms) {
-		for(ViewMappingsReportQueryBean vcm : vcms) {
-			ViewSortKeyReportQueryBean sk = viewSortKeys.get(Integer.valueOf(vcm.getViewcolumnid()));
-			if(sk != null) {
-				vcm.setSortKey(sk);
-			}
-		}		
+	private static String getSourceKey(String viewId, String sourceNumber) {
+		return toId(viewId) + ":" + toId(sourceNumber);
 	}
 
 	public List<String> getErrors() {
@@ -163,23 +184,7 @@ public class ViewPropertiesReportGenerator implements IReportGenerator {
 	}
 
 	public boolean hasData() {
-		return (!this.viewReportDataById.isEmpty());
-	}
-
-	public String getPropsCsv() {
-		String csv = "";
-		if(viewReportDataById.size() > 0) {
-			boolean headerNotDone = true;
-//			for(List<Object> vplist : viewPropertiesMap.values()) {
-//				ViewHTLMREport vrw= (ViewHTLMREport) vplist.get(0);
-//				if(headerNotDone) {
-//					csv += vrw.getViewPropertiesHeaderCsv();
-//					headerNotDone = false;
-//				}
-//				csv += vrw.getViewPropertiesDataCsv();
-//			}
-		}
-		return csv;
+		return hasData;
 	}
 
 	@Override
@@ -189,23 +194,90 @@ public class ViewPropertiesReportGenerator implements IReportGenerator {
 
 	@Override
 	public void writeReportFiles(Path path, String baseName) {
-		writeHtmlReport(path, baseName);
-		writeCsvReports(path, baseName);
+		htmlReport.setFileName(path, baseName , viewIDs);
+		csvReport.setFileName(path, baseName , viewIDs);
+		htmlReport.start();
+		try {
+			htmlReport.writeTitle();
+			csvReport.open();
+			writeBatches(getBatches());
+		} finally {
+			htmlReport.finish();
+			csvReport.close();
+		}
 	}
 
-	private void writeCsvReports(Path path, String baseName) {
-		csvReport.setFileName(path, baseName , viewIDs);
-		csvReport.addViewData(viewReportDataById);
-		csvReport.writeProperties();
-		csvReport.writeSourcesAndMappings();
+	private List<ViewBatch> getBatches() {
+		List<Integer> ids = new ArrayList<Integer>(properties.keySet());
+		List<ViewBatch> batches = new ArrayList<ViewBatch>();
+		for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+			batches.add(new ViewBatch(ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()))));
+		}
+		return batches;
 	}
 
-	private void writeHtmlReport(Path path, String baseName) {
-		htmlReport.setFileName(path, baseName , viewIDs);
-		for (int id : viewIDs) {
-			loadData(id);
+	/**
+	 * Read the batches and write each in turn. When there is more than one,
+	 * several are read at once as {@link BackgroundCalls}, and a batch is only
+	 * started once an earlier one has been written so the number held in
+	 * memory stays bounded.
+	 */
+	private void writeBatches(List<ViewBatch> batches) {
+		final int envId = SAFRApplication.getUserSession().getEnvironment().getId();
+		int threads = Math.min(Runtime.getRuntime().availableProcessors(),
+			DAOFactoryHolder.getDAOFactory().getConnectionParameters().getPoolSize());
+		threads = Math.min(threads, batches.size());
+		if (threads <= 1) {
+			for (ViewBatch batch : batches) {
+				writeBatch(loadBatch(batch, envId));
+			}
+			return;
+		}
+
+		LinkedList<ViewBatch> pending = new LinkedList<ViewBatch>();
+		LinkedList<Future<ViewBatch>> loading = new LinkedList<Future<ViewBatch>>();
+		try {
+			int next = 0;
+			while (next < batches.size() || !loading.isEmpty()) {
+				while (next < batches.size() && loading.size() < threads) {
+					ViewBatch batch = batches.get(next++);
+					pending.add(batch);
+					loading.add(BackgroundCalls.submit(getLoader(batch, envId)));
+				}
+				ViewBatch batch = pending.removeFirst();
+				try {
+					batch = BackgroundCalls.waitFor(loading.removeFirst(),
+						"View Properties report interrupted.",
+						"Unexpected error occurred while reading the View Properties report.");
+				} catch (DAOUOWInterruptedException e) {
+					throw e;
+				} catch (SAFRException e) {
+					// no pooled connection for the batch
+					logger.log(Level.SEVERE, "Unable to load", e);
+					batch.errors.add("Views: " + batch.viewIds
+							+ " - Unable to load due to below unexpected error:" + SAFRUtilities.LINEBREAK + "    "
+							+ e.toString());
+				}
+				writeBatch(batch);
+			}
+		} finally {
+			BackgroundCalls.cancel(loading);
+		}
+	}
+
+	private Callable<ViewBatch> getLoader(final ViewBatch batch, final int envId) {
+		return new Callable<ViewBatch>() {
+			public ViewBatch call() {
+				return loadBatch(batch, envId);
+			}
+		};
+	}
+
+	private void writeBatch(ViewBatch batch) {
+		errorMsgList.addAll(batch.errors);
+		for (ViewReportData vw : batch.views.values()) {
+			htmlReport.writeView(vw);
 		}
-		htmlReport.addViewData(viewReportDataById);
-		htmlReport.write();
+		csvReport.writeViews(batch.views.values());
 	}
 }
@@ -0,0 +1,196 @@
+package com.ibm.safr.we.ui.utilities;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.swt.widgets.Display;
+
+import com.ibm.safr.we.data.DAOFactoryHolder;
+import com.ibm.safr.we.data.DAOUOWInterruptedException;
+import com.ibm.safr.we.exceptions.SAFRException;
+
+/**
+ * A job which runs model and DAO calls in the background, shows its progress
+ * in the Workbench's progress view and hands its result back to the display
+ * thread, so the user interface stays usable while it runs.
+ * <p>
+ * {@link #call(IProgressMonitor)} runs on the job's thread with a pooled
+ * connection. Exactly one of {@link #done(Object)},
+ * {@link #failed(SAFRException)} or {@link #cancelled()} is then called on
+ * the display thread, also when the job is cancelled before it starts.
+ * <p>
+ * Cancelling the job, from the progress view or with {@link #cancel()} or
+ * <code>getFuture().cancel(true)</code>, interrupts its thread. The model
+ * then stops at its next check with a {@link DAOUOWInterruptedException},
+ * which is reported as a cancellation rather than an error. A job runs once.
+ */
+public abstract class BackgroundJob<T> extends Job {
+
+    private final Display display;
+    private final FutureTask<T> task;
+    private IProgressMonitor monitor;
+
+    public BackgroundJob(String name) {
+        super(name);
+        Display current = Display.getCurrent();
+        display = current == null ? Display.getDefault() : current;
+        task = new FutureTask<T>(new Callable<T>() {
+            public T call() throws Exception {
+                DAOFactoryHolder.getDAOFactory().attachPooledConnection();
+                try {
+                    return BackgroundJob.this.call(monitor);
+                } finally {
+                    DAOFactoryHolder.getDAOFactory().releasePooledConnection();
+                }
+            }
+        });
+        addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                // a job cancelled before it started never ran its task
+                task.cancel(false);
+                if (!display.isDisposed()) {
+                    display.asyncExec(new Runnable() {
+                        public void run() {
+                            complete();
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Does the work of the job on its own thread.
+     * 
+     * @param monitor
+     *            for reporting progress; see also
+     *            {@link #checkCancelled(IProgressMonitor)}
+     * @return the result handed to {@link #done(Object)}
+     * @throws SAFRException
+     */
+    protected abstract T call(IProgressMonitor monitor) throws SAFRException;
+
+    /**
+     * Called on the display thread with the result of a job which
+     * completed.
+     */
+    protected void done(T result) {
+    }
+
+    /**
+     * Called on the display thread when the job fails. Shows the error.
+     */
+    protected void failed(SAFRException e) {
+        UIUtilities.handleWEExceptions(e, "Unexpected error occurred while " 
+            + getName().toLowerCase() + ".", null);
+    }
+
+    /**
+     * Called on the display thread when the job has been cancelled.
+     */
+    protected void cancelled() {
+    }
+
+    /**
+     * Schedules the job.
+     * 
+     * @return the result of the job, which can be waited for off the display
+     *         thread or cancelled
+     */
+    public Future<T> start() {
+        schedule();
+        return task;
+    }
+
+    /**
+     * @return the result of the job
+     */
+    public Future<T> getFuture() {
+        return task;
+    }
+
+    /**
+     * Stop the job's work if the user has cancelled it.
+     * 
+     * @throws DAOUOWInterruptedException
+     *             if the job has been cancelled
+     */
+    protected void checkCancelled(IProgressMonitor monitor) throws DAOUOWInterruptedException {
+        if (monitor.isCanceled() || Thread.currentThread().isInterrupted()) {
+            throw new DAOUOWInterruptedException(getName() + " cancelled.");
+        }
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        this.monitor = monitor;
+        monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
+        try {
+            task.run();
+        } finally {
+            // cancelling may leave the interrupt set on this pooled thread
+            Thread.interrupted();
+            monitor.done();
+        }
+        return task.isCancelled() || monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    }
+
+    @Override
+    protected void canceling() {
+        task.cancel(true);
+    }
+
+    private void complete() {
+        T result;
+        try {
+            result = task.get();
+        } catch (CancellationException e) {
+            cancelled();
+            return;
+        } catch (InterruptedException e) {
+            // the task is done so this does not wait
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DAOUOWInterruptedException) {
+                cancelled();
+            } else if (cause instanceof SAFRException) {
+                failed((SAFRException) cause);
+            } else {
+                failed(new SAFRException("Unexpected error occurred while " 
+                    + getName().toLowerCase() + ".", cause));
+            }
+            return;
+        }
+        done(result);
+    }
+}
@@ -33,16 +33,15 @@ import com.ibm.safr.we.SAFRUtilities;
 import com.ibm.safr.we.constants.CodeCategories;
 import com.ibm.safr.we.constants.Codes;
 import com.ibm.safr.we.constants.LogicTextType;
-import com.ibm.safr.we.constants.SortType;
+import com.ibm.safr.we.data.transfer.FileAssociationTransfer;
+import com.ibm.safr.we.data.transfer.LRFieldTransfer;
 import com.ibm.safr.we.exceptions.SAFRException;
-import com.ibm.safr.we.model.LRField;
 import com.ibm.safr.we.model.LookupPathSourceField;
 import com.ibm.safr.we.model.SAFRApplication;
+import com.ibm.safr.we.model.SymbolTable;
 import com.ibm.safr.we.model.associations.FileAssociation;
-import com.ibm.safr.we.model.associations.SAFRAssociationFactory;
 import com.ibm.safr.we.model.query.LogicalFileQueryBean;
 import com.ibm.safr.we.model.query.LookupQueryBean;
-import com.ibm.safr.we.model.query.SAFRQuery;
 import com.ibm.safr.we.model.query.UserExitRoutineQueryBean;
 import com.ibm.safr.we.model.view.ViewColumn;
 import com.ibm.safr.we.model.view.ViewSource;
@@ -146,15 +145,13 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 	}
 
 	private void addFileChildNodes(LogicTextViewTreeNode item) {
-		List<FileAssociation> lfPfAssociationlist = SAFRAssociationFactory
-				.getLogicalFileToPhysicalFileAssociations(
-						(LogicalFileQueryBean) item
-								.getData())
-				.getActiveItems();
+		List<FileAssociationTransfer> lfPfAssociationlist = getSymbolTable()
+				.getPhysicalFiles(((LogicalFileQueryBean) item.getData()).getId());
 		List<LogicTextViewTreeNode> lfChildrenList = new ArrayList<LogicTextViewTreeNode>();
 		String lfName = ((LogicalFileQueryBean) item.getData()).getNameLabel();
 		if (!lfPfAssociationlist.isEmpty()) {
-			for (FileAssociation lfPfAssociation : lfPfAssociationlist) {
+			for (FileAssociationTransfer lfPfTransfer : lfPfAssociationlist) {
+				FileAssociation lfPfAssociation = new FileAssociation(lfPfTransfer);
 				String pfEditorText = "{"
 						+ lfName
 						+ "."
@@ -180,14 +177,16 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 	private void addLookupPathChildNodes(LogicTextViewTreeNode item, ViewSource viewSource) {
 		LogicTextViewTreeNode lookUpPathChild = item;
 		// populate Lookup path fields.
-		List<LRField> lrFieldList = viewSource.getLookupFields(
+		Integer targetLRId = viewSource.getTargetLR(
 		    ((LookupQueryBean) lookUpPathChild.getData()).getId());
+		List<LRFieldTransfer> lrFieldList = targetLRId == null ? null :
+		    getSymbolTable().getLRFields(targetLRId);
 		List<LogicTextViewTreeNode> lookUpPathsFields = 
 		    new ArrayList<LogicTextViewTreeNode>();
 		String lookUpPathChildName = lookUpPathChild.getName().substring(
 		    0,lookUpPathChild.getName().lastIndexOf('}'));
 		if (lrFieldList != null) {
-			for (LRField field : lrFieldList) {
+			for (LRFieldTransfer field : lrFieldList) {
 				String fieldText = lookUpPathChildName
 						+ "." + field.getName() + "}";
 				LogicTextViewTreeNode lookupLTModel = new LogicTextViewTreeNode(
@@ -208,7 +207,7 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 
 	private void addExtractFiles(LogicTextViewTreeNode item, ViewSource viewSource) {
 		// load logical files.
-		List<LogicalFileQueryBean> lfQueryBeanList = SAFRQuery.queryAllLogicalFiles(viewSource.getEnvironment().getId(), SortType.SORT_BY_NAME);
+		List<LogicalFileQueryBean> lfQueryBeanList = getSymbolTable().getLogicalFiles();
 		List<LogicTextViewTreeNode> filesChildList = new ArrayList<LogicTextViewTreeNode>();
 		if (lfQueryBeanList != null) {
 			for (LogicalFileQueryBean logicalFileQueryBean : lfQueryBeanList) {
@@ -224,18 +223,9 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 	}
 
 	private void addExtractWriteProcedures(LogicTextViewTreeNode item) {
-		// get the list of UXR query beans of type WRITE
-		List<UserExitRoutineQueryBean> procList = SAFRQuery
-				.queryUserExitRoutines(
-						UIUtilities
-								.getCurrentEnvironmentID(),
-						SAFRApplication
-								.getSAFRFactory()
-								.getCodeSet(
-										CodeCategories.EXITTYPE)
-								.getCode(Codes.WRITE)
-								.getKey(),
-						SortType.MODULE_NAME);
+		// get the list of UXR query beans of type WRITE, in program order
+		List<UserExitRoutineQueryBean> procList = getSymbolTable()
+				.findUserExitPrograms(getWriteExitTypeKey(), "");
 		List<LogicTextViewTreeNode> proceduresChildList = new ArrayList<LogicTextViewTreeNode>();
 		if (procList != null) {
 			for (UserExitRoutineQueryBean proc : procList) {
@@ -260,17 +250,8 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 
 	private void addExtractWriteUserExits(LogicTextViewTreeNode item) {
 		// get the list of UXR query beans of type WRITE
-		List<UserExitRoutineQueryBean> userExitRoutineList = SAFRQuery
-				.queryUserExitRoutines(
-						UIUtilities
-								.getCurrentEnvironmentID(),
-						SAFRApplication
-								.getSAFRFactory()
-								.getCodeSet(
-										CodeCategories.EXITTYPE)
-								.getCode(Codes.WRITE)
-								.getKey(),
-						SortType.SORT_BY_NAME);
+		List<UserExitRoutineQueryBean> userExitRoutineList = getSymbolTable()
+				.getUserExitRoutines(getWriteExitTypeKey());
 		List<LogicTextViewTreeNode> userExitRoutineChildList = new ArrayList<LogicTextViewTreeNode>();
 		if (userExitRoutineList != null) {
 			for (UserExitRoutineQueryBean userExitRoutine : userExitRoutineList) {
@@ -342,6 +323,17 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 		}
 	}
 
+	private SymbolTable getSymbolTable() {
+		return SAFRApplication.getSAFRFactory().getSymbolTable(
+				logicTextEditorInput.getView().getEnvironmentId());
+	}
+
+	private String getWriteExitTypeKey() {
+		return SAFRApplication.getSAFRFactory()
+				.getCodeSet(CodeCategories.EXITTYPE).getCode(Codes.WRITE)
+				.getKey();
+	}
+
 	private ViewSource getExtractViewSource() {
 		ViewSource viewSource = null;
 		if (logicTextType == LogicTextType.Extract_Column_Assignment) {
@@ -421,12 +413,11 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 				} else if (logicTextType == LogicTextType.Extract_Record_Filter) {
 					ViewSource viewSource = ((ERFLogicTextEditorInput)logicTextEditorInput).getViewSource();
 					if (item.getId() == TreeItemId.FIELDS) {
-						List<LRField> fields = null;
-						fields = SAFRApplication.getSAFRFactory().getLRFields(viewSource.getLrFileAssociation().getAssociatingComponentId());
+						List<LRFieldTransfer> fields = getSymbolTable().getLRFields(viewSource.getLrFileAssociation().getAssociatingComponentId());
 						List<LogicTextViewTreeNode> fieldsChildren = new ArrayList<LogicTextViewTreeNode>();
 						if (fields != null) {
-							for (Iterator<LRField> iterator = fields.iterator(); iterator.hasNext();) {
-								LRField field = (LRField) iterator.next();
+							for (Iterator<LRFieldTransfer> iterator = fields.iterator(); iterator.hasNext();) {
+								LRFieldTransfer field = iterator.next();
 								String fieldText = "{" + field.getName() + "}";
 								String titleText = fieldText + " [" + field.getId() + "]";
 								LogicTextViewTreeNode fieldChild = new LogicTextViewTreeNode(TreeItemId.FIELDS_CHILD, titleText, item, fieldText, fieldText.length(), titleText, null);
@@ -461,12 +452,11 @@ public class LogicTextViewTreeContentProvider implements ITreeContentProvider {
 				} else if (logicTextType == LogicTextType.Extract_Column_Assignment || logicTextType == LogicTextType.Extract_Record_Output) {
                     ViewSource viewSource = getExtractViewSource();
 					if (item.getId() == TreeItemId.FIELDS) {
-						List<LRField> fields = null;
-						fields = SAFRApplication.getSAFRFactory().getLRFields(viewSource.getLrFileAssociation().getAssociatingComponentId());
+						List<LRFieldTransfer> fields = getSymbolTable().getLRFields(viewSource.getLrFileAssociation().getAssociatingComponentId());
 						List<LogicTextViewTreeNode> fieldsChildren = new ArrayList<LogicTextViewTreeNode>();
 						if (fields != null) {
-							for (Iterator<LRField> iterator = fields.iterator(); iterator.hasNext();) {
-								LRField field = (LRField) iterator.next();									
+							for (Iterator<LRFieldTransfer> iterator = fields.iterator(); iterator.hasNext();) {
+								LRFieldTransfer field = iterator.next();									
 								String fieldText = "{" + field.getName()+ "}";
 								String titleText = fieldText + " [" + field.getId() + "]";
 								LogicTextViewTreeNode fieldChild = new LogicTextViewTreeNode(TreeItemId.FIELDS_CHILD, titleText, item, fieldText, fieldText.length(), titleText, null);
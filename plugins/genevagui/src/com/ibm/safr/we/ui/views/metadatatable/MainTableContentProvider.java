@@ -19,120 +19,388 @@ package com.ibm.safr.we.ui.views.metadatatable;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.viewers.IIndexableLazyContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
 
 import com.ibm.safr.we.constants.SortType;
 import com.ibm.safr.we.data.DAOException;
+import com.ibm.safr.we.exceptions.SAFRException;
+import com.ibm.safr.we.model.query.NumericIdQueryBean;
 import com.ibm.safr.we.model.query.SAFRQuery;
 import com.ibm.safr.we.model.query.SAFRQueryBean;
+import com.ibm.safr.we.model.query.UserQueryBean;
+import com.ibm.safr.we.ui.ApplicationMediator;
+import com.ibm.safr.we.ui.utilities.BackgroundJob;
 import com.ibm.safr.we.ui.utilities.UIUtilities;
 import com.ibm.safr.we.ui.views.navigatortree.MainTreeItem;
 import com.ibm.safr.we.ui.views.navigatortree.MainTreeItem.TreeItemId;
 
-public class MainTableContentProvider implements IStructuredContentProvider {
+/**
+ * Content of the virtual metadata table. The components of the selected
+ * navigator item are read once and the table asks for a row only when it is
+ * shown, so a list of many thousands of components costs no more to display
+ * than a screenful.
+ * <p>
+ * Sorting and filtering are done here rather than by the viewer. The upper
+ * case names are indexed as the list is read, so the filter does not convert
+ * every name on every keystroke, and a search which extends the previous one
+ * only looks at the rows that are already shown.
+ * <p>
+ * The components are read by a background job so the Workbench stays usable
+ * while a long list is read. The table is empty, or keeps showing the old
+ * list when refreshing, until the job is done. A read which is overtaken by a
+ * newer one is cancelled and its result dropped.
+ */
+public class MainTableContentProvider implements IIndexableLazyContentProvider {
 	private List<SAFRQueryBean> componentList = new ArrayList<SAFRQueryBean>();
+	private String[] nameIndex = new String[0];
+	private int[] order = new int[0];
+	private int[] rows = new int[0];
+	private Map<Object, Integer> rowIndex;
 	private MainTreeItem prevTreeItem;
-	private boolean forceRefresh;
-
-	public Object[] getElements(Object inputElement) {
-		try {
-			MainTreeItem currId = (MainTreeItem) inputElement;
-			TreeItemId inputElementID = ((MainTreeItem) inputElement).getId();
-			if (!currId.equals(prevTreeItem) || forceRefresh) {
-				prevTreeItem = currId;
-				if (inputElementID.equals(TreeItemId.VIEWFOLDERCHILD)) {
-					// SAFRQuery will return a list of all views.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllViewsConv(
-					    UIUtilities.getCurrentEnvironmentID(),
-					    ((MainTreeItem) inputElement).getMetadataId(),
-					    SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.ENV)) {
-					// SAFRQuery will return a list of all environments.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryEnvironmentsForLoggedInUser(
-					    SortType.SORT_BY_NAME, false));
-				} else if ((inputElementID).equals(TreeItemId.CONTROL)) {
-					// SAFRQuery will return a list of all control records.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllControlRecords(
-							UIUtilities.getCurrentEnvironmentID(),
-							SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.PHYSICALFILE)) {
-					// SAFRQuery will return a list of all physical files.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllPhysicalFiles(
-							UIUtilities.getCurrentEnvironmentID(),
-							SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.GROUP)) {
-					// SAFRQuery will return a list of all Groups.
-					componentList.clear();
-					componentList.addAll(SAFRQuery
-							.queryAllGroups(SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.VIEWFOLDER)) {
-					// SAFRQuery will return a list of all View Folders.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllViewFolders(
-							UIUtilities.getCurrentEnvironmentID(),
-							SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.USER)) {
-					// SAFRQuery will return a list of all users
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllUsers());
-				} else if ((inputElementID).equals(TreeItemId.USEREXITROUTINE)) {
-					// SAFRQuery will return a list of all USEREXITROUTINE.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllUserExitRoutines(
-							UIUtilities.getCurrentEnvironmentID(),
-							SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.LOGICALRECORD)) {
-					// SAFRQuery will return a list of all LOGICALRECORD.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllLogicalRecords(
-							UIUtilities.getCurrentEnvironmentID(),
-							SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.LOOKUP)) {
-					// SAFRQuery will return a list of all LOOKUP.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllLookups(UIUtilities
-							.getCurrentEnvironmentID(), SortType.SORT_BY_NAME));
-				} else if ((inputElementID).equals(TreeItemId.LOGICALFILE)) {
-					// SAFRQuery will return a list of all LOGICALFILE.
-					componentList.clear();
-					componentList.addAll(SAFRQuery.queryAllLogicalFiles(
-							UIUtilities.getCurrentEnvironmentID(),
-							SortType.SORT_BY_NAME));
-				} else {
-					componentList.clear();
-					return new String[0];
-				}
+	private TableViewer viewer;
+	private MainTableFilter filter;
+	private ViewerComparator comparator;
+	private String appliedSearch;
+	private boolean appliedByName;
+	private BackgroundJob<List<SAFRQueryBean>> loadJob;
+
+	public void updateElement(int index) {
+		if (index < rows.length) {
+			viewer.replace(componentList.get(rows[index]), index);
+		}
+	}
+
+	public int findElement(Object element) {
+		if (rowIndex == null) {
+			rowIndex = new IdentityHashMap<Object, Integer>();
+			for (int i = 0; i < rows.length; i++) {
+				rowIndex.put(componentList.get(rows[i]), i);
 			}
-			return componentList.toArray();
-		} catch (DAOException e) {
-			UIUtilities
-					.handleWEExceptions(
-							e,
-							"Unexpected database error occurred while getting elements for Metadata table.",
-							UIUtilities.titleStringDbException);
 		}
-		return new String[0];
+		Integer index = rowIndex.get(element);
+		return index == null ? -1 : index;
 	}
 
-	public void dispose() {
+	/**
+	 * @return the number of rows shown after filtering
+	 */
+	public int getRowCount() {
+		return rows.length;
+	}
+
+	/**
+	 * @return the component shown in a row of the table
+	 */
+	public SAFRQueryBean getElement(int index) {
+		return componentList.get(rows[index]);
+	}
+
+	/**
+	 * @return the components shown in the table, in the order shown
+	 */
+	public List<SAFRQueryBean> getElements() {
+		List<SAFRQueryBean> elements = new ArrayList<SAFRQueryBean>(rows.length);
+		for (int row : rows) {
+			elements.add(componentList.get(row));
+		}
+		return elements;
+	}
+
+	public void setFilter(MainTableFilter filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Sorts the rows with the comparator of the selected column.
+	 */
+	public void setComparator(ViewerComparator comparator) {
+		this.comparator = comparator;
+		sort();
+		applyFilter(false);
+		refreshAll();
+	}
+
+	/**
+	 * Applies a change to the search text of the filter.
+	 */
+	public void filterChanged() {
+		applyFilter(true);
+		refreshAll();
 	}
 
-	public void setForceRefresh(boolean forceRefresh) {
-		this.forceRefresh = forceRefresh;
+	/**
+	 * Reads the components again after some have been stored. Only the rows
+	 * which now show something different are redrawn.
+	 */
+	public void refresh() {
+		if (prevTreeItem == null || viewer == null) {
+			return;
+		}
+		startLoad(prevTreeItem, true);
+	}
+
+	private void refreshChanged(List<SAFRQueryBean> newList) {
+		ITableLabelProvider labels = (ITableLabelProvider) viewer.getLabelProvider();
+		int columns = viewer.getTable().getColumnCount();
+		List<SAFRQueryBean> oldList = componentList;
+		int[] oldRows = rows;
+		setComponents(newList);
+		sort();
+		applyFilter(false);
+		viewer.setItemCount(rows.length);
+		for (int i = 0; i < rows.length; i++) {
+			if (i >= oldRows.length || 
+				!sameRow(labels, columns, oldList.get(oldRows[i]), componentList.get(rows[i]))) {
+				viewer.getTable().clear(i);
+			}
+		}
+	}
+
+	private boolean sameRow(ITableLabelProvider labels, int columns, Object oldBean, Object newBean) {
+		if (oldBean.getClass() != newBean.getClass()) {
+			return false;
+		}
+		for (int col = 0; col < columns; col++) {
+			String oldText = labels.getColumnText(oldBean, col);
+			String newText = labels.getColumnText(newBean, col);
+			if (oldText == null ? newText != null : !oldText.equals(newText)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public void dispose() {
+		cancelLoad();
 	}
 
 	public void resetPreviousItem() {
+		// the list being read belongs to the environment being left
+		cancelLoad();
 		prevTreeItem = null;
 	}
 
+	private void cancelLoad() {
+		if (loadJob != null) {
+			loadJob.cancel();
+			loadJob = null;
+		}
+	}
+
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		this.viewer = (TableViewer) viewer;
+		if (newInput == null) {
+			return;
+		}
+		MainTreeItem currId = (MainTreeItem) newInput;
+		if (!currId.equals(prevTreeItem)) {
+			if (prevTreeItem == null || currId.getId() != prevTreeItem.getId()) {
+				// the sorter of another kind of component does not apply
+				comparator = null;
+			}
+			prevTreeItem = currId;
+			setComponents(new ArrayList<SAFRQueryBean>());
+			sort();
+			applyFilter(false);
+			startLoad(currId, false);
+		}
+		this.viewer.setItemCount(rows.length);
+	}
+
+	/**
+	 * Reads the components of a navigator item in the background, replacing
+	 * any read still in progress.
+	 * 
+	 * @param item
+	 *            the navigator item
+	 * @param changedOnly
+	 *            true to redraw only the rows which have changed, false to
+	 *            redraw the whole table
+	 */
+	private void startLoad(final MainTreeItem item, final boolean changedOnly) {
+		cancelLoad();
+		final Integer environmentId = UIUtilities.getCurrentEnvironmentID();
+		loadJob = new BackgroundJob<List<SAFRQueryBean>>("Reading " + item.getName()) {
+			@Override
+			protected List<SAFRQueryBean> call(IProgressMonitor monitor) throws SAFRException {
+				return load(item, environmentId);
+			}
+
+			@Override
+			protected void done(List<SAFRQueryBean> result) {
+				if (loadJob != this || viewer == null || viewer.getTable().isDisposed()) {
+					return;
+				}
+				loadJob = null;
+				if (changedOnly) {
+					refreshChanged(result);
+				} else {
+					setComponents(result);
+					sort();
+					applyFilter(false);
+					refreshAll();
+				}
+				// the row count has changed
+				ApplicationMediator.getAppMediator().refreshMetaBar();
+			}
+
+			@Override
+			protected void failed(SAFRException e) {
+				if (loadJob != this) {
+					return;
+				}
+				loadJob = null;
+				UIUtilities
+						.handleWEExceptions(
+								e,
+								"Unexpected database error occurred while getting elements for Metadata table.",
+								UIUtilities.titleStringDbException);
+			}
+
+			@Override
+			protected void cancelled() {
+				if (loadJob == this) {
+					loadJob = null;
+				}
+			}
+		};
+		// a refresh after a save need not show in the progress view
+		loadJob.setSystem(changedOnly);
+		loadJob.start();
+	}
+
+	private void setComponents(List<SAFRQueryBean> componentList) {
+		this.componentList = componentList;
+		nameIndex = new String[componentList.size()];
+		for (int i = 0; i < nameIndex.length; i++) {
+			nameIndex[i] = indexName(componentList.get(i));
+		}
+	}
+
+	private static List<SAFRQueryBean> load(MainTreeItem inputElement, Integer environmentId)
+			throws DAOException {
+		List<SAFRQueryBean> componentList = new ArrayList<SAFRQueryBean>();
+		TreeItemId inputElementID = inputElement.getId();
+		if (inputElementID.equals(TreeItemId.VIEWFOLDERCHILD)) {
+			// SAFRQuery will return a list of all views.
+			componentList.addAll(SAFRQuery.queryAllViewsConv(
+			    environmentId,
+			    inputElement.getMetadataId(),
+			    SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.ENV)) {
+			// SAFRQuery will return a list of all environments.
+			componentList.addAll(SAFRQuery.queryEnvironmentsForLoggedInUser(
+			    SortType.SORT_BY_NAME, false));
+		} else if ((inputElementID).equals(TreeItemId.CONTROL)) {
+			// SAFRQuery will return a list of all control records.
+			componentList.addAll(SAFRQuery.queryAllControlRecords(
+					environmentId,
+					SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.PHYSICALFILE)) {
+			// SAFRQuery will return a list of all physical files.
+			componentList.addAll(SAFRQuery.queryAllPhysicalFiles(
+					environmentId,
+					SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.GROUP)) {
+			// SAFRQuery will return a list of all Groups.
+			componentList.addAll(SAFRQuery
+					.queryAllGroups(SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.VIEWFOLDER)) {
+			// SAFRQuery will return a list of all View Folders.
+			componentList.addAll(SAFRQuery.queryAllViewFolders(
+					environmentId,
+					SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.USER)) {
+			// SAFRQuery will return a list of all users
+			componentList.addAll(SAFRQuery.queryAllUsers());
+		} else if ((inputElementID).equals(TreeItemId.USEREXITROUTINE)) {
+			// SAFRQuery will return a list of all USEREXITROUTINE.
+			componentList.addAll(SAFRQuery.queryAllUserExitRoutines(
+					environmentId,
+					SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.LOGICALRECORD)) {
+			// SAFRQuery will return a list of all LOGICALRECORD.
+			componentList.addAll(SAFRQuery.queryAllLogicalRecords(
+					environmentId,
+					SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.LOOKUP)) {
+			// SAFRQuery will return a list of all LOOKUP.
+			componentList.addAll(SAFRQuery.queryAllLookups(environmentId, SortType.SORT_BY_NAME));
+		} else if ((inputElementID).equals(TreeItemId.LOGICALFILE)) {
+			// SAFRQuery will return a list of all LOGICALFILE.
+			componentList.addAll(SAFRQuery.queryAllLogicalFiles(
+					environmentId,
+					SortType.SORT_BY_NAME));
+		}
+		return componentList;
+	}
+
+	private String indexName(SAFRQueryBean bean) {
+		String name = null;
+		if (bean instanceof NumericIdQueryBean) {
+			name = bean.getName();
+		} else if (bean instanceof UserQueryBean) {
+			name = ((UserQueryBean) bean).getId();
+		}
+		return name == null ? "" : name.toUpperCase();
+	}
+
+	private void sort() {
+		Integer[] sorted = new Integer[componentList.size()];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = i;
+		}
+		if (comparator != null) {
+			Arrays.sort(sorted, new Comparator<Integer>() {
+				public int compare(Integer o1, Integer o2) {
+					return comparator.compare(viewer, componentList.get(o1), componentList.get(o2));
+				}
+			});
+		}
+		order = new int[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			order[i] = sorted[i];
+		}
+	}
+
+	private void applyFilter(boolean incremental) {
+		String search = filter == null ? null : filter.getSearchText();
+		boolean byName = filter == null || filter.isByName();
+		int[] candidates = order;
+		if (incremental && search != null && appliedSearch != null && 
+			byName == appliedByName && search.contains(appliedSearch)) {
+			// the new search can only match rows matched by the last one
+			candidates = rows;
+		}
+		int[] selected = new int[candidates.length];
+		int count = 0;
+		for (int pos : candidates) {
+			if (filter == null || filter.select(componentList.get(pos), nameIndex[pos])) {
+				selected[count++] = pos;
+			}
+		}
+		rows = Arrays.copyOf(selected, count);
+		rowIndex = null;
+		appliedSearch = search;
+		appliedByName = byName;
+	}
+
+	private void refreshAll() {
+		if (viewer != null) {
+			viewer.setItemCount(rows.length);
+			viewer.refresh();
+		}
 	}
 
 }
@@ -29,31 +29,52 @@ public class MainTableFilter extends ViewerFilter {
 
     private boolean byName = true;
     private String searchText = null;
+    private String upSearch = null;
     
     public void setByName(boolean byName) {
         this.byName = byName;
     }
 
+    public boolean isByName() {
+        return byName;
+    }
+
     public void setSearchText(String nameFilter) {
         this.searchText = nameFilter;
+        this.upSearch = nameFilter == null ? null : nameFilter.toUpperCase();
+    }
+
+    public String getSearchText() {
+        return searchText;
     }
 
     @Override
 	public boolean select(Viewer viewer, Object parentElement, Object element) {
+        String upName = null;
+        if (element instanceof NumericIdQueryBean) {
+            String name = ((NumericIdQueryBean) element).getName();
+            upName = name == null ? "" : name.toUpperCase();
+        } else if (element instanceof UserQueryBean) {
+            upName = ((UserQueryBean) element).getId().toUpperCase();
+        }
+        return select(element, upName);
+    }
+
+    /**
+     * Filters a component whose name has already been upper cased, as the
+     * metadata table indexes the names when it reads the components.
+     * 
+     * @param element the component
+     * @param upName its upper case name, or user id for a user
+     * @return true if the component is shown
+     */
+    public boolean select(Object element, String upName) {
 
         // filter on name
         if (searchText != null && !searchText.trim().isEmpty()) {
-            String upSearch = searchText.toUpperCase();
             if (byName) {
-                if (element instanceof NumericIdQueryBean) {
-                    String name = ((NumericIdQueryBean) element).getName().toUpperCase();
-                    if (!name.contains(upSearch)) {
-                        return false;
-                    }
-                }
-                else if (element instanceof UserQueryBean) {
-                    String name = ((UserQueryBean) element).getId().toUpperCase();
-                    if (!name.contains(upSearch)) {
+                if (element instanceof NumericIdQueryBean || element instanceof UserQueryBean) {
+                    if (!upName.contains(upSearch)) {
                         return false;
                     }
                 }
@@ -206,7 +206,7 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 		label.setLayoutData(labelData);
 
 		Integer SWTstyle = SWT.H_SCROLL | SWT.V_SCROLL | SWT.MULTI
-				| SWT.FULL_SELECTION;
+				| SWT.FULL_SELECTION | SWT.VIRTUAL;
 		tabViewer = safrToolkit.createTableViewer(composite, SWTstyle);
 		table = tabViewer.getTable();
 		table.setHeaderVisible(true);
@@ -220,8 +220,11 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 		tableData.right = new FormAttachment(100, 0);
 		table.setLayoutData(tableData);
 
+		mainTableFilter = new MainTableFilter();
 		if (tabViewer.getContentProvider() == null) {
-			tabViewer.setContentProvider(new MainTableContentProvider());
+			MainTableContentProvider contentProvider = new MainTableContentProvider();
+			contentProvider.setFilter(mainTableFilter);
+			tabViewer.setContentProvider(contentProvider);
 		}
 
 		MainTreeItem navItem = ApplicationMediator.getAppMediator().getCurrentNavItem();
@@ -246,8 +249,6 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 			metadataLabelProvider = new MainTableLabelProvider();
 
 		}
-		mainTableFilter = new MainTableFilter();
-		tabViewer.addFilter(mainTableFilter);
 
 		// Code for tracking the focus on the table
 		IFocusService service = (IFocusService) getSite().getService(
@@ -684,13 +685,13 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 	 * Method to refresh the table viewer when a metadata component is saved
 	 */
 	public void refreshView() {
-		// set force refresh of content provider to get the latest data from DB
-		((MainTableContentProvider) tabViewer.getContentProvider())
-				.setForceRefresh(true);
-		tabViewer.refresh();
-		((MainTableContentProvider) tabViewer.getContentProvider())
-				.setForceRefresh(false);
-        ApplicationMediator.getAppMediator().refreshMetaBar();                
+		// get the latest data from DB, redrawing only the rows that changed,
+		// the status bar is refreshed once it has been read
+		getTableContentProvider().refresh();
+	}
+
+	private MainTableContentProvider getTableContentProvider() {
+		return (MainTableContentProvider) tabViewer.getContentProvider();
 	}
 
 	@Override
@@ -717,8 +718,7 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 	 */
 	public void resetPreviousItem() {
 		// forcefully refresh the table contents.
-		((MainTableContentProvider) tabViewer.getContentProvider())
-				.resetPreviousItem();
+		getTableContentProvider().resetPreviousItem();
 		previousItem = new MainTreeItem(TreeItemId.ABOUT, null, null, null);
 	}
 
@@ -769,7 +769,6 @@ public class MetadataView extends ViewPart implements ISelectionListener,
     												.getSystemCursor(
     														SWT.CURSOR_WAIT));
     								table.setVisible(false);
-    								tabViewer.setSorter(null);
     								createColumns(selectedItem.getId());
     
     								/*
@@ -2190,9 +2189,9 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 		if (selectedItem.getId() == TreeItemId.VIEWFOLDERCHILD) {
 			// check if any of the views in the supplied list exists in the
 			// metadata table.
-			for (TableItem item : tabViewer.getTable().getItems()) {
-				if (item.getData() instanceof ViewQueryBeanConv) {
-					ViewQueryBeanConv vqb = (ViewQueryBeanConv) item.getData();
+			for (SAFRQueryBean bean : getTableContentProvider().getElements()) {
+				if (bean instanceof ViewQueryBeanConv) {
+					ViewQueryBeanConv vqb = (ViewQueryBeanConv) bean;
 					if (views.contains(vqb.getId())) {
 						refreshView();
 						return;
@@ -2220,8 +2219,7 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 		}
 
 		// get the items from the table.
-		for (TableItem item : table.getItems()) {
-			SAFRQueryBean bean = (SAFRQueryBean) item.getData();
+		for (SAFRQueryBean bean : getTableContentProvider().getElements()) {
 			if (searchCriteria == MetadataSearchCriteria.ID) {
 				if (bean.getIdLabel().toLowerCase()
 						.startsWith(searchText.toLowerCase())) {
@@ -2247,37 +2245,37 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 
 	private void setTableSorter(TreeItemId treeId, int colNumber, int dir) {
 	    if (treeId == TreeItemId.VIEWFOLDERCHILD) {
-			tabViewer.setSorter(new ViewTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new ViewTableSorter(colNumber, dir));
 			componentType = ComponentType.View;
 		} else if (treeId == TreeItemId.ENV) {
-			tabViewer.setSorter(new EnvironmentTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new EnvironmentTableSorter(colNumber, dir));
 			componentType = ComponentType.Environment;
 		} else if (treeId == TreeItemId.CONTROL) {
-			tabViewer.setSorter(new ControlRecordTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new ControlRecordTableSorter(colNumber, dir));
 			componentType = ComponentType.ControlRecord;
 		} else if (treeId == TreeItemId.PHYSICALFILE) {
-			tabViewer.setSorter(new PhysicalFileTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new PhysicalFileTableSorter(colNumber, dir));
 			componentType = ComponentType.PhysicalFile;
 		} else if (treeId == TreeItemId.USER) {
-			tabViewer.setSorter(new UserTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new UserTableSorter(colNumber, dir));
 			componentType = ComponentType.User;
 		} else if (treeId == TreeItemId.VIEWFOLDER) {
-			tabViewer.setSorter(new ViewFolderTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new ViewFolderTableSorter(colNumber, dir));
 			componentType = ComponentType.ViewFolder;
 		} else if (treeId == TreeItemId.GROUP) {
-			tabViewer.setSorter(new GroupTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new GroupTableSorter(colNumber, dir));
 			componentType = ComponentType.Group;
 		} else if (treeId == TreeItemId.USEREXITROUTINE) {
-			tabViewer.setSorter(new UserExitRoutineTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new UserExitRoutineTableSorter(colNumber, dir));
 			componentType = ComponentType.UserExitRoutine;
 		} else if (treeId == TreeItemId.LOGICALRECORD) {
-			tabViewer.setSorter(new LogicalRecordTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new LogicalRecordTableSorter(colNumber, dir));
 			componentType = ComponentType.LogicalRecord;
 		} else if (treeId == TreeItemId.LOOKUP) {
-			tabViewer.setSorter(new LookupTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new LookupTableSorter(colNumber, dir));
 			componentType = ComponentType.LookupPath;
 		} else if (treeId == TreeItemId.LOGICALFILE) {
-			tabViewer.setSorter(new LogicalFileTableSorter(colNumber, dir));
+			getTableContentProvider().setComparator(new LogicalFileTableSorter(colNumber, dir));
 			componentType = ComponentType.LogicalFile;
 		}
 	}
@@ -2315,16 +2313,16 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 
 	public List<NumericIdQueryBean> getSelectedComponents() {
 		List<NumericIdQueryBean> beans = new ArrayList<NumericIdQueryBean>();
-		for (TableItem item : table.getSelection()) {
-			beans.add((NumericIdQueryBean) item.getData());
+		for (int index : table.getSelectionIndices()) {
+			beans.add((NumericIdQueryBean) getTableContentProvider().getElement(index));
 		}
 		return beans;
 	}
 	
     private List<UserQueryBean> getSelectedUsers() {
         List<UserQueryBean> beans = new ArrayList<UserQueryBean>();
-        for (TableItem item : table.getSelection()) {
-            beans.add((UserQueryBean) item.getData());
+        for (int index : table.getSelectionIndices()) {
+            beans.add((UserQueryBean) getTableContentProvider().getElement(index));
         }
         return beans;
     }
@@ -2332,8 +2330,8 @@ public class MetadataView extends ViewPart implements ISelectionListener,
     private List<ViewQueryBeanConv> getSelectedViews() {
         List<ViewQueryBeanConv> beans = new ArrayList<ViewQueryBeanConv>();
         
-        for (TableItem item : table.getSelection()) {
-            ViewQueryBeanConv vbean = (ViewQueryBeanConv) item.getData();
+        for (int index : table.getSelectionIndices()) {
+            ViewQueryBeanConv vbean = (ViewQueryBeanConv) getTableContentProvider().getElement(index);
             vbean = new ViewQueryBeanConv(
                     vbean.getEnvironmentId(), vbean.getId(), vbean.getName(),
                     vbean.getStatus(), vbean.getOldOutputFormat(), vbean.getOldType(),
@@ -2572,17 +2570,15 @@ public class MetadataView extends ViewPart implements ISelectionListener,
         }
         result.add(line);
 
-        // get the rest of the table
-        final int itemCount = table.getItemCount();
-        for(int itemIndex = 0; itemIndex < itemCount; itemIndex++) {
-            TableItem item = table.getItem(itemIndex);
-            
+        // get the rest of the table, without creating the rows not yet shown
+        for(SAFRQueryBean bean : getTableContentProvider().getElements()) {
             line = new ArrayList<String>();
             for(int columnOrderIndex = 0; 
                     columnOrderIndex < columnOrder.length; 
                     columnOrderIndex++) {
                 int columnIndex = columnOrder[columnOrderIndex];
-                line.add(item.getText(columnIndex));
+                String text = metadataLabelProvider.getColumnText(bean, columnIndex);
+                line.add(text == null ? "" : text);
             }
             result.add(line);
         }	    
@@ -2591,14 +2587,14 @@ public class MetadataView extends ViewPart implements ISelectionListener,
 	
     public void filterByName(boolean byName) {
         mainTableFilter.setByName(byName);
-        tabViewer.refresh();
+        getTableContentProvider().filterChanged();
         // update the status bar
         ApplicationMediator.getAppMediator().refreshMetaBar();        
     }
 	
 	public void filterSearchText(String searchText) {
 	    mainTableFilter.setSearchText(searchText);
-        tabViewer.refresh();
+        getTableContentProvider().filterChanged();
         // update the status bar
         ApplicationMediator.getAppMediator().refreshMetaBar();        
 	}
@@ -2621,41 +2617,18 @@ public class MetadataView extends ViewPart implements ISelectionListener,
         Integer activeCount=0; 
 
         if (tabViewer != null) {
-            Table table = tabViewer.getTable();     
             // get activate/inactive
-            if (componentType == ComponentType.LogicalRecord) {
-                int itemCount = table.getItemCount();
-                for(int itemIndex = 0; itemIndex < itemCount; itemIndex++) {
-                    TableItem item = table.getItem(itemIndex);                
-                    if (item.getText(2).equalsIgnoreCase("Active")) {
+            if (componentType == ComponentType.LogicalRecord || 
+                componentType == ComponentType.LookupPath ||
+                componentType == ComponentType.View) {
+                for (SAFRQueryBean bean : getTableContentProvider().getElements()) {
+                    if ("Active".equalsIgnoreCase(metadataLabelProvider.getColumnText(bean, 2))) {
                         activeCount++;
                     }                                
                 }       
                 Integer inactiveCount = rowCount-activeCount;
                 statusLineMsg += "   Active: "+ activeCount + "   Inactive: " + inactiveCount;            
             }
-            else if (componentType == ComponentType.LookupPath) {
-                int itemCount = table.getItemCount();
-                for(int itemIndex = 0; itemIndex < itemCount; itemIndex++) {
-                    TableItem item = table.getItem(itemIndex);                
-                    if (item.getText(2).equalsIgnoreCase("Active")) {
-                        activeCount++;
-                    }                                
-                }       
-                Integer inactiveCount = rowCount-activeCount;
-                statusLineMsg += "   Active: "+ activeCount + "   Inactive: " + inactiveCount;                        
-            }
-            else if (componentType == ComponentType.View) {
-                int itemCount = table.getItemCount();
-                for(int itemIndex = 0; itemIndex < itemCount; itemIndex++) {
-                    TableItem item = table.getItem(itemIndex);                
-                    if (item.getText(2).equalsIgnoreCase("Active")) {
-                        activeCount++;
-                    }                                
-                }       
-                Integer inactiveCount = rowCount-activeCount;
-                statusLineMsg += "   Active: "+ activeCount + "   Inactive: " + inactiveCount;                                    
-            }
         }
         statusLineMsg += "     ";
         return statusLineMsg;
@@ -0,0 +1,159 @@
+package com.ibm.safr.we.ui.views.metrics;
+
+/*
+ * Copyright Contributors to the GenevaERS Project. SPDX-License-Identifier: Apache-2.0 (c) Copyright IBM Corporation 2023
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.ui.part.ViewPart;
+
+import com.ibm.safr.we.data.DAOMethodMetrics;
+import com.ibm.safr.we.data.DAOMetrics;
+import com.ibm.safr.we.exceptions.SAFRException;
+import com.ibm.safr.we.ui.utilities.UIUtilities;
+
+/**
+ * A view showing the call counts and latencies of each DAO method, as
+ * collected by {@link DAOMetrics}.
+ */
+public class DAOMetricsView extends ViewPart {
+
+	public static String ID = "SAFRWE.DAOMetricsView";
+
+	private static final String[] COLUMNS = { "Method", "Calls", "Total ms",
+			"Mean ms", "P95 ms", "Max ms", "Rows", "Retries", "Errors" };
+	private static final int[] WIDTHS = { 320, 70, 90, 80, 80, 80, 80, 60, 60 };
+
+	private TableViewer tableViewer;
+
+	private class MetricsLabelProvider extends LabelProvider implements
+			ITableLabelProvider {
+
+		public Image getColumnImage(Object element, int columnIndex) {
+			return null;
+		}
+
+		public String getColumnText(Object element, int columnIndex) {
+			DAOMethodMetrics metrics = (DAOMethodMetrics) element;
+			switch (columnIndex) {
+			case 0:
+				return metrics.getName();
+			case 1:
+				return Long.toString(metrics.getCount());
+			case 2:
+				return DAOMetrics.format(metrics.getTotalMillis());
+			case 3:
+				return DAOMetrics.format(metrics.getMeanMillis());
+			case 4:
+				return DAOMetrics.format(metrics.getPercentileMillis(95));
+			case 5:
+				return DAOMetrics.format(metrics.getMaxMillis());
+			case 6:
+				return Long.toString(metrics.getRows());
+			case 7:
+				return Long.toString(metrics.getRetries());
+			case 8:
+				return Long.toString(metrics.getErrors());
+			default:
+				return "";
+			}
+		}
+	}
+
+	@Override
+	public void createPartControl(Composite parent) {
+		parent.setLayout(new FillLayout());
+		tableViewer = new TableViewer(parent, SWT.SINGLE | SWT.BORDER
+				| SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL);
+		Table table = tableViewer.getTable();
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		for (int i = 0; i < COLUMNS.length; i++) {
+			TableViewerColumn column = new TableViewerColumn(tableViewer,
+					i == 0 ? SWT.LEFT : SWT.RIGHT);
+			column.getColumn().setText(COLUMNS[i]);
+			column.getColumn().setWidth(WIDTHS[i]);
+			column.getColumn().setResizable(true);
+		}
+		tableViewer.setContentProvider(new ArrayContentProvider());
+		tableViewer.setLabelProvider(new MetricsLabelProvider());
+
+		IToolBarManager toolBar = getViewSite().getActionBars().getToolBarManager();
+		toolBar.add(new Action("Refresh") {
+			@Override
+			public void run() {
+				refresh();
+			}
+		});
+		toolBar.add(new Action("Reset") {
+			@Override
+			public void run() {
+				DAOMetrics.reset();
+				refresh();
+			}
+		});
+		toolBar.add(new Action("Export...") {
+			@Override
+			public void run() {
+				export();
+			}
+		});
+		refresh();
+	}
+
+	private void refresh() {
+		List<DAOMethodMetrics> snapshot = DAOMetrics.getSnapshot();
+		tableViewer.setInput(snapshot);
+		setContentDescription("Since " + DAOMetrics.getSince() + ", "
+				+ DAOMetrics.getReconnects() + " reconnects");
+	}
+
+	private void export() {
+		FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+		dialog.setText("Export DAO Metrics");
+		dialog.setFilterExtensions(new String[] { "*.csv" });
+		dialog.setFileName("daometrics.csv");
+		String path = dialog.open();
+		if (path != null) {
+			try {
+				DAOMetrics.writeSnapshot(new File(path));
+			} catch (SAFRException e) {
+				UIUtilities.handleWEExceptions(e, "Error writing DAO metrics to file " + path, null);
+			}
+		}
+	}
+
+	@Override
+	public void setFocus() {
+		tableViewer.getTable().setFocus();
+	}
+}